@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.manipulation;
 
+import java.util.Hashtable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
 
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
@@ -25,6 +30,8 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
+
 /**
  * The main plug-in class to be used in the workbench.
  */
@@ -43,9 +50,18 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	public static boolean DEBUG_AST_PROVIDER;
 
+	public static boolean DEBUG_SUPER_TYPE_HIERARCHY_CACHE;
+
+	/** The maximum number of threads of the shared executor */
+	private static final int MAX_EXECUTOR_THREADS= 4;
+
 	//The shared instance.
 	private static JavaManipulationPlugin fgDefault;
 
+	private static ExecutorService fgExecutor;
+
+	private ServiceRegistration<DebugOptionsListener> fDebugRegistration;
+
 	private MembersOrderPreferenceCacheCommon fMembersOrderPreferenceCacheCommon;
 
 	/**
@@ -58,10 +74,21 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+
+		// register debug options listener
+		Hashtable<String, String> properties= new Hashtable<>(2);
+		properties.put(DebugOptions.LISTENER_SYMBOLICNAME, JavaManipulation.ID_PLUGIN);
+		fDebugRegistration= context.registerService(DebugOptionsListener.class, this, properties);
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		CallGraphIndex.shutdown();
+		shutdownExecutor();
+		if (fDebugRegistration != null) {
+			fDebugRegistration.unregister();
+			fDebugRegistration= null;
+		}
 		super.stop(context);
 		fgDefault= null;
 	}
@@ -96,6 +123,36 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 		fMembersOrderPreferenceCacheCommon= mpcc;
 	}
 
+	/**
+	 * Returns the executor shared by the Java tooling for work that is split
+	 * into concurrent tasks. The executor is created on first use and shut
+	 * down when the plug-in stops.
+	 * <p>
+	 * Clients cancel the tasks they submitted when they are done with them, and
+	 * must not wait for tasks of the executor from inside one of its tasks.
+	 * </p>
+	 *
+	 * @return the shared executor
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			int threads= Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_EXECUTOR_THREADS));
+			fgExecutor= Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread= new Thread(runnable, "Java Manipulation Worker"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+
+	private static synchronized void shutdownExecutor() {
+		if (fgExecutor != null) {
+			fgExecutor.shutdownNow();
+			fgExecutor= null;
+		}
+	}
+
 	public static void log(Throwable e) {
 		Platform.getLog(JavaManipulationPlugin.class).log(new Status(IStatus.ERROR, JavaManipulation.ID_PLUGIN, IStatusConstants.INTERNAL_ERROR, JavaManipulationMessages.JavaManipulationMessages_internalError, e));
 	}
@@ -103,5 +160,6 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	@Override
 	public void optionsChanged(DebugOptions options) {
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/ASTProvider", false); //$NON-NLS-1$
+		DEBUG_SUPER_TYPE_HIERARCHY_CACHE= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/SuperTypeHierarchyCache", false); //$NON-NLS-1$
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -208,6 +208,10 @@ public class JarPackagerUtilCore {
 		// Set modification time
 		newEntry.setTime(lastModified);
 
+		// copy the compressed data if the method does not change
+		if (putRawEntry(newEntry, zipFile, zipEntry, jarOutputStream))
+			return;
+
 		addEntry(newEntry, zipFile.getInputStream(zipEntry), jarOutputStream);
 	}
 
@@ -308,7 +312,8 @@ public class JarPackagerUtilCore {
 			// Entry is filled automatically.
 		} else {
 			newEntry.setMethod(ZipEntry.STORED);
-			calculateCrcAndSize(newEntry, new FileInputStream(file), new byte[4096]);
+			if (needsCrcAndSize(jarOutputStream))
+				calculateCrcAndSize(newEntry, new FileInputStream(file), new byte[4096]);
 		}
 
 		newEntry.setTime(file.lastModified());
@@ -365,6 +370,40 @@ public class JarPackagerUtilCore {
 		entry.setCrc(crc.getValue());
 	}
 
+	/**
+	 * Tells whether the CRC and size of a stored entry have to be set before the entry is written
+	 * to the given stream. The streams of the JAR writers compute them while the entry is written,
+	 * so the content does not have to be read twice.
+	 *
+	 * @param jarOutputStream the destination JarOutputStream
+	 * @return <code>true</code> if the caller has to set CRC and size of stored entries, see
+	 *         {@link #calculateCrcAndSize(ZipEntry, InputStream, byte[])}
+	 *
+	 * @since 1.16
+	 */
+	public static boolean needsCrcAndSize(JarOutputStream jarOutputStream) {
+		return !(jarOutputStream instanceof ParallelJarOutputStream);
+	}
+
+	/**
+	 * Copies an entry of another archive to the given stream without decompressing it, if the
+	 * stream supports this and the compression method does not change.
+	 *
+	 * @param entry the new entry, defines the name, the method and the time
+	 * @param zipFile the archive to copy from
+	 * @param zipEntry the entry to copy
+	 * @param jarOutputStream the destination JarOutputStream
+	 * @return <code>true</code> if the entry has been copied, <code>false</code> if the caller has
+	 *         to write the content of the entry
+	 *
+	 * @throws IOException if an I/O error has occurred
+	 *
+	 * @since 1.16
+	 */
+	public static boolean putRawEntry(ZipEntry entry, ZipFile zipFile, ZipEntry zipEntry, JarOutputStream jarOutputStream) throws IOException {
+		return jarOutputStream instanceof ParallelJarOutputStream && ((ParallelJarOutputStream) jarOutputStream).putRawEntry(entry, zipFile, zipEntry);
+	}
+
 	/**
 	 * add a warning message into the MultiStatus.
 	 *
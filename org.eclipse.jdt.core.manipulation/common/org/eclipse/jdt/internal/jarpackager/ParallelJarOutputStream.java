@@ -0,0 +1,740 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A JAR output stream that compresses the entries on a pool of worker threads and copies entries
+ * of other archives without decompressing and compressing them again.
+ * <p>
+ * The content of each entry is buffered in memory until the entry is closed, then it is compressed
+ * in the background. The entries are written to the archive in the order in which they were added.
+ * The CRC and size of stored entries are computed from the buffered content, they don't have to be
+ * set by the caller.
+ * </p>
+ * <p>
+ * Entries that grow larger than {@link #MAX_BUFFERED_ENTRY_SIZE} are written to the archive while
+ * they are written to the stream. Deflated entries are then followed by a data descriptor. Stored
+ * entries with unknown CRC and size are collected in a temporary file, since their CRC and size
+ * precede the data.
+ * </p>
+ * <p>
+ * Only the methods of {@link JarOutputStream} used by the JAR exporters are supported. The archive
+ * is written by this class, the state of the super class is not used.
+ * </p>
+ */
+public class ParallelJarOutputStream extends JarOutputStream {
+
+	private static final class PendingEntry {
+		final ZipEntry fEntry;
+		final int fMethod;
+		long fCrc;
+		long fSize;
+		byte[] fData;
+		int fDataLength;
+		final long fBufferedBytes;
+
+		PendingEntry(ZipEntry entry, int method, long bufferedBytes) {
+			fEntry= entry;
+			fMethod= method;
+			fBufferedBytes= bufferedBytes;
+		}
+	}
+
+	private static final class EntryHeader {
+		final byte[] fName;
+		final byte[] fExtra;
+		final byte[] fComment;
+		final long fDosTime;
+
+		EntryHeader(byte[] name, byte[] extra, byte[] comment, long dosTime) {
+			fName= name;
+			fExtra= extra;
+			fComment= comment;
+			fDosTime= dosTime;
+		}
+	}
+
+	private static final class CentralRecord {
+		final EntryHeader fHeader;
+		final int fMethod;
+		final int fFlags;
+		final long fCrc;
+		final long fCompressedSize;
+		final long fSize;
+		final long fOffset;
+
+		CentralRecord(EntryHeader header, int method, int flags, long crc, long compressedSize, long size, long offset) {
+			fHeader= header;
+			fMethod= method;
+			fFlags= flags;
+			fCrc= crc;
+			fCompressedSize= compressedSize;
+			fSize= size;
+			fOffset= offset;
+		}
+	}
+
+	private static final int MAX_PENDING_ENTRIES= 256;
+
+	private static final long MAX_PENDING_BYTES= 64L * 1024 * 1024;
+
+	/**
+	 * Entries and copied raw data larger than this are not buffered.
+	 */
+	static final int MAX_BUFFERED_ENTRY_SIZE= 4 * 1024 * 1024;
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int END_SIGNATURE= 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE= 0x07064b50;
+	private static final int DATA_DESCRIPTOR_SIGNATURE= 0x08074b50;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+	private static final int JAR_MAGIC_ID= 0xCAFE;
+
+	private static final int FLAG_DATA_DESCRIPTOR= 0x0008;
+	private static final int FLAG_UTF8= 0x0800;
+	private static final int VERSION_DEFAULT= 20;
+	private static final int VERSION_ZIP64= 45;
+	private static final long ZIP32_LIMIT= 0xFFFFFFFFL;
+
+	private final OutputStream fOut;
+
+	private final Deque<Future<PendingEntry>> fPending= new ArrayDeque<>();
+	private long fPendingBytes;
+
+	private final List<CentralRecord> fCentralDirectory= new ArrayList<>();
+	private final Set<String> fNames= new HashSet<>();
+	private final Map<String, ZipCentralDirectory> fSourceDirectories= new HashMap<>();
+
+	private ZipEntry fCurrentEntry;
+	private byte[] fBuffer= new byte[8192];
+	private int fBufferLength;
+
+	// state of the current entry when it is not buffered
+	private CRC32 fDirectCrc;
+	private long fDirectSize;
+	private EntryHeader fDirectHeader;
+	private long fDirectOffset;
+	private long fDirectDataOffset;
+	private Deflater fDirectDeflater;
+	private File fSpillFile;
+	private OutputStream fSpillOut;
+	private final byte[] fCopyBuffer= new byte[8192];
+
+	private long fWritten;
+	private int fMethod= DEFLATED;
+	private int fLevel= Deflater.DEFAULT_COMPRESSION;
+	private byte[] fComment;
+	private boolean fFinished;
+	private boolean fClosed;
+	/** Set when the stream is closed, the compression tasks that have not completed stop early */
+	private final AtomicBoolean fCompressionCanceled= new AtomicBoolean();
+
+	/**
+	 * Creates a new JAR output stream without a manifest.
+	 *
+	 * @param out the actual output stream
+	 * @throws IOException if an I/O error has occurred
+	 */
+	public ParallelJarOutputStream(OutputStream out) throws IOException {
+		super(out);
+		fOut= out;
+	}
+
+	/**
+	 * Creates a new JAR output stream with the given manifest as first entry.
+	 *
+	 * @param out the actual output stream
+	 * @param manifest the manifest
+	 * @throws IOException if an I/O error has occurred
+	 */
+	public ParallelJarOutputStream(OutputStream out, Manifest manifest) throws IOException {
+		this(out);
+		putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+		manifest.write(new BufferedOutputStream(this));
+		closeEntry();
+	}
+
+	@Override
+	public void setComment(String comment) {
+		fComment= comment != null ? comment.getBytes(StandardCharsets.UTF_8) : null;
+	}
+
+	@Override
+	public void setMethod(int method) {
+		if (method != DEFLATED && method != STORED)
+			throw new IllegalArgumentException("invalid compression method"); //$NON-NLS-1$
+		fMethod= method;
+	}
+
+	@Override
+	public void setLevel(int level) {
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+			throw new IllegalArgumentException("invalid compression level"); //$NON-NLS-1$
+		fLevel= level;
+	}
+
+	@Override
+	public void putNextEntry(ZipEntry entry) throws IOException {
+		ensureOpen();
+		if (fCurrentEntry != null)
+			closeEntry();
+		addName(entry.getName());
+		fCurrentEntry= entry;
+		fBufferLength= 0;
+	}
+
+	/**
+	 * Copies an entry of another archive without decompressing it. This is only possible if the
+	 * entry is compressed with the method of the new entry.
+	 *
+	 * @param entry the new entry, defines the name, the method and the time
+	 * @param source the archive to copy from
+	 * @param sourceEntry the entry to copy
+	 * @return <code>true</code> if the entry has been copied, <code>false</code> if the caller has
+	 *         to write the content of the entry
+	 * @throws IOException if an I/O error has occurred or if the name is a duplicate
+	 */
+	public boolean putRawEntry(ZipEntry entry, ZipFile source, ZipEntry sourceEntry) throws IOException {
+		ensureOpen();
+		int method= getMethod(entry);
+		if (method != sourceEntry.getMethod())
+			return false;
+		ZipCentralDirectory directory= getSourceDirectory(source);
+		ZipCentralDirectory.Record record= directory != null ? directory.getRecord(sourceEntry.getName()) : null;
+		if (record == null || record.isEncrypted() || record.fMethod != method || record.fCrc != sourceEntry.getCrc())
+			return false;
+
+		if (fCurrentEntry != null)
+			closeEntry();
+		addName(entry.getName());
+		if (record.fCompressedSize > MAX_BUFFERED_ENTRY_SIZE) {
+			writePendingEntries();
+			EntryHeader header= createHeader(entry);
+			long offset= fWritten;
+			writeLocalHeader(header, method, 0, record.fCrc, record.fCompressedSize, record.fSize);
+			directory.copyRawData(record, fOut);
+			fWritten+= record.fCompressedSize;
+			fCentralDirectory.add(new CentralRecord(header, method, 0, record.fCrc, record.fCompressedSize, record.fSize, offset));
+			return true;
+		}
+		byte[] data= directory.readRawData(record);
+		PendingEntry pending= new PendingEntry(entry, method, data.length);
+		pending.fCrc= record.fCrc;
+		pending.fSize= record.fSize;
+		pending.fData= data;
+		pending.fDataLength= data.length;
+		fPendingBytes+= data.length;
+		enqueue(CompletableFuture.completedFuture(pending));
+		return true;
+	}
+
+	private ZipCentralDirectory getSourceDirectory(ZipFile source) {
+		String name= source.getName();
+		if (fSourceDirectories.containsKey(name))
+			return fSourceDirectories.get(name);
+		ZipCentralDirectory directory;
+		try {
+			directory= new ZipCentralDirectory(new File(name));
+		} catch (IOException e) {
+			// not a plain file or not readable by us, the entries are copied through the ZipFile
+			directory= null;
+		}
+		fSourceDirectories.put(name, directory);
+		return directory;
+	}
+
+	private void addName(String name) throws ZipException {
+		if (!fNames.add(name))
+			throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+	}
+
+	private int getMethod(ZipEntry entry) {
+		return entry.getMethod() != -1 ? entry.getMethod() : fMethod;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		if (fCurrentEntry == null)
+			throw new ZipException("no current ZIP entry"); //$NON-NLS-1$
+		if (off < 0 || len < 0 || off > b.length - len)
+			throw new IndexOutOfBoundsException();
+		if (fDirectCrc == null && len > MAX_BUFFERED_ENTRY_SIZE - fBufferLength)
+			startDirectEntry();
+		if (fDirectCrc != null) {
+			writeDirect(b, off, len);
+			return;
+		}
+		if (fBufferLength + len > fBuffer.length)
+			fBuffer= Arrays.copyOf(fBuffer, Math.max(fBufferLength + len, Math.min(MAX_BUFFERED_ENTRY_SIZE, fBuffer.length * 2)));
+		System.arraycopy(b, off, fBuffer, fBufferLength, len);
+		fBufferLength+= len;
+	}
+
+	private void startDirectEntry() throws IOException {
+		// the entries added before have to be written first
+		writePendingEntries();
+		fDirectCrc= new CRC32();
+		fDirectSize= 0;
+		fDirectOffset= fWritten;
+		int method= getMethod(fCurrentEntry);
+		if (method == DEFLATED) {
+			fDirectHeader= createHeader(fCurrentEntry);
+			writeLocalHeader(fDirectHeader, DEFLATED, FLAG_DATA_DESCRIPTOR, 0, 0, 0);
+			fDirectDataOffset= fWritten;
+			fDirectDeflater= new Deflater(fLevel, true);
+		} else if (fCurrentEntry.getSize() != -1 && fCurrentEntry.getCrc() != -1) {
+			fDirectHeader= createHeader(fCurrentEntry);
+			writeLocalHeader(fDirectHeader, STORED, 0, fCurrentEntry.getCrc(), fCurrentEntry.getSize(), fCurrentEntry.getSize());
+			fDirectDataOffset= fWritten;
+		} else {
+			fSpillFile= File.createTempFile("jarexport", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+			fSpillOut= new BufferedOutputStream(new FileOutputStream(fSpillFile));
+		}
+		int length= fBufferLength;
+		fBufferLength= 0;
+		writeDirect(fBuffer, 0, length);
+	}
+
+	private void writeDirect(byte[] b, int off, int len) throws IOException {
+		fDirectCrc.update(b, off, len);
+		fDirectSize+= len;
+		if (fDirectDeflater != null) {
+			fDirectDeflater.setInput(b, off, len);
+			while (!fDirectDeflater.needsInput()) {
+				deflateDirect();
+			}
+		} else if (fSpillOut != null) {
+			fSpillOut.write(b, off, len);
+		} else {
+			writeBytes(b, off, len);
+		}
+	}
+
+	private void deflateDirect() throws IOException {
+		int length= fDirectDeflater.deflate(fCopyBuffer, 0, fCopyBuffer.length);
+		writeBytes(fCopyBuffer, 0, length);
+	}
+
+	private void closeDirectEntry() throws IOException {
+		long crc= fDirectCrc.getValue();
+		long size= fDirectSize;
+		if (fDirectDeflater != null) {
+			fDirectDeflater.finish();
+			while (!fDirectDeflater.finished()) {
+				deflateDirect();
+			}
+			long compressedSize= fWritten - fDirectDataOffset;
+			writeInt(DATA_DESCRIPTOR_SIGNATURE);
+			writeInt(crc);
+			if (compressedSize >= ZIP32_LIMIT || size >= ZIP32_LIMIT) {
+				writeLong(compressedSize);
+				writeLong(size);
+			} else {
+				writeInt(compressedSize);
+				writeInt(size);
+			}
+			fCentralDirectory.add(new CentralRecord(fDirectHeader, DEFLATED, FLAG_DATA_DESCRIPTOR, crc, compressedSize, size, fDirectOffset));
+		} else if (fSpillOut != null) {
+			fSpillOut.close();
+			fSpillOut= null;
+			EntryHeader header= createHeader(fCurrentEntry);
+			writeLocalHeader(header, STORED, 0, crc, size, size);
+			try (InputStream in= new FileInputStream(fSpillFile)) {
+				int count;
+				while ((count= in.read(fCopyBuffer)) != -1) {
+					writeBytes(fCopyBuffer, 0, count);
+				}
+			}
+			fCentralDirectory.add(new CentralRecord(header, STORED, 0, crc, size, size, fDirectOffset));
+		} else {
+			// like ZipOutputStream, check the values that have already been written
+			if (size != fCurrentEntry.getSize())
+				throw new ZipException("invalid entry size (expected " + fCurrentEntry.getSize() + " but got " + size + " bytes)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (crc != fCurrentEntry.getCrc())
+				throw new ZipException("invalid entry crc-32 (expected 0x" + Long.toHexString(fCurrentEntry.getCrc()) + " but got 0x" + Long.toHexString(crc) + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			fCentralDirectory.add(new CentralRecord(fDirectHeader, STORED, 0, crc, size, size, fDirectOffset));
+		}
+	}
+
+	private void endDirectEntry() {
+		if (fDirectDeflater != null) {
+			fDirectDeflater.end();
+			fDirectDeflater= null;
+		}
+		if (fSpillOut != null) {
+			try {
+				fSpillOut.close();
+			} catch (IOException e) {
+				// Do nothing
+			}
+			fSpillOut= null;
+		}
+		if (fSpillFile != null) {
+			fSpillFile.delete();
+			fSpillFile= null;
+		}
+		fDirectCrc= null;
+		fDirectHeader= null;
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		ensureOpen();
+		if (fCurrentEntry == null)
+			return;
+		if (fDirectCrc != null) {
+			try {
+				closeDirectEntry();
+			} finally {
+				endDirectEntry();
+				fCurrentEntry= null;
+			}
+			return;
+		}
+		byte[] content= Arrays.copyOf(fBuffer, fBufferLength);
+		PendingEntry pending= new PendingEntry(fCurrentEntry, getMethod(fCurrentEntry), content.length);
+		int level= fLevel;
+		fCurrentEntry= null;
+		fBufferLength= 0;
+		fPendingBytes+= content.length;
+		enqueue(JavaManipulationPlugin.getExecutor().submit(() -> compress(pending, content, level, fCompressionCanceled)));
+	}
+
+	private static PendingEntry compress(PendingEntry pending, byte[] content, int level, AtomicBoolean canceled) {
+		if (canceled.get())
+			return pending; // the entry is not written anymore
+		CRC32 crc= new CRC32();
+		crc.update(content, 0, content.length);
+		pending.fCrc= crc.getValue();
+		pending.fSize= content.length;
+		if (pending.fMethod == STORED) {
+			pending.fData= content;
+			pending.fDataLength= content.length;
+			return pending;
+		}
+		Deflater deflater= new Deflater(level, true);
+		try {
+			deflater.setInput(content);
+			deflater.finish();
+			byte[] data= new byte[Math.max(64, content.length / 2)];
+			int length= 0;
+			while (!deflater.finished()) {
+				if (canceled.get())
+					return pending;
+				if (length == data.length)
+					data= Arrays.copyOf(data, data.length * 2);
+				length+= deflater.deflate(data, length, data.length - length);
+			}
+			pending.fData= data;
+			pending.fDataLength= length;
+			return pending;
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private void enqueue(Future<PendingEntry> future) throws IOException {
+		fPending.add(future);
+		while (!fPending.isEmpty() && (fPending.peek().isDone() || fPending.size() > MAX_PENDING_ENTRIES || fPendingBytes > MAX_PENDING_BYTES)) {
+			writeEntry(get(fPending.poll()));
+		}
+	}
+
+	private void writePendingEntries() throws IOException {
+		while (!fPending.isEmpty()) {
+			writeEntry(get(fPending.poll()));
+		}
+	}
+
+	private static PendingEntry get(Future<PendingEntry> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	private void writeEntry(PendingEntry pending) throws IOException {
+		fPendingBytes-= pending.fBufferedBytes;
+		EntryHeader header= createHeader(pending.fEntry);
+		long offset= fWritten;
+		writeLocalHeader(header, pending.fMethod, 0, pending.fCrc, pending.fDataLength, pending.fSize);
+		writeBytes(pending.fData, 0, pending.fDataLength);
+		fCentralDirectory.add(new CentralRecord(header, pending.fMethod, 0, pending.fCrc, pending.fDataLength, pending.fSize, offset));
+	}
+
+	private EntryHeader createHeader(ZipEntry entry) {
+		byte[] name= entry.getName().getBytes(StandardCharsets.UTF_8);
+		byte[] extra= entry.getExtra() != null ? entry.getExtra() : new byte[0];
+		if (fCentralDirectory.isEmpty() && !hasExtra(extra, JAR_MAGIC_ID)) {
+			// like JarOutputStream, mark the archive as JAR in the first entry
+			byte[] withMagic= Arrays.copyOf(extra, extra.length + 4);
+			withMagic[extra.length]= (byte) (JAR_MAGIC_ID & 0xFF);
+			withMagic[extra.length + 1]= (byte) (JAR_MAGIC_ID >> 8);
+			extra= withMagic;
+		}
+		byte[] comment= entry.getComment() != null ? entry.getComment().getBytes(StandardCharsets.UTF_8) : null;
+		long dosTime= toDosTime(entry.getTime() != -1 ? entry.getTime() : System.currentTimeMillis());
+		return new EntryHeader(name, extra, comment, dosTime);
+	}
+
+	private void writeLocalHeader(EntryHeader header, int method, int flags, long crc, long compressedSize, long size) throws IOException {
+		boolean zip64= compressedSize >= ZIP32_LIMIT || size >= ZIP32_LIMIT;
+		byte[] extra= zip64 ? appendZip64Extra(header.fExtra, size, compressedSize) : header.fExtra;
+		writeInt(LOCAL_HEADER_SIGNATURE);
+		writeShort(zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+		writeShort(FLAG_UTF8 | flags);
+		writeShort(method);
+		writeInt(header.fDosTime);
+		writeInt(crc);
+		writeInt(Math.min(compressedSize, ZIP32_LIMIT));
+		writeInt(Math.min(size, ZIP32_LIMIT));
+		writeShort(header.fName.length);
+		writeShort(extra.length);
+		writeBytes(header.fName, 0, header.fName.length);
+		writeBytes(extra, 0, extra.length);
+	}
+
+	private static byte[] appendZip64Extra(byte[] extra, long... values) {
+		byte[] result= Arrays.copyOf(extra, extra.length + 4 + 8 * values.length);
+		result[extra.length]= ZIP64_EXTRA_ID;
+		result[extra.length + 2]= (byte) (8 * values.length);
+		int pos= extra.length + 4;
+		for (long value : values) {
+			for (int i= 0; i < 8; i++) {
+				result[pos + i]= (byte) (value >>> (8 * i));
+			}
+			pos+= 8;
+		}
+		return result;
+	}
+
+	private static boolean hasExtra(byte[] extra, int id) {
+		int pos= 0;
+		while (pos + 4 <= extra.length) {
+			int currentId= (extra[pos] & 0xFF) | (extra[pos + 1] & 0xFF) << 8;
+			if (currentId == id)
+				return true;
+			pos+= 4 + ((extra[pos + 2] & 0xFF) | (extra[pos + 3] & 0xFF) << 8);
+		}
+		return false;
+	}
+
+	private static long toDosTime(long time) {
+		LocalDateTime date= LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year= date.getYear();
+		if (year < 1980)
+			return (1 << 21) | (1 << 16);
+		return (long) (year - 1980) << 25 | date.getMonthValue() << 21 | date.getDayOfMonth() << 16
+				| date.getHour() << 11 | date.getMinute() << 5 | date.getSecond() >> 1;
+	}
+
+	@Override
+	public void finish() throws IOException {
+		ensureOpen();
+		if (fFinished)
+			return;
+		if (fCurrentEntry != null)
+			closeEntry();
+		writePendingEntries();
+		writeCentralDirectory();
+		fFinished= true;
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long directoryOffset= fWritten;
+		for (CentralRecord record : fCentralDirectory) {
+			EntryHeader header= record.fHeader;
+			// the zip64 extra field holds the values that do not fit, in this order
+			long[] zip64Values= new long[3];
+			int zip64Count= 0;
+			if (record.fSize >= ZIP32_LIMIT)
+				zip64Values[zip64Count++]= record.fSize;
+			if (record.fCompressedSize >= ZIP32_LIMIT)
+				zip64Values[zip64Count++]= record.fCompressedSize;
+			if (record.fOffset >= ZIP32_LIMIT)
+				zip64Values[zip64Count++]= record.fOffset;
+			byte[] extra= zip64Count > 0 ? appendZip64Extra(header.fExtra, Arrays.copyOf(zip64Values, zip64Count)) : header.fExtra;
+			int version= zip64Count > 0 ? VERSION_ZIP64 : VERSION_DEFAULT;
+			writeInt(CENTRAL_HEADER_SIGNATURE);
+			writeShort(version);
+			writeShort(version);
+			writeShort(FLAG_UTF8 | record.fFlags);
+			writeShort(record.fMethod);
+			writeInt(header.fDosTime);
+			writeInt(record.fCrc);
+			writeInt(Math.min(record.fCompressedSize, ZIP32_LIMIT));
+			writeInt(Math.min(record.fSize, ZIP32_LIMIT));
+			writeShort(header.fName.length);
+			writeShort(extra.length);
+			writeShort(header.fComment != null ? header.fComment.length : 0);
+			writeShort(0); // disk number
+			writeShort(0); // internal attributes
+			writeInt(0); // external attributes
+			writeInt(Math.min(record.fOffset, ZIP32_LIMIT));
+			writeBytes(header.fName, 0, header.fName.length);
+			writeBytes(extra, 0, extra.length);
+			if (header.fComment != null)
+				writeBytes(header.fComment, 0, header.fComment.length);
+		}
+		long directorySize= fWritten - directoryOffset;
+		int count= fCentralDirectory.size();
+
+		boolean zip64= count >= 0xFFFF || directoryOffset >= ZIP32_LIMIT || directorySize >= ZIP32_LIMIT;
+		if (zip64) {
+			long zip64EndOffset= fWritten;
+			writeInt(ZIP64_END_SIGNATURE);
+			writeLong(44); // size of the remaining record
+			writeShort(VERSION_ZIP64);
+			writeShort(VERSION_ZIP64);
+			writeInt(0); // number of this disk
+			writeInt(0); // disk of the central directory
+			writeLong(count);
+			writeLong(count);
+			writeLong(directorySize);
+			writeLong(directoryOffset);
+
+			writeInt(ZIP64_LOCATOR_SIGNATURE);
+			writeInt(0); // disk of the zip64 end record
+			writeLong(zip64EndOffset);
+			writeInt(1); // number of disks
+		}
+		writeInt(END_SIGNATURE);
+		writeShort(0); // number of this disk
+		writeShort(0); // disk of the central directory
+		writeShort(Math.min(count, 0xFFFF));
+		writeShort(Math.min(count, 0xFFFF));
+		writeInt(Math.min(directorySize, ZIP32_LIMIT));
+		writeInt(Math.min(directoryOffset, ZIP32_LIMIT));
+		int commentLength= fComment != null ? Math.min(fComment.length, 0xFFFF) : 0;
+		writeShort(commentLength);
+		if (commentLength > 0)
+			writeBytes(fComment, 0, commentLength);
+	}
+
+	private void writeShort(int value) throws IOException {
+		fOut.write(value & 0xFF);
+		fOut.write((value >>> 8) & 0xFF);
+		fWritten+= 2;
+	}
+
+	private void writeInt(long value) throws IOException {
+		writeShort((int) (value & 0xFFFF));
+		writeShort((int) ((value >>> 16) & 0xFFFF));
+	}
+
+	private void writeLong(long value) throws IOException {
+		writeInt(value & ZIP32_LIMIT);
+		writeInt(value >>> 32);
+	}
+
+	private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+		fOut.write(bytes, offset, length);
+		fWritten+= length;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		fOut.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fClosed)
+			return;
+		try {
+			finish();
+		} finally {
+			fClosed= true;
+			// the tasks run on the shared executor, whose threads must not be interrupted
+			fCompressionCanceled.set(true);
+			for (Future<PendingEntry> future : fPending) {
+				future.cancel(false);
+			}
+			fPending.clear();
+			endDirectEntry();
+			for (ZipCentralDirectory directory : fSourceDirectories.values()) {
+				if (directory != null) {
+					try {
+						directory.close();
+					} catch (IOException e) {
+						// Do nothing
+					}
+				}
+			}
+			fSourceDirectories.clear();
+			def.end(); // the deflater of the super class is never used
+			fOut.close();
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (fClosed)
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the central directory of a ZIP file, so that the still compressed data of its entries can
+ * be copied to another archive.
+ */
+final class ZipCentralDirectory implements Closeable {
+
+	static final class Record {
+		final int fFlags;
+		final int fMethod;
+		final long fCrc;
+		final long fCompressedSize;
+		final long fSize;
+		final long fLocalHeaderOffset;
+
+		Record(int flags, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+			fFlags= flags;
+			fMethod= method;
+			fCrc= crc;
+			fCompressedSize= compressedSize;
+			fSize= size;
+			fLocalHeaderOffset= localHeaderOffset;
+		}
+
+		boolean isEncrypted() {
+			return (fFlags & 1) != 0;
+		}
+	}
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int END_SIGNATURE= 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE= 0x07064b50;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+
+	private static final int LOCAL_HEADER_SIZE= 30;
+	private static final int CENTRAL_HEADER_SIZE= 46;
+	private static final int END_SIZE= 22;
+	private static final int ZIP64_LOCATOR_SIZE= 20;
+	private static final int MAX_COMMENT_SIZE= 0xFFFF;
+	private static final int COPY_BUFFER_SIZE= 64 * 1024;
+
+	private final FileChannel fChannel;
+	private final Map<String, Record> fRecords= new HashMap<>();
+
+	ZipCentralDirectory(File file) throws IOException {
+		fChannel= FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			readCentralDirectory();
+		} catch (IOException | RuntimeException e) {
+			fChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the central directory record of the given entry.
+	 *
+	 * @param name the entry name
+	 * @return the record or <code>null</code> if the archive has no such entry
+	 */
+	Record getRecord(String name) {
+		return fRecords.get(name);
+	}
+
+	/**
+	 * Reads the data of the given entry as it is stored in the archive.
+	 *
+	 * @param record the record of the entry
+	 * @return the compressed data
+	 * @throws IOException if the archive cannot be read
+	 */
+	byte[] readRawData(Record record) throws IOException {
+		if (record.fCompressedSize > Integer.MAX_VALUE - 8)
+			throw new ZipException("entry too large: " + record.fCompressedSize); //$NON-NLS-1$
+		return read(getDataOffset(record), (int) record.fCompressedSize).array();
+	}
+
+	/**
+	 * Copies the data of the given entry as it is stored in the archive to the given stream,
+	 * without holding all of it in memory.
+	 *
+	 * @param record the record of the entry
+	 * @param out the stream to write to
+	 * @throws IOException if the archive cannot be read or the stream cannot be written
+	 */
+	void copyRawData(Record record, OutputStream out) throws IOException {
+		long position= getDataOffset(record);
+		long remaining= record.fCompressedSize;
+		ByteBuffer buffer= ByteBuffer.allocate(COPY_BUFFER_SIZE);
+		while (remaining > 0) {
+			buffer.clear();
+			buffer.limit((int) Math.min(COPY_BUFFER_SIZE, remaining));
+			int count= fChannel.read(buffer, position);
+			if (count < 0)
+				throw new EOFException();
+			out.write(buffer.array(), 0, count);
+			position+= count;
+			remaining-= count;
+		}
+	}
+
+	private long getDataOffset(Record record) throws IOException {
+		ByteBuffer header= read(record.fLocalHeaderOffset, LOCAL_HEADER_SIZE);
+		if (header.getInt(0) != LOCAL_HEADER_SIGNATURE)
+			throw new ZipException("invalid local header"); //$NON-NLS-1$
+		return record.fLocalHeaderOffset + LOCAL_HEADER_SIZE + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+	}
+
+	private void readCentralDirectory() throws IOException {
+		long fileSize= fChannel.size();
+		int tailSize= (int) Math.min(fileSize, END_SIZE + MAX_COMMENT_SIZE);
+		ByteBuffer tail= read(fileSize - tailSize, tailSize);
+		int end= -1;
+		for (int i= tailSize - END_SIZE; i >= 0; i--) {
+			if (tail.getInt(i) == END_SIGNATURE) {
+				end= i;
+				break;
+			}
+		}
+		if (end == -1)
+			throw new ZipException("end of central directory not found"); //$NON-NLS-1$
+
+		long entryCount= tail.getShort(end + 10) & 0xFFFF;
+		long directorySize= tail.getInt(end + 12) & 0xFFFFFFFFL;
+		long directoryOffset= tail.getInt(end + 16) & 0xFFFFFFFFL;
+		long locatorOffset= fileSize - tailSize + end - ZIP64_LOCATOR_SIZE;
+		if ((entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) && locatorOffset >= 0) {
+			ByteBuffer locator= read(locatorOffset, ZIP64_LOCATOR_SIZE);
+			if (locator.getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+				ByteBuffer zip64End= read(locator.getLong(8), 56);
+				if (zip64End.getInt(0) != ZIP64_END_SIGNATURE)
+					throw new ZipException("invalid zip64 end of central directory"); //$NON-NLS-1$
+				entryCount= zip64End.getLong(32);
+				directorySize= zip64End.getLong(40);
+				directoryOffset= zip64End.getLong(48);
+			}
+		}
+		if (directorySize > Integer.MAX_VALUE)
+			throw new ZipException("central directory too large"); //$NON-NLS-1$
+
+		ByteBuffer directory= read(directoryOffset, (int) directorySize);
+		int pos= 0;
+		for (long i= 0; i < entryCount; i++) {
+			if (directory.getInt(pos) != CENTRAL_HEADER_SIGNATURE)
+				throw new ZipException("invalid central directory header"); //$NON-NLS-1$
+			int flags= directory.getShort(pos + 8) & 0xFFFF;
+			int method= directory.getShort(pos + 10) & 0xFFFF;
+			long crc= directory.getInt(pos + 16) & 0xFFFFFFFFL;
+			long compressedSize= directory.getInt(pos + 20) & 0xFFFFFFFFL;
+			long size= directory.getInt(pos + 24) & 0xFFFFFFFFL;
+			int nameLength= directory.getShort(pos + 28) & 0xFFFF;
+			int extraLength= directory.getShort(pos + 30) & 0xFFFF;
+			int commentLength= directory.getShort(pos + 32) & 0xFFFF;
+			long localHeaderOffset= directory.getInt(pos + 42) & 0xFFFFFFFFL;
+
+			int extra= pos + CENTRAL_HEADER_SIZE + nameLength;
+			int extraEnd= extra + extraLength;
+			while (extra + 4 <= extraEnd) {
+				int id= directory.getShort(extra) & 0xFFFF;
+				int length= directory.getShort(extra + 2) & 0xFFFF;
+				if (id == ZIP64_EXTRA_ID) {
+					int field= extra + 4;
+					if (size == 0xFFFFFFFFL) {
+						size= directory.getLong(field);
+						field+= 8;
+					}
+					if (compressedSize == 0xFFFFFFFFL) {
+						compressedSize= directory.getLong(field);
+						field+= 8;
+					}
+					if (localHeaderOffset == 0xFFFFFFFFL)
+						localHeaderOffset= directory.getLong(field);
+					break;
+				}
+				extra+= 4 + length;
+			}
+
+			byte[] name= new byte[nameLength];
+			directory.position(pos + CENTRAL_HEADER_SIZE);
+			directory.get(name);
+			// ZipFile decodes names as UTF-8 unless told otherwise, names are looked up the same way
+			fRecords.putIfAbsent(new String(name, StandardCharsets.UTF_8), new Record(flags, method, crc, compressedSize, size, localHeaderOffset));
+			pos= extraEnd + commentLength;
+		}
+	}
+
+	private ByteBuffer read(long position, int length) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (fChannel.read(buffer, position + buffer.position()) < 0)
+				throw new EOFException();
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	@Override
+	public void close() throws IOException {
+		fChannel.close();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -60,6 +60,8 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 	public static final String IS_WRITEACCESS= "writeAccess"; //$NON-NLS-1$
 	public static final String IS_VARIABLE= "variable"; //$NON-NLS-1$
 
+	private static final String STATIC_IMPORT_KEY_SUFFIX= "#staticImport"; //$NON-NLS-1$
+
 	private CompilationUnit fRoot;
 	private Name fSelectedNode;
 	private IBinding fTarget;
@@ -108,6 +110,10 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 
 	@Override
 	public OccurrenceLocation[] getOccurrences() {
+		if (fResult == null && !fTargetIsStaticMethodImport && fTarget.getKey() != null) {
+			// the index finds the occurrences of all bindings of the AST at once
+			return OccurrencesIndex.get(fRoot).getOccurrences(fTarget, fReadDescription, fWriteDescription);
+		}
 		performSearch();
 		if (fResult.isEmpty())
 			return null;
@@ -119,6 +125,23 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		return fRoot;
 	}
 
+	/**
+	 * Returns a key for the occurrences this finder searches. Finders that are initialized with the
+	 * same AST and return the same key find the same occurrences, so the occurrences can be reused.
+	 *
+	 * @return the key, or <code>null</code> if the finder is not initialized or the occurrences
+	 *         cannot be identified
+	 */
+	public String getOccurrencesKey() {
+		if (fTarget == null)
+			return null;
+		String key= fTarget.getKey();
+		if (key == null)
+			return null;
+		// occurrences of a statically imported method also match the unqualified invocations
+		return fTargetIsStaticMethodImport ? key + STATIC_IMPORT_KEY_SUFFIX : key;
+	}
+
 	/*
 	 * @see org.eclipse.jdt.internal.ui.search.IOccurrencesFinder#getJobLabel()
 	 */
@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NameQualifiedType;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
+import org.eclipse.jdt.internal.corext.dom.Bindings;
+
+/**
+ * The names of all bindings in a compilation unit AST, grouped by the key of the binding they
+ * refer to and found in one traversal of the AST.
+ * <p>
+ * Finding the occurrences of a binding has to visit every name of the AST. The index does this
+ * once per AST, so the occurrences of further bindings in the same AST are looked up: when the
+ * caret moves from name to name in the editor, when the marked occurrences are then searched for
+ * the search view, or when a local variable is renamed in the file.
+ * </p>
+ * <p>
+ * The index is kept as a property of the AST and is rebuilt if the AST was modified since. It
+ * records the occurrences like {@link OccurrencesFinder}, except for statically imported methods
+ * selected in their import declaration, which the finder still searches itself.
+ * </p>
+ */
+public final class OccurrencesIndex {
+
+	private static final String PROPERTY= OccurrencesIndex.class.getName();
+
+	private static final Comparator<Entry> ORDER= (e1, e2) -> Integer.compare(e1.fOrder, e2.fOrder);
+
+	/**
+	 * A name and the declaration of the binding it is recorded for.
+	 */
+	private static final class Entry {
+		final Name fName;
+		final IBinding fBinding;
+		final int fOrder;
+
+		Entry(Name name, IBinding binding, int order) {
+			fName= name;
+			fBinding= binding;
+			fOrder= order;
+		}
+	}
+
+	private final long fModificationCount;
+
+	private final Map<String, List<Entry>> fEntries= new HashMap<>();
+	/** Names of statically imported methods, by the key of the declaring type and the method name */
+	private final Map<String, List<Entry>> fStaticImports= new HashMap<>();
+	private final Set<Name> fWriteNames= new HashSet<>();
+
+	private int fCount;
+
+	private OccurrencesIndex(CompilationUnit root) {
+		fModificationCount= root.getAST().modificationCount();
+		root.accept(new IndexBuilder());
+	}
+
+	/**
+	 * Returns the index of the given AST, building it if the AST has no up-to-date index yet.
+	 *
+	 * @param root the AST
+	 * @return the index of the AST
+	 */
+	public static OccurrencesIndex get(CompilationUnit root) {
+		synchronized (root) {
+			Object property= root.getProperty(PROPERTY);
+			if (property instanceof OccurrencesIndex && ((OccurrencesIndex) property).fModificationCount == root.getAST().modificationCount())
+				return (OccurrencesIndex) property;
+			OccurrencesIndex index= new OccurrencesIndex(root);
+			root.setProperty(PROPERTY, index);
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the occurrences of a binding, as found by an {@link OccurrencesFinder} for a target
+	 * that is not selected in a static import.
+	 *
+	 * @param target the binding declaration
+	 * @param readDescription the description of read occurrences
+	 * @param writeDescription the description of write occurrences
+	 * @return the occurrences in the order of the AST, or <code>null</code> if there are none
+	 */
+	OccurrenceLocation[] getOccurrences(IBinding target, String readDescription, String writeDescription) {
+		List<Entry> entries= getEntries(target);
+		if (target instanceof IMethodBinding && Modifier.isStatic(target.getModifiers())) {
+			List<Entry> imports= getStaticImports((IMethodBinding) target);
+			if (!imports.isEmpty()) {
+				Set<Name> names= new HashSet<>();
+				List<Entry> merged= new ArrayList<>(entries.size() + imports.size());
+				for (Entry entry : entries) {
+					if (names.add(entry.fName))
+						merged.add(entry);
+				}
+				for (Entry entry : imports) {
+					if (names.add(entry.fName))
+						merged.add(entry);
+				}
+				Collections.sort(merged, ORDER);
+				entries= merged;
+			}
+		}
+		if (entries.isEmpty())
+			return null;
+
+		boolean isVariable= target instanceof IVariableBinding;
+		OccurrenceLocation[] result= new OccurrenceLocation[entries.size()];
+		for (int i= 0; i < result.length; i++) {
+			Name name= entries.get(i).fName;
+			int flag= 0;
+			String description= readDescription;
+			if (isVariable) {
+				boolean isWrite= fWriteNames.contains(name);
+				flag= isWrite ? IOccurrencesFinder.F_WRITE_OCCURRENCE : IOccurrencesFinder.F_READ_OCCURRENCE;
+				if (isWrite)
+					description= writeDescription;
+			}
+			result[i]= new OccurrenceLocation(name.getStartPosition(), name.getLength(), flag, description);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the declaration and the references of a local variable or parameter.
+	 *
+	 * @param binding the binding of the variable, must not be a field
+	 * @return the names of the variable in the order of the AST
+	 */
+	public SimpleName[] getLocalVariableNames(IVariableBinding binding) {
+		IVariableBinding declaration= binding.getVariableDeclaration();
+		List<SimpleName> names= new ArrayList<>();
+		for (Entry entry : getEntries(declaration)) {
+			// names of a local variable are never qualified, only checked against the binding itself
+			if (entry.fName instanceof SimpleName && entry.fBinding == declaration)
+				names.add((SimpleName) entry.fName);
+		}
+		return names.toArray(new SimpleName[names.size()]);
+	}
+
+	private List<Entry> getEntries(IBinding target) {
+		String key= target.getKey();
+		List<Entry> candidates= key != null ? fEntries.get(key) : null;
+		if (candidates == null)
+			return Collections.emptyList();
+		List<Entry> entries= new ArrayList<>(candidates.size());
+		for (Entry entry : candidates) {
+			if (Bindings.equals(entry.fBinding, target))
+				entries.add(entry);
+		}
+		return entries;
+	}
+
+	private List<Entry> getStaticImports(IMethodBinding target) {
+		List<Entry> candidates= fStaticImports.get(getStaticImportKey(target.getDeclaringClass(), target.getName()));
+		if (candidates == null)
+			return Collections.emptyList();
+		ITypeBinding declaringType= target.getDeclaringClass().getTypeDeclaration();
+		List<Entry> entries= new ArrayList<>(candidates.size());
+		for (Entry entry : candidates) {
+			if (((IMethodBinding) entry.fBinding).getDeclaringClass().getTypeDeclaration() == declaringType)
+				entries.add(entry);
+		}
+		return entries;
+	}
+
+	private static String getStaticImportKey(ITypeBinding declaringType, String methodName) {
+		String typeKey= declaringType.getTypeDeclaration().getKey();
+		return typeKey != null ? typeKey + '#' + methodName : null;
+	}
+
+	private static IBinding getBindingDeclaration(IBinding binding) {
+		switch (binding.getKind()) {
+			case IBinding.TYPE :
+				return ((ITypeBinding)binding).getTypeDeclaration();
+			case IBinding.METHOD :
+				return ((IMethodBinding)binding).getMethodDeclaration();
+			case IBinding.VARIABLE :
+				return ((IVariableBinding)binding).getVariableDeclaration();
+			default:
+				return binding;
+		}
+	}
+
+	/**
+	 * Records the names the way {@link OccurrencesFinder} matches them against its target.
+	 */
+	private final class IndexBuilder extends ASTVisitor {
+
+		/**
+		 * Keys of the bindings recorded for an enclosing qualified name, which are not recorded
+		 * again for the names inside it
+		 */
+		private final Deque<String> fRecordedQualifiers= new ArrayDeque<>();
+		private final Deque<QualifiedName> fQualifiedNames= new ArrayDeque<>();
+
+		IndexBuilder() {
+			super(true);
+		}
+
+		@Override
+		public boolean visit(QualifiedName node) {
+			IBinding binding= node.resolveBinding();
+			String key;
+			if (binding instanceof IVariableBinding && ((IVariableBinding)binding).isField()) {
+				SimpleName name= node.getName();
+				key= addUsage(name, name.resolveBinding());
+			} else if (binding instanceof IMethodBinding && isStaticImport(node)) {
+				addStaticImport(node.getName(), (IMethodBinding) binding);
+				key= null;
+			} else {
+				key= addUsage(node, binding);
+			}
+			if (key != null) {
+				fRecordedQualifiers.push(key);
+				fQualifiedNames.push(node);
+			}
+			return true;
+		}
+
+		@Override
+		public void endVisit(QualifiedName node) {
+			if (!fQualifiedNames.isEmpty() && fQualifiedNames.peek() == node) {
+				fQualifiedNames.pop();
+				fRecordedQualifiers.pop();
+			}
+		}
+
+		private boolean isStaticImport(QualifiedName node) {
+			return node.getParent() instanceof ImportDeclaration && ((ImportDeclaration) node.getParent()).isStatic();
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			addUsage(node, node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ClassInstanceCreation node) {
+			Type type= node.getType();
+			if (type instanceof ParameterizedType) {
+				type= ((ParameterizedType) type).getType();
+			}
+			if (type instanceof SimpleType) {
+				Name name= ((SimpleType) type).getName();
+				if (name instanceof QualifiedName)
+					name= ((QualifiedName)name).getName();
+				addUsage(name, node.resolveConstructorBinding());
+			} else if (type instanceof NameQualifiedType) {
+				addUsage(((NameQualifiedType) type).getName(), node.resolveConstructorBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(Assignment node) {
+			addWrite(getSimpleName(node.getLeftHandSide()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(SingleVariableDeclaration node) {
+			addWrite(node.getName());
+			return true;
+		}
+
+		@Override
+		public boolean visit(VariableDeclarationFragment node) {
+			if (node.getParent() instanceof FieldDeclaration || node.getInitializer() != null)
+				addWrite(node.getName());
+			return true;
+		}
+
+		@Override
+		public boolean visit(PrefixExpression node) {
+			PrefixExpression.Operator operator= node.getOperator();
+			if (operator == PrefixExpression.Operator.INCREMENT || operator == PrefixExpression.Operator.DECREMENT)
+				addWrite(getSimpleName(node.getOperand()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(PostfixExpression node) {
+			addWrite(getSimpleName(node.getOperand()));
+			return true;
+		}
+
+		private void addWrite(SimpleName name) {
+			if (name != null)
+				fWriteNames.add(name);
+		}
+
+		/**
+		 * Records a name for the declaration of the binding.
+		 *
+		 * @param name the name
+		 * @param binding the binding of the name, can be <code>null</code>
+		 * @return the key the name is recorded with, or <code>null</code> if it is not recorded
+		 */
+		private String addUsage(Name name, IBinding binding) {
+			if (binding == null)
+				return null;
+			IBinding declaration= getBindingDeclaration(binding);
+			String key= declaration.getKey();
+			if (key == null || fRecordedQualifiers.contains(key))
+				return null;
+			fEntries.computeIfAbsent(key, k -> new ArrayList<>(4)).add(new Entry(name, declaration, fCount++));
+			return key;
+		}
+
+		private void addStaticImport(SimpleName name, IMethodBinding binding) {
+			if (!Modifier.isStatic(binding.getModifiers()))
+				return;
+			String key= getStaticImportKey(binding.getDeclaringClass(), name.getIdentifier());
+			if (key != null)
+				fStaticImports.computeIfAbsent(key, k -> new ArrayList<>(1)).add(new Entry(name, binding, fCount++));
+		}
+
+		private SimpleName getSimpleName(Expression expression) {
+			if (expression instanceof SimpleName)
+				return ((SimpleName)expression);
+			else if (expression instanceof QualifiedName)
+				return (((QualifiedName) expression).getName());
+			else if (expression instanceof FieldAccess)
+				return ((FieldAccess)expression).getName();
+			return null;
+		}
+	}
+}
@@ -0,0 +1,638 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ISavedState;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.manipulation.JavaManipulation;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+/**
+ * A workspace wide index of caller and callee edges, used by
+ * {@link CallerMethodWrapper} and {@link CalleeMethodWrapper} to avoid
+ * repeating searches across call hierarchies and sessions.
+ * <p>
+ * The index memorizes the children found for a member together with the
+ * generation in which they were found. Java element deltas from reconciling
+ * and building mark the changed type roots with the current generation:
+ * <ul>
+ * <li>the callees of a member are reused unless the type root of the member,
+ * or the type root of one of the callees, changed later;</li>
+ * <li>the callers of a member are updated by searching the changed type
+ * roots only, and replacing the callers found in these type roots.</li>
+ * </ul>
+ * Changes of the type hierarchy, like added or removed types and methods or
+ * changed super types, can change the bindings of unchanged type roots.
+ * They invalidate all children found before.
+ * Classpath changes and too many changed type roots drop the index, so the
+ * call hierarchy falls back to searching the workspace.
+ * </p>
+ * <p>
+ * The index and the changed type roots are saved in the state location of
+ * the plug-in on full workspace saves. The resource delta since that save is
+ * used to mark the type roots changed while the workbench was not running.
+ * </p>
+ */
+public final class CallGraphIndex {
+
+	/**
+	 * Finds the children of a member.
+	 */
+	interface IChildrenFinder {
+
+		/**
+		 * Finds the children of a member.
+		 *
+		 * @param scope the scope to search callers in, or <code>null</code> to
+		 *            use the default scope. Always <code>null</code> when
+		 *            looking for callees
+		 * @return a map from handle identifier to {@link MethodCall}
+		 */
+		Map<String, MethodCall> find(IJavaSearchScope scope);
+	}
+
+	/** An edge of the call graph, as found by the call hierarchy */
+	private static final class Location {
+
+		final String fMember;
+
+		final String fCalledMember;
+
+		final int fStart;
+
+		final int fEnd;
+
+		final int fLineNumber;
+
+		Location(String member, String calledMember, int start, int end, int lineNumber) {
+			fMember= member;
+			fCalledMember= calledMember;
+			fStart= start;
+			fEnd= end;
+			fLineNumber= lineNumber;
+		}
+	}
+
+	/** The memorized form of a {@link MethodCall} */
+	private static final class Call {
+
+		final String fMember;
+
+		final String fTypeRoot;
+
+		final boolean fPotential;
+
+		final Location[] fLocations;
+
+		Call(String member, String typeRoot, boolean potential, Location[] locations) {
+			fMember= member;
+			fTypeRoot= typeRoot;
+			fPotential= potential;
+			fLocations= locations;
+		}
+
+		static Call create(MethodCall methodCall) {
+			IMember member= methodCall.getMember();
+			ITypeRoot typeRoot= member.getTypeRoot();
+			Location[] locations;
+			if (methodCall.hasCallLocations()) {
+				List<Location> list= new ArrayList<>(methodCall.getCallLocations().size());
+				for (CallLocation location : methodCall.getCallLocations()) {
+					list.add(new Location(location.getMember().getHandleIdentifier(), location.getCalledMember().getHandleIdentifier(),
+							location.getStart(), location.getEnd(), location.getKnownLineNumber()));
+				}
+				locations= list.toArray(new Location[list.size()]);
+			} else {
+				locations= new Location[0];
+			}
+			return new Call(member.getHandleIdentifier(), typeRoot != null ? typeRoot.getHandleIdentifier() : "", methodCall.isPotential(), locations); //$NON-NLS-1$
+		}
+
+		MethodCall toMethodCall() {
+			IJavaElement member= JavaCore.create(fMember);
+			if (!(member instanceof IMember))
+				return null;
+			MethodCall methodCall= new MethodCall((IMember) member, fPotential);
+			for (Location location : fLocations) {
+				IJavaElement locationMember= fMember.equals(location.fMember) ? member : JavaCore.create(location.fMember);
+				IJavaElement calledMember= fMember.equals(location.fCalledMember) ? member : JavaCore.create(location.fCalledMember);
+				if (locationMember instanceof IMember && calledMember instanceof IMember)
+					methodCall.addCallLocation(new CallLocation((IMember) locationMember, (IMember) calledMember, location.fStart, location.fEnd, location.fLineNumber));
+			}
+			return methodCall;
+		}
+	}
+
+	/** The memorized children of a member */
+	private static final class Entry {
+
+		final long fGeneration;
+
+		final String fSettings;
+
+		/** The type roots the children depend on, <code>null</code> for callers */
+		final String[] fTypeRoots;
+
+		final Call[] fCalls;
+
+		Entry(long generation, String settings, String[] typeRoots, Call[] calls) {
+			fGeneration= generation;
+			fSettings= settings;
+			fTypeRoots= typeRoots;
+			fCalls= calls;
+		}
+	}
+
+	private final class IndexDeltaListener implements IElementChangedListener {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			processDelta(event.getDelta());
+		}
+
+		private void processDelta(IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			int kind= delta.getKind();
+			int flags= delta.getFlags();
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.JAVA_PROJECT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+							| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						clear();
+						return;
+					}
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+							| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+						clear();
+						return;
+					}
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (kind != IJavaElementDelta.CHANGED) {
+						// the delta does not list the type roots of added or removed packages
+						clear();
+						return;
+					}
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.COMPILATION_UNIT:
+					if (JavaModelUtil.isPrimary((ICompilationUnit) element)) {
+						markChanged(element.getHandleIdentifier());
+						if (isHierarchyChange(delta))
+							markHierarchyChanged();
+					}
+					break;
+				case IJavaElement.CLASS_FILE:
+					markChanged(element.getHandleIdentifier());
+					markHierarchyChanged();
+					break;
+				default:
+					break;
+			}
+		}
+
+		/*
+		 * Returns whether the delta of a type root may change the type hierarchy or the methods
+		 * overriding each other. Content changes without fine grained children are assumed to do
+		 * so, unless the reconciler of a working copy has reported the fine grained changes already.
+		 */
+		private boolean isHierarchyChange(IJavaElementDelta delta) {
+			int kind= delta.getKind();
+			int flags= delta.getFlags();
+			switch (delta.getElement().getElementType()) {
+				case IJavaElement.COMPILATION_UNIT:
+					if (kind != IJavaElementDelta.CHANGED)
+						return true;
+					if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+						return (flags & IJavaElementDelta.F_CONTENT) != 0 && !((ICompilationUnit) delta.getElement()).isWorkingCopy();
+					break;
+				case IJavaElement.TYPE:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0)
+						return true;
+					break;
+				case IJavaElement.METHOD:
+					return kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_MODIFIERS) != 0;
+				default:
+					return false;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (isHierarchyChange(child))
+					return true;
+			}
+			return false;
+		}
+
+		private void processChildrenDelta(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren())
+				processDelta(child);
+		}
+	}
+
+	private final class IndexSaveParticipant implements ISaveParticipant {
+		@Override
+		public void prepareToSave(ISaveContext context) throws CoreException {
+			// nothing to do
+		}
+
+		@Override
+		public void saving(ISaveContext context) throws CoreException {
+			if (context.getKind() != ISaveContext.FULL_SAVE)
+				return;
+			save();
+			context.needDelta();
+		}
+
+		@Override
+		public void doneSaving(ISaveContext context) {
+			// nothing to do
+		}
+
+		@Override
+		public void rollback(ISaveContext context) {
+			// nothing to do
+		}
+	}
+
+	private static final String FILE_NAME= "callgraph.index"; //$NON-NLS-1$
+
+	private static final int FILE_VERSION= 2;
+
+	/** The maximum number of memorized members */
+	private static final int MAX_ENTRIES= 20000;
+
+	/** The number of changed type roots above which the index is dropped */
+	private static final int MAX_CHANGED_TYPE_ROOTS= 1000;
+
+	/** The number of changed type roots above which callers are searched in the whole scope */
+	private static final int MAX_CALLER_UPDATE_TYPE_ROOTS= 100;
+
+	private static CallGraphIndex fgInstance;
+
+	/** The memorized children, by kind and member handle, in access order */
+	private final Map<String, Entry> fEntries= new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/** The generation of the last change, by type root handle */
+	private final Map<String, Long> fChangedTypeRoots= new HashMap<>();
+
+	/** The current generation, entries found before a change are older */
+	private long fGeneration= 1;
+
+	/** The generation of the last change of the type hierarchy */
+	private long fHierarchyGeneration;
+
+	private final IElementChangedListener fDeltaListener;
+
+	private CallGraphIndex() {
+		fDeltaListener= new IndexDeltaListener();
+		load();
+		JavaCore.addElementChangedListener(fDeltaListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		try {
+			ISavedState state= ResourcesPlugin.getWorkspace().addSaveParticipant(JavaManipulation.ID_PLUGIN, new IndexSaveParticipant());
+			if (state != null) {
+				state.processResourceChangeEvents(this::processSavedStateDelta);
+			} else {
+				clear();
+			}
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+			clear();
+		}
+	}
+
+	public static synchronized CallGraphIndex getInstance() {
+		if (fgInstance == null)
+			fgInstance= new CallGraphIndex();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			JavaCore.removeElementChangedListener(fgInstance.fDeltaListener);
+			ResourcesPlugin.getWorkspace().removeSaveParticipant(JavaManipulation.ID_PLUGIN);
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns the callers of a member, as found by the given finder.
+	 *
+	 * @param member the member
+	 * @param settings the settings which affect the result of the finder
+	 * @param finder the finder to search the callers with
+	 * @return a map from handle identifier to {@link MethodCall}
+	 */
+	Map<String, MethodCall> getCallers(IMember member, String settings, IChildrenFinder finder) {
+		String key= "R" + member.getHandleIdentifier(); //$NON-NLS-1$
+		Entry entry;
+		long generation;
+		Set<String> changed= new LinkedHashSet<>();
+		synchronized (this) {
+			entry= fEntries.get(key);
+			generation= fGeneration;
+			if (entry != null && settings.equals(entry.fSettings) && entry.fGeneration >= fHierarchyGeneration) {
+				for (Map.Entry<String, Long> change : fChangedTypeRoots.entrySet()) {
+					if (change.getValue().longValue() > entry.fGeneration)
+						changed.add(change.getKey());
+				}
+			} else {
+				entry= null;
+			}
+		}
+		if (entry != null && changed.isEmpty())
+			return toMethodCalls(entry);
+
+		Map<String, MethodCall> result;
+		if (entry == null || changed.size() > MAX_CALLER_UPDATE_TYPE_ROOTS) {
+			result= finder.find(null);
+		} else {
+			List<IJavaElement> typeRoots= new ArrayList<>(changed.size());
+			for (String handle : changed) {
+				IJavaElement typeRoot= JavaCore.create(handle);
+				if (typeRoot != null && typeRoot.exists())
+					typeRoots.add(typeRoot);
+			}
+			result= typeRoots.isEmpty() ? new HashMap<>() : finder.find(SearchEngine.createJavaSearchScope(typeRoots.toArray(new IJavaElement[typeRoots.size()])));
+			for (Call call : entry.fCalls) {
+				if (!changed.contains(call.fTypeRoot) && !result.containsKey(call.fMember)) {
+					MethodCall methodCall= call.toMethodCall();
+					if (methodCall != null)
+						result.put(call.fMember, methodCall);
+				}
+			}
+		}
+		put(key, new Entry(generation, settings, null, toCalls(result)));
+		return result;
+	}
+
+	/**
+	 * Returns the callees of a member, as found by the given finder.
+	 *
+	 * @param member the member
+	 * @param settings the settings which affect the result of the finder
+	 * @param finder the finder to analyze the member with
+	 * @return a map from handle identifier to {@link MethodCall}
+	 */
+	Map<String, MethodCall> getCallees(IMember member, String settings, IChildrenFinder finder) {
+		String key= "E" + member.getHandleIdentifier(); //$NON-NLS-1$
+		long generation;
+		synchronized (this) {
+			Entry entry= fEntries.get(key);
+			generation= fGeneration;
+			if (entry != null && settings.equals(entry.fSettings) && entry.fGeneration >= fHierarchyGeneration && !hasChanged(entry))
+				return toMethodCalls(entry);
+		}
+		Map<String, MethodCall> result= finder.find(null);
+		Call[] calls= toCalls(result);
+		Set<String> typeRoots= new LinkedHashSet<>();
+		ITypeRoot typeRoot= member.getTypeRoot();
+		if (typeRoot != null)
+			typeRoots.add(typeRoot.getHandleIdentifier());
+		for (Call call : calls)
+			typeRoots.add(call.fTypeRoot);
+		put(key, new Entry(generation, settings, typeRoots.toArray(new String[typeRoots.size()]), calls));
+		return result;
+	}
+
+	private boolean hasChanged(Entry entry) {
+		for (String typeRoot : entry.fTypeRoots) {
+			Long change= fChangedTypeRoots.get(typeRoot);
+			if (change != null && change.longValue() > entry.fGeneration)
+				return true;
+		}
+		return false;
+	}
+
+	private synchronized void put(String key, Entry entry) {
+		Entry existing= fEntries.get(key);
+		if (existing == null || existing.fGeneration <= entry.fGeneration)
+			fEntries.put(key, entry);
+	}
+
+	private static Map<String, MethodCall> toMethodCalls(Entry entry) {
+		Map<String, MethodCall> result= new HashMap<>();
+		for (Call call : entry.fCalls) {
+			MethodCall methodCall= call.toMethodCall();
+			if (methodCall != null)
+				result.put(call.fMember, methodCall);
+		}
+		return result;
+	}
+
+	private static Call[] toCalls(Map<String, MethodCall> methodCalls) {
+		Call[] result= new Call[methodCalls.size()];
+		int i= 0;
+		for (MethodCall methodCall : methodCalls.values())
+			result[i++]= Call.create(methodCall);
+		return result;
+	}
+
+	private synchronized void markChanged(String typeRoot) {
+		fChangedTypeRoots.put(typeRoot, Long.valueOf(++fGeneration));
+		if (fChangedTypeRoots.size() > MAX_CHANGED_TYPE_ROOTS)
+			clear();
+	}
+
+	private synchronized void markHierarchyChanged() {
+		fHierarchyGeneration= ++fGeneration;
+	}
+
+	/**
+	 * Drops all memorized children.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fChangedTypeRoots.clear();
+		fGeneration++;
+	}
+
+	private void processSavedStateDelta(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				if (resource.getType() != IResource.FILE)
+					return true;
+				if (JavaCore.isJavaLikeFileName(resource.getName())) {
+					IJavaElement element= JavaCore.create((IFile) resource);
+					if (element != null) {
+						markChanged(element.getHandleIdentifier());
+						markHierarchyChanged();
+					}
+				} else if (".classpath".equals(resource.getName()) || "jar".equals(resource.getFileExtension())) { //$NON-NLS-1$ //$NON-NLS-2$
+					clear();
+				}
+				return false;
+			});
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+			clear();
+		}
+	}
+
+	private static File getFile() {
+		IPath stateLocation= JavaManipulationPlugin.getDefault().getStateLocation();
+		return stateLocation.append(FILE_NAME).toFile();
+	}
+
+	private synchronized void load() {
+		File file= getFile();
+		if (!file.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION)
+				return;
+			fGeneration= in.readLong();
+			fHierarchyGeneration= in.readLong();
+			int changedCount= in.readInt();
+			for (int i= 0; i < changedCount; i++)
+				fChangedTypeRoots.put(in.readUTF(), Long.valueOf(in.readLong()));
+			int entryCount= in.readInt();
+			for (int i= 0; i < entryCount; i++) {
+				String key= in.readUTF();
+				long generation= in.readLong();
+				String settings= in.readUTF();
+				String[] typeRoots= null;
+				int typeRootCount= in.readInt();
+				if (typeRootCount >= 0) {
+					typeRoots= new String[typeRootCount];
+					for (int j= 0; j < typeRootCount; j++)
+						typeRoots[j]= in.readUTF();
+				}
+				Call[] calls= new Call[in.readInt()];
+				for (int j= 0; j < calls.length; j++) {
+					String member= in.readUTF();
+					String typeRoot= in.readUTF();
+					boolean potential= in.readBoolean();
+					Location[] locations= new Location[in.readInt()];
+					for (int k= 0; k < locations.length; k++)
+						locations[k]= new Location(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readInt());
+					calls[j]= new Call(member, typeRoot, potential, locations);
+				}
+				fEntries.put(key, new Entry(generation, settings, typeRoots, calls));
+			}
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			fEntries.clear();
+			fChangedTypeRoots.clear();
+		}
+	}
+
+	private void save() {
+		Map<String, Entry> entries;
+		Map<String, Long> changedTypeRoots;
+		long generation;
+		long hierarchyGeneration;
+		synchronized (this) {
+			entries= new LinkedHashMap<>(fEntries);
+			changedTypeRoots= new HashMap<>(fChangedTypeRoots);
+			generation= fGeneration;
+			hierarchyGeneration= fHierarchyGeneration;
+		}
+		File file= getFile();
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_VERSION);
+			out.writeLong(generation);
+			out.writeLong(hierarchyGeneration);
+			out.writeInt(changedTypeRoots.size());
+			for (Map.Entry<String, Long> change : changedTypeRoots.entrySet()) {
+				out.writeUTF(change.getKey());
+				out.writeLong(change.getValue().longValue());
+			}
+			out.writeInt(entries.size());
+			for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+				Entry entry= mapEntry.getValue();
+				out.writeUTF(mapEntry.getKey());
+				out.writeLong(entry.fGeneration);
+				out.writeUTF(entry.fSettings);
+				if (entry.fTypeRoots != null) {
+					out.writeInt(entry.fTypeRoots.length);
+					for (String typeRoot : entry.fTypeRoots)
+						out.writeUTF(typeRoot);
+				} else {
+					out.writeInt(-1);
+				}
+				out.writeInt(entry.fCalls.length);
+				for (Call call : entry.fCalls) {
+					out.writeUTF(call.fMember);
+					out.writeUTF(call.fTypeRoot);
+					out.writeBoolean(call.fPotential);
+					out.writeInt(call.fLocations.length);
+					for (Location location : call.fLocations) {
+						out.writeUTF(location.fMember);
+						out.writeUTF(location.fCalledMember);
+						out.writeInt(location.fStart);
+						out.writeInt(location.fEnd);
+						out.writeInt(location.fLineNumber);
+					}
+				}
+			}
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			file.delete();
+		}
+	}
+}
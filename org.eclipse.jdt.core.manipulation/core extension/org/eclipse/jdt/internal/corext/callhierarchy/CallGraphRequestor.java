@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import org.eclipse.jdt.core.IMember;
+
+/**
+ * Receives the calls found by
+ * {@link CallHierarchyCore#expandToDepth(IMember[], boolean, int, CallGraphRequestor, org.eclipse.core.runtime.IProgressMonitor)}.
+ * <p>
+ * The calls are reported level by level from a single thread. A member is
+ * only expanded once, but calls to and from members which have already been
+ * expanded are still reported.
+ * </p>
+ */
+public abstract class CallGraphRequestor {
+
+	public void beginReporting() {
+	}
+
+	/**
+	 * Accepts a call found when expanding a member.
+	 *
+	 * @param member the expanded member
+	 * @param call the call found, a caller of the member when expanding callers,
+	 *            or a callee of the member otherwise
+	 * @param callers <code>true</code> if callers are expanded
+	 * @param depth the depth of the call, <code>1</code> for the calls of the
+	 *            root members
+	 */
+	public abstract void acceptCall(IMember member, MethodCall call, boolean callers, int depth);
+
+	public void endReporting() {
+	}
+}
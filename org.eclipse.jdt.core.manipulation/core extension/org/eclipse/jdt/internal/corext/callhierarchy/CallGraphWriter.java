@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IMember;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
+
+/**
+ * Streams the calls found by
+ * {@link CallHierarchyCore#expandToDepth(IMember[], boolean, int, CallGraphRequestor, org.eclipse.core.runtime.IProgressMonitor)}
+ * to a writer, as a Graphviz DOT graph or as comma separated values. Edges
+ * always point from the caller to the callee. Only the node identifiers are
+ * kept in memory.
+ * <p>
+ * The comma separated values are the caller, the callee, the offset and line
+ * of the first call location, and the depth. The line is only written if the
+ * search computed it, so the buffers of the callers are not read; otherwise
+ * it is {@link CallLocation#UNKNOWN_LINE_NUMBER}.
+ * </p>
+ */
+public class CallGraphWriter extends CallGraphRequestor {
+
+	public static final int FORMAT_DOT= 1;
+
+	public static final int FORMAT_CSV= 2;
+
+	private static final long LABEL_FLAGS= JavaElementLabelsCore.ALL_FULLY_QUALIFIED | JavaElementLabelsCore.M_PARAMETER_TYPES;
+
+	private final Writer fWriter;
+
+	private final int fFormat;
+
+	/** The DOT node identifiers, by member handle */
+	private final Map<String, String> fNodes= new HashMap<>();
+
+	/**
+	 * Creates a new writer. The writer is not closed by this requestor.
+	 *
+	 * @param writer the writer to write to
+	 * @param format one of {@link #FORMAT_DOT} or {@link #FORMAT_CSV}
+	 */
+	public CallGraphWriter(Writer writer, int format) {
+		fWriter= writer;
+		fFormat= format;
+	}
+
+	@Override
+	public void beginReporting() {
+		if (fFormat == FORMAT_DOT)
+			write("digraph calls {\n"); //$NON-NLS-1$
+		else
+			write("caller,callee,offset,line,depth\n"); //$NON-NLS-1$
+	}
+
+	@Override
+	public void acceptCall(IMember member, MethodCall call, boolean callers, int depth) {
+		IMember caller= callers ? call.getMember() : member;
+		IMember callee= callers ? member : call.getMember();
+		CallLocation location= call.getFirstCallLocation();
+		int offset= location != null ? location.getStart() : -1;
+		int line= location != null ? location.getKnownLineNumber() : CallLocation.UNKNOWN_LINE_NUMBER;
+		if (fFormat == FORMAT_DOT) {
+			String from= getNode(caller);
+			String to= getNode(callee);
+			write("  " + from + " -> " + to + (call.isPotential() ? " [style=dashed];\n" : ";\n")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		} else {
+			write(quote(getLabel(caller)) + ',' + quote(getLabel(callee)) + ',' + offset + ',' + line + ',' + depth + '\n');
+		}
+	}
+
+	@Override
+	public void endReporting() {
+		if (fFormat == FORMAT_DOT)
+			write("}\n"); //$NON-NLS-1$
+		try {
+			fWriter.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private String getNode(IMember member) {
+		String handle= member.getHandleIdentifier();
+		String node= fNodes.get(handle);
+		if (node == null) {
+			node= "n" + fNodes.size(); //$NON-NLS-1$
+			fNodes.put(handle, node);
+			write("  " + node + " [label=" + quote(getLabel(member)) + "];\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return node;
+	}
+
+	private static String getLabel(IMember member) {
+		return JavaElementLabelsCore.getElementLabel(member, LABEL_FLAGS);
+	}
+
+	private String quote(String value) {
+		StringBuilder buffer= new StringBuilder(value.length() + 2);
+		buffer.append('"');
+		for (int i= 0; i < value.length(); i++) {
+			char ch= value.charAt(i);
+			if (ch == '"' || (ch == '\\' && fFormat == FORMAT_DOT))
+				buffer.append(fFormat == FORMAT_DOT ? '\\' : '"');
+			buffer.append(ch);
+		}
+		buffer.append('"');
+		return buffer.toString();
+	}
+
+	private void write(String text) {
+		try {
+			fWriter.write(text);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,10 +20,20 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -50,6 +60,26 @@ public class CallHierarchyCore {
     private static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
+
+    /**
+     * The progress monitor of the concurrent expansion tasks, which reports the
+     * cancellation of the whole expansion. It is canceled by the expansion when
+     * it ends, so that the remaining tasks stop early.
+     */
+    private static final class ExpansionMonitor extends NullProgressMonitor {
+
+        private final IProgressMonitor fParent;
+
+        ExpansionMonitor(IProgressMonitor parent) {
+            fParent= parent;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return super.isCanceled() || fParent.isCanceled();
+        }
+    }
 
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
@@ -73,6 +103,38 @@ public class CallHierarchyCore {
         return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_FILTER_TESTCODE, null));
     }
 
+    public boolean isCallGraphIndexEnabled() {
+        return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_USE_CALL_GRAPH_INDEX, null));
+    }
+
+    /**
+     * Returns the call graph index to consult before searching, if it is enabled.
+     *
+     * @return the call graph index, or <code>null</code> if it is not enabled
+     */
+    public CallGraphIndex getCallGraphIndex() {
+        return isCallGraphIndexEnabled() ? CallGraphIndex.getInstance() : null;
+    }
+
+    /**
+     * Returns a string describing the settings which affect the children found
+     * for a member. Children are only taken from the call graph index if they
+     * were found with the same settings.
+     *
+     * @param fieldSearchMode the field search mode
+     * @return the settings string
+     */
+    String getChildrenSettings(int fieldSearchMode) {
+        StringBuilder buffer= new StringBuilder();
+        buffer.append(fieldSearchMode).append(',');
+        buffer.append(isSearchUsingImplementorsEnabled()).append(',');
+        buffer.append(isFilterTestCode()).append(',');
+        if (isFilterEnabled()) {
+            buffer.append(getFilters());
+        }
+        return buffer.toString();
+    }
+
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         if (isSearchUsingImplementorsEnabled()) {
             IJavaElement[] result= Implementors.getInstance().searchForImplementors(new IJavaElement[] {
@@ -151,6 +213,102 @@ public class CallHierarchyCore {
 		roots.add(root);
 	}
 
+	/**
+	 * Expands the callers or callees of the given members breadth-first, up to
+	 * the given depth, and reports every call found to the requestor.
+	 * <p>
+	 * The members of a level are expanded concurrently. Every member is only
+	 * expanded once, even if it is reached on several paths, and the calls are
+	 * reported level by level, in a deterministic order. Only the members of
+	 * the current level are kept, so deep expansions can be streamed to a file
+	 * with a {@link CallGraphWriter}.
+	 * </p>
+	 *
+	 * @param members the members to expand
+	 * @param callers <code>true</code> to expand callers, <code>false</code> to
+	 *            expand callees
+	 * @param depth the maximum depth of the calls to report
+	 * @param requestor the requestor to report the calls to
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @throws OperationCanceledException if the expansion got canceled
+	 */
+	public void expandToDepth(IMember[] members, boolean callers, int depth, CallGraphRequestor requestor, IProgressMonitor monitor) {
+		SubMonitor progress= SubMonitor.convert(monitor, CallHierarchyMessages.CallHierarchyCore_expand_taskname, depth);
+		Set<String> expanded= new HashSet<>();
+		List<MethodWrapper> frontier= new ArrayList<>();
+		for (MethodWrapper root : getRoots(members, callers)) {
+			if (expanded.add(root.getMethodCall().getKey()))
+				frontier.add(root);
+		}
+		ExecutorService executor= JavaManipulationPlugin.getExecutor();
+		List<Future<MethodWrapper[]>> futures= new ArrayList<>();
+		IProgressMonitor taskMonitor= new ExpansionMonitor(progress);
+		try {
+			requestor.beginReporting();
+			for (int level= 1; level <= depth && !frontier.isEmpty(); level++) {
+				progress.setWorkRemaining(depth - level + 1);
+				futures.clear();
+				for (MethodWrapper wrapper : frontier)
+					futures.add(executor.submit(() -> wrapper.getCalls(taskMonitor)));
+
+				List<MethodWrapper> next= new ArrayList<>();
+				for (int i= 0; i < futures.size(); i++) {
+					IMember member= frontier.get(i).getMember();
+					for (MethodWrapper call : getExpandedCalls(futures.get(i), progress)) {
+						requestor.acceptCall(member, call.getMethodCall(), callers, level);
+						if (level < depth && call.canHaveChildren() && expanded.add(call.getMethodCall().getKey()))
+							next.add(createExpansionRoot(call, callers));
+					}
+				}
+				frontier= next;
+				progress.worked(1);
+			}
+			requestor.endReporting();
+		} finally {
+			// do not interrupt the threads of the shared executor, the running tasks check the monitor
+			taskMonitor.setCanceled(true);
+			for (Future<MethodWrapper[]> future : futures)
+				future.cancel(false);
+		}
+	}
+
+	/**
+	 * Creates a new root for a call to be expanded. Roots do not share the
+	 * method cache of their parents, which is not thread safe.
+	 *
+	 * @param call the call to expand
+	 * @param callers <code>true</code> to expand callers
+	 * @return the new root
+	 */
+	private static MethodWrapper createExpansionRoot(MethodWrapper call, boolean callers) {
+		MethodWrapper root= callers ? new CallerMethodWrapper(null, call.getMethodCall()) : new CalleeMethodWrapper(null, call.getMethodCall());
+		root.setFieldSearchMode(call.getFieldSearchMode());
+		return root;
+	}
+
+	private static MethodWrapper[] getExpandedCalls(Future<MethodWrapper[]> future, IProgressMonitor monitor) {
+		try {
+			while (true) {
+				try {
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (monitor.isCanceled())
+						throw new OperationCanceledException();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
     public static CallLocation getCallLocation(Object element) {
         CallLocation callLocation= null;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -76,6 +76,16 @@ public class CallLocation implements IAdaptable {
         return fLineNumber;
     }
 
+    /**
+     * Returns the line number without reading the buffer of the member.
+     *
+     * @return the line number, or {@link #UNKNOWN_LINE_NUMBER} if it has not
+     *         been computed yet
+     */
+    int getKnownLineNumber() {
+        return fLineNumber;
+    }
+
     public String getCallText() {
     	initCallTextAndLineNumber();
         return fCallText;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.search.SearchEngine;
 
 class CalleeMethodWrapper extends MethodWrapper {
     private Comparator<MethodWrapper> fMethodWrapperComparator = new MethodWrapperComparator();
@@ -90,17 +91,34 @@ class CalleeMethodWrapper extends MethodWrapper {
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
     	IMember member= getMember();
 		if (member.exists()) {
-			CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
-		    if (progressMonitor != null) {
-		        progressMonitor.worked(5);
-		    }
+			// callees outside of a narrower search scope are ignored, the index is used for the workspace only
+			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(CallHierarchyCore.getDefault().getSearchScope());
+			CallGraphIndex index= isWorkspaceScope ? CallHierarchyCore.getDefault().getCallGraphIndex() : null;
+			if (index != null) {
+				String settings= CallHierarchyCore.getDefault().getChildrenSettings(getFieldSearchMode());
+				CallLocation calledAt= getMethodCall().getFirstCallLocation();
+				if (calledAt != null && CallHierarchyCore.getDefault().isSearchUsingImplementorsEnabled()) {
+					// potential callees are reported at the location the member is called at
+					settings+= '@' + calledAt.getMember().getHandleIdentifier() + ':' + calledAt.getStart() + ':' + calledAt.getEnd();
+				}
+				return index.getCallees(member, settings, scope -> analyze(member, progressMonitor));
+			}
+			return analyze(member, progressMonitor);
+		}
+        return new HashMap<>(0);
+    }
 
-			if (cu != null) {
-				CalleeAnalyzerVisitor visitor = new CalleeAnalyzerVisitor(this.getMethodCall().getFirstCallLocation(), member, cu, progressMonitor);
+    private Map<String, MethodCall> analyze(IMember member, IProgressMonitor progressMonitor) {
+		CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
+	    if (progressMonitor != null) {
+	        progressMonitor.worked(5);
+	    }
 
-				cu.accept(visitor);
-				return visitor.getCallees();
-			}
+		if (cu != null) {
+			CalleeAnalyzerVisitor visitor = new CalleeAnalyzerVisitor(this.getMethodCall().getFirstCallLocation(), member, cu, progressMonitor);
+
+			cu.accept(visitor);
+			return visitor.getCallees();
 		}
         return new HashMap<>(0);
     }
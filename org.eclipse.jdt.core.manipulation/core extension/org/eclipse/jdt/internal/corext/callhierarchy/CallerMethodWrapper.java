@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -147,15 +147,30 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
-			SearchEngine searchEngine= new SearchEngine();
-			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
+			CallGraphIndex index= isWorkspaceScope ? CallHierarchyCore.getDefault().getCallGraphIndex() : null;
+			if (index != null) {
+				SearchPattern indexPattern= pattern;
+				String settings= CallHierarchyCore.getDefault().getChildrenSettings(getFieldSearchMode());
+				return index.getCallers(member, settings, scope -> search(indexPattern, scope != null ? scope : searchScope, monitor));
+			}
+			return search(pattern, searchScope, monitor);
+
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+			return new HashMap<>(0);
+		}
+	}
+
+	private Map<String, MethodCall> search(SearchPattern pattern, IJavaSearchScope searchScope, IProgressMonitor monitor) {
+		try {
+			SearchEngine searchEngine= new SearchEngine();
+			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
 			return searchRequestor.getCallers();
-
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
 			return new HashMap<>(0);
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.codemanipulation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.IChooseImportQuery;
+import org.eclipse.jdt.core.manipulation.TypeNameMatchCollector;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+/**
+ * Caches the types found for simple type names, per project and per test code visibility. Used
+ * when organizing the imports of many compilation units, where the same unresolved simple names
+ * would otherwise be searched again for every unit.
+ * <p>
+ * Names that are not in the cache yet are resolved with a single type name search per scope.
+ * The cache is thread safe. It is not updated on changes of the Java model and should only be
+ * kept for the duration of one operation.
+ * </p>
+ * <p>
+ * The organize imports operations of the compilation units that share the cache are created with
+ * {@link #createOperation(ICompilationUnit, CompilationUnit, boolean, boolean, boolean, IChooseImportQuery)}.
+ * </p>
+ */
+public final class TypeNameMatchCache {
+
+	private static final class ScopeKey {
+		final IJavaProject fProject;
+		final boolean fExcludeTestCode;
+
+		ScopeKey(IJavaProject project, boolean excludeTestCode) {
+			fProject= project;
+			fExcludeTestCode= excludeTestCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ScopeKey))
+				return false;
+			ScopeKey other= (ScopeKey) obj;
+			return fExcludeTestCode == other.fExcludeTestCode && fProject.equals(other.fProject);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fProject, Boolean.valueOf(fExcludeTestCode));
+		}
+	}
+
+	private static BiConsumer<OrganizeImportsOperation, TypeNameMatchCache> fgOperationAccess;
+
+	private final Map<ScopeKey, Map<String, List<TypeNameMatch>>> fScopes= new ConcurrentHashMap<>();
+
+	private final AtomicInteger fSearchCount= new AtomicInteger();
+
+	/**
+	 * Sets the hook that hands a cache to an organize imports operation. Called by
+	 * {@link OrganizeImportsOperation} only.
+	 *
+	 * @param access the hook setting the cache of an operation
+	 */
+	public static void setOperationAccess(BiConsumer<OrganizeImportsOperation, TypeNameMatchCache> access) {
+		fgOperationAccess= access;
+	}
+
+	/**
+	 * Creates an organize imports operation which looks up the types of unresolved simple names
+	 * in this cache.
+	 *
+	 * @param cu the compilation unit
+	 * @param astRoot the compilation unit AST node, or <code>null</code>
+	 * @param ignoreLowerCaseNames when true, type names starting with a lower case are ignored
+	 * @param save if set, the result will be saved
+	 * @param allowSyntaxErrors if set, the operation will only proceed when the compilation unit has
+	 *            no syntax errors
+	 * @param chooseImportQuery query element to be used for UI interaction or <code>null</code> to
+	 *            not select anything
+	 * @return the operation
+	 */
+	public OrganizeImportsOperation createOperation(ICompilationUnit cu, CompilationUnit astRoot, boolean ignoreLowerCaseNames, boolean save, boolean allowSyntaxErrors, IChooseImportQuery chooseImportQuery) {
+		// initializes the operation class, which sets the hook
+		OrganizeImportsOperation operation= new OrganizeImportsOperation(cu, astRoot, ignoreLowerCaseNames, save, allowSyntaxErrors, chooseImportQuery);
+		fgOperationAccess.accept(operation, this);
+		return operation;
+	}
+
+	/**
+	 * Returns the types with the given simple names that are visible in the given project.
+	 * Names that have not been searched before are searched with one type name search.
+	 *
+	 * @param project the project whose classpath is searched
+	 * @param excludeTestCode whether types from test source folders and test dependencies are
+	 *            excluded
+	 * @param simpleNames the simple type names
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the types found for the given names, in the order of the search engine
+	 * @throws JavaModelException if the search failed
+	 */
+	public List<TypeNameMatch> getMatches(IJavaProject project, boolean excludeTestCode, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException {
+		Map<String, List<TypeNameMatch>> cache= fScopes.computeIfAbsent(new ScopeKey(project, excludeTestCode), key -> new ConcurrentHashMap<>());
+		if (!cache.keySet().containsAll(simpleNames)) {
+			// only one search per scope at a time, so that concurrent callers wait for names that are being searched
+			synchronized (cache) {
+				List<String> missing= new ArrayList<>();
+				for (String name : simpleNames) {
+					if (!cache.containsKey(name))
+						missing.add(name);
+				}
+				if (!missing.isEmpty())
+					search(project, excludeTestCode, missing, cache, monitor);
+			}
+		}
+		List<TypeNameMatch> result= new ArrayList<>();
+		for (String name : simpleNames) {
+			List<TypeNameMatch> matches= cache.get(name);
+			if (matches != null)
+				result.addAll(matches);
+		}
+		return result;
+	}
+
+	private void search(IJavaProject project, boolean excludeTestCode, List<String> simpleNames, Map<String, List<TypeNameMatch>> cache, IProgressMonitor monitor) throws JavaModelException {
+		char[][] allTypes= new char[simpleNames.size()][];
+		for (int i= 0; i < allTypes.length; i++) {
+			allTypes[i]= simpleNames.get(i).toCharArray();
+		}
+		fSearchCount.incrementAndGet();
+		List<TypeNameMatch> typesFound= new ArrayList<>();
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
+		new SearchEngine().searchAllTypeNames(null, allTypes, scope, new TypeNameMatchCollector(typesFound), IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+
+		Map<String, List<TypeNameMatch>> byName= new HashMap<>();
+		for (TypeNameMatch curr : typesFound) {
+			byName.computeIfAbsent(curr.getSimpleTypeName(), name -> new ArrayList<>(3)).add(curr);
+		}
+		for (String name : simpleNames) {
+			List<TypeNameMatch> matches= byName.get(name);
+			cache.put(name, matches != null ? Collections.unmodifiableList(matches) : Collections.emptyList());
+		}
+	}
+
+	/**
+	 * Returns the number of type name searches this cache has performed.
+	 *
+	 * @return the number of searches
+	 */
+	public int getSearchCount() {
+		return fSearchCount.get();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesIndex;
 import org.eclipse.jdt.internal.ui.util.ASTHelper;
 
 
@@ -212,6 +213,10 @@ public class LinkedNodeFinder  {
 				IBinding recBinding= recNode.resolveBinding();
 				return findByBinding(root, recBinding);
 			}
+			if (root instanceof CompilationUnit && binding instanceof IVariableBinding && !((IVariableBinding) binding).isField()) {
+				// a local variable is linked to its own names only, which the AST's occurrences index knows
+				return OccurrencesIndex.get((CompilationUnit) root).getLocalVariableNames((IVariableBinding) binding);
+			}
 			return findByBinding(root, binding);
 		}
 		SimpleName[] names= findByProblems(root, name);
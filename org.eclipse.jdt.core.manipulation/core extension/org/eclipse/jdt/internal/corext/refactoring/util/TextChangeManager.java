@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.core.runtime.Assert;
+
 import org.eclipse.ltk.core.refactoring.TextChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -54,6 +56,21 @@ public class TextChangeManager {
 		fMap.put(cu, change);
 	}
 
+	/**
+	 * Adds all associations of the given manager to this manager. This is used
+	 * to merge the changes of partitions which have been checked concurrently,
+	 * each with its own manager. The managers must not manage changes for the
+	 * same compilation unit.
+	 *
+	 * @param manager the manager whose associations are added
+	 */
+	public void manageAll(TextChangeManager manager) {
+		for (Map.Entry<ICompilationUnit, TextChange> entry : manager.fMap.entrySet()) {
+			TextChange old= fMap.put(entry.getKey(), entry.getValue());
+			Assert.isTrue(old == null || old == entry.getValue(), "compilation unit managed by both managers"); //$NON-NLS-1$
+		}
+	}
+
 	/**
 	 * Returns the <code>TextChange</code> associated with the given compilation unit.
 	 * If the manager does not already manage an association it creates a one.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,11 @@ package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -24,8 +28,27 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * The cache is split into {@link #SHARD_COUNT} shards, each with its own lock. A hierarchy
+ * belongs to the shard of its focus type, and every type contained in a cached hierarchy is
+ * indexed, so a lookup does not have to ask all cached hierarchies. The size of a hierarchy is
+ * estimated by the number of types it contains. When the estimated size of a shard exceeds its
+ * share of the configured maximum, the least recently accessed hierarchies of the shard are
+ * evicted. Each shard can hold at least as many hierarchies as the whole cache did before it was
+ * split, so a hot shard does not evict more often than before.
+ * </p>
+ * <p>
+ * The maximum number of hierarchies and the maximum number of types in all hierarchies can be
+ * configured with the system properties <code>jdt.superTypeHierarchyCache.maxEntries</code> and
+ * <code>jdt.superTypeHierarchyCache.maxTypes</code>. Each cached hierarchy is notified of every
+ * element delta, so a larger maximum number of hierarchies slows down all changes. The hit and
+ * miss counters are traced when the debug option
+ * <code>org.eclipse.jdt.core.manipulation/debug/SuperTypeHierarchyCache</code> is enabled.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
@@ -33,12 +56,16 @@ public class SuperTypeHierarchyCache {
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
 		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private final IType[] fTypes;
+		private final CacheShard fShard;
+		/** The method override testers created for types of this hierarchy */
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters= new ConcurrentHashMap<>(4);
 
-		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
+		public HierarchyCacheEntry(ITypeHierarchy hierarchy, CacheShard shard) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
+			fShard= shard;
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
-			markAsAccessed();
 		}
 
 		@Override
@@ -50,18 +77,32 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
-		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public CacheShard getShard() {
+			return fShard;
+		}
+
+		/**
+		 * Returns the estimated size of the hierarchy.
+		 *
+		 * @return the number of types in the hierarchy
+		 */
+		public int getWeight() {
+			return Math.max(fTypes.length, 1);
 		}
 
-		public long getLastAccess() {
-			return fLastAccess;
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			return fMethodOverrideTesters.computeIfAbsent(type, key -> new MethodOverrideTester(key, fTypeHierarchy));
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
-				fTypeHierarchy= null;
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
+				fMethodOverrideTesters.clear();
 			}
 		}
 
@@ -72,14 +113,85 @@ public class SuperTypeHierarchyCache {
 
 	}
 
+	/**
+	 * A part of the cache, guarded by its own lock. The entries are kept in access order.
+	 */
+	private static class CacheShard {
+
+		private final LinkedHashMap<HierarchyCacheEntry, Boolean> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+		private int fWeight;
+
+		/**
+		 * Adds an entry and returns the entries which have to be evicted to keep the shard within
+		 * its bounds. Must be called while holding the lock of the shard.
+		 *
+		 * @param entry the new entry
+		 * @return the evicted entries, which are already removed from the shard
+		 */
+		List<HierarchyCacheEntry> add(HierarchyCacheEntry entry) {
+			fEntries.put(entry, Boolean.TRUE);
+			fWeight+= entry.getWeight();
+			List<HierarchyCacheEntry> evicted= new ArrayList<>(2);
+			for (Iterator<HierarchyCacheEntry> iter= fEntries.keySet().iterator(); iter.hasNext() && fEntries.size() > 1
+					&& (fEntries.size() > MAX_SHARD_ENTRIES || fWeight > MAX_SHARD_WEIGHT);) {
+				HierarchyCacheEntry eldest= iter.next();
+				iter.remove();
+				fWeight-= eldest.getWeight();
+				evicted.add(eldest);
+			}
+			return evicted;
+		}
+
+		boolean remove(HierarchyCacheEntry entry) {
+			if (fEntries.remove(entry) == null)
+				return false;
+			fWeight-= entry.getWeight();
+			return true;
+		}
 
-	private static final int CACHE_SIZE= 8;
+		boolean markAsAccessed(HierarchyCacheEntry entry) {
+			return fEntries.get(entry) != null;
+		}
+	}
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static final int SHARD_COUNT= 4;
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	/**
+	 * The number of hierarchies of the cache before it was split into shards. Hierarchies are not
+	 * spread evenly over the shards, so each shard can hold at least that many.
+	 */
+	private static final int MIN_SHARD_ENTRIES= 8;
+
+	/**
+	 * Every cached hierarchy listens to all element deltas to find out whether it changed, so the
+	 * default number of hierarchies is kept small.
+	 */
+	private static final int MAX_ENTRIES= Integer.getInteger("jdt.superTypeHierarchyCache.maxEntries", 32).intValue(); //$NON-NLS-1$
+
+	private static final int MAX_TYPES= Math.max(Integer.getInteger("jdt.superTypeHierarchyCache.maxTypes", 50000).intValue(), SHARD_COUNT); //$NON-NLS-1$
+
+	private static final int MAX_SHARD_ENTRIES= Math.max(MAX_ENTRIES / SHARD_COUNT, MIN_SHARD_ENTRIES);
+
+	private static final int MAX_SHARD_WEIGHT= MAX_TYPES / SHARD_COUNT;
+
+	/** The number of misses after which the statistics are traced */
+	private static final int TRACE_INTERVAL= 100;
+
+	private static final CacheShard[] fgShards= new CacheShard[SHARD_COUNT];
+
+	static {
+		for (int i= 0; i < SHARD_COUNT; i++) {
+			fgShards[i]= new CacheShard();
+		}
+	}
+
+	/** The cached hierarchies by the types they contain */
+	private static final Map<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
+
+	private static final LongAdder fgCacheHits= new LongAdder();
+	private static final LongAdder fgCacheMisses= new LongAdder();
+	private static final LongAdder fgEvictions= new LongAdder();
+	private static final LongAdder fgInvalidations= new LongAdder();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,32 +209,7 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
-		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
-		}
-		return test;
-	}
-
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
-			}
-		}
+		return getHierarchyEntry(type, null).getMethodOverrideTester(type);
 	}
 
 	/**
@@ -138,45 +225,51 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
+		return getHierarchyEntry(type, progressMonitor).getTypeHierarchy();
+	}
+
+	private static HierarchyCacheEntry getHierarchyEntry(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
+		HierarchyCacheEntry entry= findHierarchyEntryInCache(type);
+		if (entry == null) {
+			fgCacheMisses.increment();
+			entry= addTypeHierarchyToCache(type.newSupertypeHierarchy(progressMonitor));
+			if (JavaManipulationPlugin.DEBUG_SUPER_TYPE_HIERARCHY_CACHE && fgCacheMisses.sum() % TRACE_INTERVAL == 0) {
+				System.out.println(getStatistics());
+			}
 		} else {
-			fgCacheHits++;
-		}
-		return hierarchy;
-	}
-
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
-				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
-				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
-				}
+			fgCacheHits.increment();
+		}
+		return entry;
+	}
+
+	private static CacheShard getShard(IType type) {
+		int hash= type.hashCode();
+		return fgShards[(hash ^ (hash >>> 16)) & (SHARD_COUNT - 1)];
+	}
+
+	private static HierarchyCacheEntry addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		CacheShard shard= getShard(hierarchy.getType());
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy, shard);
+		List<HierarchyCacheEntry> evicted;
+		synchronized (shard) {
+			evicted= shard.add(newEntry);
+		}
+		List<HierarchyCacheEntry> obsoleteEntries= new ArrayList<>();
+		for (IType type : newEntry.getTypes()) {
+			HierarchyCacheEntry previous= fgTypeIndex.put(type, newEntry);
+			// hierarchies of super types are contained in the new hierarchy
+			if (previous != null && previous != newEntry && hierarchy.contains(previous.getTypeHierarchy().getType())) {
+				obsoleteEntries.add(previous);
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
+		for (HierarchyCacheEntry entry : evicted) {
+			fgEvictions.increment();
+			disposeEntry(entry);
+		}
+		for (HierarchyCacheEntry entry : obsoleteEntries) {
+			removeHierarchyEntryFromCache(entry);
+		}
+		return newEntry;
 	}
 
 
@@ -186,34 +279,45 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
-	}
-
-
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
+		return findHierarchyEntryInCache(type) != null;
+	}
+
+
+	private static HierarchyCacheEntry findHierarchyEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry == null) {
+			return null;
+		}
+		if (!entry.getTypeHierarchy().exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
+		}
+		CacheShard shard= entry.getShard();
+		synchronized (shard) {
+			if (!shard.markAsAccessed(entry)) {
+				return null; // concurrently evicted
 			}
 		}
-		return null;
+		return entry;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
-			entry.dispose();
-			fgHierarchyCache.remove(entry);
+		CacheShard shard= entry.getShard();
+		boolean removed;
+		synchronized (shard) {
+			removed= shard.remove(entry);
+		}
+		if (removed) {
+			fgInvalidations.increment();
+			disposeEntry(entry);
+		}
+	}
+
+	private static void disposeEntry(HierarchyCacheEntry entry) {
+		for (IType type : entry.getTypes()) {
+			fgTypeIndex.remove(type, entry);
 		}
+		entry.dispose();
 	}
 
 
@@ -222,7 +326,7 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.intValue();
 	}
 
 	/**
@@ -230,7 +334,26 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.intValue();
+	}
+
+	/**
+	 * Returns a description of the state of the cache, for tracing.
+	 *
+	 * @return the number of cached hierarchies and types, and the cache counters
+	 */
+	public static String getStatistics() {
+		int entries= 0;
+		int weight= 0;
+		for (CacheShard shard : fgShards) {
+			synchronized (shard) {
+				entries+= shard.fEntries.size();
+				weight+= shard.fWeight;
+			}
+		}
+		return "SuperTypeHierarchyCache: " + entries + " hierarchies, " + weight + " types, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ fgCacheHits.sum() + " hits, " + fgCacheMisses.sum() + " misses, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ fgEvictions.sum() + " evictions, " + fgInvalidations.sum() + " invalidations"; //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
 	private SuperTypeHierarchyCache() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -258,6 +260,47 @@ public class MarkOccurrenceTest {
 		assertOccurrencesInWidget();
 	}
 
+	@Test
+	public void markOccurrencesOfMarkedBinding() {
+		try {
+			fMatch= fFindReplaceDocumentAdapter.find(0, "fName", true, true, true, false);
+		} catch (BadLocationException e) {
+			fail();
+		}
+		assertNotNull(fMatch);
+
+		fEditor.selectAndReveal(fMatch.getOffset(), fMatch.getLength());
+
+		assertOccurrences(9);
+		Set<Annotation> annotations= getOccurrenceAnnotations();
+
+		fOccurrences= -1;
+		try {
+			fMatch= fFindReplaceDocumentAdapter.find(fMatch.getOffset() + fMatch.getLength(), "fName", true, true, true, false);
+		} catch (BadLocationException e) {
+			fail();
+		}
+		assertNotNull(fMatch);
+
+		fEditor.selectAndReveal(fMatch.getOffset(), fMatch.getLength());
+
+		assertOccurrences(9);
+		// the occurrences of the binding are still marked, they are not searched and annotated again
+		assertEquals(annotations, getOccurrenceAnnotations());
+		assertOccurrencesInWidget();
+	}
+
+	private Set<Annotation> getOccurrenceAnnotations() {
+		Set<Annotation> annotations= new HashSet<>();
+		Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
+		while (iter.hasNext()) {
+			Annotation annotation= iter.next();
+			if (OCCURRENCE_ANNOTATION.equals(annotation.getType()) || OCCURRENCE_WRITE_ANNOTATION.equals(annotation.getType()))
+				annotations.add(annotation);
+		}
+		return annotations;
+	}
+
 	@Test
 	public void markLocalOccurrences() {
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2022 IBM Corporation and others.
+ * Copyright (c) 2011, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.jdt.text.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.Arrays;
 
@@ -33,11 +34,16 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.SimpleName;
 
 import org.eclipse.jdt.internal.core.manipulation.search.ExceptionOccurrencesFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
 import org.eclipse.jdt.internal.core.manipulation.search.MethodExitsFinder;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesIndex;
+import org.eclipse.jdt.internal.corext.dom.LinkedNodeFinder;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.Java1d8ProjectTestSetup;
@@ -274,4 +280,50 @@ public class MarkOccurrenceTest1d8 {
 		OccurrenceLocation[] ranges= { find(s, "String", 1), find(s, "return null;", 1) };
 		checkSelection(s, offset, length, ranges);
 	}
+
+	@Test
+	public void testOccurrencesOfSeveralBindingsInOneAST() throws Exception {
+		String s= "" +
+				"package test1;\n" +
+				"import static java.lang.Math.max;\n" +
+				"public class E {\n" +
+				"    int count;\n" +
+				"    int next(int step) {\n" +
+				"        count += step;\n" +
+				"        count++;\n" +
+				"        return max(count, Math.max(step, 0));\n" +
+				"    }\n" +
+				"}\n";
+		CompilationUnit root= createCompilationUnit(s);
+
+		fFinder= new OccurrencesFinder();
+		assertNull(fFinder.initialize(root, s.indexOf("step"), 0));
+		OccurrenceLocation[] step= fFinder.getOccurrences();
+		assertEquals(3, step.length);
+		assertEquals(find(s, "step", 1).getOffset(), step[0].getOffset());
+		assertEquals(IOccurrencesFinder.F_WRITE_OCCURRENCE, step[0].getFlags());
+		assertEquals(find(s, "step", 3).getOffset(), step[2].getOffset());
+		assertEquals(IOccurrencesFinder.F_READ_OCCURRENCE, step[2].getFlags());
+
+		fFinder= new OccurrencesFinder();
+		assertNull(fFinder.initialize(root, s.indexOf("count"), 0));
+		OccurrenceLocation[] count= fFinder.getOccurrences();
+		assertEquals(4, count.length);
+		assertEquals(IOccurrencesFinder.F_WRITE_OCCURRENCE, count[1].getFlags());
+		assertEquals(IOccurrencesFinder.F_WRITE_OCCURRENCE, count[2].getFlags());
+		assertEquals(IOccurrencesFinder.F_READ_OCCURRENCE, count[3].getFlags());
+
+		fFinder= new OccurrencesFinder();
+		assertNull(fFinder.initialize(root, s.indexOf("max("), 0));
+		OccurrenceLocation[] max= fFinder.getOccurrences();
+		assertEquals(3, max.length);
+		assertEquals(find(s, "max", 1).getOffset(), max[0].getOffset());
+
+		// the finders and the linked mode share one index of the AST
+		assertSame(OccurrencesIndex.get(root), OccurrencesIndex.get(root));
+		SimpleName stepName= (SimpleName) NodeFinder.perform(root, s.indexOf("step"), 0);
+		SimpleName[] linked= LinkedNodeFinder.findByNode(root, stepName);
+		assertEquals(3, linked.length);
+		assertSame(stepName, linked[0]);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,19 +23,27 @@ import static org.junit.Assume.assumeFalse;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+import org.eclipse.ltk.core.refactoring.TextChange;
 import org.eclipse.ltk.core.refactoring.participants.ProcessorBasedRefactoring;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
@@ -2346,5 +2354,76 @@ public class ChangeSignatureTests extends GenericRefactoringTest {
 		helperRenameMethod(signature, "renamed", true, false);
 	}
 
-}
+	@Test
+	public void testChangesInSeveralProjects() throws Exception {
+		ICompilationUnit cu= createCU(getPackageP(), "A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"\tpublic void m(int i) {\n" +
+				"\t}\n" +
+				"}\n");
+		IJavaProject[] projects= new IJavaProject[3];
+		try {
+			for (int i= 0; i < projects.length; i++) {
+				projects[i]= JavaProjectHelper.createJavaProject("ChangeSignatureReferences" + i, "bin");
+				JavaProjectHelper.addRTJar(projects[i]);
+				JavaProjectHelper.addRequiredProject(projects[i], getRoot().getJavaProject());
+				IPackageFragment pack= JavaProjectHelper.addSourceContainer(projects[i], "src").createPackageFragment("r" + i, true, null);
+				for (int j= 0; j < 2; j++) {
+					pack.createCompilationUnit("B" + j + ".java",
+							"package r" + i + ";\n" +
+							"import p.A;\n" +
+							"public class B" + j + " {\n" +
+							"\tvoid f(A a) {\n" +
+							"\t\ta.m(" + j + ");\n" +
+							"\t}\n" +
+							"}\n", true, null);
+				}
+			}
+			IMethod method= getType(cu, "A").getMethod("m", new String[] { "I" });
+
+			ChangeSignatureProcessor concurrent= new ChangeSignatureProcessor(method);
+			ChangeSignatureProcessor sequential= new ChangeSignatureProcessor(method) {
+				@Override
+				protected boolean createsChangesConcurrently() {
+					return false;
+				}
+			};
+			RefactoringStatus concurrentStatus= checkAddedParameter(concurrent);
+			RefactoringStatus sequentialStatus= checkAddedParameter(sequential);
+
+			assertEquals(sequentialStatus.getSeverity(), concurrentStatus.getSeverity());
+			assertEquals(getSortedMessages(sequentialStatus), getSortedMessages(concurrentStatus));
+			Map<String, String> concurrentPreviews= getPreviews(concurrent);
+			assertEquals(1 + 2 * projects.length, concurrentPreviews.size());
+			assertEquals(getPreviews(sequential), concurrentPreviews);
+		} finally {
+			for (IJavaProject project : projects) {
+				if (project != null && project.exists())
+					JavaProjectHelper.delete(project);
+			}
+		}
+	}
 
+	private static RefactoringStatus checkAddedParameter(ChangeSignatureProcessor processor) throws Exception {
+		processor.getParameterInfos().add(ParameterInfo.createInfoForAddedParameter("int", "j", "0"));
+		return new ProcessorBasedRefactoring(processor).checkAllConditions(new NullProgressMonitor());
+	}
+
+	private static List<String> getSortedMessages(RefactoringStatus status) {
+		List<String> result= new ArrayList<>();
+		for (RefactoringStatusEntry entry : status.getEntries())
+			result.add(entry.getSeverity() + ": " + entry.getMessage());
+		Collections.sort(result);
+		return result;
+	}
+
+	private static Map<String, String> getPreviews(ChangeSignatureProcessor processor) throws Exception {
+		Map<String, String> result= new HashMap<>();
+		for (Change change : processor.getAllChanges()) {
+			TextChange textChange= (TextChange) change;
+			result.put(((ICompilationUnit) textChange.getModifiedElement()).getHandleIdentifier(), textChange.getPreviewContent(new NullProgressMonitor()));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.swt.graphics.Image;
+
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.structuremergeviewer.DiffNode;
+import org.eclipse.compare.structuremergeviewer.Differencer;
+import org.eclipse.compare.structuremergeviewer.IDiffElement;
+import org.eclipse.compare.structuremergeviewer.IStructureComparator;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.ui.compare.JavaStructureCreator;
+
+/**
+ * Benchmark for the structure compare of two large, mostly identical Java sources.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JavaStructureCreatorPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int METHOD_COUNT= 2000;
+
+	private static final int[] CHANGED_METHODS= { 10, 500, 1000, 1500, 1999 };
+
+	private static final int[] REFORMATTED_METHODS= { 20, 40, 600, 1200, 1800 };
+
+	private static String fgLeft;
+
+	private static String fgRight;
+
+	private static final class StringInput implements ITypedElement, IStreamContentAccessor {
+		private final String fContents;
+
+		StringInput(String contents) {
+			fContents= contents;
+		}
+
+		@Override
+		public String getName() {
+			return "Generated.java";
+		}
+
+		@Override
+		public Image getImage() {
+			return null;
+		}
+
+		@Override
+		public String getType() {
+			return "java";
+		}
+
+		@Override
+		public InputStream getContents() {
+			return new ByteArrayInputStream(fContents.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Compares contents like the structure diff viewer does.
+	 */
+	private static final class StructureDifferencer extends Differencer {
+		private final JavaStructureCreator fCreator;
+		private final boolean fIgnoreWhiteSpace;
+
+		StructureDifferencer(JavaStructureCreator creator, boolean ignoreWhiteSpace) {
+			fCreator= creator;
+			fIgnoreWhiteSpace= ignoreWhiteSpace;
+		}
+
+		@Override
+		protected boolean contentsEqual(Object input1, Object input2) {
+			String contents1= fCreator.getContents(input1, fIgnoreWhiteSpace);
+			String contents2= fCreator.getContents(input2, fIgnoreWhiteSpace);
+			return contents1 != null && contents1.equals(contents2);
+		}
+	}
+
+	@BeforeClass
+	public static void createSources() {
+		fgLeft= createSource(false);
+		fgRight= createSource(true);
+	}
+
+	private static String createSource(boolean modified) {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.example.generated;\n\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("import java.util.List;\n\n");
+		buf.append("public class Generated {\n\n");
+		for (int i= 0; i < METHOD_COUNT; i++) {
+			buf.append("    private int field").append(i).append(" = ").append(i).append(";\n\n");
+		}
+		for (int i= 0; i < METHOD_COUNT; i++) {
+			boolean changed= modified && contains(CHANGED_METHODS, i);
+			boolean reformatted= modified && contains(REFORMATTED_METHODS, i);
+			buf.append("    /**\n");
+			buf.append("     * Computes value number ").append(i).append(".\n");
+			buf.append("     */\n");
+			buf.append("    public List<String> method").append(i).append("(int count) {\n");
+			buf.append(reformatted ? "        List<String>   result=\n            new ArrayList<>();\n" : "        List<String> result= new ArrayList<>();\n");
+			buf.append("        for (int i= 0; i < count; i++) {\n");
+			buf.append("            result.add(\"value\" + (i * ").append(changed ? i + 1 : i).append("));\n");
+			buf.append("        }\n");
+			buf.append("        return result;\n");
+			buf.append("    }\n\n");
+		}
+		if (modified)
+			buf.append("    public void added() {\n    }\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	private static boolean contains(int[] array, int value) {
+		for (int element : array) {
+			if (element == value)
+				return true;
+		}
+		return false;
+	}
+
+	private static Object compare(boolean ignoreWhiteSpace) {
+		JavaStructureCreator creator= new JavaStructureCreator();
+		IStructureComparator left= creator.getStructure(new StringInput(fgLeft));
+		IStructureComparator right= creator.getStructure(new StringInput(fgRight));
+		return new StructureDifferencer(creator, ignoreWhiteSpace).findDifferences(false, null, null, null, left, right);
+	}
+
+	private static void collectChangedLeaves(IDiffElement element, List<String> names) {
+		if (element instanceof DiffNode && ((DiffNode) element).hasChildren()) {
+			for (IDiffElement child : ((DiffNode) element).getChildren())
+				collectChangedLeaves(child, names);
+		} else if (element.getKind() != Differencer.NO_CHANGE) {
+			names.add(element.getName());
+		}
+	}
+
+	private void measureCompare(boolean ignoreWhiteSpace) {
+		for (int i= 0; i < 3; i++)
+			compare(ignoreWhiteSpace);
+		for (int i= 0; i < 10; i++) {
+			startMeasuring();
+			compare(ignoreWhiteSpace);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testADifferences() {
+		Object result= compare(true);
+		assertNotNull(result);
+		List<String> names= new ArrayList<>();
+		collectChangedLeaves((IDiffElement) result, names);
+		Collections.sort(names);
+		assertEquals("[added(), method10(int), method1000(int), method1500(int), method1999(int), method500(int)]", names.toString());
+
+		result= compare(false);
+		names.clear();
+		collectChangedLeaves((IDiffElement) result, names);
+		assertEquals(1 + CHANGED_METHODS.length + REFORMATTED_METHODS.length, names.size());
+	}
+
+	@Test
+	public void testBCompareIgnoringWhiteSpace() {
+		measureCompare(true);
+	}
+
+	@Test
+	public void testCCompare() {
+		measureCompare(false);
+	}
+}
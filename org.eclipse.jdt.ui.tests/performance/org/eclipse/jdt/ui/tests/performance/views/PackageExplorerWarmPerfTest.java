@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,20 +13,36 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.performance.views;
 
+import static org.junit.Assert.assertTrue;
+
 import org.junit.Test;
 
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.test.performance.Dimension;
 import org.eclipse.test.performance.Performance;
 
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
+
 public class PackageExplorerWarmPerfTest extends JdtPerformanceTestCaseCommon {
 
 	@Test
@@ -49,4 +65,48 @@ public class PackageExplorerWarmPerfTest extends JdtPerformanceTestCaseCommon {
 		// don't spend more than 500 ms.
 		Performance.getDefault().assertPerformanceInAbsoluteBand(fPerformanceMeter, Dimension.ELAPSED_PROCESS, 0, 500);
 	}
+
+	@Test
+	public void testDeltaUpdates() throws Exception {
+		IJavaProject project= JavaProjectHelper.createJavaProject("DeltaUpdates", "bin");
+		try {
+			IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(project, "src");
+			IWorkbenchPage page= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+			PackageExplorerPart part= (PackageExplorerPart) page.showView(JavaUI.ID_PACKAGES);
+			part.getTreeViewer().expandToLevel(root, 1);
+			PackageExplorerContentProvider contentProvider= (PackageExplorerContentProvider) part.getTreeViewer().getContentProvider();
+			Display display= part.getSite().getShell().getDisplay();
+
+			for (int i= 0; i < 10; i++) {
+				String packName= "pack" + i;
+				IPackageFragment pack= root.createPackageFragment(packName, true, null);
+				// every compilation unit is created in its own operation, and reported in its own delta
+				Job job= Job.create("Create compilation units", monitor -> {
+					try {
+						for (int j= 0; j < 500; j++) {
+							String name= "C" + j;
+							pack.createCompilationUnit(name + ".java", "package " + packName + ";\npublic class " + name + " {\n}\n", true, null);
+						}
+					} catch (JavaModelException e) {
+						return e.getStatus();
+					}
+					return Status.OK_STATUS;
+				});
+				joinBackgroudActivities();
+				startMeasuring();
+				job.schedule();
+				while (job.getResult() == null) {
+					if (!display.readAndDispatch())
+						Thread.sleep(1);
+				}
+				contentProvider.runPendingUpdates();
+				stopMeasuring();
+				assertTrue(job.getResult().isOK());
+			}
+		} finally {
+			JavaProjectHelper.delete(project);
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.performance.views;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 
@@ -36,14 +37,18 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
 import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyViewPart;
 import org.eclipse.jdt.internal.ui.util.OpenTypeHierarchyUtil;
 
@@ -124,6 +129,41 @@ public class TypeHierarchyPerfTest extends JdtPerformanceTestCaseCommon {
 		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
 	}
 
+	@Test
+	public void testDRefreshAfterSubtypeChange() throws Exception {
+		IType type= MyTestSetup.fJProject1.findType("junit.framework.Test");
+		IPackageFragment pack= type.getPackageFragment();
+		IWorkbenchWindow workbenchWindow= JavaPlugin.getActiveWorkbenchWindow();
+
+		TypeHierarchyLifeCycle lifeCycle= new TypeHierarchyLifeCycle(false);
+		lifeCycle.addChangedListener((typeHierarchyProvider, changedTypes) -> {
+			// only keep the life cycle listening to deltas
+		});
+		lifeCycle.ensureRefreshedTypeHierarchy(type, workbenchWindow);
+		ICompilationUnit[] units= new ICompilationUnit[10];
+		try {
+			for (int i= 0; i < units.length; i++) {
+				String name= "PerfTestCase" + i;
+				String source= "package junit.framework;\npublic class " + name + " extends TestCase {\n}\n";
+				joinBackgroudActivities();
+				startMeasuring();
+				units[i]= pack.createCompilationUnit(name + ".java", source, true, null);
+				lifeCycle.ensureRefreshedTypeHierarchy(type, workbenchWindow);
+				stopMeasuring();
+				assertTrue(lifeCycle.getHierarchy().contains(units[i].getType(name)));
+			}
+		} finally {
+			lifeCycle.freeHierarchy();
+			for (ICompilationUnit unit : units) {
+				if (unit != null)
+					unit.delete(true, null);
+			}
+		}
+
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
 	private void measureOpenHierarchy(IJavaElement element) throws Exception {
 		IWorkbenchWindow activeWorkbenchWindow= JavaPlugin.getActiveWorkbenchWindow();
 		joinBackgroudActivities();
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IOrdinaryClassFile;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.JavaElementLabels;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementImageProvider;
+import org.eclipse.jdt.internal.ui.viewsupport.JavaUILabelProvider;
+
+/**
+ * Tests the labels of Java elements that are computed in the background: the placeholder, the
+ * computed label, and the update of a viewer showing the element.
+ */
+public class BackgroundLabelsTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final long TIMEOUT= 10000;
+
+	private Shell fShell;
+	private JavaUILabelProvider fLabelProvider;
+	private IType fType;
+
+	@Before
+	public void setUp() throws Exception {
+		IJavaProject project= pts.getProject();
+		IPackageFragmentRoot jre= null;
+		for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+			if (root.getKind() == IPackageFragmentRoot.K_BINARY)
+				jre= root;
+		}
+		assertNotNull(jre);
+		IOrdinaryClassFile classFile= jre.getPackageFragment("java.util").getOrdinaryClassFile("Vector.class");
+		classFile.close();
+		fType= classFile.getType();
+		assertFalse(classFile.isOpen());
+
+		fShell= new Shell();
+		fLabelProvider= new JavaUILabelProvider(JavaElementLabels.ALL_FULLY_QUALIFIED, JavaElementImageProvider.OVERLAY_ICONS);
+		fLabelProvider.setComputeLabelsInBackground(true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fShell.dispose();
+		fLabelProvider.dispose();
+	}
+
+	@Test
+	public void placeholderAndComputedLabel() throws Exception {
+		Set<Object> updated= Collections.synchronizedSet(new HashSet<>());
+		fLabelProvider.addListener(event -> {
+			if (event.getElements() != null)
+				updated.addAll(Arrays.asList(event.getElements()));
+		});
+
+		// the class file is not opened in the UI thread
+		assertEquals("Vector", fLabelProvider.getText(fType));
+		assertNotNull(fLabelProvider.getImage(fType));
+
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return updated.contains(fType);
+			}
+		}.waitForCondition(Display.getDefault(), TIMEOUT));
+		assertEquals(JavaElementLabels.getTextLabel(fType, JavaElementLabels.ALL_FULLY_QUALIFIED), fLabelProvider.getText(fType));
+		assertEquals("java.util.Vector", fLabelProvider.getText(fType));
+	}
+
+	@Test
+	public void viewerIsRefreshed() throws Exception {
+		TableViewer viewer= new TableViewer(fShell, SWT.NONE);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(fLabelProvider);
+		viewer.setInput(new Object[] { fType });
+		assertEquals("Vector", viewer.getTable().getItem(0).getText());
+
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return "java.util.Vector".equals(viewer.getTable().getItem(0).getText());
+			}
+		}.waitForCondition(Display.getDefault(), TIMEOUT));
+	}
+}
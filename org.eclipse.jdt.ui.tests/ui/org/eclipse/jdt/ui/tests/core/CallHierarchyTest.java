@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,12 +31,16 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphWriter;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -521,6 +526,56 @@ public class CallHierarchyTest {
         helper.assertCalls(Arrays.asList(helper.getAbsI1FooMethod(), helper.getAbsI2FooMethod()), secondLevel);
     }
 
+    @Test
+    public void callersWithCallGraphIndex() throws Exception {
+        CallHierarchy.getDefault().setCallGraphIndexEnabled(true);
+        try {
+            CallGraphIndex.getInstance().clear();
+            helper.createSimpleClasses();
+
+            checkCalls(helper.getMethod1(), helper.getMethod2(), helper.getMethod3());
+            checkCalls(helper.getMethod1(), helper.getMethod2(), helper.getMethod3());
+
+            ICompilationUnit cu= helper.getType2().getCompilationUnit();
+            cu.getBuffer().setContents(cu.getSource().replace("{ method3(); }", "{ method3(); method1(); }"));
+            cu.save(null, true);
+
+            checkCalls(helper.getMethod1(), helper.getMethod2(), helper.getMethod3(), helper.getMethod4());
+        } finally {
+            CallHierarchy.getDefault().setCallGraphIndexEnabled(false);
+        }
+    }
+
+    @Test
+    public void expandCallersToDepth() throws Exception {
+        helper.createSimpleClasses();
+
+        StringWriter writer= new StringWriter();
+        CallHierarchyCore.getDefault().expandToDepth(new IMember[] { helper.getMethod1() }, true, 3, new CallGraphWriter(writer, CallGraphWriter.FORMAT_CSV), new NullProgressMonitor());
+
+        String[] lines= writer.toString().split("\n");
+        assertEquals("caller,callee,offset,line,depth", lines[0]);
+        // method2 and method3 call method1, method3 calls method2, method4 calls method3
+        assertEquals(5, lines.length);
+        assertEquals(2, Arrays.stream(lines).filter(line -> line.endsWith(",1")).count());
+        assertEquals(2, Arrays.stream(lines).filter(line -> line.endsWith(",2")).count());
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.startsWith("\"pack2.B.method4()\",\"pack2.B.method3()\"") && line.endsWith(",2")));
+    }
+
+    @Test
+    public void expandCalleesToDepth() throws Exception {
+        helper.createSimpleClasses();
+
+        StringWriter writer= new StringWriter();
+        CallHierarchyCore.getDefault().expandToDepth(new IMember[] { helper.getMethod4() }, false, 1, new CallGraphWriter(writer, CallGraphWriter.FORMAT_DOT), new NullProgressMonitor());
+
+        String graph= writer.toString();
+        assertTrue(graph.startsWith("digraph calls {\n"));
+        assertTrue(graph.contains("[label=\"pack2.B.method3()\"]"));
+        assertTrue(graph.contains("n0 -> n1;"));
+        assertFalse(graph.contains("pack1.A.method1()"));
+    }
+
     private void checkCalls(IMember memberToCheck, IMethod... expectedCallers) {
         MethodWrapper[] methodWrappers = CallHierarchy.getDefault().getCallerRoots(new IMember[] { memberToCheck });
         MethodWrapper[] callers = methodWrappers[0].getCalls(new NullProgressMonitor());
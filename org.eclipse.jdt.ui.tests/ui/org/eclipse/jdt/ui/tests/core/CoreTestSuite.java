@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.jdt.ui.tests.core.source.SourceActionTests;
 AddImportTest.class,
 SourceActionTests.class,
 ASTNodesInsertTest.class,
+BackgroundLabelsTest.class,
 BindingsHierarchyTest.class,
 BindingsNameTest.class,
 CallHierarchyTest.class,
@@ -40,14 +41,18 @@ BindingLabelsTest.class,
 BindingLabels18Test.class,
 JavaElementPropertyTesterTest.class,
 JavaModelUtilTest.class,
+JavaTextSelectionCacheTest.class,
+JavaStructureCreatorTest.class,
 MethodOverrideTest.class,
 MethodOverrideTest1d8.class,
 NameProposerTest.class,
 OverrideTest.class,
 PartialASTTest.class,
+ProblemsLabelDecoratorTest.class,
 ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
 TypeHierarchyTest.class,
+TypeHierarchyLifeCycleTest.class,
 TypeHierarchyViewPartTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,8 @@ import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.corext.codemanipulation.TypeNameMatchCache;
+
 public class ImportOrganizeTest extends CoreTests {
 
 	private IJavaProject fJProject1;
@@ -226,6 +228,60 @@ public class ImportOrganizeTest extends CoreTests {
 		});
 	}
 
+	@Test
+	public void testSharedTypeNameMatchCache() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+
+		StringBuilder buf= new StringBuilder();
+		buf.append("package pack1;\n");
+		buf.append("public class C {\n");
+		buf.append("    Vector v;\n");
+		buf.append("    HashMap m;\n");
+		buf.append("}\n");
+		ICompilationUnit cu1= pack1.createCompilationUnit("C.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package pack1;\n");
+		buf.append("public class D {\n");
+		buf.append("    HashMap m;\n");
+		buf.append("}\n");
+		ICompilationUnit cu2= pack1.createCompilationUnit("D.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package pack1;\n");
+		buf.append("public class E {\n");
+		buf.append("    Vector v;\n");
+		buf.append("    ArrayList l;\n");
+		buf.append("}\n");
+		ICompilationUnit cu3= pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+		setOrganizeImportSettings(new String[0], 99, 99, fJProject1);
+		TypeNameMatchCache cache= new TypeNameMatchCache();
+
+		cache.createOperation(cu1, null, false, true, true, createQuery("C", new String[] {}, new int[] {})).run(null);
+		assertEquals(1, cache.getSearchCount());
+
+		// all names of D have been searched for C
+		cache.createOperation(cu2, null, false, true, true, createQuery("D", new String[] {}, new int[] {})).run(null);
+		assertEquals(1, cache.getSearchCount());
+
+		// only ArrayList is searched for E
+		cache.createOperation(cu3, null, false, true, true, createQuery("E", new String[] {}, new int[] {})).run(null);
+		assertEquals(2, cache.getSearchCount());
+
+		assertImports(cu1, new String[] {
+			"java.util.HashMap",
+			"java.util.Vector"
+		});
+		assertImports(cu2, new String[] {
+			"java.util.HashMap"
+		});
+		assertImports(cu3, new String[] {
+			"java.util.ArrayList",
+			"java.util.Vector"
+		});
+	}
 
 	@Test
 	public void test3() throws Exception {
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.swt.graphics.Image;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFileState;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.compare.HistoryItem;
+import org.eclipse.compare.IEditableContent;
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.ResourceNode;
+import org.eclipse.compare.structuremergeviewer.DocumentRangeNode;
+import org.eclipse.compare.structuremergeviewer.IStructureComparator;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.compare.JavaStructureCreator;
+import org.eclipse.jdt.internal.ui.compare.LocalHistoryMemberIndex;
+
+/**
+ * Tests that locating Java elements in local history states, which uses the summaries of the
+ * {@link LocalHistoryMemberIndex}, finds the same nodes as locating them in the complete
+ * structure.
+ */
+public class JavaStructureCreatorTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String CONTENT= "package pack;\n"
+			+ "\n"
+			+ "import java.util.List;\n"
+			+ "\n"
+			+ "public class A {\n"
+			+ "\tint a= 1, b;\n"
+			+ "\tstatic {\n"
+			+ "\t\tSystem.out.println();\n"
+			+ "\t}\n"
+			+ "\t/** comment */\n"
+			+ "\tvoid foo(int i) {\n"
+			+ "\t\tnew Object() {\n"
+			+ "\t\t}.hashCode();\n"
+			+ "\t}\n"
+			+ "\tvoid foo(String s, List<String> list) {\n"
+			+ "\t}\n"
+			+ "\tclass Inner {\n"
+			+ "\t\tvoid foo(int i) {\n"
+			+ "\t\t}\n"
+			+ "\t}\n"
+			+ "}\n"
+			+ "enum E {\n"
+			+ "\tX, Y;\n"
+			+ "\tvoid bar() {\n"
+			+ "\t}\n"
+			+ "}\n";
+
+	private static class StringInput implements ITypedElement, IStreamContentAccessor {
+		private final String fContents;
+
+		StringInput(String contents) {
+			fContents= contents;
+		}
+
+		@Override
+		public String getName() {
+			return "A.java";
+		}
+
+		@Override
+		public Image getImage() {
+			return null;
+		}
+
+		@Override
+		public String getType() {
+			return "java";
+		}
+
+		@Override
+		public InputStream getContents() {
+			return new ByteArrayInputStream(fContents.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/* editable contents are always parsed */
+	private static final class EditableInput extends StringInput implements IEditableContent {
+		EditableInput(String contents) {
+			super(contents);
+		}
+
+		@Override
+		public boolean isEditable() {
+			return true;
+		}
+
+		@Override
+		public void setContent(byte[] newContent) {
+			// not modified by the test
+		}
+
+		@Override
+		public ITypedElement replace(ITypedElement dest, ITypedElement src) {
+			return dest;
+		}
+	}
+
+	private IJavaProject fJProject1;
+	private ICompilationUnit fCu;
+	private IFileState fState;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack= root.createPackageFragment("pack", true, null);
+		fCu= pack.createCompilationUnit("A.java", CONTENT, true, null);
+		IFile file= (IFile) fCu.getResource();
+		file.setContents(new ByteArrayInputStream((CONTENT + "// changed\n").getBytes(StandardCharsets.UTF_8)), IResource.KEEP_HISTORY, null);
+		IFileState[] states= file.getHistory(null);
+		assertTrue(states.length > 0);
+		fState= states[0];
+		LocalHistoryMemberIndex.shutdownInstance();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		LocalHistoryMemberIndex.shutdownInstance();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void locateWithSummary() throws Exception {
+		List<IJavaElement> elements= new ArrayList<>();
+		collect(fCu, elements);
+		assertTrue(elements.size() > 10);
+
+		// computes and stores the summary
+		assertSameNodes(elements);
+		File[] stored= JavaPlugin.getDefault().getStateLocation().append("localHistoryMembers").toFile().listFiles();
+		assertNotNull(stored);
+		assertTrue(stored.length > 0);
+
+		// reads the stored summary
+		LocalHistoryMemberIndex.shutdownInstance();
+		assertSameNodes(elements);
+	}
+
+	@Test
+	public void locateMissingElement() throws Exception {
+		JavaStructureCreator creator= new JavaStructureCreator();
+		IJavaElement[] missing= { fCu.getType("B"), fCu.getType("A").getMethod("foo", new String[] { "J" }), fCu.getType("A").getType("Inner").getField("a") };
+		for (IJavaElement element : missing) {
+			assertNull(creator.locate(element, new EditableInput(CONTENT)));
+			assertNull(creator.locate(element, createHistoryItem()));
+		}
+	}
+
+	@Test
+	public void locateTypeWithMembers() throws Exception {
+		JavaStructureCreator creator= new JavaStructureCreator();
+		IType type= fCu.getType("A");
+		DocumentRangeNode expected= (DocumentRangeNode) creator.locate(type, new EditableInput(CONTENT));
+		assertNotNull(expected);
+		assertTrue(expected.getChildren().length > 5);
+		for (int i= 0; i < 2; i++) {
+			// the second time the summary is known
+			DocumentRangeNode actual= (DocumentRangeNode) creator.locate(type, createHistoryItem());
+			assertNotNull(actual);
+			assertSameSubtree(creator, expected, actual);
+		}
+	}
+
+	@Test
+	public void editedContentsAreParsed() throws Exception {
+		JavaStructureCreator creator= new JavaStructureCreator();
+		File[] stored= JavaPlugin.getDefault().getStateLocation().append("localHistoryMembers").toFile().listFiles();
+		int storedCount= stored != null ? stored.length : 0;
+
+		// only local history states never change, other read-only contents get no summary
+		assertNotNull(creator.locate(fCu.getType("A"), new StringInput(CONTENT + "class B {}\n")));
+		stored= JavaPlugin.getDefault().getStateLocation().append("localHistoryMembers").toFile().listFiles();
+		assertEquals(storedCount, stored != null ? stored.length : 0);
+	}
+
+	private HistoryItem createHistoryItem() {
+		return new HistoryItem(new ResourceNode(fCu.getResource()), fState);
+	}
+
+	private void assertSameNodes(List<IJavaElement> elements) {
+		JavaStructureCreator creator= new JavaStructureCreator();
+		int located= 0;
+		for (IJavaElement element : elements) {
+			IStructureComparator expected= creator.locate(element, new EditableInput(CONTENT));
+			IStructureComparator actual= creator.locate(element, createHistoryItem());
+			if (expected == null) {
+				assertNull(element.getElementName(), actual);
+			} else {
+				assertNotNull(element.getElementName(), actual);
+				assertSameNode(creator, (DocumentRangeNode) expected, (DocumentRangeNode) actual);
+				assertSameSubtree(creator, (DocumentRangeNode) expected, (DocumentRangeNode) actual);
+				located++;
+			}
+		}
+		assertTrue(located >= 12);
+	}
+
+	/* compares the nodes and all their descendants */
+	private static void assertSameSubtree(JavaStructureCreator creator, DocumentRangeNode expected, DocumentRangeNode actual) {
+		String id= expected.getId();
+		assertEquals(id, actual.getId());
+		assertEquals(id, expected.getRange().getOffset(), actual.getRange().getOffset());
+		assertEquals(id, expected.getRange().getLength(), actual.getRange().getLength());
+		assertEquals(id, creator.getContents(expected, false), creator.getContents(actual, false));
+		Object[] expectedChildren= expected.getChildren();
+		Object[] actualChildren= actual.getChildren();
+		assertEquals(id, expectedChildren.length, actualChildren.length);
+		for (int i= 0; i < expectedChildren.length; i++) {
+			assertSameSubtree(creator, (DocumentRangeNode) expectedChildren[i], (DocumentRangeNode) actualChildren[i]);
+		}
+	}
+
+	/* compares the nodes and their parents up to the root */
+	private static void assertSameNode(JavaStructureCreator creator, DocumentRangeNode expected, DocumentRangeNode actual) {
+		while (expected != null) {
+			assertNotNull(actual);
+			String id= expected.getId();
+			assertEquals(id, actual.getId());
+			assertEquals(id, expected.getTypeCode(), actual.getTypeCode());
+			assertEquals(id, expected.getRange().getOffset(), actual.getRange().getOffset());
+			assertEquals(id, expected.getRange().getLength(), actual.getRange().getLength());
+			assertEquals(id, creator.getContents(expected, false), creator.getContents(actual, false));
+			assertEquals(id, creator.getContents(expected, true), creator.getContents(actual, true));
+			expected= expected.getParentNode();
+			actual= actual.getParentNode();
+		}
+		assertNull(actual);
+	}
+
+	/* collects the elements down to the members of the types, local and anonymous types are not located */
+	private static void collect(IJavaElement element, List<IJavaElement> elements) throws Exception {
+		elements.add(element);
+		int type= element.getElementType();
+		if (type == IJavaElement.COMPILATION_UNIT || type == IJavaElement.IMPORT_CONTAINER || type == IJavaElement.TYPE) {
+			for (IJavaElement child : ((IParent) element).getChildren()) {
+				collect(child, elements);
+			}
+		}
+	}
+}
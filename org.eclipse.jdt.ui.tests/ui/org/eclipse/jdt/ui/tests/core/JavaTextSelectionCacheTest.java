@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jface.action.MenuManager;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaTextSelection;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaTextSelectionCache;
+
+/**
+ * Tests the Java text selection shared by the context menu action groups of the Java editor.
+ */
+public class JavaTextSelectionCacheTest {
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+	private ICompilationUnit fCu;
+	private JavaEditor fEditor;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E1 {\n");
+		buf.append("    void foo() {\n");
+		buf.append("        foo();\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		String str= buf.toString();
+		fCu= pack1.createCompilationUnit("E1.java", str, false, null);
+		fEditor= (JavaEditor) JavaUI.openInEditor(fCu);
+		fEditor.selectAndReveal(str.indexOf("foo();"), "foo".length());
+		// a reconcile drops the cached selection, wait for the initial one
+		assertNotNull(SharedASTProviderCore.getAST(fCu, SharedASTProviderCore.WAIT_YES, null));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaPlugin.getActivePage().closeAllEditors(false);
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void menusShareResolvedSelection() throws Exception {
+		// the editor starts resolving the selection when its context menu is about to show
+		fEditor.editorContextMenuAboutToShow(new MenuManager());
+
+		JavaTextSelectionCache cache= fEditor.getJavaTextSelectionCache();
+		JavaTextSelection refactorSelection= cache.getResolvedSelection();
+		JavaTextSelection occurrencesSelection= cache.getResolvedSelection();
+		assertNotNull(refactorSelection);
+		assertSame(refactorSelection, occurrencesSelection);
+
+		IJavaElement[] elements= refactorSelection.resolveElementAtOffset();
+		assertEquals(1, elements.length);
+		assertEquals(fCu.getType("E1").getMethod("foo", new String[0]), elements[0]);
+		assertNotNull(refactorSelection.resolveSelectedNodes());
+	}
+
+	@Test
+	public void staleSelectionIsDropped() throws Exception {
+		JavaTextSelectionCache cache= fEditor.getJavaTextSelectionCache();
+		cache.resolveInBackground();
+		JavaTextSelection before= cache.getResolvedSelection();
+		assertNotNull(before);
+
+		// the text widget moves the selection behind the inserted text
+		IDocument document= JavaUI.getDocumentProvider().getDocument(fEditor.getEditorInput());
+		document.replace(0, 0, "\n");
+		JavaTextSelection after= cache.getResolvedSelection();
+		assertNotSame(before, after);
+		assertEquals(before.getOffset() + 1, after.getOffset());
+		assertEquals(before.getLength(), after.getLength());
+		assertSame(after, cache.getResolvedSelection());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,11 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Hashtable;
@@ -58,6 +62,7 @@ import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.util.CodeFormatterUtil;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.ui.JavaElementLabels;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -293,6 +298,40 @@ public class MethodOverrideTest extends CoreTests {
 		doOverrideTests(cu, 1, 1, 0); // B and A
 	}
 
+	@Test
+	public void testSuperTypeHierarchyCache() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class A {\n");
+		buf.append("    public void foo() {}\n");
+		buf.append("}\n");
+		buf.append("class B extends A {\n");
+		buf.append("    @Override public void foo() {}\n");
+		buf.append("}\n");
+		buf.append("class C {\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("A.java", buf.toString(), false, null);
+		IType typeA= cu.getType("A");
+		IType typeB= cu.getType("B");
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(typeB);
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(typeB);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(typeB));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(typeB));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(typeA)); // taken from the hierarchy of B
+		assertTrue(SuperTypeHierarchyCache.hasInCache(typeA));
+
+		// changing the super class invalidates the hierarchy
+		String source= cu.getSource().replace("class B extends A", "class B extends C");
+		cu.getBuffer().setContents(source);
+		cu.save(null, true);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeB));
+		assertNotSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(typeB));
+	}
+
 	protected void doOverrideTests(ICompilationUnit cu, int focusIndex, int overridingIndex, int overriddenIndex) throws JavaModelException {
 		CompilationUnit root= assertNoCompilationError(cu);
 
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.JavaElementImageDescriptor;
+import org.eclipse.jdt.ui.ProblemsLabelDecorator;
+import org.eclipse.jdt.ui.examples.AddTestMarkersAction;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager.ProblemSummary;
+
+/**
+ * Tests that the problem summaries used by the {@link ProblemsLabelDecorator} follow the
+ * marker changes.
+ */
+public class ProblemsLabelDecoratorTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String CONTENT= "package pack;\npublic class A {\n\tint a;\n}\nclass B {\n\tint b;\n}\n";
+
+	private static class TestDecorator extends ProblemsLabelDecorator {
+		TestDecorator() {
+			super(null);
+		}
+
+		int getAdornmentFlags(Object element) {
+			return computeAdornmentFlags(element);
+		}
+	}
+
+	private IJavaProject fJProject1;
+	private ICompilationUnit fCu;
+	private IFile fFile;
+	private ProblemMarkerManager fManager;
+	private final IProblemChangedListener fListener= (changedResources, isMarkerChange) -> {
+		// only registered to enable the problem summaries
+	};
+	private TestDecorator fDecorator;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack= root.createPackageFragment("pack", true, null);
+		fCu= pack.createCompilationUnit("A.java", CONTENT, true, null);
+		fFile= (IFile) fCu.getResource();
+		fManager= JavaPlugin.getDefault().getProblemMarkerManager();
+		fManager.addListener(fListener);
+		fDecorator= new TestDecorator();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fDecorator.dispose();
+		fManager.removeListener(fListener);
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void summaryFollowsMarkerChanges() throws Exception {
+		assertSummary(-1, new int[0]);
+
+		int offset= CONTENT.indexOf("int b");
+		IMarker marker= createMarker(IMarker.SEVERITY_ERROR, offset);
+		assertSummary(IMarker.SEVERITY_ERROR, new int[] { offset });
+		assertEquals(JavaElementImageDescriptor.ERROR, fDecorator.getAdornmentFlags(fCu));
+		assertEquals(0, fDecorator.getAdornmentFlags(fCu.getType("A")));
+		assertEquals(JavaElementImageDescriptor.ERROR, fDecorator.getAdornmentFlags(fCu.getType("B")));
+
+		int warningOffset= CONTENT.indexOf("int a");
+		IMarker warning= createMarker(IMarker.SEVERITY_WARNING, warningOffset);
+		assertSummary(IMarker.SEVERITY_ERROR, new int[] { offset, warningOffset });
+		assertEquals(JavaElementImageDescriptor.WARNING, fDecorator.getAdornmentFlags(fCu.getType("A")));
+
+		marker.delete();
+		assertSummary(IMarker.SEVERITY_WARNING, new int[] { warningOffset });
+		assertEquals(JavaElementImageDescriptor.WARNING, fDecorator.getAdornmentFlags(fCu));
+		assertEquals(0, fDecorator.getAdornmentFlags(fCu.getType("B")));
+
+		warning.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		assertSummary(IMarker.SEVERITY_ERROR, new int[] { warningOffset });
+
+		warning.delete();
+		assertSummary(-1, new int[0]);
+		assertEquals(0, fDecorator.getAdornmentFlags(fCu));
+	}
+
+	private IMarker createMarker(int severity, int offset) throws Exception {
+		IMarker[] marker= new IMarker[1];
+		// create the marker with all attributes in one resource delta
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			marker[0]= fFile.createMarker(AddTestMarkersAction.MARKER_TYPE);
+			marker[0].setAttribute(IMarker.SEVERITY, severity);
+			marker[0].setAttribute(IMarker.CHAR_START, offset);
+			marker[0].setAttribute(IMarker.CHAR_END, offset + 1);
+		}, fFile, 0, null);
+		return marker[0];
+	}
+
+	private void assertSummary(int maxSeverity, int[] offsets) throws Exception {
+		ProblemSummary summary= fManager.getProblemSummary(fFile);
+		assertNotNull(summary);
+		assertEquals(maxSeverity, summary.getMaxSeverity());
+		assertEquals(offsets.length, summary.getTextMarkerCount());
+		for (int i= 0; i < offsets.length; i++) {
+			assertEquals(offsets[i], summary.getOffset(i));
+		}
+		assertEquals(summary.getMaxSeverity(), fFile.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ZERO));
+	}
+}
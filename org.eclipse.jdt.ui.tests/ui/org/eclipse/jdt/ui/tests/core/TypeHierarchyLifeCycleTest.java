@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.operation.IRunnableContext;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
+
+/**
+ * Tests that the hierarchy of a {@link TypeHierarchyLifeCycle}, which applies the element
+ * deltas to the computed hierarchy, equals a freshly computed hierarchy.
+ */
+public class TypeHierarchyLifeCycleTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final IRunnableContext CONTEXT= (fork, cancelable, runnable) -> runnable.run(new NullProgressMonitor());
+
+	private IJavaProject fJProject1;
+	private IPackageFragment fPack1;
+	private IPackageFragment fPack2;
+	private IType fFocus;
+	private TypeHierarchyLifeCycle fLifeCycle;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack1= root.createPackageFragment("pack1", true, null);
+		fPack2= root.createPackageFragment("pack2", true, null);
+		fPack1.createCompilationUnit("A.java", "package pack1;\npublic class A {\n}\n", true, null);
+		fPack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n}\n", true, null);
+		fFocus= fJProject1.findType("pack1.A");
+		assertNotNull(fFocus);
+
+		fLifeCycle= new TypeHierarchyLifeCycle(false);
+		fLifeCycle.ensureRefreshedTypeHierarchy(fFocus, CONTEXT);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fLifeCycle.freeHierarchy();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void addAndRemoveSubtypes() throws Exception {
+		ICompilationUnit c= fPack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends B {\n}\n", true, null);
+		assertUpToDate();
+		assertTrue(fLifeCycle.getHierarchy().contains(c.getType("C")));
+
+		ICompilationUnit d= fPack2.createCompilationUnit("D.java", "package pack2;\npublic class D extends pack1.C {\n\tclass E extends D {\n\t}\n}\n", true, null);
+		assertUpToDate();
+
+		ICompilationUnit i= fPack1.createCompilationUnit("I.java", "package pack1;\npublic interface I {\n}\n", true, null);
+		fPack1.createCompilationUnit("F.java", "package pack1;\npublic class F extends A implements I {\n}\n", true, null);
+		assertUpToDate();
+
+		d.delete(true, null);
+		assertUpToDate();
+		c.delete(true, null);
+		assertUpToDate();
+		i.delete(true, null);
+		assertUpToDate();
+	}
+
+	@Test
+	public void changeModifiers() throws Exception {
+		fPack1.createCompilationUnit("B.java", "package pack1;\npublic abstract class B extends A {\n}\n", true, null);
+		assertUpToDate();
+		fPack1.createCompilationUnit("B.java", "package pack1;\nfinal class B extends A {\n}\n", true, null);
+		assertUpToDate();
+	}
+
+	@Test
+	public void changeSupertypes() throws Exception {
+		fPack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends B {\n}\n", true, null);
+		assertUpToDate();
+		fPack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends A {\n}\n", true, null);
+		assertUpToDate();
+		fPack1.createCompilationUnit("C.java", "package pack1;\npublic class C {\n}\n", true, null);
+		assertUpToDate();
+	}
+
+	@Test
+	public void changeSupertypeWithSameSimpleName() throws Exception {
+		fPack2.createCompilationUnit("B.java", "package pack2;\nimport pack1.A;\npublic class B extends A {\n}\n", true, null);
+		fPack2.createCompilationUnit("C.java", "package pack2;\nimport pack1.B;\npublic class C extends B {\n}\n", true, null);
+		assertUpToDate();
+
+		// the simple name of the superclass does not change
+		fPack2.createCompilationUnit("C.java", "package pack2;\npublic class C extends B {\n}\n", true, null);
+		assertUpToDate();
+	}
+
+	@Test
+	public void regionHierarchy() throws Exception {
+		IJavaElement[] elements= new IJavaElement[] { fPack1, fPack2 };
+		IRegion region= JavaCore.newRegion();
+		region.add(fPack1);
+		region.add(fPack2);
+		TypeHierarchyLifeCycle lifeCycle= new TypeHierarchyLifeCycle(false);
+		try {
+			lifeCycle.ensureRefreshedTypeHierarchy(elements, CONTEXT);
+			assertSameHierarchy(JavaCore.newTypeHierarchy(region, null, null), lifeCycle.getHierarchy());
+
+			// new types in the region are not subtypes of a focus type
+			ICompilationUnit c= fPack2.createCompilationUnit("C.java", "package pack2;\npublic class C {\n}\n", true, null);
+			lifeCycle.ensureRefreshedTypeHierarchy(elements, CONTEXT);
+			assertTrue(lifeCycle.getHierarchy().contains(c.getType("C")));
+			assertSameHierarchy(JavaCore.newTypeHierarchy(region, null, null), lifeCycle.getHierarchy());
+
+			fPack1.createCompilationUnit("D.java", "package pack1;\npublic class D extends A {\n}\n", true, null);
+			lifeCycle.ensureRefreshedTypeHierarchy(elements, CONTEXT);
+			assertSameHierarchy(JavaCore.newTypeHierarchy(region, null, null), lifeCycle.getHierarchy());
+
+			fPack1.createCompilationUnit("B.java", "package pack1;\npublic abstract class B extends A {\n}\n", true, null);
+			lifeCycle.ensureRefreshedTypeHierarchy(elements, CONTEXT);
+			assertSameHierarchy(JavaCore.newTypeHierarchy(region, null, null), lifeCycle.getHierarchy());
+
+			c.delete(true, null);
+			lifeCycle.ensureRefreshedTypeHierarchy(elements, CONTEXT);
+			assertSameHierarchy(JavaCore.newTypeHierarchy(region, null, null), lifeCycle.getHierarchy());
+		} finally {
+			lifeCycle.freeHierarchy();
+		}
+	}
+
+	private void assertUpToDate() throws Exception {
+		fLifeCycle.ensureRefreshedTypeHierarchy(fFocus, CONTEXT);
+		assertSameHierarchy(fFocus.newTypeHierarchy(null), fLifeCycle.getHierarchy());
+	}
+
+	private static void assertSameHierarchy(ITypeHierarchy expected, ITypeHierarchy actual) {
+		assertEquals(asSet(expected.getAllTypes()), asSet(actual.getAllTypes()));
+		assertEquals(asSet(expected.getAllClasses()), asSet(actual.getAllClasses()));
+		assertEquals(asSet(expected.getAllInterfaces()), asSet(actual.getAllInterfaces()));
+		for (IType type : expected.getAllTypes()) {
+			String name= type.getFullyQualifiedName();
+			assertEquals(name, expected.getSuperclass(type), actual.getSuperclass(type));
+			assertEquals(name, asSet(expected.getSuperInterfaces(type)), asSet(actual.getSuperInterfaces(type)));
+			assertEquals(name, asSet(expected.getSubtypes(type)), asSet(actual.getSubtypes(type)));
+			assertEquals(name, asSet(expected.getSubclasses(type)), asSet(actual.getSubclasses(type)));
+			assertEquals(name, asSet(expected.getAllSubtypes(type)), asSet(actual.getAllSubtypes(type)));
+			assertEquals(name, asSet(expected.getAllSupertypes(type)), asSet(actual.getAllSupertypes(type)));
+			assertEquals(name, expected.getCachedFlags(type), actual.getCachedFlags(type));
+		}
+	}
+
+	private static Set<IType> asSet(IType[] types) {
+		return new HashSet<>(Arrays.asList(types));
+	}
+}
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.jarexport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+import org.eclipse.jdt.internal.jarpackager.ParallelJarOutputStream;
+
+/**
+ * Writes archives with {@link ParallelJarOutputStream} and reads them back with
+ * {@link java.util.zip}.
+ */
+public class ParallelJarOutputStreamTests {
+
+	private static final int LARGE_SIZE= 5 * 1024 * 1024;
+
+	private File fJar;
+	private File fSource;
+
+	@Before
+	public void setUp() throws Exception {
+		fJar= File.createTempFile("parallel", ".jar");
+		fSource= File.createTempFile("source", ".zip");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fJar.delete();
+		fSource.delete();
+	}
+
+	@Test
+	public void storedAndDeflated() throws Exception {
+		Map<String, byte[]> contents= new LinkedHashMap<>();
+		contents.put("empty.txt", new byte[0]);
+		contents.put("small.txt", createContent(100, 1));
+		contents.put("medium.bin", createContent(200000, 2));
+		contents.put("large.bin", createContent(LARGE_SIZE, 3));
+
+		Manifest manifest= new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(fJar), manifest)) {
+			out.setComment("comment");
+			for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+				for (int method : new int[] { ZipEntry.STORED, ZipEntry.DEFLATED }) {
+					JarEntry newEntry= new JarEntry(getName(entry.getKey(), method));
+					newEntry.setMethod(method);
+					out.putNextEntry(newEntry);
+					write(out, entry.getValue());
+					out.closeEntry();
+				}
+			}
+		}
+
+		try (JarFile jar= new JarFile(fJar)) {
+			assertEquals("comment", jar.getComment());
+			assertEquals(manifest, jar.getManifest());
+			assertEquals(1 + 2 * contents.size(), jar.size());
+			for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+				assertEntry(jar, getName(entry.getKey(), ZipEntry.STORED), ZipEntry.STORED, entry.getValue());
+				assertEntry(jar, getName(entry.getKey(), ZipEntry.DEFLATED), ZipEntry.DEFLATED, entry.getValue());
+			}
+		}
+		assertStreamContents(contents);
+	}
+
+	@Test
+	public void largeStoredEntryWithCrcAndSize() throws Exception {
+		byte[] content= createContent(LARGE_SIZE, 4);
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(fJar))) {
+			JarEntry entry= new JarEntry("large.bin");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(content.length);
+			entry.setCrc(getCrc(content));
+			out.putNextEntry(entry);
+			write(out, content);
+			out.closeEntry();
+		}
+		try (ZipFile zip= new ZipFile(fJar)) {
+			assertEntry(zip, "large.bin", ZipEntry.STORED, content);
+		}
+	}
+
+	@Test
+	public void rawCopy() throws Exception {
+		Map<String, byte[]> contents= new LinkedHashMap<>();
+		contents.put("small.txt", createContent(100, 5));
+		contents.put("large.bin", createContent(LARGE_SIZE, 6));
+		createSource(contents);
+
+		try (ZipFile source= new ZipFile(fSource); ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(fJar))) {
+			for (String name : contents.keySet()) {
+				for (int method : new int[] { ZipEntry.STORED, ZipEntry.DEFLATED }) {
+					ZipEntry sourceEntry= source.getEntry(getName(name, method));
+					JarEntry newEntry= new JarEntry(getName(name, method));
+					newEntry.setMethod(method);
+					assertTrue(newEntry.getName(), JarPackagerUtilCore.putRawEntry(newEntry, source, sourceEntry, out));
+				}
+			}
+			// a different method cannot be copied raw
+			ZipEntry sourceEntry= source.getEntry(getName("small.txt", ZipEntry.DEFLATED));
+			JarEntry newEntry= new JarEntry("recompressed.txt");
+			newEntry.setMethod(ZipEntry.STORED);
+			assertFalse(JarPackagerUtilCore.putRawEntry(newEntry, source, sourceEntry, out));
+			out.putNextEntry(newEntry);
+			try (InputStream in= source.getInputStream(sourceEntry)) {
+				write(out, in.readAllBytes());
+			}
+			out.closeEntry();
+		}
+
+		try (ZipFile zip= new ZipFile(fJar)) {
+			for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+				assertEntry(zip, getName(entry.getKey(), ZipEntry.STORED), ZipEntry.STORED, entry.getValue());
+				assertEntry(zip, getName(entry.getKey(), ZipEntry.DEFLATED), ZipEntry.DEFLATED, entry.getValue());
+			}
+			assertEntry(zip, "recompressed.txt", ZipEntry.STORED, contents.get("small.txt"));
+		}
+		assertStreamContents(null);
+	}
+
+	@Test
+	public void zip64EntryCount() throws Exception {
+		int count= 0x10000 + 10;
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(fJar))) {
+			for (int i= 0; i < count; i++) {
+				JarEntry entry= new JarEntry("entry" + i + ".txt");
+				entry.setMethod(i % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED);
+				out.putNextEntry(entry);
+				write(out, ("content of entry " + i).getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+		}
+		try (ZipFile zip= new ZipFile(fJar)) {
+			assertEquals(count, zip.size());
+			for (int i : new int[] { 0, 1, 0xFFFF, count - 1 }) {
+				assertEntry(zip, "entry" + i + ".txt", i % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED, ("content of entry " + i).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private void createSource(Map<String, byte[]> contents) throws IOException {
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(fSource))) {
+			for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+				byte[] content= entry.getValue();
+				ZipEntry stored= new ZipEntry(getName(entry.getKey(), ZipEntry.STORED));
+				stored.setMethod(ZipEntry.STORED);
+				stored.setSize(content.length);
+				stored.setCrc(getCrc(content));
+				out.putNextEntry(stored);
+				out.write(content);
+				out.closeEntry();
+				out.putNextEntry(new ZipEntry(getName(entry.getKey(), ZipEntry.DEFLATED)));
+				out.write(content);
+				out.closeEntry();
+			}
+		}
+	}
+
+	/*
+	 * Reads the archive with a JarInputStream, which checks the local headers and the data
+	 * descriptors instead of the central directory.
+	 */
+	private void assertStreamContents(Map<String, byte[]> contents) throws IOException {
+		try (ZipFile zip= new ZipFile(fJar); JarInputStream in= new JarInputStream(new FileInputStream(fJar))) {
+			int count= 0;
+			ZipEntry entry;
+			while ((entry= in.getNextEntry()) != null) {
+				byte[] actual= in.readAllBytes();
+				ZipEntry expected= zip.getEntry(entry.getName());
+				assertNotNull(entry.getName(), expected);
+				assertEquals(entry.getName(), expected.getSize(), actual.length);
+				assertEquals(entry.getName(), expected.getCrc(), getCrc(actual));
+				if (contents != null) {
+					String name= entry.getName().replace(".stored", "").replace(".deflated", "");
+					assertArrayEquals(entry.getName(), contents.get(name), actual);
+				}
+				count++;
+			}
+			// the manifest is not returned as an entry by JarInputStream
+			assertEquals(in.getManifest() != null ? zip.size() - 1 : zip.size(), count);
+		}
+	}
+
+	private static void assertEntry(ZipFile zip, String name, int method, byte[] expected) throws IOException {
+		ZipEntry entry= zip.getEntry(name);
+		assertNotNull(name, entry);
+		assertEquals(name, method, entry.getMethod());
+		assertEquals(name, expected.length, entry.getSize());
+		assertEquals(name, getCrc(expected), entry.getCrc());
+		if (method == ZipEntry.STORED)
+			assertEquals(name, expected.length, entry.getCompressedSize());
+		try (InputStream in= zip.getInputStream(entry)) {
+			assertArrayEquals(name, expected, in.readAllBytes());
+		}
+	}
+
+	private static void write(OutputStream out, byte[] content) throws IOException {
+		// write in chunks, like the JAR writers
+		for (int offset= 0; offset < content.length; offset+= 4096) {
+			out.write(content, offset, Math.min(4096, content.length - offset));
+		}
+	}
+
+	private static String getName(String name, int method) {
+		int dot= name.lastIndexOf('.');
+		return name.substring(0, dot) + (method == ZipEntry.STORED ? ".stored" : ".deflated") + name.substring(dot);
+	}
+
+	private static long getCrc(byte[] content) {
+		CRC32 crc= new CRC32();
+		crc.update(content);
+		return crc.getValue();
+	}
+
+	/*
+	 * Creates content that compresses, but not to nothing.
+	 */
+	private static byte[] createContent(int size, long seed) {
+		Random random= new Random(seed);
+		byte[] content= new byte[size];
+		for (int i= 0; i < size; i++) {
+			content[i]= (byte) ('a' + random.nextInt(8));
+		}
+		return content;
+	}
+}
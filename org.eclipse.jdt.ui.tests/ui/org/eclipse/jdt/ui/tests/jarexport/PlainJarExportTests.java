@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.jarexport;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -41,6 +43,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ui.IWorkbenchWindow;
@@ -58,6 +61,7 @@ import org.eclipse.jdt.ui.jarpackager.IJarExportRunnable;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.jarpackager.IncrementalJarExport;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
 public class PlainJarExportTests {
@@ -160,6 +164,111 @@ public class PlainJarExportTests {
 		assertEquals(expected.toString(), entries.toString());
 	}
 
+	@Test
+	public void exportIncrementally() throws Exception {
+		JarPackageData data= createJarPackageData();
+
+		data.setElements(new Object[] { fCU });
+		data.setExportClassFiles(true);
+		data.setIncrementalExport(true);
+
+		ArrayList<String> entries;
+		try (ZipFile jar= createArchive(data)) {
+			entries= getSortedEntries(jar);
+		}
+		File jarFile= data.getAbsoluteJarLocation().toFile();
+		int[] counts= IncrementalJarExport.getLastExportCounts(jarFile);
+		assertNotNull(counts);
+		assertEquals(0, counts[0]);
+		assertEquals(3, counts[1]);
+
+		try (ZipFile jar= createArchive(data)) {
+			assertEquals(entries.toString(), getSortedEntries(jar).toString());
+		}
+		counts= IncrementalJarExport.getLastExportCounts(jarFile);
+		assertEquals(3, counts[0]);
+		assertEquals(0, counts[1]);
+
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.eclipse.jdt.ui.test;\n");
+		buf.append("public class Main {\n");
+		buf.append("    public class MainInner {\n");
+		buf.append("    }\n");
+		buf.append("    public static void main(String[] args) {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fCU.getBuffer().setContents(buf.toString());
+		fCU.save(null, true);
+
+		try (ZipFile jar= createArchive(data)) {
+			List<String> expected= Arrays.asList("META-INF/MANIFEST.MF\n", "org/eclipse/jdt/ui/test/Main$MainInner.class\n", "org/eclipse/jdt/ui/test/Main.class\n");
+			assertEquals(expected.toString(), getSortedEntries(jar).toString());
+		}
+		// the builder may leave the class file of the unchanged inner class alone
+		counts= IncrementalJarExport.getLastExportCounts(jarFile);
+		assertEquals(2, counts[0] + counts[1]);
+		assertTrue(counts[1] >= 1);
+	}
+
+	@Test
+	public void exportIncrementallyWithoutStatus() throws Exception {
+		JarPackageData data= createJarPackageData();
+
+		data.setElements(new Object[] { fCU });
+		data.setExportClassFiles(true);
+		data.setIncrementalExport(true);
+
+		// the wizard opens a dialog for every status that is not OK
+		IStatus status= runExport(data);
+		assertTrue(status.toString(), status.isOK());
+		status= runExport(data);
+		assertTrue(status.toString(), status.isOK());
+		int[] counts= IncrementalJarExport.getLastExportCounts(data.getAbsoluteJarLocation().toFile());
+		assertNotNull(counts);
+		assertEquals(3, counts[0]);
+	}
+
+	@Test
+	public void exportChangedCuWithNewAnonymousClass() throws Exception {
+		JarPackageData data= createJarPackageData();
+
+		data.setElements(new Object[] { fCU });
+		data.setExportClassFiles(true);
+
+		try (ZipFile jar= createArchive(data)) {
+			List<String> expected= Arrays.asList("META-INF/MANIFEST.MF\n", "org/eclipse/jdt/ui/test/Main$1.class\n", "org/eclipse/jdt/ui/test/Main$MainInner.class\n", "org/eclipse/jdt/ui/test/Main.class\n");
+			assertEquals(expected.toString(), getSortedEntries(jar).toString());
+		}
+
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.eclipse.jdt.ui.test;\n");
+		buf.append("public class Main {\n");
+		buf.append("    public class MainInner {\n");
+		buf.append("    }\n");
+		buf.append("    public static void main(String[] args) {\n");
+		buf.append("        new Main() {\n");
+		buf.append("            \n");
+		buf.append("        }.hashCode();\n");
+		buf.append("        new Object() {\n");
+		buf.append("            \n");
+		buf.append("        }.toString();\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fCU.getBuffer().setContents(buf.toString());
+		fCU.save(null, true);
+
+		// the class files of the package are indexed by the first export
+		try (ZipFile jar= createArchive(data)) {
+			List<String> expected= Arrays.asList("META-INF/MANIFEST.MF\n", "org/eclipse/jdt/ui/test/Main$1.class\n", "org/eclipse/jdt/ui/test/Main$2.class\n", "org/eclipse/jdt/ui/test/Main$MainInner.class\n", "org/eclipse/jdt/ui/test/Main.class\n");
+			assertEquals(expected.toString(), getSortedEntries(jar).toString());
+
+			IFile classFile= ResourcesPlugin.getWorkspace().getRoot().getFolder(fProject.getOutputLocation()).getFile("org/eclipse/jdt/ui/test/Main.class");
+			try (InputStream expectedContents= classFile.getContents(); InputStream actualContents= jar.getInputStream(jar.getEntry("org/eclipse/jdt/ui/test/Main.class"))) {
+				assertArrayEquals(expectedContents.readAllBytes(), actualContents.readAllBytes());
+			}
+		}
+	}
+
 	private JarPackageData createJarPackageData() {
 		JarPackageData data= new JarPackageData();
 		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(getName() + ".jar"));
@@ -173,18 +282,21 @@ public class PlainJarExportTests {
 	}
 
 	private static ZipFile createArchive(JarPackageData data) throws Exception, CoreException {
-		IWorkbenchWindow window= PlatformUI.getWorkbench().getActiveWorkbenchWindow();
-
-		IJarExportRunnable op= data.createJarExportRunnable(window.getShell());
-		window.run(false, false, op);
-
-		IStatus status= op.getStatus();
+		IStatus status= runExport(data);
 		if (status.getSeverity() == IStatus.ERROR)
 			throw new CoreException(status);
 
 		return JarPackagerUtil.getArchiveFile(data.getJarLocation());
 	}
 
+	private static IStatus runExport(JarPackageData data) throws Exception {
+		IWorkbenchWindow window= PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+
+		IJarExportRunnable op= data.createJarExportRunnable(window.getShell());
+		window.run(false, false, op);
+		return op.getStatus();
+	}
+
 	private static ArrayList<String> getSortedEntries(ZipFile jar) {
 		ArrayList<String> entries= new ArrayList<>();
 		for (Enumeration<? extends ZipEntry> entriesEnum= jar.entries(); entriesEnum.hasMoreElements(); ) {
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.packageview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TreeItem;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.ui.JavaElementComparator;
+
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
+
+/**
+ * Tests that the coalesced updates of the PackageExplorerContentProvider for deltas from a
+ * background thread result in the same tree as a viewer showing the new state from scratch.
+ */
+public class ContentProviderTests8 {
+
+	private IJavaProject fJProject;
+	private IPackageFragmentRoot fSrcFolder;
+	private Shell fShell;
+	private TreeViewer fViewer;
+	private PackageExplorerContentProvider fProvider;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin");//$NON-NLS-1$//$NON-NLS-2$
+		assertNotNull("project null", fJProject);//$NON-NLS-1$
+		fSrcFolder= JavaProjectHelper.addSourceContainer(fJProject, "src"); //$NON-NLS-1$
+		assertNotNull("source folder null", fSrcFolder); //$NON-NLS-1$
+		IPackageFragment p= fSrcFolder.createPackageFragment("p", true, null);
+		for (int i= 0; i < 5; i++) {
+			createClass(p, "A" + i);
+		}
+
+		fShell= new Shell();
+		fProvider= new PackageExplorerContentProvider(false);
+		fProvider.setIsFlatLayout(true);
+		fViewer= createViewer(fProvider);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fShell.dispose();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	@Test
+	public void addRemoveAndRefresh() throws Exception {
+		runInBackground(monitor -> {
+			IPackageFragment p= fSrcFolder.getPackageFragment("p");
+			createClass(p, "B");
+			p.getCompilationUnit("A0.java").delete(true, null);
+			createClass(fSrcFolder.createPackageFragment("q", true, null), "C");
+			fJProject.getProject().getFile("readme.txt").create(new ByteArrayInputStream(new byte[0]), true, null);
+		});
+		assertSameTree();
+	}
+
+	@Test
+	public void updatesOfSeveralDeltas() throws Exception {
+		// the deltas are not processed in between, so that their updates are coalesced
+		IPackageFragment p= fSrcFolder.getPackageFragment("p");
+		runInBackground(monitor -> createClass(p, "B"));
+		runInBackground(monitor -> p.getCompilationUnit("B.java").delete(true, null));
+		runInBackground(monitor -> createClass(fSrcFolder.createPackageFragment("q", true, null), "C"));
+		runInBackground(monitor -> p.getCompilationUnit("A2.java").delete(true, null));
+		runInBackground(monitor -> createClass(p, "A2"));
+		assertSameTree();
+	}
+
+	@Test
+	public void manyUpdates() throws Exception {
+		// more updates than are coalesced separately, the common parent is refreshed
+		runInBackground(monitor -> {
+			for (int i= 0; i < 30; i++) {
+				IPackageFragment pack= fSrcFolder.createPackageFragment("r" + i, true, null);
+				for (int k= 0; k < 10; k++) {
+					createClass(pack, "R" + k);
+				}
+			}
+			fSrcFolder.getPackageFragment("p").getCompilationUnit("A3.java").delete(true, null);
+		});
+		assertSameTree();
+	}
+
+	private static void createClass(IPackageFragment pack, String name) throws JavaModelException {
+		pack.createCompilationUnit(name + ".java", "package " + pack.getElementName() + ";\npublic class " + name + " {}\n", true, null);
+	}
+
+	private TreeViewer createViewer(PackageExplorerContentProvider provider) {
+		TreeViewer viewer= new TreeViewer(fShell, SWT.MULTI);
+		viewer.setComparator(new JavaElementComparator());
+		viewer.setContentProvider(provider);
+		viewer.setInput(JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()));
+		viewer.expandToLevel(fJProject, AbstractTreeViewer.ALL_LEVELS);
+		return viewer;
+	}
+
+	/*
+	 * Runs the changes in a job and waits for the job without processing the posted viewer updates.
+	 */
+	private void runInBackground(IWorkspaceRunnable runnable) throws Exception {
+		Job job= Job.create("ContentProviderTests8", monitor -> { //$NON-NLS-1$
+			JavaCore.run(runnable, monitor);
+		});
+		job.schedule();
+		job.join();
+		IStatus result= job.getResult();
+		assertTrue(String.valueOf(result), result.isOK());
+	}
+
+	private void assertSameTree() {
+		fProvider.runPendingUpdates();
+		DisplayHelper.driveEventQueue(Display.getDefault());
+		fViewer.expandToLevel(fJProject, AbstractTreeViewer.ALL_LEVELS);
+
+		PackageExplorerContentProvider provider= new PackageExplorerContentProvider(false);
+		provider.setIsFlatLayout(true);
+		TreeViewer expected= createViewer(provider);
+		assertEquals(getTree(expected.getTree().getItems()), getTree(fViewer.getTree().getItems()));
+	}
+
+	private static String getTree(TreeItem[] items) {
+		StringBuilder buf= new StringBuilder();
+		appendTree(items, "", buf); //$NON-NLS-1$
+		return buf.toString();
+	}
+
+	private static void appendTree(TreeItem[] items, String indent, StringBuilder buf) {
+		for (TreeItem item : items) {
+			Object data= item.getData();
+			buf.append(indent);
+			if (data instanceof IJavaElement) {
+				buf.append(((IJavaElement) data).getHandleIdentifier());
+			} else if (data instanceof IResource) {
+				buf.append(((IResource) data).getFullPath());
+			} else {
+				buf.append(data);
+			}
+			buf.append('\n');
+			if (item.getExpanded()) {
+				appendTree(item.getItems(), indent + "  ", buf); //$NON-NLS-1$
+			}
+		}
+	}
+}
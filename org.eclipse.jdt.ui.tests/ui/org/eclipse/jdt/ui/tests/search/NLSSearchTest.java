@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2020 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -643,4 +643,39 @@ public class NLSSearchTest {
 		NLSSearchTestHelper.assertNumberOfProblems(accessor, propertiesFile, 1);
 	}
 
+	@Test
+	public void testUnusedKeyPositions() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test;\n");
+		buf.append("import org.eclipse.osgi.util.NLS;\n");
+		buf.append("public class Accessor extends NLS {\n");
+		buf.append("    public static String Client_s1;\n");
+		buf.append("    private Accessor() {}\n");
+		buf.append("    private static final String BUNDLE_NAME = \"test.Accessor\"; //$NON-NLS-1$\n");
+		buf.append("    static {NLS.initializeMessages(BUNDLE_NAME, Accessor.class);}\n");
+		buf.append("}\n");
+		ICompilationUnit accessor= pack1.createCompilationUnit("Accessor.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package test;\n");
+		buf.append("public class Client {\n");
+		buf.append("    public String s1= Accessor.Client_s1;\n");
+		buf.append("}\n");
+		pack1.createCompilationUnit("Client.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("Unused_1_long=s1\n");
+		buf.append("Client_s1=s1\n");
+		buf.append("   Unused_1 = s1\n");
+		buf.append("Unused_2=\n");
+		buf.append("Unused_3\n");
+		IFile propertiesFile= write((IFolder)pack1.getCorrespondingResource(), buf.toString(), "Accessor.properties");
+
+		NLSSearchTestHelper.assertHasUnusedKey(accessor, propertiesFile, "Unused_1_long", propertiesFile, false);
+		NLSSearchTestHelper.assertHasUnusedKey(accessor, propertiesFile, "Unused_1", propertiesFile, false);
+		NLSSearchTestHelper.assertHasUnusedKey(accessor, propertiesFile, "Unused_2", propertiesFile, false);
+		NLSSearchTestHelper.assertHasUnusedKey(accessor, propertiesFile, "Unused_3", propertiesFile, false);
+	}
+
 }
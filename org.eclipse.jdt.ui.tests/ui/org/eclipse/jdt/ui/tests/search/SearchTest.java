@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	WorkspaceReferenceTest.class,
 	TreeContentProviderTestWrapper.class,
+	TableContentProviderTest.class,
 	ParticipantTest.class,
 	FileAdapterTest.class,
 	NLSSearchTest.class
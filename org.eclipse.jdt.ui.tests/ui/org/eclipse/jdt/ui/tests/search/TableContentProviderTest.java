@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+
+import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.Match;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+
+import org.eclipse.jdt.ui.tests.core.rules.JUnitSourceSetup;
+
+import org.eclipse.jdt.internal.ui.search.JavaSearchResult;
+import org.eclipse.jdt.internal.ui.search.JavaSearchResultPage;
+import org.eclipse.jdt.internal.ui.search.JavaSearchResultPage.DecoratorIgnoringViewerSorter;
+import org.eclipse.jdt.internal.ui.search.JavaSearchTableContentProvider;
+import org.eclipse.jdt.internal.ui.search.SortingLabelProvider;
+
+/**
+ * Tests the content provider of the virtual table of the Java search result page with a real
+ * table: the order of the elements, the element limit, removed elements and the labels of the
+ * rows.
+ */
+public class TableContentProviderTest {
+
+	@Rule
+	public JUnitSourceSetup projectSetup = new JUnitSourceSetup();
+
+	private Shell fShell;
+	private TableViewer fViewer;
+	private JavaSearchResultPage fPage;
+	private SortingLabelProvider fLabelProvider;
+	private DecoratorIgnoringViewerSorter fSorter;
+	private JavaSearchTableContentProvider fProvider;
+	private JavaSearchResult fResult;
+
+	@Before
+	public void setUp() throws Exception {
+		fShell= new Shell();
+		fViewer= new TableViewer(fShell, SWT.MULTI | SWT.VIRTUAL);
+		fResult= new JavaSearchResult(null);
+		fPage= new JavaSearchResultPage() {
+			@Override
+			protected StructuredViewer getViewer() {
+				return fViewer;
+			}
+
+			@Override
+			public AbstractTextSearchResult getInput() {
+				return fResult;
+			}
+		};
+		fPage.setElementLimit(Integer.valueOf(-1));
+		fLabelProvider= new SortingLabelProvider(fPage);
+		fSorter= new DecoratorIgnoringViewerSorter(fLabelProvider);
+		fProvider= new JavaSearchTableContentProvider(fPage, fSorter);
+		fViewer.setLabelProvider(fLabelProvider);
+		fViewer.setContentProvider(fProvider);
+		fViewer.setInput(fResult);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fShell.dispose();
+	}
+
+	@Test
+	public void testSortedWhileAdding() throws Exception {
+		String[] names= { "setName", "run", "getName", "toString", "countTestCases", "runBare" };
+		for (String name : names) {
+			addMatch(new Match(getMethod(name), 0, 1));
+			assertSorted();
+		}
+		assertEquals(names.length, fViewer.getTable().getItemCount());
+		assertLabels();
+	}
+
+	@Test
+	public void testMatchCountInLabel() throws Exception {
+		IMethod getName= getMethod("getName");
+		IMethod setName= getMethod("setName");
+		addMatch(new Match(getName, 0, 1));
+		addMatch(new Match(setName, 0, 1));
+		assertLabels();
+
+		// the match count is part of the label and of the sort label
+		addMatch(new Match(getName, 2, 1));
+		addMatch(new Match(getName, 4, 1));
+		assertSorted();
+		assertLabels();
+		assertTrue(fViewer.getTable().getItem(indexOf(getName)).getText().contains("3"));
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		IMethod getName= getMethod("getName");
+		IMethod setName= getMethod("setName");
+		IMethod run= getMethod("run");
+		Match match1= new Match(getName, 0, 1);
+		Match match2= new Match(getName, 2, 1);
+		addMatch(match1);
+		addMatch(match2);
+		addMatch(new Match(setName, 0, 1));
+		addMatch(new Match(run, 0, 1));
+
+		removeMatch(match1);
+		assertEquals(3, fViewer.getTable().getItemCount());
+		assertSorted();
+		assertLabels();
+
+		removeMatch(match2);
+		assertEquals(2, fViewer.getTable().getItemCount());
+		assertEquals(-1, indexOf(getName));
+		assertSorted();
+		assertLabels();
+	}
+
+	@Test
+	public void testElementLimit() throws Exception {
+		String[] names= { "setName", "run", "getName", "toString" };
+		for (String name : names) {
+			addMatch(new Match(getMethod(name), 0, 1));
+		}
+		Object[] all= fProvider.getElements(fResult);
+
+		fPage.setElementLimit(Integer.valueOf(2));
+		fProvider.refresh();
+		assertEquals(2, fViewer.getTable().getItemCount());
+		assertEquals(Arrays.asList(all).subList(0, 2), Arrays.asList(fProvider.getElements(fResult)));
+		assertLabels();
+
+		fPage.setElementLimit(Integer.valueOf(-1));
+		fProvider.refresh();
+		assertEquals(all.length, fViewer.getTable().getItemCount());
+		assertLabels();
+	}
+
+	private static IMethod getMethod(String name) throws Exception {
+		return SearchTestHelper.getMethod("junit.framework.TestCase", name, new String[0]);
+	}
+
+	private int indexOf(IJavaElement element) {
+		return Arrays.asList(fProvider.getElements(fResult)).indexOf(element);
+	}
+
+	private void assertSorted() {
+		Object[] elements= fProvider.getElements(fResult);
+		for (int i= 1; i < elements.length; i++) {
+			assertTrue(fSorter.compare(fViewer, elements[i - 1], elements[i]) <= 0);
+		}
+	}
+
+	/* the rows of the virtual table are created on demand, with the current labels */
+	private void assertLabels() {
+		Object[] elements= fProvider.getElements(fResult);
+		assertEquals(elements.length, fViewer.getTable().getItemCount());
+		for (int i= 0; i < elements.length; i++) {
+			assertEquals(fLabelProvider.getText(elements[i]), fViewer.getTable().getItem(i).getText());
+		}
+	}
+
+	private void removeMatch(Match match) {
+		fResult.removeMatch(match);
+		fProvider.elementsChanged(new Object[] { match.getElement() });
+	}
+
+	private void addMatch(Match match) {
+		fResult.addMatch(match);
+		fProvider.elementsChanged(new Object[] { match.getElement() });
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.IChooseImportQ
 import org.eclipse.jdt.core.search.TypeNameMatch;
 
 import org.eclipse.jdt.internal.corext.codemanipulation.CodeGenerationSettings;
+import org.eclipse.jdt.internal.corext.codemanipulation.TypeNameMatchCache;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
@@ -37,6 +38,22 @@ import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 public class ImportsFix extends TextEditFix {
 
 	public static ICleanUpFix createCleanUp(final CompilationUnit cu, CodeGenerationSettings settings, boolean organizeImports, RefactoringStatus status) throws CoreException {
+		return createCleanUp(cu, settings, organizeImports, status, null);
+	}
+
+	/**
+	 * Creates a fix that organizes the imports of the given compilation unit.
+	 *
+	 * @param cu the compilation unit
+	 * @param settings the code generation settings
+	 * @param organizeImports whether to organize the imports
+	 * @param status receives the infos about units whose imports could not be organized
+	 * @param typeNameMatchCache the cache for the types found for unresolved simple names, shared by
+	 *            the compilation units of one clean up, or <code>null</code>
+	 * @return the fix or <code>null</code> if nothing changes
+	 * @throws CoreException if organizing the imports failed
+	 */
+	public static ICleanUpFix createCleanUp(final CompilationUnit cu, CodeGenerationSettings settings, boolean organizeImports, RefactoringStatus status, TypeNameMatchCache typeNameMatchCache) throws CoreException {
 		if (!organizeImports)
 			return null;
 
@@ -47,7 +64,12 @@ public class ImportsFix extends TextEditFix {
 		};
 
 		final ICompilationUnit unit= (ICompilationUnit)cu.getJavaElement();
-		OrganizeImportsOperation op= new OrganizeImportsOperation(unit, cu, settings.importIgnoreLowercase, false, false, query);
+		OrganizeImportsOperation op;
+		if (typeNameMatchCache != null) {
+			op= typeNameMatchCache.createOperation(unit, cu, settings.importIgnoreLowercase, false, false, query);
+		} else {
+			op= new OrganizeImportsOperation(unit, cu, settings.importIgnoreLowercase, false, false, query);
+		}
 		final TextEdit edit= op.createTextEdit(null);
 		if (hasAmbiguity[0]) {
 			status.addInfo(Messages.format(ActionMessages.OrganizeImportsAction_multi_error_unresolvable, getLocationString(cu)));
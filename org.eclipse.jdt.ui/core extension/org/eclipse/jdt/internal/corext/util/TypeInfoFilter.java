@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -238,6 +238,10 @@ public class TypeInfoFilter {
 		return fSearchScope;
 	}
 
+	public boolean isWorkspaceScope() {
+		return fIsWorkspaceScope;
+	}
+
 	public int getPackageFlags() {
 		if (fPackageMatcher == null)
 			return SearchPattern.R_EXACT_MATCH;
@@ -264,6 +268,24 @@ public class TypeInfoFilter {
 		return matchesName(type);
 	}
 
+	/**
+	 * Returns whether a type matches the name pattern, the package pattern and
+	 * the element kind of this filter. The search scope and the filter extension
+	 * are not checked.
+	 * <p>
+	 * Unlike the methods taking a {@link TypeNameMatch}, this method is thread
+	 * safe and can be used to match many types concurrently.
+	 * </p>
+	 *
+	 * @param simpleTypeName the simple name of the type
+	 * @param typeContainerName the name of the package or enclosing type
+	 * @param modifiers the modifiers of the type
+	 * @return <code>true</code> if the type matches
+	 */
+	public boolean matchesNameAndKind(String simpleTypeName, String typeContainerName, int modifiers) {
+		return matchesPackage(typeContainerName) && matchesModifiers(modifiers) && matchesName(simpleTypeName);
+	}
+
 	public boolean matchesFilterExtension(TypeNameMatch type) {
 		if (fFilterExtension == null)
 			return true;
@@ -272,16 +294,26 @@ public class TypeInfoFilter {
 	}
 
 	private boolean matchesName(TypeNameMatch type) {
+		return matchesName(type.getSimpleTypeName());
+	}
+
+	private boolean matchesName(String simpleTypeName) {
 		if (fText.length() == 0) {
 			return true; //empty pattern matches all names
 		}
-		return fNameMatcher.matches(type.getSimpleTypeName());
+		return fNameMatcher.matches(simpleTypeName);
 	}
 
 	private boolean matchesPackage(TypeNameMatch type) {
 		if (fPackageMatcher == null)
 			return true;
-		return fPackageMatcher.matches(type.getTypeContainerName());
+		return matchesPackage(type.getTypeContainerName());
+	}
+
+	private boolean matchesPackage(String typeContainerName) {
+		if (fPackageMatcher == null)
+			return true;
+		return fPackageMatcher.matches(typeContainerName);
 	}
 
 	private boolean matchesScope(TypeNameMatch type) {
@@ -293,7 +325,13 @@ public class TypeInfoFilter {
 	private boolean matchesModifiers(TypeNameMatch type) {
 		if (fElementKind == IJavaSearchConstants.TYPE)
 			return true;
-		int modifiers= type.getModifiers() & TYPE_MODIFIERS;
+		return matchesModifiers(type.getModifiers());
+	}
+
+	private boolean matchesModifiers(int typeModifiers) {
+		if (fElementKind == IJavaSearchConstants.TYPE)
+			return true;
+		int modifiers= typeModifiers & TYPE_MODIFIERS;
 		switch (fElementKind) {
 			case IJavaSearchConstants.CLASS:
 				return modifiers == 0;
@@ -0,0 +1,375 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+/**
+ * In-memory snapshot of all types in the workspace scope, used by the open type
+ * dialog to answer a pattern without searching the index again.
+ * <p>
+ * The snapshot is created by a single search for all type names. Afterwards it
+ * is kept up to date from Java element deltas: types of changed compilation
+ * units, class files and packages are searched again the next time the
+ * snapshot is used, while class path changes discard the snapshot.
+ * </p>
+ * <p>
+ * For every type, the snapshot keeps the simple name, the modifiers and the
+ * index of the type container name in a table of distinct container names, so
+ * that matching does not have to compute them from the type handles.
+ * </p>
+ * <p>
+ * The content is only softly referenced, so it is released when memory runs
+ * low and created again by the next search.
+ * </p>
+ */
+public final class TypeNameSnapshot {
+
+	/** Immutable content of a snapshot */
+	private static final class Content {
+
+		final TypeNameMatch[] fMatches;
+
+		final String[] fNames;
+
+		final int[] fModifiers;
+
+		final int[] fContainers;
+
+		final String[] fContainerNames;
+
+		Content(TypeNameMatch[] matches, String[] names, int[] modifiers, int[] containers, String[] containerNames) {
+			fMatches= matches;
+			fNames= names;
+			fModifiers= modifiers;
+			fContainers= containers;
+			fContainerNames= containerNames;
+		}
+	}
+
+	/** Collects the types of a new snapshot content */
+	private static final class ContentBuilder extends TypeNameMatchRequestor {
+
+		private final List<TypeNameMatch> fMatches;
+
+		private final List<String> fNames;
+
+		private int[] fModifiers;
+
+		private int[] fContainers;
+
+		private final Map<String, Integer> fContainerIndexes= new HashMap<>();
+
+		private final List<String> fContainerNames= new ArrayList<>();
+
+		ContentBuilder(int capacity) {
+			fMatches= new ArrayList<>(capacity);
+			fNames= new ArrayList<>(capacity);
+			fModifiers= new int[Math.max(capacity, 16)];
+			fContainers= new int[fModifiers.length];
+		}
+
+		@Override
+		public void acceptTypeNameMatch(TypeNameMatch match) {
+			add(match, match.getSimpleTypeName(), match.getModifiers(), match.getTypeContainerName());
+		}
+
+		void add(TypeNameMatch match, String name, int modifiers, String containerName) {
+			int size= fMatches.size();
+			if (size == fModifiers.length) {
+				int[] newModifiers= new int[size * 2];
+				System.arraycopy(fModifiers, 0, newModifiers, 0, size);
+				fModifiers= newModifiers;
+				int[] newContainers= new int[size * 2];
+				System.arraycopy(fContainers, 0, newContainers, 0, size);
+				fContainers= newContainers;
+			}
+			Integer container= fContainerIndexes.get(containerName);
+			if (container == null) {
+				container= Integer.valueOf(fContainerNames.size());
+				fContainerIndexes.put(containerName, container);
+				fContainerNames.add(containerName);
+			}
+			fMatches.add(match);
+			fNames.add(name);
+			fModifiers[size]= modifiers;
+			fContainers[size]= container.intValue();
+		}
+
+		Content build() {
+			int size= fMatches.size();
+			int[] modifiers= new int[size];
+			System.arraycopy(fModifiers, 0, modifiers, 0, size);
+			int[] containers= new int[size];
+			System.arraycopy(fContainers, 0, containers, 0, size);
+			return new Content(fMatches.toArray(new TypeNameMatch[size]), fNames.toArray(new String[size]), modifiers, containers,
+					fContainerNames.toArray(new String[fContainerNames.size()]));
+		}
+	}
+
+	private class SnapshotDeltaListener implements IElementChangedListener {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			processDelta(event.getDelta());
+		}
+
+		private void processDelta(IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			int kind= delta.getKind();
+			int flags= delta.getFlags();
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.JAVA_PROJECT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+							| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+							| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (kind != IJavaElementDelta.CHANGED)
+						markChanged(element);
+					else
+						processChildrenDelta(delta);
+					break;
+				case IJavaElement.COMPILATION_UNIT:
+					if (!JavaModelUtil.isPrimary((ICompilationUnit) element))
+						return;
+					if (kind == IJavaElementDelta.CHANGED && (flags & IJavaElementDelta.F_FINE_GRAINED) != 0 && !hasTypeChanges(delta))
+						return;
+					if (kind == IJavaElementDelta.CHANGED && (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) == 0)
+						return;
+					markChanged(element);
+					break;
+				case IJavaElement.CLASS_FILE:
+					markChanged(element);
+					break;
+				default:
+					break;
+			}
+		}
+
+		private void processChildrenDelta(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren())
+				processDelta(child);
+		}
+
+		private boolean hasTypeChanges(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (child.getElement().getElementType() == IJavaElement.TYPE) {
+					if (child.getKind() != IJavaElementDelta.CHANGED || (child.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0)
+						return true;
+					if (hasTypeChanges(child))
+						return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/** The number of changed elements above which the snapshot is rebuilt instead of updated */
+	private static final int MAX_CHANGED_ELEMENTS= 1000;
+
+	private static TypeNameSnapshot fgInstance;
+
+	public static synchronized TypeNameSnapshot getInstance() {
+		if (fgInstance == null)
+			fgInstance= new TypeNameSnapshot();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		JavaCore.removeElementChangedListener(fgInstance.fDeltaListener);
+		fgInstance= null;
+	}
+
+	private final IElementChangedListener fDeltaListener;
+
+	/** Guards {@link #fValid} and {@link #fChanged} */
+	private final Object fStateLock= new Object();
+
+	/** Whether the content can be updated, or has to be rebuilt */
+	private boolean fValid;
+
+	/** The elements whose types have to be searched again */
+	private final Set<IJavaElement> fChanged= new HashSet<>();
+
+	/** The content, only accessed while holding the lock of this snapshot */
+	private SoftReference<Content> fContent;
+
+	private TypeNameSnapshot() {
+		fDeltaListener= new SnapshotDeltaListener();
+		JavaCore.addElementChangedListener(fDeltaListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private void invalidate() {
+		synchronized (fStateLock) {
+			fValid= false;
+			fChanged.clear();
+		}
+	}
+
+	private void markChanged(IJavaElement element) {
+		synchronized (fStateLock) {
+			if (!fValid)
+				return;
+			fChanged.add(element);
+			if (fChanged.size() > MAX_CHANGED_ELEMENTS) {
+				fValid= false;
+				fChanged.clear();
+			}
+		}
+	}
+
+	/**
+	 * Brings the snapshot up to date. This waits until the search indexes are
+	 * ready.
+	 *
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @throws JavaModelException if searching the types fails
+	 */
+	public void update(IProgressMonitor monitor) throws JavaModelException {
+		getContent(monitor);
+	}
+
+	/**
+	 * Returns the types in the workspace scope which match the name pattern,
+	 * the package pattern and the element kind of the given filter. The snapshot
+	 * is brought up to date first.
+	 * <p>
+	 * The search scope and filter extension of the filter are not checked, and
+	 * the types are not checked against the {@link TypeFilter}.
+	 * </p>
+	 *
+	 * @param filter the filter to match
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the matching types, in no particular order
+	 * @throws JavaModelException if searching the types fails
+	 */
+	public TypeNameMatch[] search(TypeInfoFilter filter, IProgressMonitor monitor) throws JavaModelException {
+		IProgressMonitor pm= monitor != null ? monitor : new NullProgressMonitor();
+		Content content= getContent(pm);
+		int[] indexes= IntStream.range(0, content.fMatches.length).parallel().filter(index -> {
+			if ((index & 0xFFF) == 0 && pm.isCanceled())
+				throw new OperationCanceledException();
+			return filter.matchesNameAndKind(content.fNames[index], content.fContainerNames[content.fContainers[index]], content.fModifiers[index]);
+		}).toArray();
+		TypeNameMatch[] result= new TypeNameMatch[indexes.length];
+		for (int i= 0; i < indexes.length; i++)
+			result[i]= content.fMatches[indexes[i]];
+		return result;
+	}
+
+	private synchronized Content getContent(IProgressMonitor monitor) throws JavaModelException {
+		Content content= fContent != null ? fContent.get() : null;
+		boolean valid;
+		IJavaElement[] changed;
+		synchronized (fStateLock) {
+			valid= fValid && content != null;
+			changed= fChanged.toArray(new IJavaElement[fChanged.size()]);
+			fChanged.clear();
+			// changes reported while the content is computed are recorded for the next update
+			fValid= true;
+		}
+		try {
+			if (!valid)
+				content= createContent(monitor);
+			else if (changed.length > 0)
+				content= updateContent(content, changed, monitor);
+		} catch (JavaModelException | RuntimeException e) {
+			invalidate();
+			throw e;
+		}
+		fContent= new SoftReference<>(content);
+		return content;
+	}
+
+	private static Content createContent(IProgressMonitor monitor) throws JavaModelException {
+		ContentBuilder builder= new ContentBuilder(0);
+		search(SearchEngine.createWorkspaceScope(), builder, monitor);
+		return builder.build();
+	}
+
+	private static Content updateContent(Content content, IJavaElement[] changed, IProgressMonitor monitor) throws JavaModelException {
+		Set<IJavaElement> changedElements= new HashSet<>();
+		List<IJavaElement> existingElements= new ArrayList<>();
+		for (IJavaElement element : changed) {
+			changedElements.add(element);
+			if (element.exists())
+				existingElements.add(element);
+		}
+		ContentBuilder builder= new ContentBuilder(content.fMatches.length);
+		for (int index= 0; index < content.fMatches.length; index++) {
+			IType type= content.fMatches[index].getType();
+			if (!changedElements.contains(type.getTypeRoot()) && !changedElements.contains(type.getPackageFragment()))
+				builder.add(content.fMatches[index], content.fNames[index], content.fModifiers[index], content.fContainerNames[content.fContainers[index]]);
+		}
+		if (!existingElements.isEmpty())
+			search(SearchEngine.createJavaSearchScope(existingElements.toArray(new IJavaElement[existingElements.size()])), builder, monitor);
+		return builder.build();
+	}
+
+	private static void search(IJavaSearchScope scope, ContentBuilder builder, IProgressMonitor monitor) throws JavaModelException {
+		new SearchEngine((WorkingCopyOwner) null).searchAllTypeNames(
+				null,
+				SearchPattern.R_PATTERN_MATCH,
+				null,
+				SearchPattern.R_PATTERN_MATCH,
+				IJavaSearchConstants.TYPE,
+				scope,
+				builder,
+				IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+				monitor);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.core.resources.IFile;
@@ -105,6 +106,8 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 	private static final String ATTRIBUTE_DELEGATE= "delegate"; //$NON-NLS-1$
 	private static final String ATTRIBUTE_DEPRECATE= "deprecate"; //$NON-NLS-1$
 
+	private static final String PERF_OCCURRENCES= "org.eclipse.jdt.ui/perf/refactoring/renameMethod/occurrences"; //$NON-NLS-1$
+
 	private SearchResultGroup[] fOccurrences;
 	private boolean fUpdateReferences;
 	private IMethod fMethod;
@@ -496,8 +499,16 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 
 	private SearchResultGroup[] getOccurrences(IProgressMonitor pm, RefactoringStatus status, ReferencesInBinaryContext binaryRefs) throws CoreException {
 		SearchPattern pattern= createOccurrenceSearchPattern();
-		return RefactoringSearchEngine.search(pattern, createRefactoringScope(),
-			new MethodOccurenceCollector(getMethod().getElementName(), binaryRefs), pm, status);
+		PerformanceStats stats= PerformanceStats.isEnabled() ? PerformanceStats.getStats(PERF_OCCURRENCES, getClass().getName()) : null;
+		if (stats != null)
+			stats.startRun(getMethod().getElementName());
+		try {
+			return RefactoringSearchEngine.search(pattern, createRefactoringScope(),
+				new MethodOccurenceCollector(getMethod().getElementName(), binaryRefs), pm, status);
+		} finally {
+			if (stats != null)
+				stats.endRun();
+		}
 	}
 
 	private RefactoringStatus checkRelatedMethods() throws CoreException {
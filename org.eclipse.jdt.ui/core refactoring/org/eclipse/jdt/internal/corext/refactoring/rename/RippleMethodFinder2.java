@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,8 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.PerformanceStats;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.jdt.core.IMethod;
@@ -56,6 +58,8 @@ import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
 public class RippleMethodFinder2 {
 
+	private static final String PERF_RIPPLE_METHODS= "org.eclipse.jdt.ui/perf/refactoring/rippleMethods"; //$NON-NLS-1$
+
 	private final IMethod fMethod;
 	private Set<IMethod> fDeclarations;
 	private ITypeHierarchy fHierarchy;
@@ -204,17 +208,21 @@ public class RippleMethodFinder2 {
 	private IMethod[] findAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
 		pm.beginTask("", 4); //$NON-NLS-1$
 
+		PerformanceStats stats= startPhase("declarations"); //$NON-NLS-1$
 		findAllDeclarations(new SubProgressMonitor(pm, 1), owner);
+		endPhase(stats);
 
 		//TODO: report assertion as error status and fall back to only return fMethod
 		//check for bug 81058:
 		if (! fDeclarations.contains(fMethod))
 			Assert.isTrue(false, "Search for method declaration did not find original element: " + fMethod.toString()); //$NON-NLS-1$
 
+		stats= startPhase("hierarchy"); //$NON-NLS-1$
 		createHierarchyOfDeclarations(new SubProgressMonitor(pm, 1), owner);
 		addMissedSuperTypes();
 		createTypeToMethod();
 		createUnionFind();
+		endPhase(stats);
 		checkCanceled(pm);
 
 		fHierarchy= null;
@@ -271,16 +279,27 @@ public class RippleMethodFinder2 {
 		 * If not, we cannot have married alien types, so we can skip building type hierarchies for the alien types.
 		 */
 		checkCanceled(pm);
-		IType methodType= fMethod.getDeclaringType();
-		ITypeHierarchy methodHierarchy= hierarchy(pm, owner, fUnionFind.find(methodType));
-		IType[] methodTypeSubtypes= methodHierarchy.getAllSubtypes(methodType);
-		// don't spend time on this check, unless we have a small hierarchy for the type under rename and a lot of search matches
-		if (methodTypeSubtypes.length <= numberOfSearchMatches / 10) {
-			boolean couldHaveMarriedAlienTypes= couldHaveMarriedAlienTypes(pm, owner, methodHierarchy, methodTypeSubtypes);
-			if (!couldHaveMarriedAlienTypes) {
-				return toArray(relatedMethods);
+		stats= startPhase("marriages"); //$NON-NLS-1$
+		try {
+			IType methodType= fMethod.getDeclaringType();
+			ITypeHierarchy methodHierarchy= hierarchy(pm, owner, fUnionFind.find(methodType));
+			IType[] methodTypeSubtypes= methodHierarchy.getAllSubtypes(methodType);
+			// don't spend time on this check, unless we have a small hierarchy for the type under rename and a lot of search matches
+			if (methodTypeSubtypes.length <= numberOfSearchMatches / 10) {
+				boolean couldHaveMarriedAlienTypes= couldHaveMarriedAlienTypes(pm, owner, methodHierarchy, methodTypeSubtypes);
+				if (!couldHaveMarriedAlienTypes) {
+					return toArray(relatedMethods);
+				}
 			}
+			return findMarriedMethods(pm, owner, partitioning, relatedTypes, relatedMethods, alienTypes);
+		} finally {
+			endPhase(stats);
 		}
+	}
+
+	private IMethod[] findMarriedMethods(IProgressMonitor pm, WorkingCopyOwner owner, Map<IType, List<IType>> partitioning, List<IType> relatedTypes, List<IMethod> relatedMethods, Set<IType> alienTypes) throws JavaModelException {
+		// the subtypes of a type do not change while the loop below is processing, so look them up only once
+		Map<IType, IType[]> subTypes= new HashMap<>();
 
 		//find all subtypes of related types:
 		HashSet<IType> relatedSubTypes= new HashSet<>();
@@ -289,23 +308,23 @@ public class RippleMethodFinder2 {
 			//TODO: would only need subtype hierarchies of all top-of-ripple relatedTypesToProcess
 			for (IType relatedType : relatedTypesToProcess) {
 				checkCanceled(pm);
-				ITypeHierarchy hierarchy= hierarchy(pm, owner, relatedType);
-				IType[] allSubTypes= hierarchy.getAllSubtypes(relatedType);
-				relatedSubTypes.addAll(Arrays.asList(allSubTypes));
+				relatedSubTypes.addAll(Arrays.asList(getAllSubtypes(pm, owner, relatedType, subTypes)));
 			}
 			relatedTypesToProcess.clear(); //processed; make sure loop terminates
 
 			HashSet<IType> marriedAlienTypeReps= new HashSet<>();
 			for (IType alienType : alienTypes) {
 				checkCanceled(pm);
+				IType alienTypeRep= fUnionFind.find(alienType);
+				if (marriedAlienTypeReps.contains(alienTypeRep))
+					continue;
+				IType[] alienSubTypes= getAllSubtypes(pm, owner, alienType, subTypes);
 				Collection<IMethod> alienMethods= fTypeToMethod.get(alienType);
 				for (IMethod alienMethod : alienMethods) {
-					ITypeHierarchy hierarchy= hierarchy(pm, owner, alienType);
-
-					for (IType subtype : hierarchy.getAllSubtypes(alienType)) {
+					for (IType subtype : alienSubTypes) {
 						if (relatedSubTypes.contains(subtype)) {
 							if (JavaModelUtil.isVisibleInHierarchy(alienMethod, subtype.getPackageFragment())) {
-								marriedAlienTypeReps.add(fUnionFind.find(alienType));
+								marriedAlienTypeReps.add(alienTypeRep);
 							} else {
 								// not overridden
 							}
@@ -335,6 +354,15 @@ public class RippleMethodFinder2 {
 		return toArray(relatedMethods);
 	}
 
+	private IType[] getAllSubtypes(IProgressMonitor pm, WorkingCopyOwner owner, IType type, Map<IType, IType[]> subTypes) throws JavaModelException {
+		IType[] result= subTypes.get(type);
+		if (result == null) {
+			result= hierarchy(pm, owner, type).getAllSubtypes(type);
+			subTypes.put(type, result);
+		}
+		return result;
+	}
+
 	/**
 	 * For the method under rename, checks if any sub-type inherits a method with the same name from a different super type.
 	 *
@@ -349,21 +377,22 @@ public class RippleMethodFinder2 {
 		Set<IType> allTypesInMethodHierarchy= new HashSet<>(Arrays.asList(methodHierarchy.getAllClasses()));
 		allTypesInMethodHierarchy.addAll(Arrays.asList(methodHierarchy.getAllInterfaces()));
 
-
+		/*
+		 * Only the super types of the sub-types are needed, so supertype hierarchies are enough.
+		 * Super types shared by several sub-types are only checked once.
+		 */
+		Set<IType> checkedSuperTypes= new HashSet<>();
+		SubMonitor progress= SubMonitor.convert(new SubProgressMonitor(pm, 1), methodTypeSubtypes.length);
 		for (IType methodTypeSubtype : methodTypeSubtypes) {
-			checkCanceled(pm);
-			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newTypeHierarchy(owner, pm);
-			IType[] subtypeSuperTypes= subtypeHierarchy.getAllSupertypes(methodTypeSubtype);
-			for (IType subtypeSuperType : subtypeSuperTypes) {
-				checkCanceled(pm);
-				if (!allTypesInMethodHierarchy.contains(subtypeSuperType)) {
+			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newSupertypeHierarchy(owner, progress.split(1));
+			for (IType subtypeSuperType : subtypeHierarchy.getAllSupertypes(methodTypeSubtype)) {
+				if (!allTypesInMethodHierarchy.contains(subtypeSuperType) && checkedSuperTypes.add(subtypeSuperType)) {
 					if (definesSimilarMethod(subtypeSuperType, fMethod)) {
 						return true;
 					}
 				}
 			}
 		}
-
 		return false;
 	}
 
@@ -388,6 +417,19 @@ public class RippleMethodFinder2 {
 		return methods.toArray(new IMethod[methods.size()]);
 	}
 
+	private PerformanceStats startPhase(String phase) {
+		if (!PerformanceStats.isEnabled())
+			return null;
+		PerformanceStats stats= PerformanceStats.getStats(PERF_RIPPLE_METHODS, phase);
+		stats.startRun(fMethod.getElementName());
+		return stats;
+	}
+
+	private static void endPhase(PerformanceStats stats) {
+		if (stats != null)
+			stats.endRun();
+	}
+
 	private static void checkCanceled(IProgressMonitor pm) {
 		if (pm.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1376,10 +1376,60 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 		}else{
 			pm.worked(1);
 		}
+		if (createsChangesConcurrently()) {
+			final Map<ICompilationUnit, Set<IType>> subclassMapping= namedSubclassMapping;
+			List<OccurrencePartition> partitions= createOccurrencePartitions();
+			result.merge(CheckConditionsContext.checkPartitions(partitions, (partition, monitor) -> {
+				RefactoringStatus status= new RefactoringStatus();
+				createChanges(partition.fOccurrences, partition.fChangeManager, subclassMapping, monitor, status);
+				return status;
+			}, new SubProgressMonitor(pm, 1)));
+			for (OccurrencePartition partition : partitions)
+				fChangeManager.manageAll(partition.fChangeManager);
+		} else {
+			createChanges(Arrays.asList(fOccurrences), fChangeManager, namedSubclassMapping, pm, result);
+		}
+
+		pm.done();
+		return fChangeManager;
+	}
+
+	/**
+	 * Returns whether the changes for the occurrences in different projects can
+	 * be created concurrently. This is the case unless a body updater or a
+	 * default value advisor is installed, since these share their state between
+	 * all compilation units.
+	 *
+	 * @return <code>true</code> if the changes can be created concurrently
+	 */
+	protected boolean createsChangesConcurrently() {
+		return fBodyUpdater == null && fDefaultValueAdvisor == null;
+	}
+
+	/**
+	 * The occurrences in a single project, together with the changes created
+	 * for them.
+	 */
+	private static class OccurrencePartition {
+		final List<SearchResultGroup> fOccurrences= new ArrayList<>();
+		final TextChangeManager fChangeManager= new TextChangeManager();
+	}
+
+	private List<OccurrencePartition> createOccurrencePartitions() {
+		Map<IJavaProject, OccurrencePartition> partitions= new LinkedHashMap<>();
 		for (SearchResultGroup occurrence : fOccurrences) {
+			ICompilationUnit cu= occurrence.getCompilationUnit();
+			if (cu == null)
+				continue;
+			partitions.computeIfAbsent(cu.getJavaProject(), project -> new OccurrencePartition()).fOccurrences.add(occurrence);
+		}
+		return new ArrayList<>(partitions.values());
+	}
+
+	private void createChanges(List<SearchResultGroup> occurrences, TextChangeManager changeManager, Map<ICompilationUnit, Set<IType>> namedSubclassMapping, IProgressMonitor pm, RefactoringStatus result) throws CoreException {
+		for (SearchResultGroup group : occurrences) {
 			if (pm.isCanceled())
 				throw new OperationCanceledException();
-			SearchResultGroup group= occurrence;
 			ICompilationUnit cu= group.getCompilationUnit();
 			if (cu == null)
 				continue;
@@ -1404,7 +1454,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 				occurrenceUpdate.updateNode();
 			}
 
-			if (isNoArgConstructor && namedSubclassMapping.containsKey(cu)){
+			if (namedSubclassMapping != null && namedSubclassMapping.containsKey(cu)){
 				//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
 				for (IType subtype : namedSubclassMapping.get(cu)) {
 					AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
@@ -1414,11 +1464,8 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 			}
 			TextChange change= cuRewrite.createChange(true);
 			if (change != null)
-				fChangeManager.manage(cu, change);
+				changeManager.manage(cu, change);
 		}
-
-		pm.done();
-		return fChangeManager;
 	}
 
 	private Map<ICompilationUnit, Set<IType>> createNamedSubclassMapping(IProgressMonitor pm) throws JavaModelException{
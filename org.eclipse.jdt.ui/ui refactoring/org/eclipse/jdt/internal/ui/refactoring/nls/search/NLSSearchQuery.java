@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,19 @@
 
 package org.eclipse.jdt.internal.ui.refactoring.nls.search;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
@@ -48,6 +58,7 @@ import org.eclipse.jdt.ui.JavaElementLabels;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIStatus;
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 
 
@@ -84,46 +95,114 @@ public class NLSSearchQuery implements ISearchQuery {
 					return JavaUIStatus.createError(0, Messages.format(NLSSearchMessages.NLSSearchQuery_wrapperNotExists, JavaElementLabels.getElementLabel(wrapperClass, JavaElementLabels.ALL_DEFAULT)), null);
 				if (! propertieFile.exists())
 					return JavaUIStatus.createError(0, Messages.format(NLSSearchMessages.NLSSearchQuery_propertiesNotExists, BasicElementLabels.getResourceName(propertieFile)), null);
+			}
+
+			if (fWrapperClass.length == 1)
+				return searchBundle(fWrapperClass[0], fPropertiesFile[0], new SubProgressMonitor(monitor, 5));
+			return searchBundlesInParallel(monitor);
+		} finally {
+			monitor.done();
+		}
+	}
 
-				SearchPattern pattern= SearchPattern.createPattern(wrapperClass, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-				SearchParticipant[] participants= new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
+	/**
+	 * Searches the bundles on the shared executor of the Java tooling. The bundles are
+	 * independent, the search result accepts matches and groups from several threads.
+	 *
+	 * @param monitor the progress monitor, 5 units of work per bundle
+	 * @return the status of the first bundle search that failed, or OK
+	 */
+	private IStatus searchBundlesInParallel(IProgressMonitor monitor) {
+		ExecutorService executor= JavaManipulationPlugin.getExecutor();
+		List<Future<IStatus>> futures= new ArrayList<>(fWrapperClass.length);
+		IProgressMonitor bundleMonitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || monitor.isCanceled();
+			}
+		};
+		try {
+			for (int i= 0; i < fWrapperClass.length; i++) {
+				IJavaElement wrapperClass= fWrapperClass[i];
+				IFile propertiesFile= fPropertiesFile[i];
+				futures.add(executor.submit(() -> searchBundle(wrapperClass, propertiesFile, bundleMonitor)));
+			}
+			IStatus result= Status.OK_STATUS;
+			for (Future<IStatus> future : futures) {
+				IStatus status= getStatus(future, monitor);
+				if (result.isOK() && !status.isOK())
+					result= status;
+				monitor.worked(5);
+			}
+			return result;
+		} finally {
+			// the threads of the shared executor are not interrupted, running searches stop at the
+			// next check of the canceled monitor
+			bundleMonitor.setCanceled(true);
+			for (Future<IStatus> future : futures)
+				future.cancel(false);
+		}
+	}
 
-				NLSSearchResultRequestor requestor= new NLSSearchResultRequestor(propertieFile, fResult);
+	private static IStatus getStatus(Future<IStatus> future, IProgressMonitor monitor) {
+		try {
+			while (true) {
 				try {
-					SearchEngine engine= new SearchEngine();
-					engine.search(pattern, participants, fScope, requestor, new SubProgressMonitor(monitor, 4));
-					requestor.reportUnusedPropertyNames(new SubProgressMonitor(monitor, 1));
-
-					ICompilationUnit compilationUnit= ((IType)wrapperClass).getCompilationUnit();
-					CompilationUnitEntry groupElement= new CompilationUnitEntry(NLSSearchMessages.NLSSearchResultCollector_unusedKeys, compilationUnit);
-
-					boolean hasUnusedPropertie= false;
-					for (IField field : ((IType)wrapperClass).getFields()) {
-						if (isNLSField(field)) {
-							ISourceRange sourceRange= field.getSourceRange();
-							if (sourceRange != null) {
-								String fieldName= field.getElementName();
-								if (!requestor.hasPropertyKey(fieldName)) {
-									fResult.addMatch(new Match(compilationUnit, sourceRange.getOffset(), sourceRange.getLength()));
-								}
-								if (!requestor.isUsedPropertyKey(fieldName)) {
-									hasUnusedPropertie= true;
-									fResult.addMatch(new Match(groupElement, sourceRange.getOffset(), sourceRange.getLength()));
-								}
-							}
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (monitor.isCanceled())
+						throw new OperationCanceledException();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private IStatus searchBundle(IJavaElement wrapperClass, IFile propertieFile, IProgressMonitor monitor) {
+		SearchPattern pattern= SearchPattern.createPattern(wrapperClass, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+		SearchParticipant[] participants= new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
+
+		NLSSearchResultRequestor requestor= new NLSSearchResultRequestor(propertieFile, fResult);
+		try {
+			SearchEngine engine= new SearchEngine();
+			engine.search(pattern, participants, fScope, requestor, new SubProgressMonitor(monitor, 4));
+			requestor.reportUnusedPropertyNames(new SubProgressMonitor(monitor, 1));
+
+			ICompilationUnit compilationUnit= ((IType)wrapperClass).getCompilationUnit();
+			CompilationUnitEntry groupElement= new CompilationUnitEntry(NLSSearchMessages.NLSSearchResultCollector_unusedKeys, compilationUnit);
+
+			boolean hasUnusedPropertie= false;
+			for (IField field : ((IType)wrapperClass).getFields()) {
+				if (isNLSField(field)) {
+					ISourceRange sourceRange= field.getSourceRange();
+					if (sourceRange != null) {
+						String fieldName= field.getElementName();
+						if (!requestor.hasPropertyKey(fieldName)) {
+							fResult.addMatch(new Match(compilationUnit, sourceRange.getOffset(), sourceRange.getLength()));
+						}
+						if (!requestor.isUsedPropertyKey(fieldName)) {
+							hasUnusedPropertie= true;
+							fResult.addMatch(new Match(groupElement, sourceRange.getOffset(), sourceRange.getLength()));
 						}
 					}
-					if (hasUnusedPropertie)
-						fResult.addCompilationUnitGroup(groupElement);
-
-				} catch (CoreException e) {
-					return new Status(e.getStatus().getSeverity(), JavaPlugin.getPluginId(), IStatus.OK, NLSSearchMessages.NLSSearchQuery_error, e);
 				}
 			}
-		} finally {
-			monitor.done();
+			if (hasUnusedPropertie)
+				fResult.addCompilationUnitGroup(groupElement);
+
+		} catch (CoreException e) {
+			return new Status(e.getStatus().getSeverity(), JavaPlugin.getPluginId(), IStatus.OK, NLSSearchMessages.NLSSearchQuery_error, e);
 		}
-		return 	Status.OK_STATUS;
+		return Status.OK_STATUS;
 	}
 
 	private boolean isNLSField(IField field) throws JavaModelException {
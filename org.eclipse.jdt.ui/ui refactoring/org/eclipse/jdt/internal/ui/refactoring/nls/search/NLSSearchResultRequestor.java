@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -86,6 +89,20 @@ class NLSSearchResultRequestor extends SearchRequestor {
 	private Properties fProperties;
 	private HashSet<String> fUsedPropertyNames;
 
+	/**
+	 * Start positions of the (escaped) property names in the properties file, read on first use.
+	 */
+	private Map<String, Integer> fPropertyNameStartPositions;
+
+	/*
+	 * Matches are reported per compilation unit, so the source and the scanner of the
+	 * last unit are reused for the following matches.
+	 */
+	private ICompilationUnit fCurrentUnit;
+	private String fCurrentSource;
+	private IScanner fScanner;
+	private IJavaProject fScannerProject;
+
 	public NLSSearchResultRequestor(IFile propertiesFile, NLSSearchResult result) {
 		fPropertiesFile= propertiesFile;
 		fResult= result;
@@ -243,20 +260,10 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		if (unit == null)
 			return null;
 
-		String source= unit.getSource();
-		if (source == null)
+		if (!unit.equals(fCurrentUnit) && !setCurrentUnit(unit))
 			return null;
-
-		IJavaProject javaProject= unit.getJavaProject();
-		IScanner scanner= null;
-		if (javaProject != null) {
-			String complianceLevel= javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
-			String sourceLevel= javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
-			scanner= ToolFactory.createScanner(false, false, false, sourceLevel, complianceLevel);
-		} else {
-			scanner= ToolFactory.createScanner(false, false, false, false);
-		}
-		scanner.setSource(source.toCharArray());
+		String source= fCurrentSource;
+		IScanner scanner= fScanner;
 		scanner.resetTo(keyPositionResult.getOffset() + keyPositionResult.getLength(), source.length());
 
 		try {
@@ -326,6 +333,36 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		}
 	}
 
+	/**
+	 * Makes the given unit the current unit and prepares the scanner for its source.
+	 *
+	 * @param unit the compilation unit
+	 * @return <code>true</code> if the source of the unit is available
+	 * @throws CoreException if a problem occurs while accessing the unit
+	 */
+	private boolean setCurrentUnit(ICompilationUnit unit) throws CoreException {
+		fCurrentUnit= null;
+		String source= unit.getSource();
+		if (source == null)
+			return false;
+
+		IJavaProject javaProject= unit.getJavaProject();
+		if (fScanner == null || !Objects.equals(javaProject, fScannerProject)) {
+			if (javaProject != null) {
+				String complianceLevel= javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
+				String sourceLevel= javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
+				fScanner= ToolFactory.createScanner(false, false, false, sourceLevel, complianceLevel);
+			} else {
+				fScanner= ToolFactory.createScanner(false, false, false, false);
+			}
+			fScannerProject= javaProject;
+		}
+		fScanner.setSource(source.toCharArray());
+		fCurrentUnit= unit;
+		fCurrentSource= source;
+		return true;
+	}
+
 	/**
 	 * Finds the start position in the property file. We assume that
 	 * the key is the first match on a line.
@@ -334,6 +371,22 @@ class NLSSearchResultRequestor extends SearchRequestor {
 	 * @return	the start position of the property name in the file, -1 if not found
 	 */
 	private int findPropertyNameStartPosition(String propertyName) {
+		// the key may not be found if it contains escaped characters, see bug 63794
+		if (fPropertyNameStartPositions == null)
+			fPropertyNameStartPositions= readPropertyNameStartPositions();
+		Integer start= fPropertyNameStartPositions.get(propertyName);
+		return start != null ? start.intValue() : -1;
+	}
+
+	/**
+	 * Reads the start positions of all property names in the property file in one pass. We
+	 * assume that the key is the first token on a line, it ends at the first whitespace or
+	 * '=' that is not escaped. If a key is defined more than once, the first position is used.
+	 *
+	 * @return the start positions of the property names, empty if the file could not be read
+	 */
+	private Map<String, Integer> readPropertyNameStartPositions() {
+		Map<String, Integer> positions= new HashMap<>();
 		// Fix for http://dev.eclipse.org/bugs/show_bug.cgi?id=19319
 		InputStream stream= null;
 		LineReader lineReader= null;
@@ -349,7 +402,7 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		} catch (CoreException cex) {
 			// failed to get input stream
 			JavaPlugin.log(cex);
-			return -1;
+			return positions;
 		} catch (IOException e) {
 			if (stream != null) {
 				try {
@@ -358,36 +411,32 @@ class NLSSearchResultRequestor extends SearchRequestor {
 					JavaPlugin.log(ce);
 				}
 			}
-			return -1;
+			return positions;
 		}
 		int start= 0;
 		try {
 			StringBuffer buf= new StringBuffer(80);
 			int eols= lineReader.readLine(buf);
-			int keyLength= propertyName.length();
 			while (eols > 0) {
 				String line= buf.toString();
-				int i= line.indexOf(propertyName);
-				int charPos= i + keyLength;
-				char terminatorChar= 0;
-				boolean hasNoValue= (charPos >= line.length());
-				if (i > -1 && !hasNoValue)
-					terminatorChar= line.charAt(charPos);
-				if (line.trim().startsWith(propertyName) &&
-						(hasNoValue || Character.isWhitespace(terminatorChar) || terminatorChar == '=')) {
-					start += line.indexOf(propertyName);
-					eols= -17; // found key
-				} else {
-					start += line.length() + eols;
-					buf.setLength(0);
-					eols= lineReader.readLine(buf);
+				int keyStart= 0;
+				while (keyStart < line.length() && line.charAt(keyStart) <= ' ')
+					keyStart++;
+				int keyEnd= keyStart;
+				while (keyEnd < line.length()) {
+					char ch= line.charAt(keyEnd);
+					if (Character.isWhitespace(ch) || ch == '=')
+						break;
+					keyEnd+= ch == '\\' ? 2 : 1;
 				}
+				keyEnd= Math.min(keyEnd, line.length());
+				if (keyEnd > keyStart)
+					positions.putIfAbsent(line.substring(keyStart, keyEnd), Integer.valueOf(start + keyStart));
+				start += line.length() + eols;
+				eols= lineReader.readLine(buf);
 			}
-			if (eols != -17)
-				start= -1; //key not found in file. See bug 63794. This can happen if the key contains escaped characters.
 		} catch (IOException ex) {
 			JavaPlugin.log(ex);
-			return -1;
 		} finally {
 			try {
 				lineReader.close();
@@ -395,7 +444,7 @@ class NLSSearchResultRequestor extends SearchRequestor {
 				JavaPlugin.log(ex);
 			}
 		}
-		return start;
+		return positions;
 	}
 
 	private void loadProperties() {
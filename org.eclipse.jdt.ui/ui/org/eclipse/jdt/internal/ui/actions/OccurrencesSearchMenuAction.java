@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,7 +28,6 @@ import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.viewers.ISelection;
 
-import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextSelection;
 
 import org.eclipse.ui.IPartService;
@@ -39,7 +38,6 @@ import org.eclipse.ui.actions.RetargetAction;
 
 import org.eclipse.jdt.core.ITypeRoot;
 
-import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.actions.IJavaEditorActionDefinitionIds;
 import org.eclipse.jdt.ui.actions.JdtActionConstants;
 import org.eclipse.jdt.ui.actions.SelectionDispatchAction;
@@ -216,9 +214,10 @@ public class OccurrencesSearchMenuAction implements IWorkbenchWindowPulldownDele
 		if (editor.isBreadcrumbActive())
 			return editor.getBreadcrumb().getSelectionProvider().getSelection();
 		else {
-			ITextSelection textSelection= (ITextSelection) editor.getSelectionProvider().getSelection();
-			IDocument document= JavaUI.getDocumentProvider().getDocument(editor.getEditorInput());
-			return new JavaTextSelection(element, document, textSelection.getOffset(), textSelection.getLength());
+			JavaTextSelection javaSelection= editor.getJavaTextSelectionCache().getResolvedSelection();
+			if (javaSelection != null)
+				return javaSelection;
+			return editor.getSelectionProvider().getSelection();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,9 @@ public final class CallHierarchyMessages extends NLS {
 	public static String ToggleOrientationAction_single_tooltip;
 	public static String ToggleOrientationAction_single_description;
 	public static String ShowSearchInDialogAction_text;
+	public static String ToggleCallGraphIndexAction_label;
+	public static String ToggleCallGraphIndexAction_tooltip;
+	public static String ToggleCallGraphIndexAction_description;
 	public static String SearchInDialog_title;
 	public static String ShowExpandWithConstructorsDialogAction_text;
 	public static String ShowFilterDialogAction_text;
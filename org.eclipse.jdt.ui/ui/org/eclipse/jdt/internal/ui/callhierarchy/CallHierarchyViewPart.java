@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -238,6 +238,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
     private ExpandWithConstructorsAction fExpandWithConstructorsAction;
     private RemoveFromViewAction fRemoveFromViewAction;
     private ShowSearchInDialogAction fShowSearchInDialogAction;
+    private ToggleCallGraphIndexAction fToggleCallGraphIndexAction;
     private CompositeActionGroup fActionGroups;
     private CallHierarchyViewer fCallHierarchyViewer;
     private boolean fShowCallDetails;
@@ -720,6 +721,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
 		}
         viewMenu.add(fieldSubMenu);
         viewMenu.add(fShowSearchInDialogAction);
+        viewMenu.add(fToggleCallGraphIndexAction);
     }
 
 	@Override
@@ -1043,6 +1045,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
         fCopyAction= new CopyCallHierarchyAction(this, fClipboard, fCallHierarchyViewer);
         fSearchScopeActions = new SearchScopeActionGroup(this, fDialogSettings);
         fShowSearchInDialogAction= new ShowSearchInDialogAction(this, fCallHierarchyViewer);
+        fToggleCallGraphIndexAction= new ToggleCallGraphIndexAction(this);
         fFiltersActionGroup = new CallHierarchyFiltersActionGroup(this,
                 fCallHierarchyViewer);
         fHistoryDropDownAction = new HistoryDropDownAction(this);
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.callhierarchy;
+
+import org.eclipse.jface.action.Action;
+
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+
+/**
+ * Toggles whether callers are found with the call graph index instead of a search.
+ */
+class ToggleCallGraphIndexAction extends Action {
+
+    private CallHierarchyViewPart fView;
+
+    public ToggleCallGraphIndexAction(CallHierarchyViewPart view) {
+        super(CallHierarchyMessages.ToggleCallGraphIndexAction_label, AS_CHECK_BOX);
+        setDescription(CallHierarchyMessages.ToggleCallGraphIndexAction_description);
+        setToolTipText(CallHierarchyMessages.ToggleCallGraphIndexAction_tooltip);
+        fView= view;
+        setChecked(CallHierarchy.getDefault().isCallGraphIndexEnabled());
+    }
+
+    /*
+     * @see Action#actionPerformed
+     */
+    @Override
+	public void run() {
+        CallHierarchy.getDefault().setCallGraphIndexEnabled(isChecked());
+        fView.refresh();
+    }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -60,6 +60,7 @@ public final class CompareMessages extends NLS {
 	public static String LocalHistoryActionGroup_action_add;
 	public static String LocalHistoryActionGroup_action_add_title;
 	public static String LocalHistoryActionGroup_action_add_message;
+	public static String LocalHistoryMemberIndex_job_name;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, CompareMessages.class);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,6 +57,7 @@ class JavaCompareWithEditionActionImpl extends JavaHistoryActionImpl {
 			MessageDialog.openError(getShell(), CompareMessages.CompareWithHistory_title, CompareMessages.CompareWithHistory_internalErrorMessage);
 			return;
 		}
+		LocalHistoryMemberIndex.getDefault().scheduleSummaries(file);
 
 		if (USE_MODAL_COMPARE) {
 			CompareConfiguration cc = new CompareConfiguration();
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.compare;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Computes the content fingerprints of all nodes of a {@link JavaNode} tree in one pass over the
+ * document.
+ * <p>
+ * The fingerprint of a node is a digest of its text outside of its children and of the
+ * fingerprints of its children, so every character is scanned once, however deep the tree is.
+ * Identical members are recognized by comparing their fingerprints, without building their
+ * contents as strings. When white space is ignored, the text is digested as the token sequence
+ * that {@link JavaStructureCreator#getContents(Object, boolean)} would produce.
+ * </p>
+ */
+final class JavaContentFingerprints {
+
+	private static final String DIGEST_ALGORITHM= "SHA-256"; //$NON-NLS-1$
+
+	/** Prefix of all fingerprints, so that they never equal real contents */
+	private static final String FINGERPRINT_PREFIX= "#fingerprint:"; //$NON-NLS-1$
+
+	/** Separates the children's fingerprints from the text of their parent */
+	private static final char CHILD_MARKER= '\uffff';
+
+	private final char[] fText;
+	private final boolean fIgnoreWhiteSpace;
+	private final long fStamp;
+	private final IScanner fScanner;
+
+	private JavaContentFingerprints(char[] text, boolean ignoreWhiteSpace, long stamp) {
+		fText= text;
+		fIgnoreWhiteSpace= ignoreWhiteSpace;
+		fStamp= stamp;
+		if (ignoreWhiteSpace) {
+			fScanner= ToolFactory.createScanner(true, false, false, false);
+			fScanner.setSource(text);
+		} else {
+			fScanner= null;
+		}
+	}
+
+	/**
+	 * Computes and stores the fingerprints of the given node and all its descendants.
+	 *
+	 * @param root the root of the tree
+	 * @param ignoreWhiteSpace whether white space is ignored
+	 * @param stamp the modification stamp of the document
+	 */
+	static void compute(JavaNode root, boolean ignoreWhiteSpace, long stamp) {
+		try {
+			MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			JavaPlugin.log(e);
+			return;
+		}
+		char[] text= root.getDocument().get().toCharArray();
+		new JavaContentFingerprints(text, ignoreWhiteSpace, stamp).digest(root);
+	}
+
+	private byte[] digest(JavaNode node) {
+		Position range= node.getRange();
+		int start= clamp(range.getOffset());
+		int end= clamp(range.getOffset() + range.getLength());
+
+		Digest digest= new Digest();
+		int pos= start;
+		Object[] children= node.getChildren();
+		if (children != null) {
+			for (Object child : children) {
+				if (!(child instanceof JavaNode))
+					continue;
+				JavaNode childNode= (JavaNode) child;
+				int childStart= clamp(childNode.getRange().getOffset());
+				if (childStart > pos && childStart <= end) {
+					addText(digest, pos, childStart);
+					pos= childStart;
+				}
+				// children may overlap, e.g. the fragments of one field declaration share its range
+				digest.add(CHILD_MARKER);
+				digest.add(digest(childNode));
+				pos= Math.max(pos, Math.min(end, clamp(childNode.getRange().getOffset() + childNode.getRange().getLength())));
+			}
+		}
+		if (pos < end)
+			addText(digest, pos, end);
+
+		byte[] result= digest.finish();
+		node.setContentFingerprint(fIgnoreWhiteSpace, FINGERPRINT_PREFIX + Base64.getEncoder().encodeToString(result), fStamp);
+		return result;
+	}
+
+	private int clamp(int position) {
+		return Math.max(0, Math.min(position, fText.length));
+	}
+
+	private void addText(Digest digest, int start, int end) {
+		if (!fIgnoreWhiteSpace) {
+			digest.add(fText, start, end);
+			return;
+		}
+		// same normalization as JavaStructureCreator.getContents(Object, true)
+		fScanner.resetTo(start, end - 1);
+		try {
+			int token;
+			while ((token= fScanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
+				int tokenStart= fScanner.getCurrentTokenStartPosition();
+				int tokenEnd= fScanner.getCurrentTokenEndPosition() + 1;
+				switch (token) {
+					case ITerminalSymbols.TokenNameCOMMENT_LINE:
+					case ITerminalSymbols.TokenNameCOMMENT_BLOCK:
+					case ITerminalSymbols.TokenNameCOMMENT_JAVADOC:
+						addWords(digest, tokenStart, tokenEnd);
+						break;
+					default:
+						digest.add(fText, tokenStart, tokenEnd);
+						digest.add(' ');
+						break;
+				}
+			}
+		} catch (InvalidInputException e) {
+			// like getContents, fall back to the text as it is
+			digest.add(CHILD_MARKER);
+			digest.add(fText, start, end);
+		}
+	}
+
+	private void addWords(Digest digest, int start, int end) {
+		int wordStart= -1;
+		for (int i= start; i < end; i++) {
+			if (isDelimiter(fText[i])) {
+				if (wordStart != -1) {
+					digest.add(fText, wordStart, i);
+					digest.add(' ');
+					wordStart= -1;
+				}
+			} else if (wordStart == -1) {
+				wordStart= i;
+			}
+		}
+		if (wordStart != -1) {
+			digest.add(fText, wordStart, end);
+			digest.add(' ');
+		}
+	}
+
+	/* the default delimiters of StringTokenizer */
+	private static boolean isDelimiter(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+	}
+
+	/**
+	 * Feeds characters to a message digest through a small buffer.
+	 */
+	private static final class Digest {
+		private final MessageDigest fDigest;
+		private final byte[] fBuffer= new byte[4096];
+		private int fCount;
+
+		Digest() {
+			try {
+				fDigest= MessageDigest.getInstance(DIGEST_ALGORITHM);
+			} catch (NoSuchAlgorithmException e) {
+				// checked in compute(..)
+				throw new IllegalStateException(e);
+			}
+		}
+
+		void add(char c) {
+			if (fCount + 2 > fBuffer.length)
+				flush();
+			fBuffer[fCount++]= (byte) (c >> 8);
+			fBuffer[fCount++]= (byte) c;
+		}
+
+		void add(char[] text, int start, int end) {
+			for (int i= start; i < end; i++) {
+				add(text[i]);
+			}
+		}
+
+		void add(byte[] bytes) {
+			flush();
+			fDigest.update(bytes);
+		}
+
+		byte[] finish() {
+			flush();
+			return fDigest.digest();
+		}
+
+		private void flush() {
+			fDigest.update(fBuffer, 0, fCount);
+			fCount= 0;
+		}
+	}
+}
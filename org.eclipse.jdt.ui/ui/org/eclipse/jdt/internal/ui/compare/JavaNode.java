@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.jface.resource.ImageDescriptor;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 
 import org.eclipse.compare.ITypedElement;
 import org.eclipse.compare.structuremergeviewer.DocumentRangeNode;
@@ -47,6 +48,10 @@ class JavaNode extends DocumentRangeNode implements ITypedElement {
 
 	private int fInitializerCount= 1;
 
+	/* Content fingerprints, with and without white space, see JavaContentFingerprints */
+	private final String[] fFingerprints= new String[2];
+	private final long[] fFingerprintStamps= new long[2];
+
 	/**
 	 * Creates a JavaNode under the given parent.
 	 * @param parent the parent node
@@ -73,6 +78,41 @@ class JavaNode extends DocumentRangeNode implements ITypedElement {
 		return Integer.toString(fInitializerCount++);
 	}
 
+	/**
+	 * Returns a fingerprint of the contents of this node. Two nodes have the same fingerprint if
+	 * and only if their contents are equal, up to white space and the layout of comments if
+	 * <code>ignoreWhiteSpace</code> is set.
+	 * <p>
+	 * The fingerprints of all nodes of a tree are computed together, with a single scan of the
+	 * document, and are kept until the document changes.
+	 * </p>
+	 *
+	 * @param ignoreWhiteSpace whether white space is ignored
+	 * @return the fingerprint, or <code>null</code> if it cannot be computed
+	 */
+	String getContentFingerprint(boolean ignoreWhiteSpace) {
+		IDocument document= getDocument();
+		if (!(document instanceof IDocumentExtension4))
+			return null;
+		// documents that were never modified have an unknown stamp, every change assigns a new one
+		long stamp= ((IDocumentExtension4) document).getModificationStamp();
+		int index= ignoreWhiteSpace ? 1 : 0;
+		JavaNode root= this;
+		while (root.getParentNode() instanceof JavaNode)
+			root= (JavaNode) root.getParentNode();
+		synchronized (root) {
+			if (fFingerprints[index] == null || fFingerprintStamps[index] != stamp)
+				JavaContentFingerprints.compute(root, ignoreWhiteSpace, stamp);
+			return fFingerprintStamps[index] == stamp ? fFingerprints[index] : null;
+		}
+	}
+
+	void setContentFingerprint(boolean ignoreWhiteSpace, String fingerprint, long stamp) {
+		int index= ignoreWhiteSpace ? 1 : 0;
+		fFingerprints[index]= fingerprint;
+		fFingerprintStamps[index]= stamp;
+	}
+
 	/**
 	 * Extracts the method name from the signature.
 	 * Used for smart matching.
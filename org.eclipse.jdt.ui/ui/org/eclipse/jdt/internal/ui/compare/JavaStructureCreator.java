@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,10 +22,12 @@ import java.util.StringTokenizer;
 
 import org.eclipse.swt.widgets.Shell;
 
+import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 
+import org.eclipse.core.resources.IFileState;
 import org.eclipse.core.resources.IResource;
 
 import org.eclipse.jface.text.Document;
@@ -35,6 +37,7 @@ import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.ui.services.IDisposable;
 
 import org.eclipse.compare.CompareUI;
+import org.eclipse.compare.HistoryItem;
 import org.eclipse.compare.IEditableContent;
 import org.eclipse.compare.IEditableContentExtension;
 import org.eclipse.compare.IResourceProvider;
@@ -239,6 +242,58 @@ public class JavaStructureCreator extends StructureCreator {
 		return createStructureComparator(input, buffer, doc, null, null);
 	}
 
+	/**
+	 * Locates the given Java element in the given input. Local history states are not parsed if
+	 * their summary is known, see {@link LocalHistoryMemberIndex}.
+	 *
+	 * @param element the Java element to locate
+	 * @param input the contents to locate the element in
+	 * @return the node of the element, or <code>null</code> if the input does not contain it
+	 */
+	@Override
+	public IStructureComparator locate(Object element, Object input) {
+		if (element instanceof IJavaElement && isLocalHistoryState(input)) {
+			String[] path= getPath(element, input);
+			if (path == null)
+				return null;
+			String contents;
+			try {
+				contents= JavaCompareUtilities.readString((IStreamContentAccessor) input);
+			} catch (CoreException ex) {
+				return null;
+			}
+			if (contents == null)
+				return null;
+			Map<String, String> compilerOptions= getCompilerOptions(input);
+			LocalHistoryMemberIndex.StateSummary summary= LocalHistoryMemberIndex.getDefault().getSummary(contents, compilerOptions, () -> createStructure(input, contents));
+			if (summary != null) {
+				Document doc= new Document(contents);
+				setupDocument(doc);
+				return summary.locate(new RootJavaNode(doc, false, input, null), path);
+			}
+		}
+		return super.locate(element, input);
+	}
+
+	/* only the contents of file states never change, other inputs can be modified behind our back */
+	private static boolean isLocalHistoryState(Object input) {
+		if (!(input instanceof IStreamContentAccessor) || CompareUI.getDocument(input) != null)
+			return false;
+		return input instanceof HistoryItem || Adapters.adapt(input, IFileState.class) != null;
+	}
+
+	/**
+	 * Creates the complete structure of the given contents, without connecting a partitioner.
+	 *
+	 * @param input the input providing the compiler options, or <code>null</code> for the default
+	 *            options
+	 * @param contents the Java source
+	 * @return the root of the structure
+	 */
+	JavaNode createStructure(Object input, String contents) {
+		return (JavaNode) createStructureComparator(input, null, new Document(contents), null, null);
+	}
+
 	@Override
 	protected IStructureComparator createStructureComparator(Object element,
 			IDocument document, ISharedDocumentAdapter sharedDocumentAdapter,
@@ -248,21 +303,7 @@ public class JavaStructureCreator extends StructureCreator {
 
 	private IStructureComparator createStructureComparator(final Object input, char[] buffer, IDocument doc, ISharedDocumentAdapter adapter, IProgressMonitor monitor) {
 		String contents;
-		Map<String, String> compilerOptions= null;
-
-		if (input instanceof IResourceProvider) {
-			IResource resource= ((IResourceProvider) input).getResource();
-			if (resource != null) {
-				IJavaElement element= JavaCore.create(resource);
-				if (element != null) {
-					IJavaProject javaProject= element.getJavaProject();
-					if (javaProject != null)
-						compilerOptions= javaProject.getOptions(true);
-				}
-			}
-		}
-		if (compilerOptions == null)
-			compilerOptions= fDefaultCompilerOptions;
+		Map<String, String> compilerOptions= getCompilerOptions(input);
 
 		if (doc != null) {
 			boolean isEditable= false;
@@ -292,11 +333,33 @@ public class JavaStructureCreator extends StructureCreator {
 		return null;
 	}
 
+	/**
+	 * Returns the compiler options of the project of the given input.
+	 *
+	 * @param input the input
+	 * @return the compiler options, or <code>null</code> for the default options
+	 */
+	private Map<String, String> getCompilerOptions(Object input) {
+		if (input instanceof IResourceProvider) {
+			IResource resource= ((IResourceProvider) input).getResource();
+			if (resource != null) {
+				IJavaElement element= JavaCore.create(resource);
+				if (element != null) {
+					IJavaProject javaProject= element.getJavaProject();
+					if (javaProject != null)
+						return javaProject.getOptions(true);
+				}
+			}
+		}
+		return fDefaultCompilerOptions;
+	}
+
 	/**
 	 * Returns the contents of the given node as a string.
 	 * This string is used to test the content of a Java element
 	 * for equality. Is is never shown in the UI, so any string representing
-	 * the content will do.
+	 * the content will do. For Java nodes, a fingerprint of the content is
+	 * returned, so that large identical members are not copied and scanned.
 	 * @param node must implement the IStreamContentAccessor interface
 	 * @param ignoreWhiteSpace if <code>true</code> all Java white space (including comments) is removed from the contents.
 	 * @return contents for equality test
@@ -307,6 +370,11 @@ public class JavaStructureCreator extends StructureCreator {
 		if (! (node instanceof IStreamContentAccessor))
 			return null;
 
+		if (node instanceof JavaNode) {
+			String fingerprint= ((JavaNode) node).getContentFingerprint(ignoreWhiteSpace);
+			if (fingerprint != null)
+				return fingerprint;
+		}
 
 		IStreamContentAccessor sca= (IStreamContentAccessor) node;
 		String content= null;
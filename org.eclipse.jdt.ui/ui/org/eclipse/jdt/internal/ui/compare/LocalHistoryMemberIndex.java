@@ -0,0 +1,424 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.compare;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFileState;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Remembers the members of the local history states of Java files, with their positions and
+ * content fingerprints.
+ * <p>
+ * Browsing the history of a member locates the member in every state of its file and compares
+ * it with the member of the next state. With the summary of a state, the member is located
+ * without parsing the state, and its fingerprints tell whether it changed without reading its
+ * contents. Summaries are keyed by a digest of the contents of the state, as states never change,
+ * and of the source and compliance levels the state is parsed with. They are kept in the plug-in
+ * state location, so they are computed once per state. The least recently used summaries are
+ * removed from time to time while new ones are written.
+ * </p>
+ */
+public final class LocalHistoryMemberIndex {
+
+	/**
+	 * The members of one state, in pre-order. The first member is the root of the structure.
+	 */
+	static final class StateSummary {
+		private final int[] fParents;
+		private final int[] fTypes;
+		private final int[] fOffsets;
+		private final int[] fLengths;
+		private final String[] fIds;
+		private final String[] fFingerprints;
+		private final String[] fWhiteSpaceFingerprints;
+
+		private StateSummary(int size) {
+			fParents= new int[size];
+			fTypes= new int[size];
+			fOffsets= new int[size];
+			fLengths= new int[size];
+			fIds= new String[size];
+			fFingerprints= new String[size];
+			fWhiteSpaceFingerprints= new String[size];
+		}
+
+		/**
+		 * Creates the nodes on the given path below the given root, and the complete subtree of the
+		 * node at the end of the path. The siblings of the nodes on the path are not created. All
+		 * nodes get the fingerprints they have in the complete structure.
+		 *
+		 * @param root the root of the structure of the state
+		 * @param path the IDs of the nodes to locate, starting with the compilation unit
+		 * @return the node at the end of the path, or <code>null</code> if the state does not
+		 *         contain it
+		 */
+		JavaNode locate(JavaNode root, String[] path) {
+			int index= find(0, path, 0);
+			if (index == -1)
+				return null;
+			int[] chain= new int[path.length];
+			for (int i= chain.length - 1; i >= 0; i--) {
+				chain[i]= index;
+				index= fParents[index];
+			}
+			long stamp= ((IDocumentExtension4) root.getDocument()).getModificationStamp();
+			setFingerprints(root, 0, stamp);
+			JavaNode node= root;
+			for (int member : chain) {
+				node= createNode(node, member, stamp);
+			}
+			// the members are in pre-order, so the subtree of the located node follows it
+			int located= chain[chain.length - 1];
+			Map<Integer, JavaNode> subtree= new HashMap<>();
+			subtree.put(Integer.valueOf(located), node);
+			for (int i= located + 1; i < fIds.length && fParents[i] >= located; i++) {
+				subtree.put(Integer.valueOf(i), createNode(subtree.get(Integer.valueOf(fParents[i])), i, stamp));
+			}
+			return node;
+		}
+
+		private JavaNode createNode(JavaNode parent, int index, long stamp) {
+			String id= fIds[index];
+			// IDs are the type character followed by the name, if the type has one
+			String name= id.length() > 1 ? id.substring(1) : null;
+			JavaNode node= new JavaNode(parent, fTypes[index], name, fOffsets[index], fLengths[index]);
+			setFingerprints(node, index, stamp);
+			return node;
+		}
+
+		/* same search as StructureCreator#locate: the first match in pre-order, with backtracking */
+		private int find(int parent, String[] path, int pathIndex) {
+			for (int i= parent + 1; i < fIds.length; i++) {
+				if (fParents[i] == parent && fIds[i].equals(path[pathIndex])) {
+					if (pathIndex == path.length - 1)
+						return i;
+					int result= find(i, path, pathIndex + 1);
+					if (result != -1)
+						return result;
+				}
+			}
+			return -1;
+		}
+
+		private void setFingerprints(JavaNode node, int index, long stamp) {
+			node.setContentFingerprint(false, fFingerprints[index], stamp);
+			node.setContentFingerprint(true, fWhiteSpaceFingerprints[index], stamp);
+		}
+
+		static StateSummary create(JavaNode root) {
+			List<JavaNode> nodes= new ArrayList<>();
+			List<Integer> parents= new ArrayList<>();
+			collect(root, -1, nodes, parents);
+			StateSummary summary= new StateSummary(nodes.size());
+			for (int i= 0; i < nodes.size(); i++) {
+				JavaNode node= nodes.get(i);
+				summary.fParents[i]= parents.get(i).intValue();
+				summary.fTypes[i]= node.getTypeCode();
+				summary.fOffsets[i]= node.getRange().getOffset();
+				summary.fLengths[i]= node.getRange().getLength();
+				summary.fIds[i]= node.getId();
+				summary.fFingerprints[i]= node.getContentFingerprint(false);
+				summary.fWhiteSpaceFingerprints[i]= node.getContentFingerprint(true);
+				if (summary.fFingerprints[i] == null || summary.fWhiteSpaceFingerprints[i] == null)
+					return null;
+			}
+			return summary;
+		}
+
+		private static void collect(JavaNode node, int parent, List<JavaNode> nodes, List<Integer> parents) {
+			int index= nodes.size();
+			nodes.add(node);
+			parents.add(Integer.valueOf(parent));
+			Object[] children= node.getChildren();
+			if (children != null) {
+				for (Object child : children) {
+					if (child instanceof JavaNode)
+						collect((JavaNode) child, index, nodes, parents);
+				}
+			}
+		}
+
+		void write(BufferedWriter writer) throws IOException {
+			writer.write(FORMAT_VERSION);
+			writer.newLine();
+			for (int i= 0; i < fIds.length; i++) {
+				writer.write(fParents[i] + "\t" + fTypes[i] + '\t' + fOffsets[i] + '\t' + fLengths[i] + '\t' //$NON-NLS-1$
+						+ fFingerprints[i] + '\t' + fWhiteSpaceFingerprints[i] + '\t' + fIds[i]);
+				writer.newLine();
+			}
+		}
+
+		static StateSummary read(BufferedReader reader) throws IOException {
+			if (!FORMAT_VERSION.equals(reader.readLine()))
+				return null;
+			List<String[]> lines= new ArrayList<>();
+			String line;
+			while ((line= reader.readLine()) != null) {
+				String[] fields= line.split("\t", 7); //$NON-NLS-1$
+				if (fields.length != 7)
+					return null;
+				lines.add(fields);
+			}
+			if (lines.isEmpty())
+				return null;
+			StateSummary summary= new StateSummary(lines.size());
+			try {
+				for (int i= 0; i < lines.size(); i++) {
+					String[] fields= lines.get(i);
+					summary.fParents[i]= Integer.parseInt(fields[0]);
+					summary.fTypes[i]= Integer.parseInt(fields[1]);
+					summary.fOffsets[i]= Integer.parseInt(fields[2]);
+					summary.fLengths[i]= Integer.parseInt(fields[3]);
+					summary.fFingerprints[i]= fields[4];
+					summary.fWhiteSpaceFingerprints[i]= fields[5];
+					summary.fIds[i]= fields[6];
+					if (summary.fParents[i] >= i || (i > 0 && summary.fParents[i] < 0))
+						return null;
+				}
+			} catch (NumberFormatException e) {
+				return null;
+			}
+			return summary;
+		}
+	}
+
+	private static final String INDEX_DIRECTORY= "localHistoryMembers"; //$NON-NLS-1$
+
+	/** Changes whenever the structure or the fingerprints of Java nodes change */
+	private static final String FORMAT_VERSION= "JavaNode summary 1"; //$NON-NLS-1$
+
+	private static final int MAX_CACHED_STATES= 500;
+
+	private static final int MAX_STORED_STATES= 5000;
+
+	/** The number of summaries written between two checks of the size of the index directory */
+	private static final int PRUNE_INTERVAL= 100;
+
+	private static final AtomicInteger fgWrittenSummaries= new AtomicInteger();
+
+	private static LocalHistoryMemberIndex fgDefault;
+
+	private final Map<String, StateSummary> fSummaries= new ConcurrentHashMap<>();
+
+	private LocalHistoryMemberIndex() {
+	}
+
+	static synchronized LocalHistoryMemberIndex getDefault() {
+		if (fgDefault == null)
+			fgDefault= new LocalHistoryMemberIndex();
+		return fgDefault;
+	}
+
+	/**
+	 * Forgets the summaries kept in memory. The stored summaries are kept.
+	 */
+	public static synchronized void shutdownInstance() {
+		if (fgDefault != null) {
+			fgDefault.fSummaries.clear();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Returns the summary of the state with the given contents.
+	 *
+	 * @param contents the contents of the state
+	 * @param compilerOptions the compiler options the state is parsed with, or <code>null</code>
+	 *            for the default options
+	 * @param structure creates the complete structure of the state if there is no summary yet
+	 * @return the summary, or <code>null</code> if it cannot be computed
+	 */
+	StateSummary getSummary(String contents, Map<String, String> compilerOptions, Supplier<JavaNode> structure) {
+		String key= getKey(contents, compilerOptions);
+		if (key == null)
+			return null;
+		StateSummary summary= fSummaries.get(key);
+		if (summary != null)
+			return summary;
+
+		File file= getIndexDirectory().append(key).toFile();
+		summary= readSummary(file);
+		if (summary == null) {
+			JavaNode root= structure.get();
+			if (root == null)
+				return null;
+			summary= StateSummary.create(root);
+			if (summary == null)
+				return null;
+			writeSummary(file, summary);
+		}
+		if (fSummaries.size() >= MAX_CACHED_STATES)
+			fSummaries.clear();
+		fSummaries.put(key, summary);
+		return summary;
+	}
+
+	/**
+	 * Computes the summaries of all local history states of the given file in the background, so
+	 * that browsing the history of its members does not have to parse the states.
+	 *
+	 * @param file the Java file
+	 */
+	void scheduleSummaries(IFile file) {
+		Job job= new Job(CompareMessages.LocalHistoryMemberIndex_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					computeSummaries(file, monitor);
+				} catch (CoreException e) {
+					// the history page reports inaccessible states
+				}
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
+
+	private void computeSummaries(IFile file, IProgressMonitor monitor) throws CoreException {
+		IFileState[] states= file.getHistory(null);
+		SubMonitor progress= SubMonitor.convert(monitor, states.length);
+		JavaStructureCreator creator= new JavaStructureCreator();
+		Map<String, String> compilerOptions= null;
+		IJavaProject project= JavaCore.create(file.getProject());
+		if (project != null && project.exists()) {
+			compilerOptions= project.getOptions(true);
+			creator.setDefaultCompilerOptions(compilerOptions);
+		}
+		// the history page locates the member in the newest states first, start at the other end
+		for (int i= states.length - 1; i >= 0; i--) {
+			if (progress.isCanceled())
+				return;
+			String contents= readContents(states[i]);
+			if (contents != null)
+				getSummary(contents, compilerOptions, () -> creator.createStructure(null, contents));
+			progress.worked(1);
+		}
+	}
+
+	private static String readContents(IFileState state) throws CoreException {
+		String charset= state.getCharset();
+		if (charset == null)
+			charset= ResourcesPlugin.getEncoding();
+		try (InputStream in= state.getContents()) {
+			return new String(in.readAllBytes(), charset);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static String getKey(String contents, Map<String, String> compilerOptions) {
+		if (compilerOptions == null)
+			compilerOptions= JavaCore.getOptions();
+		// the source level decides which members are found, e.g. records
+		String levels= compilerOptions.get(JavaCore.COMPILER_SOURCE) + '/' + compilerOptions.get(JavaCore.COMPILER_COMPLIANCE) + '\n';
+		try {
+			MessageDigest digest= MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			digest.update(levels.getBytes(StandardCharsets.UTF_8));
+			byte[] hash= digest.digest(contents.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+
+	private static IPath getIndexDirectory() {
+		return JavaPlugin.getDefault().getStateLocation().append(INDEX_DIRECTORY);
+	}
+
+	private static StateSummary readSummary(File file) {
+		if (!file.isFile())
+			return null;
+		try (BufferedReader reader= Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			StateSummary summary= StateSummary.read(reader);
+			if (summary != null)
+				file.setLastModified(System.currentTimeMillis());
+			return summary;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static void writeSummary(File file, StateSummary summary) {
+		File directory= file.getParentFile();
+		directory.mkdirs();
+		File temp= null;
+		try {
+			temp= File.createTempFile(file.getName(), ".tmp", directory); //$NON-NLS-1$
+			try (BufferedWriter writer= Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+				summary.write(writer);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			temp= null;
+			// the first write of a session checks the directory as well
+			if (fgWrittenSummaries.getAndIncrement() % PRUNE_INTERVAL == 0)
+				pruneIndexDirectory(directory);
+		} catch (IOException e) {
+			// the summary is computed again next time
+		} finally {
+			if (temp != null)
+				temp.delete();
+		}
+	}
+
+	/* removes the least recently used summaries if there are too many */
+	private static void pruneIndexDirectory(File directory) {
+		File[] files= directory.listFiles();
+		if (files == null || files.length <= MAX_STORED_STATES)
+			return;
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (int i= 0; i < files.length - MAX_STORED_STATES * 3 / 4; i++) {
+			files[i].delete();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
@@ -86,7 +87,6 @@ import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
-import org.eclipse.jdt.core.search.TypeNameRequestor;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.CollectionsUtil;
@@ -96,6 +96,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameSnapshot;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -486,6 +487,15 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		typeSearchFilter.setMatchEverythingMode(true);
 
 		try {
+			if (typeSearchFilter.isWorkspaceScope()) {
+				// answer from the in-memory snapshot instead of searching the index again
+				for (TypeNameMatch match : TypeNameSnapshot.getInstance().search(typeSearchFilter.getTypeInfoFilter(), progressMonitor)) {
+					if (progressMonitor.isCanceled())
+						throw new OperationCanceledException();
+					requestor.acceptTypeNameMatch(match);
+				}
+				return;
+			}
 			engine.searchAllTypeNames(packPattern == null ? null : packPattern.toCharArray(),
 					typeSearchFilter.getPackageFlags(),
 					typePattern.toCharArray(),
@@ -571,17 +581,8 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		}
 		private void refreshSearchIndices(IProgressMonitor monitor) throws InvocationTargetException {
 			try {
-				new SearchEngine().searchAllTypeNames(
-						null,
-						0,
-						// make sure we search a concrete name. This is faster according to Kent
-						"_______________".toCharArray(), //$NON-NLS-1$
-						SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE,
-						IJavaSearchConstants.ENUM,
-						SearchEngine.createWorkspaceScope(),
-						new TypeNameRequestor() { /* dummy */},
-						IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
-						monitor);
+				// waits until the indexes are ready, and creates the snapshot which answers the first patterns
+				TypeNameSnapshot.getInstance().update(monitor);
 			} catch (JavaModelException e) {
 				throw new InvocationTargetException(e);
 			}
@@ -951,6 +952,14 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			return fTypeInfoFilter.getSearchScope();
 		}
 
+		public boolean isWorkspaceScope() {
+			return fTypeInfoFilter.isWorkspaceScope();
+		}
+
+		public TypeInfoFilter getTypeInfoFilter() {
+			return fTypeInfoFilter;
+		}
+
 		public int getMyTypeFilterVersion() {
 			return fMyTypeFilterVersion;
 		}
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.jarpackager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.filesystem.EFS;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.util.IClassFileReader;
+import org.eclipse.jdt.core.util.ISourceAttribute;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.corext.util.Resources;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Maps the Java source files of the packages in output folders to the class files compiled from
+ * them, as recorded in the source file attribute of the class files.
+ * <p>
+ * The index of a folder is kept with the modification stamps of its class files. Every lookup
+ * compares them with the current members of the folder, so class files that have been added,
+ * removed or rebuilt since, e.g. by the build that precedes an export, are never missed. Only
+ * the added and rebuilt class files are read again, in parallel for large folders. This way
+ * exporting many compilation units of the same package reads every class file only once, and
+ * exporting the same JAR again only reads the class files that have changed in the meantime.
+ * </p>
+ */
+public final class ClassFileIndex implements IResourceChangeListener {
+
+	/**
+	 * The class files of one folder, by the name of the source file they were compiled from.
+	 */
+	public static final class FolderIndex {
+		private final Map<String, List<IFile>> fClassFiles;
+		private final IFile fClassFileWithoutSource;
+		private final Map<IFile, ClassFileInfo> fInfos;
+
+		FolderIndex(Map<String, List<IFile>> classFiles, IFile classFileWithoutSource, Map<IFile, ClassFileInfo> infos) {
+			fClassFiles= classFiles;
+			fClassFileWithoutSource= classFileWithoutSource;
+			fInfos= infos;
+		}
+
+		/**
+		 * Returns the class files compiled from the source file with the given name.
+		 *
+		 * @param sourceFileName the name of the source file, e.g. <code>A.java</code>
+		 * @return the class files, or <code>null</code> if the folder contains no class file of
+		 *         that source file
+		 */
+		public List<IFile> getClassFiles(String sourceFileName) {
+			return fClassFiles.get(sourceFileName);
+		}
+
+		/**
+		 * Returns a class file of the folder that does not record its source file. If there is
+		 * such a class file, the index is incomplete.
+		 *
+		 * @return a class file without source file attribute, or <code>null</code> if all class
+		 *         files of the folder have one
+		 */
+		public IFile getClassFileWithoutSource() {
+			return fClassFileWithoutSource;
+		}
+
+		boolean isUpToDate(List<IFile> classFiles) {
+			if (classFiles.size() != fInfos.size())
+				return false;
+			for (IFile classFile : classFiles) {
+				ClassFileInfo info= fInfos.get(classFile);
+				if (info == null || info.fModificationStamp != classFile.getModificationStamp())
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private static final class ClassFileInfo {
+		final long fModificationStamp;
+		final String fSourceName;
+
+		ClassFileInfo(long modificationStamp, String sourceName) {
+			fModificationStamp= modificationStamp;
+			fSourceName= sourceName;
+		}
+	}
+
+	private static final String CLASS_FILE_EXTENSION= "class"; //$NON-NLS-1$
+
+	/** Marks class files without source file attribute, compared by identity */
+	private static final String NO_SOURCE_ATTRIBUTE= new String();
+
+	/** Folders with less class files to read are read in the calling thread */
+	private static final int PARALLEL_THRESHOLD= 32;
+
+	private static final int MAX_TASKS= 4;
+
+	private static final int MAX_INDEXED_FOLDERS= 2000;
+
+	private static ClassFileIndex fgDefault;
+
+	/** The indexes by folder path, the least recently used first. Access is synchronized on the map. */
+	private final Map<IPath, FolderIndex> fIndexes= new LinkedHashMap<IPath, FolderIndex>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPath, FolderIndex> eldest) {
+			return size() > MAX_INDEXED_FOLDERS;
+		}
+	};
+
+	private ClassFileIndex() {
+		JavaPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns the shared index.
+	 *
+	 * @return the shared index
+	 */
+	public static synchronized ClassFileIndex getDefault() {
+		if (fgDefault == null)
+			fgDefault= new ClassFileIndex();
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared index, if it has been created.
+	 */
+	public static synchronized void shutdownInstance() {
+		if (fgDefault != null) {
+			JavaPlugin.getWorkspace().removeResourceChangeListener(fgDefault);
+			fgDefault.clear();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Returns the index of the class files that are direct members of the given folder, as they
+	 * are now.
+	 *
+	 * @param container the folder containing the class files of a package
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the index of the folder
+	 * @throws CoreException if the class files cannot be read
+	 */
+	public FolderIndex getIndex(IContainer container, IProgressMonitor monitor) throws CoreException {
+		IPath path= container.getFullPath();
+		List<IFile> classFiles= getClassFiles(container);
+		FolderIndex index;
+		synchronized (fIndexes) {
+			index= fIndexes.get(path);
+		}
+		if (index != null && index.isUpToDate(classFiles))
+			return index;
+		index= buildIndex(classFiles, index, monitor != null ? monitor : new NullProgressMonitor());
+		synchronized (fIndexes) {
+			// a concurrent lookup may store an index of another state, the next lookup checks it again
+			fIndexes.put(path, index);
+		}
+		return index;
+	}
+
+	private void clear() {
+		synchronized (fIndexes) {
+			fIndexes.clear();
+		}
+	}
+
+	private static List<IFile> getClassFiles(IContainer container) throws CoreException {
+		if (!container.isAccessible())
+			return Collections.emptyList();
+		List<IFile> classFiles= new ArrayList<>();
+		for (IResource member : container.members()) {
+			if (member.getType() == IResource.FILE && CLASS_FILE_EXTENSION.equalsIgnoreCase(member.getFileExtension()))
+				classFiles.add((IFile) member);
+		}
+		return classFiles;
+	}
+
+	/*
+	 * Builds the index of the given class files. The source file names of class files that did not
+	 * change since the previous index are taken from it.
+	 */
+	private static FolderIndex buildIndex(List<IFile> classFiles, FolderIndex previous, IProgressMonitor monitor) throws CoreException {
+		long[] stamps= new long[classFiles.size()];
+		String[] sourceNames= new String[classFiles.size()];
+		List<Integer> toRead= new ArrayList<>();
+		for (int i= 0; i < stamps.length; i++) {
+			IFile classFile= classFiles.get(i);
+			stamps[i]= classFile.getModificationStamp();
+			ClassFileInfo info= previous != null ? previous.fInfos.get(classFile) : null;
+			if (info != null && info.fModificationStamp == stamps[i])
+				sourceNames[i]= info.fSourceName;
+			else
+				toRead.add(Integer.valueOf(i));
+		}
+
+		if (toRead.size() < PARALLEL_THRESHOLD) {
+			for (Integer i : toRead) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				sourceNames[i]= readSourceFileName(classFiles.get(i), monitor);
+			}
+		} else {
+			readSourceFileNames(classFiles, toRead, sourceNames, monitor);
+		}
+
+		Map<IFile, ClassFileInfo> infos= new HashMap<>();
+		Map<String, List<IFile>> map= new HashMap<>();
+		IFile classFileWithoutSource= null;
+		for (int i= 0; i < sourceNames.length; i++) {
+			infos.put(classFiles.get(i), new ClassFileInfo(stamps[i], sourceNames[i]));
+			if (sourceNames[i] == NO_SOURCE_ATTRIBUTE) {
+				if (classFileWithoutSource == null)
+					classFileWithoutSource= classFiles.get(i);
+			} else if (sourceNames[i] != null) {
+				map.computeIfAbsent(sourceNames[i], name -> new ArrayList<>(3)).add(classFiles.get(i));
+			}
+		}
+		if (classFileWithoutSource != null)
+			return new FolderIndex(Collections.emptyMap(), classFileWithoutSource, infos);
+		for (Map.Entry<String, List<IFile>> entry : map.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		return new FolderIndex(map, null, infos);
+	}
+
+	private static void readSourceFileNames(List<IFile> classFiles, List<Integer> toRead, String[] sourceNames, IProgressMonitor monitor) throws CoreException {
+		ExecutorService executor= JavaManipulationPlugin.getExecutor();
+		int chunkSize= (toRead.size() + MAX_TASKS - 1) / MAX_TASKS;
+		List<Future<?>> futures= new ArrayList<>(MAX_TASKS);
+		try {
+			for (int start= 0; start < toRead.size(); start+= chunkSize) {
+				List<Integer> chunk= toRead.subList(start, Math.min(start + chunkSize, toRead.size()));
+				futures.add(executor.submit(() -> {
+					for (Integer i : chunk) {
+						if (monitor.isCanceled())
+							break;
+						sourceNames[i]= readSourceFileName(classFiles.get(i), null);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				while (true) {
+					if (monitor.isCanceled())
+						throw new OperationCanceledException();
+					try {
+						future.get(100, TimeUnit.MILLISECONDS);
+						break;
+					} catch (TimeoutException e) {
+						// check for cancellation again
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new OperationCanceledException();
+					} catch (ExecutionException e) {
+						Throwable cause= e.getCause();
+						if (cause instanceof CoreException)
+							throw (CoreException) cause;
+						if (cause instanceof RuntimeException)
+							throw (RuntimeException) cause;
+						throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), cause.getLocalizedMessage(), cause));
+					}
+				}
+			}
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+		} finally {
+			// the chunks poll the monitor, the threads of the shared executor are not interrupted
+			for (Future<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	/*
+	 * Returns the source file name recorded in the class file, NO_SOURCE_ATTRIBUTE if it has none,
+	 * or null if the class file cannot be read as such.
+	 */
+	private static String readSourceFileName(IFile classFile, IProgressMonitor monitor) throws CoreException {
+		URI location= classFile.getLocationURI();
+		if (location == null)
+			return null;
+		IClassFileReader cfReader;
+		InputStream contents= EFS.getStore(location).openInputStream(EFS.NONE, monitor);
+		try {
+			cfReader= ToolFactory.createDefaultClassFileReader(contents, IClassFileReader.CLASSFILE_ATTRIBUTES);
+		} finally {
+			try {
+				contents.close();
+			} catch (IOException e) {
+				throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IStatus.ERROR,
+						Messages.format(JarPackagerMessages.JarFileExportOperation_errorCannotCloseConnection, BasicElementLabels.getURLPart(Resources.getLocationString(classFile))),
+						e));
+			}
+		}
+		if (cfReader == null)
+			return null;
+		ISourceAttribute sourceAttribute= cfReader.getSourceFileAttribute();
+		return sourceAttribute != null ? new String(sourceAttribute.getSourceFileName()) : NO_SOURCE_ATTRIBUTE;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		synchronized (fIndexes) {
+			if (fIndexes.isEmpty())
+				return;
+		}
+		// changed class files are found by the lookups, only forget the folders that are gone
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+				@Override
+				public boolean visit(IResourceDelta child) {
+					IResource resource= child.getResource();
+					switch (resource.getType()) {
+						case IResource.FILE:
+							return false;
+						case IResource.ROOT:
+							return true;
+						default:
+							if (child.getKind() == IResourceDelta.REMOVED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+								IPath path= resource.getFullPath();
+								synchronized (fIndexes) {
+									fIndexes.keySet().removeIf(path::isPrefixOf);
+								}
+								return false;
+							}
+							return true;
+					}
+				}
+			});
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+			clear();
+		}
+	}
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.jarpackager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Reuses the entries of the previous export of a JAR whose source files did not change.
+ * <p>
+ * After each incremental export, an index with the modification stamps of the exported files is
+ * stored in the plug-in state location. On the next export, the previous JAR is moved aside and
+ * the entries whose files still have the same stamps are copied from it without decompressing
+ * them. The previous JAR is only used if it has not been modified since it was written.
+ * </p>
+ * <p>
+ * Only the indexes of the most recently exported JARs are kept.
+ * </p>
+ */
+public final class IncrementalJarExport {
+
+	private static final String INDEX_DIRECTORY= "jarExportIndex"; //$NON-NLS-1$
+
+	private static final int MAX_INDEX_FILES= 20;
+
+	private static final String KEY_JAR_PATH= "%jar.path"; //$NON-NLS-1$
+	private static final String KEY_JAR_LENGTH= "%jar.length"; //$NON-NLS-1$
+	private static final String KEY_JAR_MODIFIED= "%jar.lastModified"; //$NON-NLS-1$
+	private static final String KEY_REUSED= "%reused"; //$NON-NLS-1$
+	private static final String KEY_REWRITTEN= "%rewritten"; //$NON-NLS-1$
+	private static final String ENTRY_PREFIX= "entry:"; //$NON-NLS-1$
+
+	private final File fJarFile;
+	private final File fIndexFile;
+	private final Properties fPreviousIndex;
+	private final Properties fIndex= new Properties();
+	private File fPreviousJarFile;
+	private ZipFile fPreviousJar;
+	private int fReused;
+	private int fRewritten;
+
+	private IncrementalJarExport(File jarFile, File indexFile, Properties previousIndex) {
+		fJarFile= jarFile;
+		fIndexFile= indexFile;
+		fPreviousIndex= previousIndex;
+	}
+
+	/**
+	 * Prepares the incremental export of the given JAR. Must be called before the JAR file is
+	 * opened for writing, as the previous JAR is moved aside.
+	 *
+	 * @param jarFile the JAR file to export
+	 * @return the incremental export
+	 */
+	public static IncrementalJarExport open(File jarFile) {
+		File indexFile= getIndexFile(jarFile);
+		Properties previousIndex= readIndex(indexFile);
+		IncrementalJarExport export= new IncrementalJarExport(jarFile, indexFile, previousIndex);
+		if (isIndexOf(previousIndex, jarFile)) {
+			try {
+				File previousJarFile= File.createTempFile(jarFile.getName(), ".previous", jarFile.getAbsoluteFile().getParentFile()); //$NON-NLS-1$
+				Files.move(jarFile.toPath(), previousJarFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				export.fPreviousJarFile= previousJarFile;
+				export.fPreviousJar= new ZipFile(previousJarFile);
+			} catch (IOException e) {
+				// export everything
+				JavaPlugin.log(e);
+				export.closePreviousJar();
+			}
+		}
+		return export;
+	}
+
+	/**
+	 * Copies the entry of the given file from the previous JAR if the file did not change since
+	 * the previous export, and records the file in the index of this export.
+	 *
+	 * @param file the exported file
+	 * @param entry the new entry of the file
+	 * @param out the stream of the JAR
+	 * @return <code>true</code> if the entry has been copied, <code>false</code> if the caller has
+	 *         to write the file
+	 * @throws IOException if writing the entry failed
+	 */
+	public boolean copyUnchanged(IFile file, ZipEntry entry, JarOutputStream out) throws IOException {
+		String key= ENTRY_PREFIX + entry.getName();
+		String fingerprint= file.getFullPath().toString() + '|' + file.getModificationStamp() + '|' + file.getLocalTimeStamp();
+		fIndex.setProperty(key, fingerprint);
+		if (fPreviousJar != null && fingerprint.equals(fPreviousIndex.getProperty(key))) {
+			ZipEntry previousEntry= fPreviousJar.getEntry(entry.getName());
+			if (previousEntry != null && JarPackagerUtilCore.putRawEntry(entry, fPreviousJar, previousEntry, out)) {
+				fReused++;
+				return true;
+			}
+		}
+		fRewritten++;
+		return false;
+	}
+
+	/**
+	 * Stores the index of the new JAR if the export succeeded. Otherwise the previous JAR is put
+	 * back in place of the incomplete new one.
+	 *
+	 * @param success <code>true</code> if the new JAR has been written completely
+	 */
+	public void close(boolean success) {
+		if (!success) {
+			restorePreviousJar();
+			return;
+		}
+		closePreviousJar();
+		fIndex.setProperty(KEY_JAR_PATH, fJarFile.getAbsolutePath());
+		fIndex.setProperty(KEY_JAR_LENGTH, Long.toString(fJarFile.length()));
+		fIndex.setProperty(KEY_JAR_MODIFIED, Long.toString(fJarFile.lastModified()));
+		fIndex.setProperty(KEY_REUSED, Integer.toString(fReused));
+		fIndex.setProperty(KEY_REWRITTEN, Integer.toString(fRewritten));
+		fIndexFile.getParentFile().mkdirs();
+		try (OutputStream out= new BufferedOutputStream(new FileOutputStream(fIndexFile))) {
+			fIndex.store(out, null);
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			fIndexFile.delete();
+		}
+		pruneIndexFiles(fIndexFile.getParentFile());
+	}
+
+	/*
+	 * Deletes the indexes of the JARs that have not been exported for the longest time, so that
+	 * the state location does not grow with every JAR ever exported.
+	 */
+	private static void pruneIndexFiles(File directory) {
+		File[] indexFiles= directory.listFiles((dir, name) -> name.endsWith(".properties")); //$NON-NLS-1$
+		if (indexFiles == null || indexFiles.length <= MAX_INDEX_FILES)
+			return;
+		long[] lastModified= new long[indexFiles.length];
+		Integer[] order= new Integer[indexFiles.length];
+		for (int i= 0; i < indexFiles.length; i++) {
+			lastModified[i]= indexFiles[i].lastModified();
+			order[i]= Integer.valueOf(i);
+		}
+		Arrays.sort(order, Comparator.comparingLong((Integer i) -> lastModified[i.intValue()]).reversed());
+		for (int i= MAX_INDEX_FILES; i < order.length; i++) {
+			indexFiles[order[i].intValue()].delete();
+		}
+	}
+
+	private void restorePreviousJar() {
+		File previousJarFile= fPreviousJarFile;
+		fPreviousJarFile= null;
+		closePreviousJar();
+		if (previousJarFile != null) {
+			try {
+				Files.move(previousJarFile.toPath(), fJarFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				return;
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+				previousJarFile.delete();
+			}
+		}
+		fIndexFile.delete();
+	}
+
+	private void closePreviousJar() {
+		if (fPreviousJar != null) {
+			try {
+				fPreviousJar.close();
+			} catch (IOException e) {
+				// Do nothing
+			}
+			fPreviousJar= null;
+		}
+		if (fPreviousJarFile != null) {
+			fPreviousJarFile.delete();
+			fPreviousJarFile= null;
+		}
+	}
+
+	/**
+	 * Returns the number of entries that were reused and rewritten by the last incremental export
+	 * of the given JAR.
+	 *
+	 * @param jarFile the JAR file
+	 * @return the reused and rewritten entry counts, or <code>null</code> if the JAR was not
+	 *         exported incrementally
+	 */
+	public static int[] getLastExportCounts(File jarFile) {
+		Properties index= readIndex(getIndexFile(jarFile));
+		if (!isIndexOf(index, jarFile))
+			return null;
+		try {
+			return new int[] { Integer.parseInt(index.getProperty(KEY_REUSED)), Integer.parseInt(index.getProperty(KEY_REWRITTEN)) };
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static boolean isIndexOf(Properties index, File jarFile) {
+		return jarFile.isFile()
+				&& jarFile.getAbsolutePath().equals(index.getProperty(KEY_JAR_PATH))
+				&& Long.toString(jarFile.length()).equals(index.getProperty(KEY_JAR_LENGTH))
+				&& Long.toString(jarFile.lastModified()).equals(index.getProperty(KEY_JAR_MODIFIED));
+	}
+
+	/*
+	 * The index file is named after a digest of the JAR path, so that different JARs do not share
+	 * an index.
+	 */
+	private static File getIndexFile(File jarFile) {
+		byte[] hash;
+		try {
+			hash= MessageDigest.getInstance("SHA-256").digest(jarFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+		String name= Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + ".properties"; //$NON-NLS-1$
+		return JavaPlugin.getDefault().getStateLocation().append(INDEX_DIRECTORY).append(name).toFile();
+	}
+
+	private static Properties readIndex(File indexFile) {
+		Properties index= new Properties();
+		if (indexFile.isFile()) {
+			try (InputStream in= new BufferedInputStream(new FileInputStream(indexFile))) {
+				index.load(in);
+			} catch (IOException | IllegalArgumentException e) {
+				index.clear();
+			}
+		}
+		return index;
+	}
+}
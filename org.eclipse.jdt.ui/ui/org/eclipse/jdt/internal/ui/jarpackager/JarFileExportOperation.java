@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,17 +19,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.jar.Manifest;
 import java.util.zip.ZipException;
@@ -37,8 +33,6 @@ import java.util.zip.ZipFile;
 
 import org.eclipse.swt.widgets.Shell;
 
-import org.eclipse.core.filesystem.EFS;
-
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -71,9 +65,6 @@ import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.ToolFactory;
-import org.eclipse.jdt.core.util.IClassFileReader;
-import org.eclipse.jdt.core.util.ISourceAttribute;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -115,8 +106,6 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 	private JarPackageData fJarPackage;
 	private JarPackageData[] fJarPackages;
 	private Shell fParentShell;
-	private Map<String, ArrayList<IResource>> fJavaNameToClassFilesMap;
-	private IContainer fClassFilesMapContainer;
 	private Set<IContainer> fExportedClassContainers;
 	private MessageMultiStatus fStatus;
 	private StandardJavaElementContentProvider fJavaElementContentProvider;
@@ -775,19 +764,20 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 				return Arrays.asList(generatedResources).iterator();
 			// give the old code a last chance
 		}
-		if (fClassFilesMapContainer == null || !fClassFilesMapContainer.equals(classContainer)) {
-			fJavaNameToClassFilesMap= buildJavaToClassMap(classContainer, progressMonitor);
-			if (fJavaNameToClassFilesMap == null) {
-				// Could not fully build map. fallback is to export whole directory
-				String containerName= BasicElementLabels.getPathLabel(classContainer.getFullPath(), false);
-				String msg= Messages.format(JarPackagerMessages.JarFileExportOperation_missingSourceFileAttributeExportedAll, containerName);
-				addInfo(msg, null);
-				fExportedClassContainers.add(classContainer);
-				return getClassesIn(classContainer);
-			}
-			fClassFilesMapContainer= classContainer;
+		ClassFileIndex.FolderIndex folderIndex= ClassFileIndex.getDefault().getIndex(classContainer, progressMonitor);
+		List<IFile> classFileList= folderIndex.getClassFiles(file.getName());
+		IFile classFileWithoutSource= folderIndex.getClassFileWithoutSource();
+		if (classFileWithoutSource != null) {
+			// Could not fully build map. fallback is to export whole directory
+			addWarning(Messages.format(
+				JarPackagerMessages.JarFileExportOperation_classFileWithoutSourceFileAttribute,
+				BasicElementLabels.getURLPart(Resources.getLocationString(classFileWithoutSource))), null);
+			String containerName= BasicElementLabels.getPathLabel(classContainer.getFullPath(), false);
+			String msg= Messages.format(JarPackagerMessages.JarFileExportOperation_missingSourceFileAttributeExportedAll, containerName);
+			addInfo(msg, null);
+			fExportedClassContainers.add(classContainer);
+			return getClassesIn(classContainer);
 		}
-		ArrayList<IResource> classFileList= fJavaNameToClassFilesMap.get(file.getName());
 		if (classFileList == null || classFileList.isEmpty()) {
 			String msg= Messages.format(JarPackagerMessages.JarFileExportOperation_classFileOnClasspathNotAccessible, BasicElementLabels.getPathLabel(file.getFullPath(), false));
 			throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, msg, null));
@@ -835,65 +825,6 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 			&& "class".equalsIgnoreCase(file.getFileExtension()); //$NON-NLS-1$
 	}
 
-	/*
-	 * Builds and returns a map that has the class files
-	 * for each java file in a given directory
-	 */
-	private Map<String, ArrayList<IResource>> buildJavaToClassMap(IContainer container, IProgressMonitor monitor) throws CoreException {
-		if (container == null || !container.isAccessible())
-			return new HashMap<>(0);
-		/*
-		 * XXX: Bug 6584: Need a way to get class files for a java file (or CU)
-		 */
-		IClassFileReader cfReader= null;
-		IResource[] members= container.members();
-		Map<String, ArrayList<IResource>> map= new HashMap<>(members.length);
-		for (IResource member : members) {
-			if (isClassFile(member)) {
-				IFile classFile = (IFile) member;
-				URI location= classFile.getLocationURI();
-				if (location != null) {
-					InputStream contents= null;
-					try {
-						contents= EFS.getStore(location).openInputStream(EFS.NONE, monitor);
-						cfReader= ToolFactory.createDefaultClassFileReader(contents, IClassFileReader.CLASSFILE_ATTRIBUTES);
-					} finally {
-						try {
-							if (contents != null)
-								contents.close();
-						} catch (IOException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IStatus.ERROR,
-								Messages.format(JarPackagerMessages.JarFileExportOperation_errorCannotCloseConnection, BasicElementLabels.getURLPart(Resources.getLocationString(classFile))),
-								e));
-						}
-					}
-					if (cfReader != null) {
-						ISourceAttribute sourceAttribute= cfReader.getSourceFileAttribute();
-						if (sourceAttribute == null) {
-							/*
-							* Can't fully build the map because one or more
-							* class file does not contain the name of its
-							* source file.
-							*/
-							addWarning(Messages.format(
-								JarPackagerMessages.JarFileExportOperation_classFileWithoutSourceFileAttribute,
-								BasicElementLabels.getURLPart(Resources.getLocationString(classFile))), null);
-							return null;
-						}
-						String javaName= new String(sourceAttribute.getSourceFileName());
-						ArrayList<IResource> classFiles= map.get(javaName);
-						if (classFiles == null) {
-							classFiles= new ArrayList<>(3);
-							map.put(javaName, classFiles);
-						}
-						classFiles.add(classFile);
-					}
-				}
-			}
-		}
-		return map;
-	}
-
 	/**
 	 * Creates a folder resource handle for the folder with the given workspace path.
 	 *
@@ -1028,8 +959,11 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 			addToStatus(ex);
 		} finally {
 			try {
-				if (fJarBuilder != null)
+				if (fJarBuilder != null) {
 					fJarBuilder.close();
+					if (fJarPackage.isIncrementalExport())
+						reportIncrementalExport(progressMonitor);
+				}
 			} catch (CoreException ex) {
 				addToStatus(ex);
 			}
@@ -1037,6 +971,21 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 		}
 	}
 
+	/*
+	 * Shows the summary as progress text only. An info in the status would make the wizard open an
+	 * error dialog after every successful export.
+	 */
+	private void reportIncrementalExport(IProgressMonitor progressMonitor) {
+		File jarFile= fJarPackage.getAbsoluteJarLocation().toFile();
+		int[] counts= IncrementalJarExport.getLastExportCounts(jarFile);
+		if (counts != null) {
+			String jarName= BasicElementLabels.getPathLabel(fJarPackage.getAbsoluteJarLocation(), true);
+			String summary= Messages.format(JarPackagerMessages.JarFileExportOperation_incrementalExportSummary,
+					new Object[] { String.valueOf(counts[0]), jarName, String.valueOf(counts[1]) });
+			progressMonitor.subTask(summary);
+		}
+	}
+
 	private boolean preconditionsOK() {
 		if (!fJarPackage.areGeneratedFilesExported() && !fJarPackage.areJavaFilesExported()) {
 			addError(JarPackagerMessages.JarFileExportOperation_noExportTypeChosen, null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,7 @@ public final class JarPackagerMessages extends NLS {
 	public static String JarFileExportOperation_manifestDoesNotExist;
 
 	public static String JarFileExportOperation_missingSourceFileAttributeExportedAll;
+	public static String JarFileExportOperation_incrementalExportSummary;
 
 	public static String JarFileExportOperation_noExportTypeChosen;
 
@@ -304,6 +305,7 @@ public final class JarPackagerMessages extends NLS {
 	public static String JarPackageWizardPage_exportOutputFolders_text;
 
 	public static String JarPackageWizardPage_includeDirectoryEntries_text;
+	public static String JarPackageWizardPage_incrementalExport_text;
 
 	public static String JarPackageWizardPage_info_relativeExportDestination;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.jarpackager.IManifestProvider;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
@@ -114,7 +116,7 @@ public class FatJarRsrcUrlBuilder extends FatJarBuilder {
 		newEntry.setMethod(ZipEntry.STORED);
 		byte[] readBuffer= new byte[4096];
 		try {
-			if (!fJarPackage.isCompressed())
+			if (!fJarPackage.isCompressed() && JarPackagerUtilCore.needsCrcAndSize(getJarWriter().getJarOutputStream()))
 				JarPackagerUtil.calculateCrcAndSize(newEntry, new FileInputStream(jarPathFile), readBuffer);
 			getJarWriter().addZipEntryStream(newEntry, new FileInputStream(jarPathFile), jarName);
 		} catch (IOException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1672,6 +1672,11 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	private ActivationListener fActivationListener= new ActivationListener();
 	private ISelectionListenerWithAST fPostSelectionListenerWithAST;
 	private OccurrencesFinderJob fOccurrencesFinderJob;
+	/**
+	 * The occurrences of the bindings marked for the current AST.
+	 * @since 3.27
+	 */
+	private final MarkOccurrencesCache fMarkOccurrencesCache= new MarkOccurrencesCache();
 	/** The occurrences finder job canceler */
 	private OccurrencesFinderJobCanceler fOccurrencesFinderJobCanceler;
 	/**
@@ -1735,6 +1740,12 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	 */
 	private SelectionProvider fSelectionProvider= new JdtSelectionProvider();
 
+	/**
+	 * The Java text selection shared by the context menu actions.
+	 * @since 3.27
+	 */
+	private JavaTextSelectionCache fJavaTextSelectionCache;
+
 	/**
 	 * Time when last error message got set.
 	 *
@@ -1918,6 +1929,19 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		return fBreadcrumb;
 	}
 
+	/**
+	 * Returns the Java text selection of this editor that is shared by the actions which compute
+	 * their enablement from it.
+	 *
+	 * @return the Java text selection cache
+	 * @since 3.27
+	 */
+	public JavaTextSelectionCache getJavaTextSelectionCache() {
+		if (fJavaTextSelectionCache == null)
+			fJavaTextSelectionCache= new JavaTextSelectionCache(this);
+		return fJavaTextSelectionCache;
+	}
+
 	/**
 	 * Returns the preference key for the breadcrumb. The
 	 * value depends on the current perspective.
@@ -2085,6 +2109,9 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		super.editorContextMenuAboutToShow(menu);
 		menu.insertAfter(IContextMenuConstants.GROUP_OPEN, new GroupMarker(IContextMenuConstants.GROUP_SHOW));
 
+		// start resolving the selection before the action groups and submenus need it
+		getJavaTextSelectionCache().resolveInBackground();
+
 		ActionContext context= new ActionContext(getSelectionProvider().getSelection());
 		fContextMenuGroup.setContext(context);
 		fContextMenuGroup.fillContextMenu(menu);
@@ -2659,6 +2686,11 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			fBreadcrumb= null;
 		}
 
+		if (fJavaTextSelectionCache != null) {
+			fJavaTextSelectionCache.dispose();
+			fJavaTextSelectionCache= null;
+		}
+
 		clearEditorInfoInPartitionerManager(this);
 
 		uninstallJavaCodeMining();
@@ -3178,12 +3210,28 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		private final ISelectionValidator fPostSelectionValidator;
 		private boolean fCanceled= false;
 		private final OccurrenceLocation[] fLocations;
+		private final OccurrencesFinder fBindingFinder;
 
 		public OccurrencesFinderJob(IDocument document, OccurrenceLocation[] locations, ISelection selection) {
+			this(document, locations, selection, null);
+		}
+
+		/**
+		 * Creates a job that marks the given occurrences.
+		 *
+		 * @param document the document
+		 * @param locations the occurrences to mark
+		 * @param selection the selection the occurrences were found for
+		 * @param bindingFinder the finder of the occurrences if they are the occurrences of a
+		 *            binding, or <code>null</code>
+		 * @since 3.27
+		 */
+		OccurrencesFinderJob(IDocument document, OccurrenceLocation[] locations, ISelection selection, OccurrencesFinder bindingFinder) {
 			super(JavaEditorMessages.JavaEditor_markOccurrences_job_name);
 			fDocument= document;
 			fSelection= selection;
 			fLocations= locations;
+			fBindingFinder= bindingFinder;
 
 			if (getSelectionProvider() instanceof ISelectionValidator)
 				fPostSelectionValidator= (ISelectionValidator)getSelectionProvider();
@@ -3258,6 +3306,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 					}
 				}
 				fOccurrenceAnnotations= annotationMap.keySet().toArray(new Annotation[annotationMap.size()]);
+				fMarkOccurrencesCache.setMarked(fBindingFinder);
 			}
 
 			return Status.OK_STATUS;
@@ -3302,6 +3351,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		}
 
 		OccurrenceLocation[] locations= null;
+		OccurrencesFinder bindingFinder= null;
 
 		ASTNode selectedNode= NodeFinder.perform(astRoot, selection.getOffset(), selection.getLength());
 		if (fMarkExceptions) {
@@ -3337,7 +3387,11 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			if (binding != null && markOccurrencesOfType(binding)) {
 				OccurrencesFinder finder= new OccurrencesFinder();
 				if (finder.initialize(astRoot, selectedNode) == null) {
-					locations= finder.getOccurrences();
+					// the caret moved to another occurrence of the marked binding
+					if (!hasChanged && fOccurrenceAnnotations != null && fMarkOccurrencesCache.isMarked(finder))
+						return;
+					locations= fMarkOccurrencesCache.getOccurrences(finder);
+					bindingFinder= finder;
 				}
 			}
 		}
@@ -3350,7 +3404,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			return;
 		}
 
-		fOccurrencesFinderJob= new OccurrencesFinderJob(document, locations, selection);
+		fOccurrencesFinderJob= new OccurrencesFinderJob(document, locations, selection, bindingFinder);
 		//fOccurrencesFinderJob.setPriority(Job.DECORATE);
 		//fOccurrencesFinderJob.setSystem(true);
 		//fOccurrencesFinderJob.schedule();
@@ -3400,6 +3454,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		}
 
 		removeOccurrenceAnnotations();
+		fMarkOccurrencesCache.clear();
 	}
 
 	protected boolean isMarkingOccurrences() {
@@ -3453,6 +3508,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	void removeOccurrenceAnnotations() {
 		fMarkOccurrenceModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 		fMarkOccurrenceTargetRegion= null;
+		fMarkOccurrencesCache.setMarked(null);
 
 		IDocumentProvider documentProvider= getDocumentProvider();
 		if (documentProvider == null)
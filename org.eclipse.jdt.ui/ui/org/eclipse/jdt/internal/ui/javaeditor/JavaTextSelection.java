@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,10 @@ import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 /**
  * A special text selection that gives access to the resolved and
  * enclosing element.
+ * <p>
+ * The resolved values are computed once and are thread-safe, so that
+ * the selection can be resolved in the background, see {@link JavaTextSelectionCache}.
+ * </p>
  */
 public class JavaTextSelection extends TextSelection {
 
@@ -95,7 +99,7 @@ public class JavaTextSelection extends TextSelection {
 	 * @return the resolved java elements at the current offset
 	 * @throws JavaModelException passed from the underlying code resolve API
 	 */
-	public IJavaElement[] resolveElementAtOffset() throws JavaModelException {
+	public synchronized IJavaElement[] resolveElementAtOffset() throws JavaModelException {
 		if (fResolvedElements != null)
 			return fResolvedElements;
 		// long start= System.currentTimeMillis();
@@ -104,7 +108,7 @@ public class JavaTextSelection extends TextSelection {
 		return fResolvedElements;
 	}
 
-	public IJavaElement resolveEnclosingElement() throws JavaModelException {
+	public synchronized IJavaElement resolveEnclosingElement() throws JavaModelException {
 		if (fEnclosingElementRequested)
 			return fEnclosingElement;
 		fEnclosingElementRequested= true;
@@ -112,7 +116,7 @@ public class JavaTextSelection extends TextSelection {
 		return fEnclosingElement;
 	}
 
-	public CompilationUnit resolvePartialAstAtOffset() {
+	public synchronized CompilationUnit resolvePartialAstAtOffset() {
 		if (fPartialASTRequested)
 			return fPartialAST;
 		fPartialASTRequested= true;
@@ -122,7 +126,7 @@ public class JavaTextSelection extends TextSelection {
 		return fPartialAST;
 	}
 
-	public ASTNode[] resolveSelectedNodes() {
+	public synchronized ASTNode[] resolveSelectedNodes() {
 		if (fNodesRequested)
 			return fSelectedNodes;
 		fNodesRequested= true;
@@ -137,14 +141,14 @@ public class JavaTextSelection extends TextSelection {
 		return fSelectedNodes;
 	}
 
-	public ASTNode resolveCoveringNode() {
+	public synchronized ASTNode resolveCoveringNode() {
 		if (fNodesRequested)
 			return fCoveringNode;
 		resolveSelectedNodes();
 		return fCoveringNode;
 	}
 
-	public boolean resolveInMethodBody() {
+	public synchronized boolean resolveInMethodBody() {
 		if (fInMethodBodyRequested)
 			return fInMethodBody;
 		fInMethodBodyRequested= true;
@@ -168,7 +172,7 @@ public class JavaTextSelection extends TextSelection {
 		return fInMethodBody;
 	}
 
-	public boolean resolveInClassInitializer() {
+	public synchronized boolean resolveInClassInitializer() {
 		if (fInClassInitializerRequested)
 			return fInClassInitializer;
 		fInClassInitializerRequested= true;
@@ -192,7 +196,7 @@ public class JavaTextSelection extends TextSelection {
 		return fInClassInitializer;
 	}
 
-	public boolean resolveInVariableInitializer() {
+	public synchronized boolean resolveInVariableInitializer() {
 		if (fInVariableInitializerRequested)
 			return fInVariableInitializer;
 		fInVariableInitializerRequested= true;
@@ -228,7 +232,7 @@ public class JavaTextSelection extends TextSelection {
 	 *         <code>Annotation</code>, <code>false</code> otherwise
 	 * @since 3.7
 	 */
-	public boolean resolveInAnnotation() {
+	public synchronized boolean resolveInAnnotation() {
 		if (fInAnnotationRequested)
 			return fInAnnotation;
 		fInAnnotationRequested= true;
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.viewers.ISelection;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ITextSelection;
+
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.ui.JavaUI;
+
+import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
+import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
+
+/**
+ * Shares the {@link JavaTextSelection} of an editor between the action groups that update the
+ * enablement of their actions from it.
+ * <p>
+ * Resolving the elements, the AST and the selected nodes of a selection is expensive. The
+ * selection is resolved once, in the background, starting when the context menu is about to
+ * show, and is reused until the selection or the document changes or the editor is reconciled.
+ * Menus wait only a short time for the resolution; if it is not done by then, they get the
+ * selection the job is working on. The values the job has resolved are reused, the remaining ones
+ * are resolved on demand by the first thread asking for them, since the resolve methods of
+ * {@link JavaTextSelection} are synchronized.
+ * </p>
+ *
+ * @since 3.27
+ */
+public final class JavaTextSelectionCache implements IJavaReconcilingListener {
+
+	/** Milliseconds a menu waits for the selection to be resolved */
+	private static final long RESOLVE_DEADLINE= 300;
+
+	private final JavaEditor fEditor;
+
+	private ITypeRoot fElement;
+	private IDocument fDocument;
+	private long fStamp;
+	private int fOffset;
+	private int fLength;
+	/** The selection shared by the action groups, <code>null</code> until it is requested */
+	private JavaTextSelection fSelection;
+	/** The job resolving the shared selection, <code>null</code> when it is done */
+	private Job fResolveJob;
+
+	JavaTextSelectionCache(JavaEditor editor) {
+		fEditor= editor;
+		if (editor instanceof CompilationUnitEditor)
+			((CompilationUnitEditor) editor).addReconcileListener(this);
+	}
+
+	void dispose() {
+		if (fEditor instanceof CompilationUnitEditor)
+			((CompilationUnitEditor) fEditor).removeReconcileListener(this);
+		clear();
+	}
+
+	/**
+	 * Starts resolving the current selection of the editor in the background if this has not
+	 * been done yet.
+	 */
+	public synchronized void resolveInBackground() {
+		if (validate() && fSelection == null) {
+			fSelection= new JavaTextSelection(fElement, fDocument, fOffset, fLength);
+			fResolveJob= createResolveJob(fSelection);
+			fResolveJob.schedule();
+		}
+	}
+
+	/**
+	 * Returns the Java text selection for the current selection of the editor. Waits a short time
+	 * for the selection to be resolved in the background. If it is not resolved in time, the
+	 * selection is returned anyway, and the values that the background job has not resolved yet
+	 * are resolved on demand.
+	 *
+	 * @return the Java text selection, or <code>null</code> if the editor has no Java input
+	 */
+	public JavaTextSelection getResolvedSelection() {
+		JavaTextSelection selection;
+		Job job;
+		synchronized (this) {
+			if (!validate())
+				return null;
+			if (fSelection == null)
+				fSelection= new JavaTextSelection(fElement, fDocument, fOffset, fLength);
+			selection= fSelection;
+			job= fResolveJob;
+		}
+		if (job != null) {
+			try {
+				job.join(RESOLVE_DEADLINE, null);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (OperationCanceledException e) {
+				// the remaining values are resolved on demand
+			}
+		}
+		// the job keeps resolving the selection if it is not done yet
+		return selection;
+	}
+
+	/*
+	 * Drops the cached selection if it does not belong to the current selection and document of
+	 * the editor.
+	 */
+	private synchronized boolean validate() {
+		ITypeRoot element= SelectionConverter.getInput(fEditor);
+		IDocument document= JavaUI.getDocumentProvider().getDocument(fEditor.getEditorInput());
+		ISelection selection= fEditor.getSelectionProvider().getSelection();
+		if (element == null || document == null || !(selection instanceof ITextSelection)) {
+			clear();
+			return false;
+		}
+
+		ITextSelection textSelection= (ITextSelection) selection;
+		long stamp= document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		if (fElement != element || fDocument != document || fStamp != stamp || fOffset != textSelection.getOffset() || fLength != textSelection.getLength()) {
+			clear();
+			fElement= element;
+			fDocument= document;
+			fStamp= stamp;
+			fOffset= textSelection.getOffset();
+			fLength= textSelection.getLength();
+		}
+		return true;
+	}
+
+	private synchronized void resolved(Job job) {
+		if (fResolveJob == job)
+			fResolveJob= null;
+	}
+
+	private synchronized void cancelResolveJob() {
+		if (fResolveJob != null) {
+			fResolveJob.cancel();
+			fResolveJob= null;
+		}
+	}
+
+	private synchronized void clear() {
+		cancelResolveJob();
+		fSelection= null;
+		fElement= null;
+		fDocument= null;
+	}
+
+	private Job createResolveJob(final JavaTextSelection selection) {
+		Job job= new Job(JavaEditorMessages.JavaTextSelectionCache_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					selection.resolveElementAtOffset();
+					selection.resolveEnclosingElement();
+				} catch (JavaModelException e) {
+					// the actions resolve the element again and handle the exception
+				}
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				if (selection.resolveSelectedNodes() != null) {
+					selection.resolveInMethodBody();
+					selection.resolveInClassInitializer();
+					selection.resolveInVariableInitializer();
+					selection.resolveInAnnotation();
+				}
+				resolved(this);
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.INTERACTIVE);
+		return job;
+	}
+
+	@Override
+	public void aboutToBeReconciled() {
+		// the selection stays valid until the new AST is available
+	}
+
+	@Override
+	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		// the resolved nodes belong to the previous AST
+		clear();
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+
+/**
+ * Remembers the occurrences of the bindings marked in an editor, for the AST they were found in.
+ * <p>
+ * Moving the caret between the occurrences of a few bindings searches each binding only once per
+ * AST, and the occurrences that are already marked are recognized without searching at all.
+ * </p>
+ *
+ * @since 3.27
+ */
+final class MarkOccurrencesCache {
+
+	private static final int MAX_CACHED_BINDINGS= 64;
+
+	private CompilationUnit fAST;
+	private final Map<String, OccurrenceLocation[]> fOccurrences= new HashMap<>();
+
+	private CompilationUnit fMarkedAST;
+	private String fMarkedKey;
+
+	/**
+	 * Returns the occurrences of the finder's binding, searching them only if they are not known
+	 * for the finder's AST yet.
+	 *
+	 * @param finder the initialized finder
+	 * @return the occurrences, or <code>null</code> if there are none
+	 */
+	OccurrenceLocation[] getOccurrences(OccurrencesFinder finder) {
+		String key= finder.getOccurrencesKey();
+		if (key == null)
+			return finder.getOccurrences();
+		CompilationUnit ast= finder.getASTRoot();
+		synchronized (this) {
+			if (fAST == ast && fOccurrences.containsKey(key))
+				return fOccurrences.get(key);
+		}
+		OccurrenceLocation[] occurrences= finder.getOccurrences();
+		synchronized (this) {
+			if (fAST != ast) {
+				fAST= ast;
+				fOccurrences.clear();
+			} else if (fOccurrences.size() >= MAX_CACHED_BINDINGS) {
+				fOccurrences.clear();
+			}
+			fOccurrences.put(key, occurrences);
+		}
+		return occurrences;
+	}
+
+	/**
+	 * Tells whether the occurrences of the finder's binding are the ones that are marked.
+	 *
+	 * @param finder the initialized finder
+	 * @return <code>true</code> if the occurrences are marked
+	 */
+	synchronized boolean isMarked(OccurrencesFinder finder) {
+		String key= finder.getOccurrencesKey();
+		return key != null && fMarkedAST == finder.getASTRoot() && key.equals(fMarkedKey);
+	}
+
+	/**
+	 * Records the occurrences that are marked.
+	 *
+	 * @param finder the finder of the marked occurrences, or <code>null</code> if the marked
+	 *            occurrences were not found by an {@link OccurrencesFinder}
+	 */
+	synchronized void setMarked(OccurrencesFinder finder) {
+		fMarkedAST= finder != null ? finder.getASTRoot() : null;
+		fMarkedKey= finder != null ? finder.getOccurrencesKey() : null;
+	}
+
+	/**
+	 * Forgets all occurrences, e.g. because the editor is disposed.
+	 */
+	synchronized void clear() {
+		fAST= null;
+		fOccurrences.clear();
+		fMarkedAST= null;
+		fMarkedKey= null;
+	}
+}
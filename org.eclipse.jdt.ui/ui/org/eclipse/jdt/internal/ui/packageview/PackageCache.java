@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Simeon Andreev and others.
+ * Copyright (c) 2017, 2026 Simeon Andreev and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,7 +40,7 @@ import org.eclipse.jdt.core.JavaModelException;
  * </p>
  *
  * <p>
- * Not thread safe.
+ * Queries are thread safe, the package children are collected once under the lock of this object.
  * </p>
  *
  * @see #getDirectChildren(IPackageFragment)
@@ -187,7 +187,7 @@ public class PackageCache {
 	 * @param packageFragment The direct children of this fragment will be retrieved.
 	 * @throws JavaModelException If accessing the packages in the package root fails.
 	 */
-	public List<IPackageFragment> getDirectChildren(IPackageFragment packageFragment) throws JavaModelException {
+	public synchronized List<IPackageFragment> getDirectChildren(IPackageFragment packageFragment) throws JavaModelException {
 		initialize();
 		String packageName= packageFragment.getElementName();
 		List<IPackageFragment> childrenOfPackage= packagesCache.get(packageName);
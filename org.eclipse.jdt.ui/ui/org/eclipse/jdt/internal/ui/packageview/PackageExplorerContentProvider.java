@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.packageview;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -25,9 +32,6 @@ import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -36,12 +40,12 @@ import org.eclipse.core.resources.IResourceDelta;
 
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.jface.util.Throttler;
 import org.eclipse.jface.viewers.IBasicPropertyConstants;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 
 import org.eclipse.ui.IWorkingSet;
-import org.eclipse.ui.progress.UIJob;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -83,15 +87,149 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	protected static final int GRANT_PARENT= 1 << 1;
 	protected static final int PROJECT= 1 << 2;
 
+	/** Update kind: refresh an element */
+	private static final int UPDATE_REFRESH= 0;
+	/** Update kind: add an element to a parent */
+	private static final int UPDATE_ADD= 1;
+	/** Update kind: remove an element */
+	private static final int UPDATE_REMOVE= 2;
+
+	/**
+	 * The time in milliseconds during which updates from other threads are collected before they
+	 * are applied in the UI thread.
+	 */
+	private static final int UPDATE_DELAY= 50;
+
+	/**
+	 * The number of collected updates above which the common parent of all updated elements is
+	 * refreshed instead of applying the updates one by one.
+	 */
+	private static final int COALESCE_THRESHOLD= 200;
+
+	/**
+	 * The maximum number of elements whose children are computed outside of the UI thread
+	 * before they are refreshed.
+	 */
+	private static final int PREFETCH_LIMIT= 32;
+
+	/**
+	 * A viewer update which can be coalesced with other updates.
+	 */
+	private final class ViewerUpdate implements Runnable {
+
+		private final int fKind;
+		private final Object fParent;
+		private final Object fElement;
+		private final boolean fUpdateLabels;
+
+		ViewerUpdate(int kind, Object parent, Object element, boolean updateLabels) {
+			fKind= kind;
+			fParent= parent;
+			fElement= element;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			switch (fKind) {
+				case UPDATE_REFRESH:
+					if (fElement == null || fViewer.testFindItems(fElement).length > 0) {
+						fViewer.refresh(fElement, fUpdateLabels);
+					}
+					break;
+				case UPDATE_ADD:
+					if (!isAdded(fParent, fElement)) {
+						fViewer.add(fParent, fElement);
+					}
+					break;
+				case UPDATE_REMOVE:
+					if (fViewer.testFindItems(fElement).length > 0) {
+						fViewer.remove(fElement);
+					}
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	/**
+	 * The updates collected for the UI thread. Refreshes, additions and removals are coalesced by
+	 * element and parent, all other updates are kept in their order.
+	 */
+	private static final class PendingUpdates {
+
+		/** The refreshed elements, mapped to whether labels are updated */
+		final Map<Object, Boolean> fRefreshed= new LinkedHashMap<>();
+		/** The added elements by parent */
+		final Map<Object, Set<Object>> fAdded= new LinkedHashMap<>();
+		final Set<Object> fRemoved= new LinkedHashSet<>();
+		final List<Runnable> fOthers= new ArrayList<>();
+		int fCount;
+
+		void addAll(Collection<Runnable> runnables) {
+			for (Runnable runnable : runnables) {
+				fCount++;
+				if (runnable instanceof ViewerUpdate) {
+					ViewerUpdate update= (ViewerUpdate) runnable;
+					switch (update.fKind) {
+						case UPDATE_REFRESH:
+							fRefreshed.merge(update.fElement, Boolean.valueOf(update.fUpdateLabels), (b1, b2) -> Boolean.valueOf(b1.booleanValue() || b2.booleanValue()));
+							continue;
+						case UPDATE_ADD:
+							fAdded.computeIfAbsent(update.fParent, key -> new LinkedHashSet<>()).add(update.fElement);
+							continue;
+						case UPDATE_REMOVE:
+							for (Set<Object> added : fAdded.values()) {
+								added.remove(update.fElement);
+							}
+							fRemoved.add(update.fElement);
+							continue;
+						default:
+							break;
+					}
+				}
+				fOthers.add(runnable);
+			}
+		}
+	}
+
+	/**
+	 * The children of an element computed outside of the UI thread, with the generation of the
+	 * prefetched children in which they were computed.
+	 */
+	private static final class PrefetchedChildren {
+
+		final int fGeneration;
+		final Object[] fChildren;
+
+		PrefetchedChildren(int generation, Object[] children) {
+			fGeneration= generation;
+			fChildren= children;
+		}
+	}
+
 	private TreeViewer fViewer;
 	private Object fInput;
 	private boolean fIsFlatLayout;
 	private boolean fShowLibrariesNode;
 	private boolean fFoldPackages;
 
-	private Collection<Runnable> fPendingUpdates;
+	private PendingUpdates fPendingUpdates;
+
+	private Throttler fUpdateThrottler;
 
-	private UIJob fUpdateJob;
+	/**
+	 * The children of elements which will be refreshed, computed outside of the UI thread. An
+	 * entry is removed when it is used, and all entries are removed on the next Java model change.
+	 */
+	private final Map<Object, PrefetchedChildren> fPrefetchedChildren= new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented whenever the prefetched children are cleared. Children computed in an older
+	 * generation are not used, as they may have been computed before the last Java model change.
+	 */
+	private final AtomicInteger fPrefetchGeneration= new AtomicInteger();
 
 	/**
 	 * We use a cache to know whether a package has a single child for the hierarchical representation.
@@ -113,7 +251,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		fPendingUpdates= null;
 		JavaPlugin.getDefault().getPreferenceStore().addPropertyChangeListener(this);
 
-		fUpdateJob= null;
+		fUpdateThrottler= null;
 		packageCache= new PackageCache.PerRootCache();
 	}
 
@@ -129,6 +267,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	public void elementChanged(final ElementChangedEvent event) {
 		final ArrayList<Runnable> runnables= new ArrayList<>();
 		try {
+			clearPrefetchedChildren();
 			clearPackageCache();
 
 			// 58952 delete project does not update Package Explorer [package explorer]
@@ -137,6 +276,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 				return;
 
 			processDelta(event.getDelta(), runnables);
+			prefetchChildren(runnables);
 		} catch (JavaModelException e) {
 			JavaPlugin.log(e);
 		} finally {
@@ -144,6 +284,38 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		}
 	}
 
+	/**
+	 * Computes the children of the refreshed packages, package fragment roots and projects when not
+	 * running in the UI thread, so that the refresh in the UI thread does not have to.
+	 *
+	 * @param runnables the view changes
+	 */
+	private void prefetchChildren(Collection<Runnable> runnables) {
+		Control ctrl= fViewer.getControl();
+		if (ctrl == null || ctrl.isDisposed() || ctrl.getDisplay().getThread() == Thread.currentThread()) {
+			return;
+		}
+		int generation= fPrefetchGeneration.get();
+		int count= 0;
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof ViewerUpdate && ((ViewerUpdate) runnable).fKind == UPDATE_REFRESH) {
+				Object element= ((ViewerUpdate) runnable).fElement;
+				if ((element instanceof IPackageFragment || element instanceof IPackageFragmentRoot || element instanceof IJavaProject)
+						&& !fPrefetchedChildren.containsKey(element)) {
+					if (++count > PREFETCH_LIMIT) {
+						return;
+					}
+					fPrefetchedChildren.put(element, new PrefetchedChildren(generation, super.getChildren(element)));
+				}
+			}
+		}
+	}
+
+	private void clearPrefetchedChildren() {
+		fPrefetchGeneration.incrementAndGet();
+		fPrefetchedChildren.clear();
+	}
+
 	protected final void executeRunnables(final Collection<Runnable> runnables) {
 
 		// now post all collected runnables
@@ -151,7 +323,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		if (ctrl != null && !ctrl.isDisposed()) {
 			final boolean hasPendingUpdates;
 			synchronized (this) {
-				hasPendingUpdates= fPendingUpdates != null && !fPendingUpdates.isEmpty();
+				hasPendingUpdates= fPendingUpdates != null && fPendingUpdates.fCount > 0;
 			}
 			//Are we in the UIThread? If so spin it until we are done
 			if (!hasPendingUpdates && ctrl.getDisplay().getThread() == Thread.currentThread() && !fViewer.isBusy()) {
@@ -159,39 +331,34 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			} else {
 				synchronized (this) {
 					if (fPendingUpdates == null) {
-						fPendingUpdates= runnables;
-					} else {
-						fPendingUpdates.addAll(runnables);
+						fPendingUpdates= new PendingUpdates();
 					}
+					fPendingUpdates.addAll(runnables);
 				}
 				postAsyncUpdate(ctrl.getDisplay());
 			}
 		}
 	}
-	private void postAsyncUpdate(final Display display) {
-		if (fUpdateJob == null) {
-			fUpdateJob= new UIJob(display, PackagesMessages.PackageExplorerContentProvider_update_job_description) {
-				@Override
-				public IStatus runInUIThread(IProgressMonitor monitor) {
-					TreeViewer viewer= fViewer;
-					if (viewer != null && viewer.isBusy()) {
-						schedule(100); // reschedule when viewer is busy: bug 184991
-					} else {
-						runPendingUpdates();
-					}
-					return Status.OK_STATUS;
+
+	private synchronized void postAsyncUpdate(final Display display) {
+		if (fUpdateThrottler == null) {
+			fUpdateThrottler= new Throttler(display, Duration.ofMillis(UPDATE_DELAY), () -> {
+				TreeViewer viewer= fViewer;
+				if (viewer != null && viewer.isBusy()) {
+					postAsyncUpdate(display); // reschedule when viewer is busy: bug 184991
+				} else {
+					runPendingUpdates();
 				}
-			};
-			fUpdateJob.setSystem(true);
+			});
 		}
-		fUpdateJob.schedule();
+		fUpdateThrottler.throttledExec();
 	}
 
 	/**
 	 * Run all of the runnables that are the widget updates. Must be called in the display thread.
 	 */
 	public void runPendingUpdates() {
-		Collection<Runnable> pendingUpdates;
+		PendingUpdates pendingUpdates;
 		synchronized (this) {
 			pendingUpdates= fPendingUpdates;
 			fPendingUpdates= null;
@@ -202,6 +369,99 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 				runUpdates(pendingUpdates);
 			}
 		}
+		clearPrefetchedChildren();
+	}
+
+	private void runUpdates(PendingUpdates updates) {
+		if (updates.fCount > COALESCE_THRESHOLD) {
+			Object parent= getCommonParent(updates);
+			if (parent == null || fViewer.testFindItems(parent).length == 0) {
+				fViewer.refresh();
+			} else {
+				fViewer.refresh(parent, true);
+			}
+		} else {
+			if (!updates.fRemoved.isEmpty()) {
+				List<Object> removed= new ArrayList<>(updates.fRemoved.size());
+				for (Object element : updates.fRemoved) {
+					if (fViewer.testFindItems(element).length > 0) {
+						removed.add(element);
+					}
+				}
+				fViewer.remove(removed.toArray());
+			}
+			for (Map.Entry<Object, Set<Object>> entry : updates.fAdded.entrySet()) {
+				Object parent= entry.getKey();
+				if (updates.fRefreshed.containsKey(parent)) {
+					continue; // the refresh adds the children
+				}
+				List<Object> added= new ArrayList<>(entry.getValue().size());
+				for (Object element : entry.getValue()) {
+					if (!isAdded(parent, element)) {
+						added.add(element);
+					}
+				}
+				if (!added.isEmpty()) {
+					fViewer.add(parent, added.toArray());
+				}
+			}
+			for (Map.Entry<Object, Boolean> entry : updates.fRefreshed.entrySet()) {
+				Object element= entry.getKey();
+				if (element == null || fViewer.testFindItems(element).length > 0) {
+					fViewer.refresh(element, entry.getValue().booleanValue());
+				}
+			}
+		}
+		runUpdates(updates.fOthers);
+	}
+
+	/**
+	 * Returns the deepest element containing all elements changed by the given updates.
+	 *
+	 * @param updates the updates
+	 * @return the common parent, or <code>null</code> if the whole viewer has to be refreshed
+	 */
+	private Object getCommonParent(PendingUpdates updates) {
+		List<Object> changed= new ArrayList<>(updates.fRefreshed.keySet());
+		changed.addAll(updates.fAdded.keySet());
+		for (Object element : updates.fRemoved) {
+			changed.add(getParent(element));
+		}
+		List<Object> commonPath= null;
+		for (Object element : changed) {
+			if (element == null) {
+				return null;
+			}
+			List<Object> path= new ArrayList<>();
+			for (Object curr= element; curr != null; curr= getParent(curr)) {
+				path.add(0, curr);
+			}
+			if (commonPath == null) {
+				commonPath= path;
+			} else {
+				int length= 0;
+				while (length < commonPath.size() && length < path.size() && commonPath.get(length).equals(path.get(length))) {
+					length++;
+				}
+				commonPath= commonPath.subList(0, length);
+			}
+			if (commonPath.isEmpty()) {
+				return null;
+			}
+		}
+		return commonPath == null ? null : commonPath.get(commonPath.size() - 1);
+	}
+
+	private boolean isAdded(Object parent, Object element) {
+		for (Widget item : fViewer.testFindItems(element)) {
+			if (item instanceof TreeItem && !item.isDisposed()) {
+				TreeItem parentItem= ((TreeItem) item).getParentItem();
+				if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
+					return true; // element already added (most likely by a refresh)
+				}
+			}
+		}
+		return false;
 	}
 
 	private void runUpdates(Collection<Runnable> runnables) {
@@ -292,6 +552,10 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 
 	@Override
 	public Object[] getChildren(Object parentElement) {
+		PrefetchedChildren prefetched= fPrefetchedChildren.remove(parentElement);
+		if (prefetched != null && prefetched.fGeneration == fPrefetchGeneration.get()) {
+			return prefetched.fChildren;
+		}
 		try {
 			if (parentElement instanceof IJavaModel)
 				return concatenate(getJavaProjects((IJavaModel)parentElement), getNonJavaProjects((IJavaModel)parentElement));
@@ -949,35 +1213,17 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
-				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
-				}
-			}
-		});
+		for (Object element : toRefresh.toArray()) {
+			runnables.add(new ViewerUpdate(UPDATE_REFRESH, null, element, updateLabels));
+		}
 	}
 
 	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
-				if (item instanceof TreeItem && !item.isDisposed()) {
-					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
-						return; // no add, element already added (most likely by a refresh)
-					}
-				}
-			}
-			fViewer.add(parent, element);
-		});
+		runnables.add(new ViewerUpdate(UPDATE_ADD, parent, element, false));
 	}
 
 	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
-			}
-		});
+		runnables.add(new ViewerUpdate(UPDATE_REMOVE, null, element, false));
 	}
 
 	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
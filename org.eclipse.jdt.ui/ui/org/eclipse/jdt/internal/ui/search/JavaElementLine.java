@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,9 +32,12 @@ public class JavaElementLine {
 
 
 	private final ITypeRoot fElement;
-	private final String fLineContents;
 	private final int fLineNumber;
-	private final int fLineStartOffset;
+
+	/** Contents of the element, until the line has been computed from it */
+	private String fSource;
+	private String fLineContents;
+	private int fLineStartOffset;
 
 	private int fFlags;
 
@@ -45,37 +48,69 @@ public class JavaElementLine {
 	 * @throws CoreException thrown when accessing of the buffer failed
 	 */
 	public JavaElementLine(ITypeRoot element, int lineNumber, int lineStartOffset) throws CoreException {
+		this(element, lineNumber, lineStartOffset, getContents(element));
+	}
+
+	/**
+	 * Creates a line whose contents are only extracted from the given source when they are
+	 * shown, so that the lines of many matches can share the contents of their element.
+	 *
+	 * @param element either an ICompilationUnit or an IClassFile
+	 * @param lineNumber the line number, starting at 0
+	 * @param lineStartOffset the start offset of the line
+	 * @param source the contents of the element
+	 * @since 3.27
+	 */
+	public JavaElementLine(ITypeRoot element, int lineNumber, int lineStartOffset, String source) {
 		fElement= element;
 		fFlags= 0;
+		fLineNumber= lineNumber;
+		fLineStartOffset= lineStartOffset;
+		fSource= source;
+	}
 
+	/**
+	 * Returns the contents of the given element.
+	 *
+	 * @param element either an ICompilationUnit or an IClassFile
+	 * @return the contents of the element
+	 * @throws CoreException thrown when accessing of the buffer failed
+	 * @since 3.27
+	 */
+	public static String getContents(ITypeRoot element) throws CoreException {
 		IBuffer buffer= element.getBuffer();
-		if (buffer == null) {
+		String contents= buffer != null ? buffer.getContents() : null;
+		if (contents == null) {
 			throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, Messages.format( SearchMessages.JavaElementLine_error_nobuffer, BasicElementLabels.getFileName(element))));
 		}
+		return contents;
+	}
 
-		int length= buffer.getLength();
-		int i= lineStartOffset;
+	private synchronized void computeLine() {
+		if (fSource == null)
+			return;
 
-		char ch= buffer.getChar(i);
-		while (lineStartOffset < length && IndentManipulation.isIndentChar(ch)) {
-			ch= buffer.getChar(++i);
+		int length= fSource.length();
+		int i= fLineStartOffset;
+		while (i < length && IndentManipulation.isIndentChar(fSource.charAt(i))) {
+			i++;
 		}
 		fLineStartOffset= i;
 
 		StringBuilder buf= new StringBuilder();
-
-		while (i < length && !IndentManipulation.isLineDelimiterChar(ch)) {
+		while (i < length) {
+			char ch= fSource.charAt(i);
+			if (IndentManipulation.isLineDelimiterChar(ch))
+				break;
 			if (Character.isISOControl(ch)) {
 				buf.append(' ');
 			} else {
 				buf.append(ch);
 			}
 			i++;
-			if (i < length)
-				ch= buffer.getChar(i);
 		}
 		fLineContents= buf.toString();
-		fLineNumber= lineNumber;
+		fSource= null;
 	}
 
 	public void setFlags(int flags) {
@@ -100,10 +135,12 @@ public class JavaElementLine {
 	}
 
 	public String getLineContents() {
+		computeLine();
 		return fLineContents;
 	}
 
 	public int getLineStartOffset() {
+		computeLine();
 		return fLineStartOffset;
 	}
 }
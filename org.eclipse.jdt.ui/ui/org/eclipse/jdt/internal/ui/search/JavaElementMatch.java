@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,44 +19,56 @@ import org.eclipse.search.ui.text.Match;
  * A search match with additional java-specific info.
  */
 public class JavaElementMatch extends Match {
-	private final int fAccuracy;
-	private final int fMatchRule;
-	private final boolean fIsWriteAccess;
-	private final boolean fIsReadAccess;
-	private final boolean fIsJavadoc;
-	private final boolean fIsSuperInvocation;
+
+	/*
+	 * Searches can report hundreds of thousands of matches, so the additional info is packed into a
+	 * single int: the match rule in the low bits, followed by the accuracy and the flags.
+	 */
+	private static final int RULE_MASK= 0xFFFFF;
+	private static final int ACCURACY_SHIFT= 20;
+	private static final int ACCURACY_MASK= 0xF;
+	private static final int WRITE_ACCESS= 1 << 24;
+	private static final int READ_ACCESS= 1 << 25;
+	private static final int JAVADOC= 1 << 26;
+	private static final int SUPER_INVOCATION= 1 << 27;
+
+	private final int fInfo;
 
 	JavaElementMatch(Object element, int matchRule, int offset, int length, int accuracy, boolean isReadAccess, boolean isWriteAccess, boolean isJavadoc, boolean isSuperInvocation) {
 		super(element, offset, length);
-		fAccuracy= accuracy;
-		fMatchRule= matchRule;
-		fIsWriteAccess= isWriteAccess;
-		fIsReadAccess= isReadAccess;
-		fIsJavadoc= isJavadoc;
-		fIsSuperInvocation= isSuperInvocation;
+		int info= (matchRule & RULE_MASK) | (accuracy & ACCURACY_MASK) << ACCURACY_SHIFT;
+		if (isWriteAccess)
+			info|= WRITE_ACCESS;
+		if (isReadAccess)
+			info|= READ_ACCESS;
+		if (isJavadoc)
+			info|= JAVADOC;
+		if (isSuperInvocation)
+			info|= SUPER_INVOCATION;
+		fInfo= info;
 	}
 
 	public int getAccuracy() {
-		return fAccuracy;
+		return fInfo >>> ACCURACY_SHIFT & ACCURACY_MASK;
 	}
 
 	public boolean isWriteAccess() {
-		return fIsWriteAccess;
+		return (fInfo & WRITE_ACCESS) != 0;
 	}
 
 	public boolean isReadAccess() {
-		return fIsReadAccess;
+		return (fInfo & READ_ACCESS) != 0;
 	}
 
 	public boolean isJavadoc() {
-		return fIsJavadoc;
+		return (fInfo & JAVADOC) != 0;
 	}
 
 	public boolean isSuperInvocation() {
-		return fIsSuperInvocation;
+		return (fInfo & SUPER_INVOCATION) != 0;
 	}
 
 	public int getMatchRule() {
-		return fMatchRule;
+		return fInfo & RULE_MASK;
 	}
 }
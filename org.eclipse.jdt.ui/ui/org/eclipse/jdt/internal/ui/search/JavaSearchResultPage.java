@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 import org.eclipse.swt.SWT;
@@ -20,7 +21,6 @@ import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.Transfer;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Item;
-import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.Tree;
 
 import org.eclipse.core.runtime.CoreException;
@@ -108,22 +108,39 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		}
 
 
-	    @Override
+		@Override
 		public int compare(Viewer viewer, Object e1, Object e2) {
-	        int cat1 = category(e1);
-	        int cat2 = category(e2);
+			return compare(category(e1), getSortLabel(e1), category(e2), getSortLabel(e2));
+		}
 
-	        if (cat1 != cat2) {
-				return cat1 - cat2;
+		@Override
+		public void sort(Viewer viewer, Object[] elements) {
+			// compute category and label once per element, not once per comparison
+			int[] categories= new int[elements.length];
+			String[] labels= new String[elements.length];
+			Integer[] order= new Integer[elements.length];
+			for (int i= 0; i < elements.length; i++) {
+				categories[i]= category(elements[i]);
+				labels[i]= getSortLabel(elements[i]);
+				order[i]= i;
+			}
+			Arrays.sort(order, (i1, i2) -> compare(categories[i1], labels[i1], categories[i2], labels[i2]));
+			Object[] unsorted= elements.clone();
+			for (int i= 0; i < elements.length; i++) {
+				elements[i]= unsorted[order[i]];
 			}
-	        String name1= fLabelProvider.getText(e1);
-	        String name2= fLabelProvider.getText(e2);
-	        if (name1 == null)
-	            name1 = "";//$NON-NLS-1$
-	        if (name2 == null)
-	            name2 = "";//$NON-NLS-1$
-	        return getComparator().compare(name1, name2);
-	    }
+		}
+
+		String getSortLabel(Object element) {
+			String name= fLabelProvider.getText(element);
+			return name != null ? name : ""; //$NON-NLS-1$
+		}
+
+		int compare(int category1, String label1, int category2, String label2) {
+			if (category1 != category2)
+				return category1 - category2;
+			return getComparator().compare(label1, label2);
+		}
 	}
 
 
@@ -329,9 +346,9 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		viewer.setUseHashlookup(true);
 		fSortingLabelProvider= new SortingLabelProvider(this);
 		viewer.setLabelProvider(new DecoratingJavaLabelProvider(fSortingLabelProvider, false));
-		fContentProvider=new JavaSearchTableContentProvider(this);
+		// the viewer is virtual, sorting is done by the content provider
+		fContentProvider= new JavaSearchTableContentProvider(this, new DecoratorIgnoringViewerSorter(fSortingLabelProvider));
 		viewer.setContentProvider(fContentProvider);
-		viewer.setComparator(new DecoratorIgnoringViewerSorter(fSortingLabelProvider));
 		setSortOrder(fCurrentSortOrder);
 		addDragAdapters(viewer);
 	}
@@ -354,7 +371,7 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 
 	@Override
 	protected TableViewer createTableViewer(Composite parent) {
-		return new ProblemTableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		return new ProblemTableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL);
 	}
 
 	void setSortOrder(int order) {
@@ -364,7 +381,10 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 			//viewer.getControl().setRedraw(false);
 			fSortingLabelProvider.setOrder(order);
 			//viewer.getControl().setRedraw(true);
-			viewer.refresh();
+			if (fContentProvider instanceof JavaSearchTableContentProvider)
+				((JavaSearchTableContentProvider) fContentProvider).refresh();
+			else
+				viewer.refresh();
 			getSettings().put(KEY_SORTING, fCurrentSortOrder);
 		}
 	}
@@ -512,13 +532,8 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 	}
 
 	private Object[] getRootElements(TableViewer viewer) {
-		Table t= viewer.getTable();
-		Item[] roots= t.getItems();
-		Object[] elements= new Object[roots.length];
-		for (int i = 0; i < elements.length; i++) {
-			elements[i]= roots[i].getData();
-		}
-		return elements;
+		// the table is virtual, items that were never shown have no data yet
+		return ((JavaSearchTableContentProvider) viewer.getContentProvider()).getElements(viewer.getInput());
 	}
 
 
@@ -570,6 +585,8 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 	@Override
 	public void setElementLimit(Integer elementLimit) {
 		super.setElementLimit(elementLimit);
+		if (fContentProvider instanceof JavaSearchTableContentProvider)
+			((JavaSearchTableContentProvider) fContentProvider).refresh();
 		int limit= elementLimit;
 		getSettings().put(KEY_LIMIT, limit);
 		getSettings().put(KEY_LIMIT_ENABLED, limit != -1 ? TRUE : FALSE);
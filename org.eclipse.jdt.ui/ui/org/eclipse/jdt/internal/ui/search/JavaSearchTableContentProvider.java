@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,84 +13,201 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.swt.widgets.Table;
-
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 
-public class JavaSearchTableContentProvider extends JavaSearchContentProvider {
-	public JavaSearchTableContentProvider(JavaSearchResultPage page) {
+import org.eclipse.jdt.internal.ui.search.JavaSearchResultPage.DecoratorIgnoringViewerSorter;
+
+/**
+ * Content provider for the virtual table of the Java search result page. The displayed elements
+ * are kept sorted together with their sort category and label, so that elements added while the
+ * search is running are merged in without recomputing the labels of the existing ones. The labels
+ * contain the match counts, so an element whose matches change is sorted in again. Table items and
+ * their labels are only created for the rows that become visible.
+ */
+public class JavaSearchTableContentProvider extends JavaSearchContentProvider implements ILazyContentProvider {
+
+	private final DecoratorIgnoringViewerSorter fSorter;
+
+	/** The sort labels of the displayed elements */
+	private final Map<Object, String> fElementLabels= new HashMap<>();
+	private Object[] fElements= new Object[0];
+	private int[] fCategories= new int[0];
+	private String[] fLabels= new String[0];
+	private int fSize;
+
+	public JavaSearchTableContentProvider(JavaSearchResultPage page, DecoratorIgnoringViewerSorter sorter) {
 		super(page);
+		fSorter= sorter;
 	}
+
 	@Override
-	public Object[] getElements(Object inputElement) {
-		if (inputElement instanceof AbstractTextSearchResult) {
-			Set<Object> filteredElements= new HashSet<>();
-			int limit= getPage().getElementLimit();
-			for (Object rawElement : ((AbstractTextSearchResult)inputElement).getElements()) {
-				if (getPage().getDisplayedMatchCount(rawElement) > 0) {
-					filteredElements.add(rawElement);
-					if (limit != -1 && limit < filteredElements.size()) {
-						break;
-					}
-				}
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		super.inputChanged(viewer, oldInput, newInput);
+		((TableViewer) viewer).setItemCount(getItemCount());
+	}
+
+	@Override
+	protected void initialize(AbstractTextSearchResult result) {
+		super.initialize(result);
+		fElementLabels.clear();
+		fElements= new Object[0];
+		fCategories= new int[0];
+		fLabels= new String[0];
+		fSize= 0;
+		if (result != null) {
+			List<Object> elements= new ArrayList<>();
+			for (Object element : result.getElements()) {
+				if (getPage().getDisplayedMatchCount(element) > 0 && !fElementLabels.containsKey(element))
+					elements.add(element);
 			}
-			return filteredElements.toArray();
+			insertElements(elements);
 		}
+	}
+
+	@Override
+	public Object[] getElements(Object inputElement) {
+		if (inputElement instanceof AbstractTextSearchResult)
+			return Arrays.copyOf(fElements, getItemCount());
 		return EMPTY_ARR;
 	}
 
+	@Override
+	public void updateElement(int index) {
+		if (index < fSize)
+			((TableViewer) getPage().getViewer()).replace(fElements[index], index);
+	}
+
+	private int getItemCount() {
+		int limit= getPage().getElementLimit();
+		if (limit != -1)
+			return Math.min(limit, fSize);
+		return fSize;
+	}
+
+	/**
+	 * Sorts the given elements and merges them into the displayed elements.
+	 *
+	 * @param added the elements to add, none of them is displayed yet
+	 */
+	private void insertElements(List<Object> added) {
+		int count= added.size();
+		if (count == 0)
+			return;
+		int[] categories= new int[count];
+		String[] labels= new String[count];
+		Integer[] order= new Integer[count];
+		for (int i= 0; i < count; i++) {
+			Object element= added.get(i);
+			categories[i]= fSorter.category(element);
+			labels[i]= fSorter.getSortLabel(element);
+			fElementLabels.put(element, labels[i]);
+			order[i]= i;
+		}
+		Arrays.sort(order, (i1, i2) -> fSorter.compare(categories[i1], labels[i1], categories[i2], labels[i2]));
+
+		int size= fSize + count;
+		Object[] mergedElements= new Object[size];
+		int[] mergedCategories= new int[size];
+		String[] mergedLabels= new String[size];
+		int i= 0;
+		int j= 0;
+		for (int k= 0; k < size; k++) {
+			if (j == count || i < fSize && fSorter.compare(fCategories[i], fLabels[i], categories[order[j]], labels[order[j]]) <= 0) {
+				mergedElements[k]= fElements[i];
+				mergedCategories[k]= fCategories[i];
+				mergedLabels[k]= fLabels[i];
+				i++;
+			} else {
+				int n= order[j++];
+				mergedElements[k]= added.get(n);
+				mergedCategories[k]= categories[n];
+				mergedLabels[k]= labels[n];
+			}
+		}
+		fElements= mergedElements;
+		fCategories= mergedCategories;
+		fLabels= mergedLabels;
+		fSize= size;
+	}
+
+	private void removeElements(Set<Object> removed) {
+		int k= 0;
+		for (int i= 0; i < fSize; i++) {
+			if (!removed.contains(fElements[i])) {
+				fElements[k]= fElements[i];
+				fCategories[k]= fCategories[i];
+				fLabels[k]= fLabels[i];
+				k++;
+			}
+		}
+		Arrays.fill(fElements, k, fSize, null);
+		Arrays.fill(fLabels, k, fSize, null);
+		fSize= k;
+	}
+
 	@Override
 	public void elementsChanged(Object[] updatedElements) {
 		if (getSearchResult() == null)
 			return;
 
-		int addLimit= getAddLimit();
-
 		TableViewer viewer= (TableViewer) getPage().getViewer();
-		Set<Object> updated= new HashSet<>();
-		Set<Object> added= new HashSet<>();
+		List<Object> updated= new ArrayList<>();
+		List<Object> added= new ArrayList<>();
 		Set<Object> removed= new HashSet<>();
 		for (Object updatedElement : updatedElements) {
 			if (getPage().getDisplayedMatchCount(updatedElement) > 0) {
-				if (viewer.testFindItem(updatedElement) != null) {
-					updated.add(updatedElement);
+				String label= fElementLabels.get(updatedElement);
+				if (label == null) {
+					added.add(updatedElement);
+				} else if (!label.equals(fSorter.getSortLabel(updatedElement))) {
+					// the match count is part of the label, the cached label is stale
+					removed.add(updatedElement);
+					added.add(updatedElement);
 				} else {
-					if (addLimit > 0) {
-						added.add(updatedElement);
-						addLimit--;
-					}
+					updated.add(updatedElement);
 				}
-			} else {
+			} else if (fElementLabels.remove(updatedElement) != null) {
 				removed.add(updatedElement);
 			}
 		}
 
-		viewer.add(added.toArray());
-		viewer.update(updated.toArray(), new String[] { SearchLabelProvider.PROPERTY_MATCH_COUNT });
-		viewer.remove(removed.toArray());
-	}
-
-	private int getAddLimit() {
-		int limit= getPage().getElementLimit();
-		if (limit != -1) {
-			Table table= (Table) getPage().getViewer().getControl();
-			int itemCount= table.getItemCount();
-			if (itemCount >= limit) {
-				return 0;
-			}
-			return limit - itemCount;
+		if (!added.isEmpty() || !removed.isEmpty()) {
+			removeElements(removed);
+			insertElements(added);
+			// clears the items, only the visible rows are requested again
+			viewer.setItemCount(getItemCount());
+			viewer.refresh();
+		} else if (!updated.isEmpty()) {
+			viewer.update(updated.toArray(), new String[] { SearchLabelProvider.PROPERTY_MATCH_COUNT });
 		}
-		return Integer.MAX_VALUE;
 	}
 
 	@Override
 	public void clear() {
-		getPage().getViewer().refresh();
+		refresh();
+	}
+
+	/**
+	 * Collects and sorts the elements again, e.g. after the sort order or the element limit of the
+	 * page has changed.
+	 */
+	public void refresh() {
+		initialize(getSearchResult());
+		TableViewer viewer= (TableViewer) getPage().getViewer();
+		viewer.setItemCount(getItemCount());
+		viewer.refresh();
 	}
 
 }
@@ -0,0 +1,738 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+/**
+ * A type hierarchy which applies Java element deltas to a hierarchy computed
+ * by JDT Core, instead of computing the whole hierarchy again.
+ * <p>
+ * Deltas are applied by {@link #applyDelta(IJavaElementDelta, List, Collection)}.
+ * Changes that do not affect the supertypes of the types in the hierarchy are
+ * applied as an overlay on the computed hierarchy: removed types without
+ * subtypes and changed flags. All other changes, like changed supertypes or new
+ * types in the region of a region hierarchy, require a full refresh.
+ * </p>
+ * <p>
+ * New types which might be subtypes of the focus type are only reported by
+ * <code>applyDelta</code>. Their supertypes have to be resolved, which is too
+ * expensive for the element changed listener, so they are added later by
+ * {@link #addSubtypes(Collection, IProgressMonitor)}.
+ * </p>
+ * <p>
+ * The overlay is replaced atomically, so the hierarchy can be read from any
+ * thread while deltas are applied.
+ * </p>
+ */
+class IncrementalTypeHierarchy implements ITypeHierarchy {
+
+	/** The delta does not change the structure of the hierarchy */
+	static final int NO_CHANGE= 0;
+
+	/** The delta changed the structure of the hierarchy, the overlay is updated */
+	static final int STRUCTURE_CHANGED= 1;
+
+	/** The delta cannot be applied, the hierarchy has to be refreshed */
+	static final int REFRESH_NEEDED= 2;
+
+	private static final IType[] NO_TYPES= new IType[0];
+
+	/** Supertypes which are not declared in the source of a type */
+	private static final Set<String> IMPLICIT_SUPERTYPES= Set.of("java.lang.Object", "java.lang.Enum", "java.lang.Record", "java.lang.annotation.Annotation"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	/** A type added to the hierarchy */
+	private static final class AddedType {
+
+		final IType fSuperclass;
+
+		final IType[] fSuperInterfaces;
+
+		AddedType(IType superclass, IType[] superInterfaces) {
+			fSuperclass= superclass;
+			fSuperInterfaces= superInterfaces;
+		}
+	}
+
+	/** The changes applied to the computed hierarchy */
+	private static final class Overlay {
+
+		final Set<IType> fRemoved;
+
+		final Map<IType, AddedType> fAdded;
+
+		/** The added subtypes, by supertype */
+		final Map<IType, List<IType>> fAddedSubtypes;
+
+		final Map<IType, Integer> fFlags;
+
+		Overlay() {
+			this(new HashSet<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+		}
+
+		private Overlay(Set<IType> removed, Map<IType, AddedType> added, Map<IType, List<IType>> addedSubtypes, Map<IType, Integer> flags) {
+			fRemoved= removed;
+			fAdded= added;
+			fAddedSubtypes= addedSubtypes;
+			fFlags= flags;
+		}
+
+		Overlay copy() {
+			Map<IType, List<IType>> addedSubtypes= new HashMap<>();
+			for (Map.Entry<IType, List<IType>> entry : fAddedSubtypes.entrySet())
+				addedSubtypes.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+			return new Overlay(new HashSet<>(fRemoved), new HashMap<>(fAdded), addedSubtypes, new HashMap<>(fFlags));
+		}
+
+		boolean isEmpty() {
+			return fRemoved.isEmpty() && fAdded.isEmpty() && fFlags.isEmpty();
+		}
+	}
+
+	private final ITypeHierarchy fBase;
+
+	/** Whether the hierarchy contains the subtypes of its focus type */
+	private final boolean fSubtypesIncluded;
+
+	/** The region of a region hierarchy, or <code>null</code> */
+	private final IRegion fRegion;
+
+	private volatile Overlay fOverlay= new Overlay();
+
+	/**
+	 * Creates a new hierarchy.
+	 *
+	 * @param base the hierarchy computed by JDT Core
+	 * @param subtypesIncluded <code>true</code> if the hierarchy contains the
+	 *            subtypes of its focus type, <code>false</code> if it only
+	 *            contains supertypes
+	 * @param region the region of a region hierarchy, or <code>null</code> if
+	 *            the hierarchy is computed on a type
+	 */
+	IncrementalTypeHierarchy(ITypeHierarchy base, boolean subtypesIncluded, IRegion region) {
+		fBase= base;
+		fSubtypesIncluded= subtypesIncluded;
+		fRegion= region;
+	}
+
+	/**
+	 * Applies a delta to the hierarchy.
+	 *
+	 * @param delta the delta
+	 * @param changedTypes receives the types of the hierarchy whose
+	 *            presentation changed
+	 * @param subtypeCandidates receives the new types which might be subtypes
+	 *            of the focus type, to be passed to
+	 *            {@link #addSubtypes(Collection, IProgressMonitor)}
+	 * @return one of {@link #NO_CHANGE}, {@link #STRUCTURE_CHANGED} or
+	 *         {@link #REFRESH_NEEDED}
+	 */
+	synchronized int applyDelta(IJavaElementDelta delta, List<IType> changedTypes, Collection<IType> subtypeCandidates) {
+		Overlay overlay= fOverlay.copy();
+		DeltaApplier applier= new DeltaApplier(overlay, changedTypes);
+		try {
+			int result= applier.processDelta(delta);
+			if (result != REFRESH_NEEDED)
+				result= Math.max(result, applier.collectSubtypeCandidates(subtypeCandidates));
+			if (result != REFRESH_NEEDED)
+				fOverlay= overlay;
+			return result;
+		} catch (JavaModelException e) {
+			return REFRESH_NEEDED;
+		}
+	}
+
+	/**
+	 * Adds the candidates which are subtypes of the focus type. The supertypes
+	 * of the candidates are resolved first, without blocking
+	 * {@link #applyDelta(IJavaElementDelta, List, Collection)}.
+	 *
+	 * @param candidates the candidates reported by <code>applyDelta</code>
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return one of {@link #NO_CHANGE}, {@link #STRUCTURE_CHANGED} or
+	 *         {@link #REFRESH_NEEDED}
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	int addSubtypes(Collection<IType> candidates, IProgressMonitor monitor) {
+		SubMonitor progress= SubMonitor.convert(monitor, candidates.size());
+		Map<IType, ITypeHierarchy> supertypeHierarchies= new HashMap<>();
+		try {
+			for (IType candidate : candidates) {
+				if (progress.isCanceled())
+					throw new OperationCanceledException();
+				if (candidate.exists())
+					supertypeHierarchies.put(candidate, candidate.newSupertypeHierarchy(progress.split(1)));
+				else
+					progress.worked(1);
+			}
+		} catch (JavaModelException e) {
+			return REFRESH_NEEDED;
+		}
+		synchronized (this) {
+			Overlay overlay= fOverlay.copy();
+			try {
+				int result= new DeltaApplier(overlay, new ArrayList<>()).addSubtypes(supertypeHierarchies);
+				if (result != REFRESH_NEEDED)
+					fOverlay= overlay;
+				return result;
+			} catch (JavaModelException e) {
+				return REFRESH_NEEDED;
+			}
+		}
+	}
+
+	private final class DeltaApplier {
+
+		private final Overlay fNewOverlay;
+
+		private final List<IType> fChangedTypes;
+
+		/** Types not in the hierarchy which might be new subtypes */
+		private final List<IType> fCandidates= new ArrayList<>();
+
+		DeltaApplier(Overlay overlay, List<IType> changedTypes) {
+			fNewOverlay= overlay;
+			fChangedTypes= changedTypes;
+		}
+
+		int processDelta(IJavaElementDelta delta) throws JavaModelException {
+			IJavaElement element= delta.getElement();
+			int kind= delta.getKind();
+			int flags= delta.getFlags();
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					return processChildrenDelta(delta);
+				case IJavaElement.JAVA_PROJECT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+							| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0)
+						return REFRESH_NEEDED;
+					return processChildrenDelta(delta);
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+							| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0)
+						return REFRESH_NEEDED;
+					return processChildrenDelta(delta);
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (kind != IJavaElementDelta.CHANGED)
+						return REFRESH_NEEDED;
+					return processChildrenDelta(delta);
+				case IJavaElement.COMPILATION_UNIT:
+					ICompilationUnit cu= (ICompilationUnit) element;
+					if (!JavaModelUtil.isPrimary(cu))
+						return NO_CHANGE;
+					if (kind == IJavaElementDelta.CHANGED && (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED
+							| IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) == 0)
+						return NO_CHANGE;
+					return processCompilationUnit(cu, kind == IJavaElementDelta.REMOVED);
+				case IJavaElement.CLASS_FILE:
+					return REFRESH_NEEDED;
+				default:
+					return NO_CHANGE;
+			}
+		}
+
+		private int processChildrenDelta(IJavaElementDelta delta) throws JavaModelException {
+			int result= NO_CHANGE;
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				result= Math.max(result, processDelta(child));
+				if (result == REFRESH_NEEDED)
+					break;
+			}
+			return result;
+		}
+
+		/*
+		 * Compares the types of the compilation unit with the types of the
+		 * hierarchy which are declared in it. The element deltas are not used
+		 * since they do not report local and anonymous types.
+		 */
+		private int processCompilationUnit(ICompilationUnit cu, boolean removed) throws JavaModelException {
+			Set<IType> types= new LinkedHashSet<>();
+			if (!removed && cu.exists())
+				collectTypes(cu, types);
+
+			int result= NO_CHANGE;
+			for (IType type : getTypes(cu)) {
+				if (!types.contains(type))
+					result= Math.max(result, removeType(type));
+				if (result == REFRESH_NEEDED)
+					return result;
+			}
+			for (IType type : types) {
+				if (contains(type, fNewOverlay)) {
+					if (!hasSameSupertypes(type))
+						return REFRESH_NEEDED;
+					int flags= type.getFlags();
+					int cachedFlags= getCachedFlags(type, fNewOverlay);
+					if (Flags.isInterface(flags) != Flags.isInterface(cachedFlags))
+						return REFRESH_NEEDED;
+					if (flags != cachedFlags)
+						fNewOverlay.fFlags.put(type, Integer.valueOf(flags));
+					fChangedTypes.add(type);
+				} else {
+					fCandidates.add(type);
+				}
+			}
+			return result;
+		}
+
+		private List<IType> getTypes(ICompilationUnit cu) {
+			List<IType> result= new ArrayList<>();
+			for (IType type : getAllTypes(fNewOverlay)) {
+				if (cu.equals(type.getCompilationUnit()))
+					result.add(type);
+			}
+			return result;
+		}
+
+		private void collectTypes(IParent parent, Set<IType> types) throws JavaModelException {
+			for (IJavaElement child : parent.getChildren()) {
+				if (child instanceof IType)
+					types.add((IType) child);
+				if (child instanceof IParent && child.getElementType() != IJavaElement.IMPORT_CONTAINER)
+					collectTypes((IParent) child, types);
+			}
+		}
+
+		/*
+		 * Compares the qualified names of the declared supertypes, resolved in
+		 * the context of the type, with the supertypes in the hierarchy. A
+		 * changed import or a new type shadowing a supertype changes the
+		 * resolved name.
+		 */
+		private boolean hasSameSupertypes(IType type) throws JavaModelException {
+			Set<String> declared= new HashSet<>();
+			String superclassSignature= type.getSuperclassTypeSignature();
+			if (superclassSignature != null && !addResolvedName(superclassSignature, type, declared))
+				return false;
+			for (String signature : type.getSuperInterfaceTypeSignatures()) {
+				if (!addResolvedName(signature, type, declared))
+					return false;
+			}
+			declared.removeAll(IMPLICIT_SUPERTYPES);
+
+			Set<String> resolved= new HashSet<>();
+			for (IType supertype : getSupertypes(type, fNewOverlay))
+				resolved.add(supertype.getFullyQualifiedName('.'));
+			resolved.removeAll(IMPLICIT_SUPERTYPES);
+			return declared.equals(resolved);
+		}
+
+		private boolean addResolvedName(String signature, IType type, Set<String> names) throws JavaModelException {
+			String name= JavaModelUtil.getResolvedTypeName(Signature.getTypeErasure(signature), type);
+			if (name == null)
+				return false;
+			names.add(name);
+			return true;
+		}
+
+		private int removeType(IType type) {
+			if (type.equals(fBase.getType()) || getSubtypes(type, fNewOverlay).length > 0)
+				return REFRESH_NEEDED;
+			AddedType added= fNewOverlay.fAdded.remove(type);
+			if (added != null) {
+				if (added.fSuperclass != null)
+					removeAddedSubtype(added.fSuperclass, type);
+				for (IType superInterface : added.fSuperInterfaces)
+					removeAddedSubtype(superInterface, type);
+			} else {
+				fNewOverlay.fRemoved.add(type);
+			}
+			fNewOverlay.fFlags.remove(type);
+			return STRUCTURE_CHANGED;
+		}
+
+		private void removeAddedSubtype(IType supertype, IType type) {
+			List<IType> subtypes= fNewOverlay.fAddedSubtypes.get(supertype);
+			if (subtypes != null) {
+				subtypes.remove(type);
+				if (subtypes.isEmpty())
+					fNewOverlay.fAddedSubtypes.remove(supertype);
+			}
+		}
+
+		/*
+		 * Reports the candidates which declare a supertype with the name of a
+		 * type in the subtree of the focus type, or of another candidate, since
+		 * new types can extend each other. Only the declared names are compared
+		 * here, resolving the supertypes is left to addSubtypes(..).
+		 */
+		int collectSubtypeCandidates(Collection<IType> result) throws JavaModelException {
+			if (fCandidates.isEmpty())
+				return NO_CHANGE;
+			if (fRegion != null) {
+				// a new type outside of the region can only be a supertype, which requires changed supertypes
+				for (IType candidate : fCandidates) {
+					if (fRegion.contains(candidate))
+						return REFRESH_NEEDED;
+				}
+				return NO_CHANGE;
+			}
+			IType focus= fBase.getType();
+			if (!fSubtypesIncluded || focus == null)
+				return NO_CHANGE;
+			Set<String> names= new HashSet<>();
+			names.add(focus.getElementName());
+			for (IType type : getAllSubtypes(focus, fNewOverlay))
+				names.add(type.getElementName());
+			for (IType candidate : fCandidates)
+				names.add(candidate.getElementName());
+			for (IType candidate : fCandidates) {
+				if (declaresSupertypeNamed(candidate, names))
+					result.add(candidate);
+			}
+			return NO_CHANGE;
+		}
+
+		/*
+		 * Adds the candidates which are subtypes of the focus type, until no
+		 * more candidates can be added. New types can extend each other.
+		 */
+		int addSubtypes(Map<IType, ITypeHierarchy> supertypeHierarchies) throws JavaModelException {
+			IType focus= fBase.getType();
+			if (!fSubtypesIncluded || focus == null)
+				return NO_CHANGE;
+			List<IType> candidates= new ArrayList<>();
+			for (IType candidate : supertypeHierarchies.keySet()) {
+				if (!contains(candidate, fNewOverlay))
+					candidates.add(candidate);
+				else if (!hasSameSupertypes(candidate))
+					return REFRESH_NEEDED;
+			}
+			int result= NO_CHANGE;
+			boolean added= true;
+			while (added && !candidates.isEmpty()) {
+				added= false;
+				Set<IType> subtree= new HashSet<>(Arrays.asList(getAllSubtypes(focus, fNewOverlay)));
+				subtree.add(focus);
+				for (int i= 0; i < candidates.size(); i++) {
+					IType candidate= candidates.get(i);
+					ITypeHierarchy supertypes= supertypeHierarchies.get(candidate);
+					IType superclass= supertypes.getSuperclass(candidate);
+					IType[] superInterfaces= supertypes.getSuperInterfaces(candidate);
+					boolean inSubtree= subtree.contains(superclass);
+					boolean allContained= superclass == null || contains(superclass, fNewOverlay);
+					for (IType superInterface : superInterfaces) {
+						inSubtree|= subtree.contains(superInterface);
+						allContained&= contains(superInterface, fNewOverlay);
+					}
+					if (!inSubtree)
+						continue;
+					if (!allContained)
+						return REFRESH_NEEDED;
+					addType(candidate, superclass, superInterfaces);
+					candidates.remove(i--);
+					result= STRUCTURE_CHANGED;
+					added= true;
+				}
+			}
+			return result;
+		}
+
+		private boolean declaresSupertypeNamed(IType type, Set<String> names) throws JavaModelException {
+			String superclassName= type.getSuperclassName();
+			if (superclassName != null && names.contains(getSimpleName(superclassName)))
+				return true;
+			for (String name : type.getSuperInterfaceNames()) {
+				if (names.contains(getSimpleName(name)))
+					return true;
+			}
+			return false;
+		}
+
+		private void addType(IType type, IType superclass, IType[] superInterfaces) throws JavaModelException {
+			fNewOverlay.fRemoved.remove(type);
+			fNewOverlay.fAdded.put(type, new AddedType(superclass, superInterfaces));
+			fNewOverlay.fFlags.put(type, Integer.valueOf(type.getFlags()));
+			if (superclass != null)
+				fNewOverlay.fAddedSubtypes.computeIfAbsent(superclass, key -> new ArrayList<>(2)).add(type);
+			for (IType superInterface : superInterfaces)
+				fNewOverlay.fAddedSubtypes.computeIfAbsent(superInterface, key -> new ArrayList<>(2)).add(type);
+		}
+	}
+
+	private static String getSimpleName(String typeName) {
+		return Signature.getSimpleName(Signature.getTypeErasure(typeName));
+	}
+
+	private static IType[] filter(IType[] types, Overlay overlay, Collection<IType> additional) {
+		if (overlay.fRemoved.isEmpty() && additional.isEmpty())
+			return types;
+		List<IType> result= new ArrayList<>(types.length + additional.size());
+		for (IType type : types) {
+			if (!overlay.fRemoved.contains(type))
+				result.add(type);
+		}
+		result.addAll(additional);
+		return result.toArray(new IType[result.size()]);
+	}
+
+	private static List<IType> getAddedSubtypes(IType type, Overlay overlay) {
+		List<IType> subtypes= overlay.fAddedSubtypes.get(type);
+		return subtypes != null ? subtypes : Collections.emptyList();
+	}
+
+	private List<IType> getAddedTypes(Overlay overlay, boolean interfaces) {
+		List<IType> result= new ArrayList<>();
+		for (IType type : overlay.fAdded.keySet()) {
+			if (Flags.isInterface(getCachedFlags(type, overlay)) == interfaces)
+				result.add(type);
+		}
+		return result;
+	}
+
+	private boolean contains(IType type, Overlay overlay) {
+		return !overlay.fRemoved.contains(type) && (overlay.fAdded.containsKey(type) || fBase.contains(type));
+	}
+
+	private int getCachedFlags(IType type, Overlay overlay) {
+		Integer flags= overlay.fFlags.get(type);
+		return flags != null ? flags.intValue() : fBase.getCachedFlags(type);
+	}
+
+	private IType[] getAllTypes(Overlay overlay) {
+		return filter(fBase.getAllTypes(), overlay, overlay.fAdded.keySet());
+	}
+
+	private IType[] getSubtypes(IType type, Overlay overlay) {
+		return filter(fBase.getSubtypes(type), overlay, getAddedSubtypes(type, overlay));
+	}
+
+	private IType[] getSupertypes(IType type, Overlay overlay) {
+		AddedType added= overlay.fAdded.get(type);
+		if (added == null)
+			return fBase.getSupertypes(type);
+		List<IType> result= new ArrayList<>(added.fSuperInterfaces.length + 1);
+		if (added.fSuperclass != null)
+			result.add(added.fSuperclass);
+		result.addAll(Arrays.asList(added.fSuperInterfaces));
+		return result.toArray(new IType[result.size()]);
+	}
+
+	private IType[] getAllSubtypes(IType type, Overlay overlay) {
+		if (overlay.isEmpty())
+			return fBase.getAllSubtypes(type);
+		Set<IType> result= new LinkedHashSet<>();
+		ArrayDeque<IType> queue= new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			for (IType subtype : getSubtypes(queue.remove(), overlay)) {
+				if (result.add(subtype))
+					queue.add(subtype);
+			}
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public void addTypeHierarchyChangedListener(ITypeHierarchyChangedListener listener) {
+		fBase.addTypeHierarchyChangedListener(listener);
+	}
+
+	@Override
+	public void removeTypeHierarchyChangedListener(ITypeHierarchyChangedListener listener) {
+		fBase.removeTypeHierarchyChangedListener(listener);
+	}
+
+	@Override
+	public boolean contains(IType type) {
+		return contains(type, fOverlay);
+	}
+
+	@Override
+	public boolean exists() {
+		return fBase.exists();
+	}
+
+	@Override
+	public IType[] getAllClasses() {
+		Overlay overlay= fOverlay;
+		return filter(fBase.getAllClasses(), overlay, getAddedTypes(overlay, false));
+	}
+
+	@Override
+	public IType[] getAllInterfaces() {
+		Overlay overlay= fOverlay;
+		return filter(fBase.getAllInterfaces(), overlay, getAddedTypes(overlay, true));
+	}
+
+	@Override
+	public IType[] getAllSubtypes(IType type) {
+		return getAllSubtypes(type, fOverlay);
+	}
+
+	@Override
+	public IType[] getAllSuperclasses(IType type) {
+		AddedType added= fOverlay.fAdded.get(type);
+		if (added == null)
+			return fBase.getAllSuperclasses(type);
+		if (added.fSuperclass == null)
+			return NO_TYPES;
+		List<IType> result= new ArrayList<>();
+		result.add(added.fSuperclass);
+		result.addAll(Arrays.asList(getAllSuperclasses(added.fSuperclass)));
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public IType[] getAllSuperInterfaces(IType type) {
+		AddedType added= fOverlay.fAdded.get(type);
+		if (added == null)
+			return fBase.getAllSuperInterfaces(type);
+		Set<IType> result= new LinkedHashSet<>();
+		for (IType superInterface : added.fSuperInterfaces) {
+			result.add(superInterface);
+			result.addAll(Arrays.asList(getAllSuperInterfaces(superInterface)));
+		}
+		if (added.fSuperclass != null)
+			result.addAll(Arrays.asList(getAllSuperInterfaces(added.fSuperclass)));
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public IType[] getAllSupertypes(IType type) {
+		if (!fOverlay.fAdded.containsKey(type))
+			return fBase.getAllSupertypes(type);
+		Set<IType> result= new LinkedHashSet<>(Arrays.asList(getAllSuperclasses(type)));
+		result.addAll(Arrays.asList(getAllSuperInterfaces(type)));
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public IType[] getAllTypes() {
+		return getAllTypes(fOverlay);
+	}
+
+	@Override
+	public int getCachedFlags(IType type) {
+		return getCachedFlags(type, fOverlay);
+	}
+
+	@Override
+	public IType[] getExtendingInterfaces(IType type) {
+		Overlay overlay= fOverlay;
+		List<IType> added= new ArrayList<>();
+		for (IType subtype : getAddedSubtypes(type, overlay)) {
+			if (Flags.isInterface(getCachedFlags(subtype, overlay)))
+				added.add(subtype);
+		}
+		return filter(fBase.getExtendingInterfaces(type), overlay, added);
+	}
+
+	@Override
+	public IType[] getImplementingClasses(IType type) {
+		Overlay overlay= fOverlay;
+		List<IType> added= new ArrayList<>();
+		for (IType subtype : getAddedSubtypes(type, overlay)) {
+			if (!Flags.isInterface(getCachedFlags(subtype, overlay)) && !type.equals(overlay.fAdded.get(subtype).fSuperclass))
+				added.add(subtype);
+		}
+		return filter(fBase.getImplementingClasses(type), overlay, added);
+	}
+
+	@Override
+	public IType[] getRootClasses() {
+		return filter(fBase.getRootClasses(), fOverlay, Collections.emptyList());
+	}
+
+	@Override
+	public IType[] getRootInterfaces() {
+		return filter(fBase.getRootInterfaces(), fOverlay, Collections.emptyList());
+	}
+
+	@Override
+	public IType[] getSubclasses(IType type) {
+		Overlay overlay= fOverlay;
+		List<IType> added= new ArrayList<>();
+		for (IType subtype : getAddedSubtypes(type, overlay)) {
+			if (type.equals(overlay.fAdded.get(subtype).fSuperclass))
+				added.add(subtype);
+		}
+		return filter(fBase.getSubclasses(type), overlay, added);
+	}
+
+	@Override
+	public IType[] getSubtypes(IType type) {
+		return getSubtypes(type, fOverlay);
+	}
+
+	@Override
+	public IType getSuperclass(IType type) {
+		AddedType added= fOverlay.fAdded.get(type);
+		return added != null ? added.fSuperclass : fBase.getSuperclass(type);
+	}
+
+	@Override
+	public IType[] getSuperInterfaces(IType type) {
+		AddedType added= fOverlay.fAdded.get(type);
+		return added != null ? added.fSuperInterfaces : fBase.getSuperInterfaces(type);
+	}
+
+	@Override
+	public IType[] getSupertypes(IType type) {
+		return getSupertypes(type, fOverlay);
+	}
+
+	@Override
+	public IType getType() {
+		return fBase.getType();
+	}
+
+	@Override
+	public synchronized void refresh(IProgressMonitor monitor) throws JavaModelException {
+		fBase.refresh(monitor);
+		fOverlay= new Overlay();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Only the hierarchy computed by JDT Core is stored, without the applied
+	 * deltas.
+	 * </p>
+	 */
+	@Override
+	public void store(OutputStream outputStream, IProgressMonitor monitor) throws JavaModelException {
+		fBase.store(outputStream, monitor);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,9 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -32,32 +34,36 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
-import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
-import org.eclipse.jdt.internal.ui.JavaPlugin;
-
 /**
  * Manages a type hierarchy, to keep it refreshed, and to allow it to be shared.
  */
-public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
+public class TypeHierarchyLifeCycle implements IElementChangedListener {
 
 	private boolean fHierarchyRefreshNeeded;
-	private ITypeHierarchy fHierarchy;
+	/**
+	 * The hierarchy, which is kept up to date by applying the element deltas. The hierarchy
+	 * computed by JDT Core is not listened to: it only reports the first change, and its
+	 * notification is not ordered with respect to the element changed listener.
+	 */
+	private IncrementalTypeHierarchy fHierarchy;
+	/**
+	 * New types which might be subtypes of the focus type. They are added to the hierarchy by the
+	 * next refresh, since resolving their supertypes is too expensive for the element changed
+	 * listener. Access is synchronized on the set.
+	 */
+	private final Set<IType> fSubtypeCandidates= new LinkedHashSet<>();
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
 
@@ -119,11 +125,13 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 	public void freeHierarchy() {
 		if (fHierarchy != null) {
-			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
 			fHierarchy= null;
 			fInputElements= null;
 		}
+		synchronized (fSubtypeCandidates) {
+			fSubtypeCandidates.clear();
+		}
 		synchronized (this) {
 			if (fRefreshHierarchyJob != null) {
 				fRefreshHierarchyJob.cancel();
@@ -197,7 +205,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 		boolean hierachyCreationNeeded= (fHierarchy == null || !Arrays.equals(elements, fInputElements));
 
-		if (hierachyCreationNeeded || fHierarchyRefreshNeeded) {
+		if (hierachyCreationNeeded || fHierarchyRefreshNeeded || hasSubtypeCandidates()) {
 			if (fTypeHierarchyViewPart == null) {
 				IRunnableWithProgress op= pm -> {
 					try {
@@ -208,9 +216,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 						throw new InterruptedException();
 					}
 				};
-				fHierarchyRefreshNeeded= true;
 				context.run(true, true, op);
-				fHierarchyRefreshNeeded= false;
 			} else {
 				final String label= Messages.format(TypeHierarchyMessages.TypeHierarchyLifeCycle_computeInput, HistoryAction.getElementLabel(elements));
 				synchronized (this) {
@@ -224,14 +230,15 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 							try {
 								doHierarchyRefreshBackground(elements, pm);
 							} catch (OperationCanceledException e) {
+								fHierarchyRefreshNeeded= true;
 								if (fRefreshJobCanceledExplicitly) {
 									fTypeHierarchyViewPart.showEmptyViewer();
 								}
 								return Status.CANCEL_STATUS;
 							} catch (JavaModelException e) {
+								fHierarchyRefreshNeeded= true;
 								return e.getStatus();
 							} finally {
-								fHierarchyRefreshNeeded= true;
 								pm.done();
 							}
 							return Status.OK_STATUS;
@@ -286,8 +293,35 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
-	private ITypeHierarchy createTypeHierarchy(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
+	/**
+	 * Returns the region of the hierarchy on the given elements.
+	 *
+	 * @param elements the input elements
+	 * @return the region, or <code>null</code> if the hierarchy is computed on a single type
+	 * @throws JavaModelException if an element does not exist
+	 */
+	private static IRegion createRegion(IJavaElement[] elements) throws JavaModelException {
 		if (elements.length == 1 && elements[0].getElementType() == IJavaElement.TYPE) {
+			return null;
+		}
+		IRegion region= JavaCore.newRegion();
+		for (IJavaElement element : elements) {
+			if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+				// for projects only add the contained source folders
+				for (IPackageFragmentRoot root : ((IJavaProject) element).getPackageFragmentRoots()) {
+					if (!root.isExternal()) {
+						region.add(root);
+					}
+				}
+			} else {
+				region.add(element);
+			}
+		}
+		return region;
+	}
+
+	private ITypeHierarchy createTypeHierarchy(IJavaElement[] elements, IRegion region, IProgressMonitor pm) throws JavaModelException {
+		if (region == null) {
 			IType type= (IType)elements[0];
 			if (fIsSuperTypesOnly) {
 				return type.newSupertypeHierarchy(pm);
@@ -295,19 +329,6 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 				return type.newTypeHierarchy(pm);
 			}
 		} else {
-			IRegion region= JavaCore.newRegion();
-			for (IJavaElement element : elements) {
-				if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
-					// for projects only add the contained source folders
-					for (IPackageFragmentRoot root : ((IJavaProject) element).getPackageFragmentRoots()) {
-						if (!root.isExternal()) {
-							region.add(root);
-						}
-					}
-				} else {
-					region.add(element);
-				}
-			}
 			return JavaCore.newTypeHierarchy(region, null, pm);
 		}
 	}
@@ -315,14 +336,30 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 	public void doHierarchyRefresh(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
 		boolean hierachyCreationNeeded= (fHierarchy == null || !Arrays.equals(elements, fInputElements));
-		// to ensure the order of the two listeners always remove / add listeners on operations
-		// on type hierarchies
+		if (!hierachyCreationNeeded && !fHierarchyRefreshNeeded) {
+			// only new subtypes are pending, the listener keeps applying deltas meanwhile
+			List<IType> candidates;
+			synchronized (fSubtypeCandidates) {
+				candidates= new ArrayList<>(fSubtypeCandidates);
+			}
+			int result= fHierarchy.addSubtypes(candidates, pm);
+			synchronized (fSubtypeCandidates) {
+				fSubtypeCandidates.removeAll(candidates);
+			}
+			if (result != IncrementalTypeHierarchy.REFRESH_NEEDED) {
+				return;
+			}
+		}
 		if (fHierarchy != null) {
-			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
 		}
+		synchronized (fSubtypeCandidates) {
+			fSubtypeCandidates.clear();
+		}
 		if (hierachyCreationNeeded) {
-			fHierarchy= createTypeHierarchy(elements, pm);
+			IRegion region= createRegion(elements);
+			ITypeHierarchy hierarchy= createTypeHierarchy(elements, region, pm);
+			fHierarchy= new IncrementalTypeHierarchy(hierarchy, region == null && !fIsSuperTypesOnly, region);
 			if (pm != null && pm.isCanceled()) {
 				throw new OperationCanceledException();
 			}
@@ -332,18 +369,22 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
 		}
-		fHierarchy.addTypeHierarchyChangedListener(this);
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
 	}
 
-	/*
-	 * @see ITypeHierarchyChangedListener#typeHierarchyChanged
+	/**
+	 * Discards the changes applied to the hierarchy, so that the next refresh computes it again.
 	 */
-	@Override
-	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-	 	fHierarchyRefreshNeeded= true;
- 		fireChange(null);
+	public void requestHierarchyRefresh() {
+		fHierarchyRefreshNeeded= true;
+		fireChange(null);
+	}
+
+	private boolean hasSubtypeCandidates() {
+		synchronized (fSubtypeCandidates) {
+			return !fSubtypeCandidates.isEmpty();
+		}
 	}
 
 	/*
@@ -351,84 +392,29 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
-		if (fChangeListeners.isEmpty()) {
+		IncrementalTypeHierarchy hierarchy= fHierarchy;
+		if (hierarchy == null || fHierarchyRefreshNeeded) {
 			return;
 		}
-
-		if (fHierarchyRefreshNeeded) {
+		ArrayList<IType> changedTypes= new ArrayList<>();
+		ArrayList<IType> subtypeCandidates= new ArrayList<>();
+		int result= hierarchy.applyDelta(event.getDelta(), changedTypes, subtypeCandidates);
+		if (result == IncrementalTypeHierarchy.REFRESH_NEEDED) {
+			fHierarchyRefreshNeeded= true;
+			fireChange(null);
 			return;
-		} else {
-			ArrayList<IType> changedTypes= new ArrayList<>();
-			processDelta(event.getDelta(), changedTypes);
-			if (changedTypes.size() > 0) {
-				fireChange(changedTypes.toArray(new IType[changedTypes.size()]));
-			}
 		}
-	}
-
-	/*
-	 * Assume that the hierarchy is intact (no refresh needed)
-	 */
-	private void processDelta(IJavaElementDelta delta, ArrayList<IType> changedTypes) {
-		IJavaElement element= delta.getElement();
-		switch (element.getElementType()) {
-			case IJavaElement.TYPE:
-				processTypeDelta((IType) element, changedTypes);
-				processChildrenDelta(delta, changedTypes); // (inner types)
-				break;
-			case IJavaElement.JAVA_MODEL:
-			case IJavaElement.JAVA_PROJECT:
-			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
-			case IJavaElement.PACKAGE_FRAGMENT:
-				processChildrenDelta(delta, changedTypes);
-				break;
-			case IJavaElement.COMPILATION_UNIT:
-				ICompilationUnit cu= (ICompilationUnit)element;
-				if (!JavaModelUtil.isPrimary(cu)) {
-					return;
-				}
-
-				if (delta.getKind() == IJavaElementDelta.CHANGED && isPossibleStructuralChange(delta.getFlags())) {
-					try {
-						if (cu.exists()) {
-							for (IType type : cu.getAllTypes()) {
-								processTypeDelta(type, changedTypes);
-							}
-						}
-					} catch (JavaModelException e) {
-						JavaPlugin.log(e);
-					}
-				} else {
-					processChildrenDelta(delta, changedTypes);
-				}
-				break;
-			case IJavaElement.CLASS_FILE:
-				if (delta.getKind() == IJavaElementDelta.CHANGED
-						&& element instanceof IOrdinaryClassFile) {
-					IType type= ((IOrdinaryClassFile) element).getType();
-					processTypeDelta(type, changedTypes);
-				} else {
-					processChildrenDelta(delta, changedTypes);
-				}
-				break;
-		}
-	}
-
-	private boolean isPossibleStructuralChange(int flags) {
-		return (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT;
-	}
-
-	private void processTypeDelta(IType type, ArrayList<IType> changedTypes) {
-		if (getHierarchy().contains(type)) {
-			changedTypes.add(type);
-		}
-	}
-
-	private void processChildrenDelta(IJavaElementDelta delta, ArrayList<IType> changedTypes) {
-		for (IJavaElementDelta child : delta.getAffectedChildren()) {
-			processDelta(child, changedTypes); // recursive
+		if (!subtypeCandidates.isEmpty()) {
+			synchronized (fSubtypeCandidates) {
+				fSubtypeCandidates.addAll(subtypeCandidates);
+			}
+			// the next refresh adds the new subtypes
+			fireChange(null);
+		} else if (result == IncrementalTypeHierarchy.STRUCTURE_CHANGED) {
+			fireChange(null);
+		} else if (changedTypes.size() > 0) {
+			fireChange(changedTypes.toArray(new IType[changedTypes.size()]));
 		}
 	}
 
-
 }
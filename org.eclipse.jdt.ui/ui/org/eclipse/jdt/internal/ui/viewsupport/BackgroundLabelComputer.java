@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.Throttler;
+import org.eclipse.jface.viewers.StyledString;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+import org.eclipse.jdt.ui.JavaElementLabels;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.JavaUIMessages;
+
+/**
+ * Computes the labels and images of Java elements whose compilation unit or class file is not open
+ * yet on a pool of background jobs. Opening these elements to find out e.g. whether a class file
+ * contains a class or an interface is what makes large refreshes of binary projects slow.
+ * <p>
+ * Until the labels of an element are available, a placeholder with the element name and a generic
+ * image is returned. Computed elements are reported in batches to the update callback on the UI
+ * thread. The computed labels of an element are kept until the element or one of its parents
+ * changes, the least recently used labels are dropped when the cache is full.
+ * </p>
+ */
+final class BackgroundLabelComputer {
+
+	static final class Labels {
+		final IJavaElement fElement;
+		final long fTextFlags;
+		final int fImageFlags;
+		final String fText;
+		final StyledString fStyledText;
+		final ImageDescriptor fImage;
+
+		Labels(IJavaElement element, long textFlags, int imageFlags, String text, StyledString styledText, ImageDescriptor image) {
+			fElement= element;
+			fTextFlags= textFlags;
+			fImageFlags= imageFlags;
+			fText= text;
+			fStyledText= styledText;
+			fImage= image;
+		}
+	}
+
+	private static final int WORKER_COUNT= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	private static final int UPDATE_DELAY= 100;
+
+	private static final int MAX_CACHE_SIZE= 20000;
+
+	private final JavaElementImageProvider fImageProvider;
+	private final Consumer<Object[]> fUpdateCallback;
+
+	/** The labels by element, in access order. Access is synchronized on the map. */
+	private final LRUMap<IJavaElement, Labels> fCache= new LRUMap<>(MAX_CACHE_SIZE);
+	private final Queue<Labels> fPending= new ConcurrentLinkedQueue<>();
+	private final Queue<IJavaElement> fComputed= new ConcurrentLinkedQueue<>();
+
+	private final Job[] fWorkers;
+	private final AtomicInteger fNextWorker= new AtomicInteger();
+	private final Throttler fUpdateThrottler;
+	private final IElementChangedListener fElementChangedListener;
+
+	private volatile boolean fDisposed;
+
+	/**
+	 * @param imageProvider the image provider used to compute the image descriptors
+	 * @param updateCallback receives the elements whose labels have been computed, called in the UI
+	 *            thread
+	 */
+	BackgroundLabelComputer(JavaElementImageProvider imageProvider, Consumer<Object[]> updateCallback) {
+		fImageProvider= imageProvider;
+		fUpdateCallback= updateCallback;
+		fWorkers= new Job[WORKER_COUNT];
+		for (int i= 0; i < fWorkers.length; i++) {
+			fWorkers[i]= new Job(JavaUIMessages.BackgroundLabelComputer_job_title) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					computePending(monitor);
+					return Status.OK_STATUS;
+				}
+
+				@Override
+				public boolean belongsTo(Object family) {
+					return family == BackgroundLabelComputer.this;
+				}
+			};
+			fWorkers[i].setPriority(Job.DECORATE);
+			fWorkers[i].setSystem(true);
+		}
+		fUpdateThrottler= new Throttler(Display.getDefault(), Duration.ofMillis(UPDATE_DELAY), this::fireUpdates);
+		fElementChangedListener= event -> removeChanged(event.getDelta());
+		JavaCore.addElementChangedListener(fElementChangedListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns the labels of the given element.
+	 *
+	 * @param element the element
+	 * @param textFlags the text flags
+	 * @param imageFlags the image flags
+	 * @return the computed labels, a placeholder if the labels are still being computed, or
+	 *         <code>null</code> if the labels are cheap to compute and should be computed by the
+	 *         caller
+	 */
+	Labels getLabels(IJavaElement element, long textFlags, int imageFlags) {
+		Labels labels;
+		synchronized (fCache) {
+			labels= fCache.get(element);
+		}
+		if (labels != null && labels.fTextFlags == textFlags && labels.fImageFlags == imageFlags)
+			return labels;
+		if (!needsBackgroundComputation(element))
+			return null;
+
+		labels= new Labels(element, textFlags, imageFlags, element.getElementName(), new StyledString(element.getElementName()),
+				fImageProvider.getPlaceholderImageDescriptor(element, imageFlags));
+		synchronized (fCache) {
+			fCache.put(element, labels);
+		}
+		fPending.add(labels);
+		// one worker per element, a running worker is rescheduled and finds the element in the queue
+		fWorkers[Math.floorMod(fNextWorker.getAndIncrement(), fWorkers.length)].schedule();
+		return labels;
+	}
+
+	/*
+	 * Removes the labels of the changed elements and of their children. Elements whose children
+	 * changed keep their labels.
+	 */
+	private void removeChanged(IJavaElementDelta delta) {
+		Set<IJavaElement> changed= new HashSet<>();
+		collectChanged(delta, changed);
+		if (changed.isEmpty())
+			return;
+		synchronized (fCache) {
+			fCache.keySet().removeIf(element -> isChanged(element, changed));
+		}
+	}
+
+	private static void collectChanged(IJavaElementDelta delta, Set<IJavaElement> changed) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0) {
+			changed.add(delta.getElement());
+			return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			collectChanged(child, changed);
+		}
+	}
+
+	private static boolean isChanged(IJavaElement element, Set<IJavaElement> changed) {
+		for (IJavaElement curr= element; curr != null; curr= curr.getParent()) {
+			if (changed.contains(curr))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean needsBackgroundComputation(IJavaElement element) {
+		if (element.getElementType() < IJavaElement.COMPILATION_UNIT)
+			return false;
+		IOpenable openable= element.getOpenable();
+		return openable != null && !openable.isOpen();
+	}
+
+	private void computePending(IProgressMonitor monitor) {
+		Labels placeholder;
+		while (!fDisposed && !monitor.isCanceled() && (placeholder= fPending.poll()) != null) {
+			IJavaElement element= placeholder.fElement;
+			// if the placeholder was replaced in the meantime, the update makes the viewer ask again
+			if (isCached(placeholder)) {
+				Labels computed;
+				try {
+					String text= JavaElementLabels.getTextLabel(element, placeholder.fTextFlags);
+					StyledString styledText= JavaElementLabels.getStyledTextLabel(element, placeholder.fTextFlags | JavaElementLabels.COLORIZE);
+					ImageDescriptor image= fImageProvider.getJavaImageDescriptor(element, placeholder.fImageFlags);
+					computed= new Labels(element, placeholder.fTextFlags, placeholder.fImageFlags, text, styledText, image);
+				} catch (RuntimeException e) {
+					// keep showing the placeholder instead of trying again on every refresh
+					computed= new Labels(element, placeholder.fTextFlags, placeholder.fImageFlags, placeholder.fText, placeholder.fStyledText, placeholder.fImage);
+					JavaPlugin.log(e);
+				}
+				synchronized (fCache) {
+					fCache.replace(element, placeholder, computed);
+				}
+			}
+			fComputed.add(element);
+			fUpdateThrottler.throttledExec();
+		}
+	}
+
+	private boolean isCached(Labels labels) {
+		synchronized (fCache) {
+			return fCache.get(labels.fElement) == labels;
+		}
+	}
+
+	private void fireUpdates() {
+		if (fDisposed)
+			return;
+		List<IJavaElement> elements= new ArrayList<>();
+		IJavaElement element;
+		while ((element= fComputed.poll()) != null) {
+			elements.add(element);
+		}
+		if (!elements.isEmpty())
+			fUpdateCallback.accept(elements.toArray());
+	}
+
+	void dispose() {
+		fDisposed= true;
+		JavaCore.removeElementChangedListener(fElementChangedListener);
+		Job.getJobManager().cancel(this);
+		fPending.clear();
+		fComputed.clear();
+		synchronized (fCache) {
+			fCache.clear();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -108,7 +108,7 @@ public class JavaElementImageProvider {
 		return getImageLabel(computeDescriptor(element, flags));
 	}
 
-	private Image getImageLabel(ImageDescriptor descriptor){
+	Image getImageLabel(ImageDescriptor descriptor){
 		if (descriptor == null)
 			return null;
 		return getRegistry().get(descriptor);
@@ -178,6 +178,30 @@ public class JavaElementImageProvider {
 		return new JavaElementImageDescriptor(JavaPluginImages.DESC_OBJS_GHOST, 0, size);
 	}
 
+	/**
+	 * Returns an image descriptor for a java element that can be computed without opening the
+	 * element. It is shown while the real image is computed in the background.
+	 * @param element the Java element
+	 * @param flags the image flags
+	 * @return returns the image descriptor
+	 */
+	public ImageDescriptor getPlaceholderImageDescriptor(IJavaElement element, int flags) {
+		Point size= useSmallSize(flags) ? SMALL_SIZE : BIG_SIZE;
+		ImageDescriptor baseDesc;
+		switch (element.getElementType()) {
+			case IJavaElement.COMPILATION_UNIT:
+				baseDesc= JavaPluginImages.DESC_OBJS_CUNIT;
+				break;
+			case IJavaElement.CLASS_FILE:
+				baseDesc= JavaPluginImages.DESC_OBJS_CFILE;
+				break;
+			default:
+				baseDesc= JavaPluginImages.DESC_OBJS_GHOST;
+				break;
+		}
+		return new JavaElementImageDescriptor(baseDesc, 0, size);
+	}
+
 	/**
 	 * Returns an image descriptor for a IAdaptable. The descriptor includes overlays, if specified (only error ticks apply).
 	 * Returns <code>null</code> if no image could be found.
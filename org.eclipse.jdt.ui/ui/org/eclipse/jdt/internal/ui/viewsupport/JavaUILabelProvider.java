@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,8 @@ import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.jface.viewers.StyledCellLabelProvider;
 import org.eclipse.jface.viewers.StyledString;
 
+import org.eclipse.jdt.core.IJavaElement;
+
 import org.eclipse.jdt.ui.JavaElementLabels;
 
 public class JavaUILabelProvider implements ILabelProvider, IColorProvider, IStyledLabelProvider {
@@ -47,6 +49,8 @@ public class JavaUILabelProvider implements ILabelProvider, IColorProvider, ISty
 	private int fImageFlags;
 	private long fTextFlags;
 
+	private BackgroundLabelComputer fBackgroundLabelComputer;
+
 	/**
 	 * Creates a new label provider with default flags.
 	 */
@@ -78,6 +82,30 @@ public class JavaUILabelProvider implements ILabelProvider, IColorProvider, ISty
 		fLabelDecorators.add(decorator);
 	}
 
+	/**
+	 * Sets whether the labels and images of Java elements that are not open yet are computed in the
+	 * background. Until they are available, the element name and a generic image are shown and the
+	 * listeners are notified in batches once the labels have been computed.
+	 * Must be called in the UI thread.
+	 *
+	 * @param background <code>true</code> to compute expensive labels in the background
+	 */
+	public void setComputeLabelsInBackground(boolean background) {
+		if (background && fBackgroundLabelComputer == null) {
+			fBackgroundLabelComputer= new BackgroundLabelComputer(fImageLabelProvider,
+					elements -> fireLabelProviderChanged(new LabelProviderChangedEvent(this, elements)));
+		} else if (!background && fBackgroundLabelComputer != null) {
+			fBackgroundLabelComputer.dispose();
+			fBackgroundLabelComputer= null;
+		}
+	}
+
+	private BackgroundLabelComputer.Labels getBackgroundLabels(Object element) {
+		if (fBackgroundLabelComputer != null && element instanceof IJavaElement)
+			return fBackgroundLabelComputer.getLabels((IJavaElement) element, evaluateTextFlags(element), evaluateImageFlags(element));
+		return null;
+	}
+
 	/**
 	 * Sets the textFlags.
 	 * @param textFlags The textFlags to set
@@ -141,6 +169,10 @@ public class JavaUILabelProvider implements ILabelProvider, IColorProvider, ISty
 
 	@Override
 	public Image getImage(Object element) {
+		BackgroundLabelComputer.Labels labels= getBackgroundLabels(element);
+		if (labels != null)
+			return decorateImage(fImageLabelProvider.getImageLabel(labels.fImage), element);
+
 		Image result= fImageLabelProvider.getImageLabel(element, evaluateImageFlags(element));
 		if (result == null && (element instanceof IStorage)) {
 			result= fStorageLabelProvider.getImage(element);
@@ -164,6 +196,10 @@ public class JavaUILabelProvider implements ILabelProvider, IColorProvider, ISty
 
 	@Override
 	public String getText(Object element) {
+		BackgroundLabelComputer.Labels labels= getBackgroundLabels(element);
+		if (labels != null)
+			return decorateText(labels.fText, element);
+
 		String result= JavaElementLabels.getTextLabel(element, evaluateTextFlags(element));
 		if (result.length() == 0 && (element instanceof IStorage)) {
 			result= fStorageLabelProvider.getText(element);
@@ -173,7 +209,13 @@ public class JavaUILabelProvider implements ILabelProvider, IColorProvider, ISty
 
 	@Override
 	public StyledString getStyledText(Object element) {
-		StyledString string= JavaElementLabels.getStyledTextLabel(element, (evaluateTextFlags(element) | JavaElementLabels.COLORIZE));
+		BackgroundLabelComputer.Labels labels= getBackgroundLabels(element);
+		StyledString string;
+		if (labels != null) {
+			string= new StyledString().append(labels.fStyledText); // callers may modify the result
+		} else {
+			string= JavaElementLabels.getStyledTextLabel(element, (evaluateTextFlags(element) | JavaElementLabels.COLORIZE));
+		}
 		if (string.length() == 0 && (element instanceof IStorage)) {
 			string= new StyledString(fStorageLabelProvider.getText(element));
 		}
@@ -186,6 +228,7 @@ public class JavaUILabelProvider implements ILabelProvider, IColorProvider, ISty
 
 	@Override
 	public void dispose() {
+		setComputeLabelsInBackground(false);
 		if (fLabelDecorators != null) {
 			for (ILabelDecorator decorator : fLabelDecorators) {
 				decorator.dispose();
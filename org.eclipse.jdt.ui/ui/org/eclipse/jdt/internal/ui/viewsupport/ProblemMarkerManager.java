@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,17 @@
 package org.eclipse.jdt.internal.ui.viewsupport;
 
 
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ListenerList;
@@ -32,8 +38,6 @@ import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 
-import org.eclipse.jface.util.Throttler;
-
 import org.eclipse.jface.text.source.AnnotationModelEvent;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.IAnnotationModelListener;
@@ -51,10 +55,66 @@ import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEven
  */
 public class ProblemMarkerManager implements IResourceChangeListener, IAnnotationModelListener , IAnnotationModelListenerExtension {
 
+	/**
+	 * The severities and offsets of the problem markers of a file.
+	 */
+	public static final class ProblemSummary {
+
+		private final int fMaxSeverity;
+		private final int[] fOffsets;
+		private final int[] fSeverities;
+
+		ProblemSummary(int maxSeverity, int[] offsets, int[] severities) {
+			fMaxSeverity= maxSeverity;
+			fOffsets= offsets;
+			fSeverities= severities;
+		}
+
+		/**
+		 * Returns the maximal severity of the problem markers of the file.
+		 *
+		 * @return the maximal severity, or <code>-1</code> if the file has no problem markers
+		 */
+		public int getMaxSeverity() {
+			return fMaxSeverity;
+		}
+
+		/**
+		 * Returns the number of problem text markers with info, warning or error severity.
+		 *
+		 * @return the number of text markers
+		 */
+		public int getTextMarkerCount() {
+			return fOffsets.length;
+		}
+
+		/**
+		 * Returns the start offset of a text marker. The text markers are sorted by descending
+		 * severity.
+		 *
+		 * @param index the index of the text marker
+		 * @return the start offset, or <code>-1</code> if the marker has no offset
+		 */
+		public int getOffset(int index) {
+			return fOffsets[index];
+		}
+
+		/**
+		 * Returns the severity of a text marker. The text markers are sorted by descending
+		 * severity.
+		 *
+		 * @param index the index of the text marker
+		 * @return the severity
+		 */
+		public int getSeverity(int index) {
+			return fSeverities[index];
+		}
+	}
+
 	/**
 	 * Visitors used to look if the element change delta contains a marker change.
 	 */
-	private static class ProjectErrorVisitor implements IResourceDeltaVisitor {
+	private class ProjectErrorVisitor implements IResourceDeltaVisitor {
 
 		private HashSet<IResource> fChangedElements;
 
@@ -78,6 +138,9 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 
 		private void checkInvalidate(IResourceDelta delta, IResource resource) {
 			int kind= delta.getKind();
+			if (kind == IResourceDelta.REMOVED || (kind == IResourceDelta.CHANGED && (delta.getFlags() & IResourceDelta.MARKERS) != 0)) {
+				removeProblemSummary(resource);
+			}
 			if (kind == IResourceDelta.REMOVED || kind == IResourceDelta.ADDED || (kind == IResourceDelta.CHANGED && isErrorDelta(delta))) {
 				// invalidate the resource and all parents
 				while (resource.getType() != IResource.ROOT && fChangedElements.add(resource)) {
@@ -109,7 +172,31 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private final Set<IResource> fResourcesWithMarkerChanges= ConcurrentHashMap.newKeySet();
 	private final Set<IResource> fResourcesWithAnnotationChanges= ConcurrentHashMap.newKeySet();
 
-	private final Throttler throttledUpdates= new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(250), this::runPendingUpdates);
+	/** The minimal time in milliseconds between two notifications of the listeners */
+	private static final int MIN_UPDATE_DELAY= 250;
+
+	/** The maximal time in milliseconds between two notifications of the listeners */
+	private static final int MAX_UPDATE_DELAY= 2000;
+
+	private final AtomicBoolean fUpdateScheduled= new AtomicBoolean();
+
+	/**
+	 * The time between two notifications, adapted to the time the listeners needed for the last
+	 * notification.
+	 */
+	private volatile int fUpdateDelay= MIN_UPDATE_DELAY;
+
+	/**
+	 * The problem summaries of the files decorated while listeners are registered. The summaries
+	 * of changed files are removed on the resource deltas.
+	 */
+	private final Map<IResource, ProblemSummary> fProblemSummaries= new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented before a summary is removed, so that a summary computed concurrently with the
+	 * marker change is not cached.
+	 */
+	private final AtomicLong fSummaryRemovals= new AtomicLong();
 
 	public ProblemMarkerManager() {
 	}
@@ -174,11 +261,84 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
+			fProblemSummaries.clear();
 		}
 	}
 
+	/**
+	 * Returns the summary of the problem markers of a file. The summary is cached while listeners
+	 * are registered, and recomputed after the markers of the file changed.
+	 *
+	 * @param resource the file
+	 * @return the summary, or <code>null</code> if no listeners are registered or if the resource
+	 *         is not an accessible file
+	 * @throws CoreException if the markers cannot be accessed
+	 */
+	public ProblemSummary getProblemSummary(IResource resource) throws CoreException {
+		if (fListeners.isEmpty() || resource == null || resource.getType() != IResource.FILE || !resource.isAccessible()) {
+			return null;
+		}
+		ProblemSummary summary= fProblemSummaries.get(resource);
+		if (summary != null) {
+			return summary;
+		}
+		// computed outside the map, findMarkers must not run while the map is locked
+		long removals= fSummaryRemovals.get();
+		summary= computeProblemSummary(resource);
+		ProblemSummary cached= fProblemSummaries.putIfAbsent(resource, summary);
+		if (cached != null) {
+			return cached;
+		}
+		if (fSummaryRemovals.get() != removals) {
+			// the markers may have changed after they were read
+			fProblemSummaries.remove(resource, summary);
+		}
+		return summary;
+	}
+
+	private void removeProblemSummary(IResource resource) {
+		fSummaryRemovals.incrementAndGet();
+		fProblemSummaries.remove(resource);
+	}
+
+	private static ProblemSummary computeProblemSummary(IResource resource) throws CoreException {
+		IMarker[] markers= resource.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		int maxSeverity= -1;
+		int[][] textMarkers= new int[markers.length][];
+		int count= 0;
+		for (IMarker marker : markers) {
+			int severity= marker.getAttribute(IMarker.SEVERITY, -1);
+			maxSeverity= Math.max(maxSeverity, severity);
+			if ((severity == IMarker.SEVERITY_INFO || severity == IMarker.SEVERITY_WARNING || severity == IMarker.SEVERITY_ERROR) && marker.isSubtypeOf(IMarker.TEXT)) {
+				textMarkers[count++]= new int[] { marker.getAttribute(IMarker.CHAR_START, -1), severity };
+			}
+		}
+		Arrays.sort(textMarkers, 0, count, Comparator.comparingInt((int[] textMarker) -> textMarker[1]).reversed());
+		int[] offsets= new int[count];
+		int[] severities= new int[count];
+		for (int i= 0; i < count; i++) {
+			offsets[i]= textMarkers[i][0];
+			severities[i]= textMarkers[i][1];
+		}
+		return new ProblemSummary(maxSeverity, offsets, severities);
+	}
+
 	private void fireChanges() {
-		throttledUpdates.throttledExec();
+		if (fUpdateScheduled.compareAndSet(false, true)) {
+			Display display= PlatformUI.getWorkbench().getDisplay();
+			if (display.isDisposed()) {
+				fUpdateScheduled.set(false);
+				return;
+			}
+			display.asyncExec(() -> display.timerExec(fUpdateDelay, () -> {
+				fUpdateScheduled.set(false);
+				long start= System.currentTimeMillis();
+				runPendingUpdates();
+				// notify less often while the listeners are slow, to keep the display thread responsive
+				long duration= System.currentTimeMillis() - start;
+				fUpdateDelay= (int) Math.max(MIN_UPDATE_DELAY, Math.min(MAX_UPDATE_DELAY, 2 * duration));
+			}));
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,6 +81,8 @@ import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager.ProblemSummary;
 
 /**
  * LabelDecorator that decorates an element's image with error and warning overlays that
@@ -235,7 +237,7 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 						return getPackageErrorTicksFromMarkers((IPackageFragment) element);
 					case IJavaElement.COMPILATION_UNIT:
 					case IJavaElement.CLASS_FILE:
-						return getErrorTicksFromMarkers(element.getResource(), IResource.DEPTH_ONE);
+						return getErrorTicksFromFileMarkers(element.getResource());
 					case IJavaElement.PACKAGE_DECLARATION:
 					case IJavaElement.IMPORT_DECLARATION:
 					case IJavaElement.IMPORT_CONTAINER:
@@ -255,7 +257,7 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 								result= getErrorTicksFromAnnotationModel(model, ref);
 							} else {
 								if (ref == null) {
-									result= getErrorTicksFromMarkers(cu.getResource(), IResource.DEPTH_ONE);
+									result= getErrorTicksFromFileMarkers(cu.getResource());
 								} else {
 									result= getErrorTicksFromMarkers(cu.getResource(), IResource.DEPTH_ONE, ref);
 								}
@@ -598,10 +600,28 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		return convertToTick(severity);
 	}
 
+	private static int getErrorTicksFromFileMarkers(IResource res) throws CoreException {
+		ProblemSummary summary= JavaPlugin.getDefault().getProblemMarkerManager().getProblemSummary(res);
+		if (summary != null) {
+			return convertToTick(summary.getMaxSeverity());
+		}
+		return getErrorTicksFromMarkers(res, IResource.DEPTH_ONE);
+	}
+
 	private int getErrorTicksFromMarkers(IResource res, int depth, ISourceReference sourceElement) throws CoreException {
 		if (res == null || !res.isAccessible()) {
 			return 0;
 		}
+		ProblemSummary summary= JavaPlugin.getDefault().getProblemMarkerManager().getProblemSummary(res);
+		if (summary != null) {
+			// the markers are sorted by severity, the first marker inside the element decides
+			for (int i= 0; i < summary.getTextMarkerCount(); i++) {
+				if (isInside(summary.getOffset(i), sourceElement)) {
+					return convertToTick(summary.getSeverity(i));
+				}
+			}
+			return 0;
+		}
 		int severity= -1;
 		IMarker[] markers= res.findMarkers(IMarker.PROBLEM, true, depth);
 		if (markers != null && markers.length > 0) {
@@ -645,8 +665,11 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 			return ERRORTICK_ERROR;
 
 		// markers on CUs
+		ProblemMarkerManager problemMarkerManager= JavaPlugin.getDefault().getProblemMarkerManager();
 		for (ICompilationUnit cu : pack.getCompilationUnits()) {
-			severity= Math.max(severity, findMaxProblemSeverity(cu.getResource(), IMarker.PROBLEM, true, IResource.DEPTH_ZERO));
+			ProblemSummary summary= problemMarkerManager.getProblemSummary(cu.getResource());
+			int cuSeverity= summary != null ? summary.getMaxSeverity() : findMaxProblemSeverity(cu.getResource(), IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+			severity= Math.max(severity, cuSeverity);
 			if (severity == IMarker.SEVERITY_ERROR)
 				return ERRORTICK_ERROR;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,9 +24,6 @@ import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.ITextSelection;
-
 import org.eclipse.ui.IActionBars;
 import org.eclipse.ui.IWorkbenchSite;
 import org.eclipse.ui.actions.ActionGroup;
@@ -36,11 +33,9 @@ import org.eclipse.ui.texteditor.ITextEditorActionConstants;
 import org.eclipse.jdt.core.ITypeRoot;
 
 import org.eclipse.jdt.ui.IContextMenuConstants;
-import org.eclipse.jdt.ui.JavaUI;
 
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
-import org.eclipse.jdt.internal.ui.javaeditor.JavaTextSelection;
 import org.eclipse.jdt.internal.ui.search.SearchMessages;
 
 /**
@@ -219,9 +214,9 @@ public class OccurrencesSearchGroup extends ActionGroup  {
 		if (element == null)
 			return;
 
-		ITextSelection textSelection= (ITextSelection) fEditor.getSelectionProvider().getSelection();
-		IDocument document= JavaUI.getDocumentProvider().getDocument(fEditor.getEditorInput());
-		JavaTextSelection javaSelection= new JavaTextSelection(element, document, textSelection.getOffset(), textSelection.getLength());
+		ISelection javaSelection= fEditor.getJavaTextSelectionCache().getResolvedSelection();
+		if (javaSelection == null)
+			javaSelection= fEditor.getSelectionProvider().getSelection();
 
 		fExceptionOccurrencesAction.update(javaSelection);
 		fOccurrencesInFileAction.update(javaSelection);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,7 +37,6 @@ import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 
-import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextSelection;
 
 import org.eclipse.ui.IActionBars;
@@ -636,11 +635,10 @@ public class RefactorActionGroup extends ActionGroup {
 				refactorMenuHidden();
 			}
 		});
-		ITextSelection textSelection= (ITextSelection)fEditor.getSelectionProvider().getSelection();
-		JavaTextSelection javaSelection= new JavaTextSelection(getEditorInput(), getDocument(), textSelection.getOffset(), textSelection.getLength());
+		ISelection selection= getJavaTextSelection();
 
 		for (SelectionDispatchAction action : fActions) {
-			action.update(javaSelection);
+			action.update(selection);
 		}
 		refactorSubmenu.removeAll();
 		if (fillRefactorMenu(refactorSubmenu) == 0)
@@ -654,12 +652,19 @@ public class RefactorActionGroup extends ActionGroup {
 		}
 	}
 
-	private ITypeRoot getEditorInput() {
-		return JavaUI.getEditorInputTypeRoot(fEditor.getEditorInput());
+	/*
+	 * Returns the Java text selection shared with the other action groups of the editor, or the
+	 * text selection if the editor has no Java input.
+	 */
+	private ISelection getJavaTextSelection() {
+		JavaTextSelection javaSelection= fEditor.getJavaTextSelectionCache().getResolvedSelection();
+		if (javaSelection != null)
+			return javaSelection;
+		return fEditor.getSelectionProvider().getSelection();
 	}
 
-	private IDocument getDocument() {
-		return JavaUI.getDocumentProvider().getDocument(fEditor.getEditorInput());
+	private ITypeRoot getEditorInput() {
+		return JavaUI.getEditorInputTypeRoot(fEditor.getEditorInput());
 	}
 
 	private void fillQuickMenu(IMenuManager menu) {
@@ -673,10 +678,10 @@ public class RefactorActionGroup extends ActionGroup {
 				return;
 			}
 			ITextSelection textSelection= (ITextSelection)fEditor.getSelectionProvider().getSelection();
-			JavaTextSelection javaSelection= new JavaTextSelection(element, getDocument(), textSelection.getOffset(), textSelection.getLength());
+			ISelection selection= getJavaTextSelection();
 
 			for (SelectionDispatchAction selectionDispatchAction : fActions) {
-				selectionDispatchAction.update(javaSelection);
+				selectionDispatchAction.update(selection);
 			}
 			fillRefactorMenu(menu);
 			for (SelectionDispatchAction selectionDispatchAction : fActions) {
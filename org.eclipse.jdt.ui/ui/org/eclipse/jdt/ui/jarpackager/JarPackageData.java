@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -134,6 +134,9 @@ public class JarPackageData {
 	// Add directory entries to the jar
 	private boolean fIncludeDirectoryEntries;
 
+	// Reuse the unchanged entries of the previous export
+	private boolean fIncrementalExport;
+
 	// Projects for which to store refactoring information
 	private IProject[] fRefactoringProjects= {};
 
@@ -175,6 +178,7 @@ public class JarPackageData {
 		setExportWarnings(true);
 		setBuildIfNeeded(true);
 		setIncludeDirectoryEntries(false);
+		setIncrementalExport(false);
 	}
 
 	// ----------- Accessors -----------
@@ -1057,6 +1061,33 @@ public class JarPackageData {
 		fIncludeDirectoryEntries = includeDirectoryEntries;
 	}
 
+	/**
+	 * Tells whether the entries of files that did not change since the previous
+	 * export of the jar are copied from the previous jar instead of being written again.
+	 *
+	 * @return	<code>true</code> if the jar is exported incrementally
+	 *
+	 * @since 3.27
+	 */
+	public boolean isIncrementalExport() {
+		return fIncrementalExport;
+	}
+
+	/**
+	 * Sets the option to export the jar incrementally. If set, the entries of
+	 * files that did not change since the previous export are copied from
+	 * the previous jar. The previous jar is only reused if it has not been
+	 * modified since it was exported.
+	 *
+	 * @param incrementalExport <code>true</code> to reuse unchanged entries
+	 *  of the previous export, <code>false</code> to write all entries
+	 *
+	 * @since 3.27
+	 */
+	public void setIncrementalExport(boolean incrementalExport) {
+		fIncrementalExport= incrementalExport;
+	}
+
 	/**
 	 * Returns the projects for which refactoring information should be stored.
 	 * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,8 +62,10 @@ import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+import org.eclipse.jdt.internal.jarpackager.ParallelJarOutputStream;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.jarpackager.IncrementalJarExport;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerMessages;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
@@ -85,6 +87,8 @@ public class JarWriter3 {
 
 	private JarPackageData fJarPackage;
 
+	private IncrementalJarExport fIncrementalExport;
+
 	/**
 	* Gets the fJarOutputStream of this JarWriter3
 	*
@@ -127,11 +131,13 @@ public class JarWriter3 {
 			throw new OperationCanceledException("Cannot create JAR with path: " + fJarPackage.getAbsoluteJarLocation()); //$NON-NLS-1$
 
 		try {
+			if (fJarPackage.isIncrementalExport())
+				fIncrementalExport= IncrementalJarExport.open(fJarPackage.getAbsoluteJarLocation().toFile());
 			if (fJarPackage.usesManifest() && fJarPackage.areGeneratedFilesExported()) {
 				Manifest manifest= fJarPackage.getManifestProvider().create(fJarPackage);
-				fJarOutputStream= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())), manifest);
+				fJarOutputStream= new ParallelJarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())), manifest);
 			} else
-				fJarOutputStream= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())));
+				fJarOutputStream= new ParallelJarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())));
 			String comment= jarPackage.getComment();
 			if (comment != null)
 				fJarOutputStream.setComment(comment);
@@ -142,6 +148,10 @@ public class JarWriter3 {
 				addHistory(fJarPackage, new Path(JarPackagerUtil.getRefactoringsEntry()), new NullProgressMonitor());
 			}
 		} catch (IOException exception) {
+			if (fIncrementalExport != null) {
+				fIncrementalExport.close(false);
+				fIncrementalExport= null;
+			}
 			throw JarPackagerUtil.createCoreException(exception.getLocalizedMessage(), exception);
 		}
 	}
@@ -256,7 +266,8 @@ public class JarWriter3 {
 			// Entry is filled automatically.
 		else {
 			newEntry.setMethod(ZipEntry.STORED);
-			JarPackagerUtil.calculateCrcAndSize(newEntry, resource.getContents(false), readBuffer);
+			if (JarPackagerUtilCore.needsCrcAndSize(fJarOutputStream))
+				JarPackagerUtil.calculateCrcAndSize(newEntry, resource.getContents(false), readBuffer);
 		}
 
 		long lastModified= System.currentTimeMillis();
@@ -270,6 +281,9 @@ public class JarWriter3 {
 		// Set modification time
 		newEntry.setTime(lastModified);
 
+		if (fIncrementalExport != null && fIncrementalExport.copyUnchanged(resource, newEntry, fJarOutputStream))
+			return;
+
 		InputStream contentStream = resource.getContents(false);
 
 		addEntry(newEntry, contentStream);
@@ -390,7 +404,16 @@ public class JarWriter3 {
 	public void close() throws CoreException {
 		if (fJarOutputStream != null)
 			try {
-				fJarOutputStream.close();
+				boolean success= false;
+				try {
+					fJarOutputStream.close();
+					success= true;
+				} finally {
+					if (fIncrementalExport != null) {
+						fIncrementalExport.close(success);
+						fIncrementalExport= null;
+					}
+				}
 				registerInWorkspaceIfNeeded();
 			} catch (IOException ex) {
 				throw JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
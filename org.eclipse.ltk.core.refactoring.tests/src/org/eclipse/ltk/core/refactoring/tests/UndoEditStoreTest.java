@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.internal.core.refactoring.UndoEditStore;
+
+public class UndoEditStoreTest {
+
+	private static final String CONTENT= "public class A {\n\tint field;\n\tvoid method() {\n\t\tfield= 1;\n\t}\n}\n";
+
+	private void assertRestored(TextEdit edit) throws Exception {
+		assertRestored(CONTENT, edit);
+	}
+
+	private void assertRestored(String content, TextEdit edit) throws Exception {
+		IDocument document= new Document(content);
+		UndoEdit undo= edit.apply(document, TextEdit.CREATE_UNDO);
+		String modified= document.get();
+		assertTrue(UndoEditStore.estimateSize(undo) > 0);
+
+		File file= UndoEditStore.store(undo);
+		assertNotNull("Undo edit should be stored", file);
+		try {
+			TextEdit loaded= UndoEditStore.load(file);
+			UndoEdit redo= loaded.apply(document, TextEdit.CREATE_UNDO);
+			assertEquals(content, document.get());
+			redo.apply(document);
+			assertEquals(modified, document.get());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSingleReplace() throws Exception {
+		assertRestored(new ReplaceEdit(13, 1, "B"));
+	}
+
+	@Test
+	public void testMultipleEdits() throws Exception {
+		MultiTextEdit edit= new MultiTextEdit();
+		edit.addChild(new ReplaceEdit(13, 1, "LongerName"));
+		edit.addChild(new InsertEdit(17, "// comment\n"));
+		edit.addChild(new DeleteEdit(18, 4));
+		edit.addChild(new ReplaceEdit(CONTENT.indexOf("field;"), 5, "f"));
+		edit.addChild(new ReplaceEdit(CONTENT.lastIndexOf("field"), 5, "f"));
+		edit.addChild(new InsertEdit(CONTENT.length(), "// end\n"));
+		assertRestored(edit);
+	}
+
+	@Test
+	public void testAdjacentEdits() throws Exception {
+		MultiTextEdit edit= new MultiTextEdit();
+		edit.addChild(new ReplaceEdit(0, 6, "final"));
+		edit.addChild(new DeleteEdit(6, 1));
+		edit.addChild(new ReplaceEdit(7, 5, "interface"));
+		edit.addChild(new ReplaceEdit(12, 1, ""));
+		edit.addChild(new DeleteEdit(CONTENT.length() - 3, 1));
+		edit.addChild(new ReplaceEdit(CONTENT.length() - 2, 2, "}"));
+		assertRestored(edit);
+	}
+
+	@Test
+	public void testUnpairedSurrogates() throws Exception {
+		String content= "String s= \"\uD800\";\nString t= \"\uDC00\uD83D\uDE00\";\n";
+		MultiTextEdit edit= new MultiTextEdit();
+		edit.addChild(new ReplaceEdit(content.indexOf('\uD800'), 1, "x"));
+		edit.addChild(new DeleteEdit(content.indexOf('\uDC00'), 1));
+		edit.addChild(new InsertEdit(content.length(), "\uDBFF"));
+		assertRestored(content, edit);
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 50; i++)
+			buffer.append(CONTENT);
+		String content= buffer.toString();
+		Random random= new Random(4711);
+		for (int round= 0; round < 100; round++) {
+			MultiTextEdit edit= new MultiTextEdit();
+			int offset= 0;
+			while (true) {
+				offset+= 1 + random.nextInt(200);
+				int length= random.nextInt(20);
+				if (offset + length > content.length())
+					break;
+				int start= random.nextInt(content.length() - 20);
+				String text= content.substring(start, start + random.nextInt(20));
+				edit.addChild(new ReplaceEdit(offset, length, text));
+				offset+= length;
+			}
+			assertRestored(content, edit);
+		}
+	}
+}
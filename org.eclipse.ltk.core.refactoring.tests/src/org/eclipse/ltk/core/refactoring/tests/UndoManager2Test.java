@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.ltk.core.refactoring.IUndoManager;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.UndoTextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.UndoEditStore;
+
+public class UndoManager2Test {
+
+	private static final String CONTENT= "class A {\n\tString text= \"hello\";\n}\n";
+
+	private SimpleTestProject fProject;
+	private IUndoManager fUndoManager;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		fUndoManager= RefactoringCore.getUndoManager();
+		fUndoManager.flush();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		getPreferences().remove(UndoEditStore.PREFERENCE_UNDO_MEMORY_BUDGET);
+		fUndoManager.flush();
+		fProject.delete();
+	}
+
+	private static IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(RefactoringCorePlugin.getPluginId());
+	}
+
+	private static void setMemoryBudget(long budget) {
+		getPreferences().putLong(UndoEditStore.PREFERENCE_UNDO_MEMORY_BUDGET, budget);
+	}
+
+	private UndoTextFileChange performChange(IFile file) throws Exception {
+		TextFileChange change= new TextFileChange("Change " + file.getName(), file);
+		int offset= CONTENT.indexOf("hello");
+		change.setEdit(new ReplaceEdit(offset, "hello".length(), "goodbye"));
+		PerformChangeOperation operation= new PerformChangeOperation(change);
+		operation.setUndoManager(fUndoManager, change.getName());
+		ResourcesPlugin.getWorkspace().run(operation, new NullProgressMonitor());
+		assertTrue(operation.changeExecuted());
+		return (UndoTextFileChange) operation.getUndoChange();
+	}
+
+	@Test
+	public void testUndoEditsWithinBudgetStayInMemory() throws Exception {
+		IFile file= fProject.createFile(fProject.getProject(), "A.java", CONTENT);
+		UndoTextFileChange undo= performChange(file);
+		assertTrue(undo.getUndoMemorySize() > 0);
+	}
+
+	@Test
+	public void testOlderUndoEditsAreStoredBeyondBudget() throws Exception {
+		IFile first= fProject.createFile(fProject.getProject(), "A.java", CONTENT);
+		IFile second= fProject.createFile(fProject.getProject(), "B.java", CONTENT);
+		UndoTextFileChange firstUndo= performChange(first);
+		long size= firstUndo.getUndoMemorySize();
+		assertTrue(size > 0);
+
+		// room for one undo edit: the most recent one stays in memory
+		setMemoryBudget(size);
+		UndoTextFileChange secondUndo= performChange(second);
+		assertEquals(size, secondUndo.getUndoMemorySize());
+		assertEquals(0, firstUndo.getUndoMemorySize());
+	}
+
+	@Test
+	public void testUndoFromStoredState() throws Exception {
+		IFile first= fProject.createFile(fProject.getProject(), "A.java", CONTENT);
+		IFile second= fProject.createFile(fProject.getProject(), "B.java", CONTENT);
+		setMemoryBudget(0);
+		UndoTextFileChange firstUndo= performChange(first);
+		UndoTextFileChange secondUndo= performChange(second);
+		assertEquals(0, firstUndo.getUndoMemorySize());
+		assertEquals(0, secondUndo.getUndoMemorySize());
+		String modified= fProject.getContent(first);
+		assertEquals(CONTENT.replace("hello", "goodbye"), modified);
+
+		fUndoManager.performUndo(null, new NullProgressMonitor());
+		assertEquals(CONTENT, fProject.getContent(second));
+		fUndoManager.performUndo(null, new NullProgressMonitor());
+		assertEquals(CONTENT, fProject.getContent(first));
+
+		fUndoManager.performRedo(null, new NullProgressMonitor());
+		assertEquals(modified, fProject.getContent(first));
+	}
+}
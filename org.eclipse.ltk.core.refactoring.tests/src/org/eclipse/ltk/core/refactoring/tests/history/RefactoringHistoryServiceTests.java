@@ -581,6 +581,29 @@ public class RefactoringHistoryServiceTests {
 		assertEquals("Refactoring history has wrong size", 0, proxies.length);
 	}
 
+	@Test
+	public void testReadProjectHistory7() throws Exception {
+		final long start= 11L * STAMP_FACTOR;
+		final long end= 30L * STAMP_FACTOR;
+		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), start, end, RefactoringDescriptor.NONE, null);
+		assertFalse("Refactoring history must not be empty", history.isEmpty());
+		RefactoringDescriptorProxy[] proxies= history.getDescriptors();
+		assertEquals("Refactoring history has wrong size", 20, proxies.length);
+		for (RefactoringDescriptorProxy proxy : proxies)
+			assertTrue("Refactoring descriptor out of range", proxy.getTimeStamp() >= start && proxy.getTimeStamp() <= end);
+	}
+
+	@Test
+	public void testReadProjectHistory8() throws Exception {
+		final String name= fProject.getProject().getName();
+		executeRefactoring(name, TOTAL_PROJECT_NUMBER + COMMON_NUMBER, RefactoringDescriptor.NONE);
+		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		RefactoringDescriptorProxy[] proxies= history.getDescriptors();
+		assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER + 1, proxies.length);
+		for (RefactoringDescriptorProxy proxy : proxies)
+			assertNotNull("Refactoring descriptor must be resolvable", proxy.requestDescriptor(null));
+	}
+
 	@Test
 	public void testReadRefactoringHistory0() throws Exception {
 		setUpWorkspaceRefactorings();
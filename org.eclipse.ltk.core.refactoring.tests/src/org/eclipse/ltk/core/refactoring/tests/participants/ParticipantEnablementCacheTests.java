@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.eclipse.core.expressions.EvaluationContext;
+
+import org.eclipse.core.runtime.ContributorFactoryOSGi;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IContributor;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.Platform;
+
+import org.eclipse.core.internal.registry.ExtensionRegistry;
+
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.ParticipantExtensionPoint;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
+import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
+import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
+import org.eclipse.ltk.core.refactoring.tests.RefactoringCoreTestPlugin;
+
+import org.eclipse.ltk.internal.core.refactoring.ParticipantDescriptor;
+
+public class ParticipantEnablementCacheTests {
+
+	private static final String RENAME_PARTICIPANTS= "renameParticipants";
+
+	private static final String DYNAMIC_EXTENSION= "dynamicRenameParticipant";
+
+	private static final String DYNAMIC_CONTRIBUTION= "" +
+			"<plugin>\n" +
+			"  <extension id=\"" + DYNAMIC_EXTENSION + "\" point=\"org.eclipse.ltk.core.refactoring.renameParticipants\">\n" +
+			"    <renameParticipant\n" +
+			"        class=\"org.eclipse.ltk.core.refactoring.tests.participants.WorkingParticipant\"\n" +
+			"        id=\"org.eclipse.ltk.core.refactoring.tests.participants.DynamicParticipant\"\n" +
+			"        name=\"Dynamic Participant\">\n" +
+			"      <enablement>\n" +
+			"        <with variable=\"element\">\n" +
+			"          <instanceof value=\"org.eclipse.ltk.core.refactoring.tests.participants.ElementWorking\"/>\n" +
+			"        </with>\n" +
+			"      </enablement>\n" +
+			"    </renameParticipant>\n" +
+			"  </extension>\n" +
+			"</plugin>\n";
+
+	private static final Object[] ELEMENTS= { new Element(), new ElementWorking(), new ElementWorkingPre(), new ElementWorkingPreAlways(), "element" };
+
+	@Test
+	public void testCachedEnablementMatchesEvaluation() throws Exception {
+		ElementRenameProcessor processor= new ElementRenameProcessor(0);
+		String[] natures= new String[0];
+		IConfigurationElement[] elements= Platform.getExtensionRegistry().getConfigurationElementsFor(RefactoringCore.ID_PLUGIN, RENAME_PARTICIPANTS);
+		assertTrue(elements.length > 0);
+		for (IConfigurationElement element : elements) {
+			ParticipantDescriptor cached= new ParticipantDescriptor(element);
+			// evaluate everything twice, the second round is answered from the cache
+			for (int i= 0; i < 2; i++) {
+				for (Object refactored : ELEMENTS) {
+					EvaluationContext context= createEvaluationContext(processor, refactored, natures);
+					boolean expected= new ParticipantDescriptor(element).matches(context, null, null, new RefactoringStatus());
+					ParticipantDescriptor.EnablementKey key= new ParticipantDescriptor.EnablementKey(refactored, natures, processor.getIdentifier());
+					boolean actual= cached.matches(context, key, null, new RefactoringStatus());
+					assertEquals(cached.getId() + " on " + refactored.getClass().getName(), expected, actual);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRegistryChangeInvalidatesParticipants() throws Exception {
+		ParticipantExtensionPoint extensionPoint= new ParticipantExtensionPoint(RefactoringCore.ID_PLUGIN, RENAME_PARTICIPANTS, RenameParticipant.class);
+		ElementRenameProcessor processor= new ElementRenameProcessor(ElementRenameRefactoring.WORKING);
+		Object element= processor.getElements()[0];
+		assertEquals(1, countWorkingParticipants(extensionPoint, processor, element));
+
+		IExtensionRegistry registry= Platform.getExtensionRegistry();
+		Object token= ((ExtensionRegistry) registry).getTemporaryUserToken();
+		IContributor contributor= ContributorFactoryOSGi.createContributor(RefactoringCoreTestPlugin.getDefault().getBundle());
+		assertTrue(registry.addContribution(new ByteArrayInputStream(DYNAMIC_CONTRIBUTION.getBytes(StandardCharsets.UTF_8)), contributor, false, null, null, token));
+		IExtension extension= null;
+		try {
+			extension= registry.getExtension(RefactoringCore.ID_PLUGIN + '.' + RENAME_PARTICIPANTS, contributor.getName() + '.' + DYNAMIC_EXTENSION);
+			assertNotNull(extension);
+			waitForWorkingParticipants(extensionPoint, processor, element, 2);
+		} finally {
+			if (extension != null)
+				registry.removeExtension(extension, token);
+		}
+		waitForWorkingParticipants(extensionPoint, processor, element, 1);
+	}
+
+	private static int countWorkingParticipants(ParticipantExtensionPoint extensionPoint, ElementRenameProcessor processor, Object element) {
+		RefactoringParticipant[] participants= extensionPoint.getParticipants(new RefactoringStatus(), processor, element, new RenameArguments("newName", true), null, new String[0], new SharableParticipants());
+		return (int) Arrays.stream(participants).filter(WorkingParticipant.class::isInstance).count();
+	}
+
+	private static void waitForWorkingParticipants(ParticipantExtensionPoint extensionPoint, ElementRenameProcessor processor, Object element, int expected) throws InterruptedException {
+		// registry listeners are notified asynchronously
+		long end= System.currentTimeMillis() + 10000;
+		int count= countWorkingParticipants(extensionPoint, processor, element);
+		while (count != expected && System.currentTimeMillis() < end) {
+			Thread.sleep(50);
+			count= countWorkingParticipants(extensionPoint, processor, element);
+		}
+		assertEquals(expected, count);
+	}
+
+	private static EvaluationContext createEvaluationContext(ElementRenameProcessor processor, Object element, String[] affectedNatures) {
+		EvaluationContext result= new EvaluationContext(null, element);
+		result.setAllowPluginActivation(true);
+		result.addVariable("element", element);
+		result.addVariable("affectedNatures", Arrays.asList(affectedNatures));
+		result.addVariable("processorIdentifier", processor.getIdentifier());
+		return result;
+	}
+}
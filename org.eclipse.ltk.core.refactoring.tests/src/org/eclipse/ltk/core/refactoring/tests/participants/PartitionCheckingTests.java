@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+
+public class PartitionCheckingTests {
+
+	private static List<Integer> createPartitions(int count) {
+		List<Integer> result= new ArrayList<>();
+		for (int i= 0; i < count; i++)
+			result.add(Integer.valueOf(i));
+		return result;
+	}
+
+	@Test
+	public void testMergeOrder() throws Exception {
+		List<Integer> partitions= createPartitions(16);
+		RefactoringStatus status= CheckConditionsContext.checkPartitions(partitions, (partition, monitor) -> {
+			try {
+				// later partitions finish first
+				Thread.sleep(5 * (partitions.size() - partition.intValue()));
+			} catch (InterruptedException e) {
+				throw new OperationCanceledException();
+			}
+			return RefactoringStatus.createWarningStatus(partition.toString());
+		}, new NullProgressMonitor());
+
+		RefactoringStatusEntry[] entries= status.getEntries();
+		assertEquals(partitions.size(), entries.length);
+		for (int i= 0; i < entries.length; i++)
+			assertEquals(String.valueOf(i), entries[i].getMessage());
+	}
+
+	@Test
+	public void testFirstExceptionIsRethrown() throws Exception {
+		List<Integer> partitions= createPartitions(8);
+		try {
+			CheckConditionsContext.checkPartitions(partitions, (partition, monitor) -> {
+				int value= partition.intValue();
+				if (value == 3 || value == 6)
+					throw new CoreException(new Status(IStatus.ERROR, "org.eclipse.ltk.core.refactoring.tests", partition.toString()));
+				return new RefactoringStatus();
+			}, null);
+			fail("exception expected");
+		} catch (CoreException e) {
+			assertEquals("3", e.getStatus().getMessage());
+		}
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		List<Integer> partitions= createPartitions(8);
+		NullProgressMonitor pm= new NullProgressMonitor();
+		AtomicInteger checked= new AtomicInteger();
+		try {
+			CheckConditionsContext.checkPartitions(partitions, (partition, monitor) -> {
+				pm.setCanceled(true);
+				while (!monitor.isCanceled())
+					Thread.yield();
+				checked.incrementAndGet();
+				throw new OperationCanceledException();
+			}, pm);
+			fail("cancellation expected");
+		} catch (OperationCanceledException e) {
+			assertTrue(checked.get() > 0);
+		}
+	}
+}
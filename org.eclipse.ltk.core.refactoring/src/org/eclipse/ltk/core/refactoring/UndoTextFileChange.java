@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.io.File;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -41,6 +43,7 @@ import org.eclipse.ltk.internal.core.refactoring.Changes;
 import org.eclipse.ltk.internal.core.refactoring.ContentStamps;
 import org.eclipse.ltk.internal.core.refactoring.Lock;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.UndoEditStore;
 
 /**
  * A change to perform the reverse change of a {@link TextFileChange}.
@@ -58,6 +61,7 @@ public class UndoTextFileChange extends Change {
 
 	private String fName;
 	private UndoEdit fUndo;
+	private File fStoredUndo;
 	private IFile fFile;
 	private ContentStamp fContentStampToRestore;
 	private int fSaveMode;
@@ -265,20 +269,70 @@ public class UndoTextFileChange extends Change {
 	}
 
 	private UndoEdit doPerformEdits(IDocument document, boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
+		TextEdit undo= getUndoEdit();
 		// perform the changes
 		LinkedModeModel.closeAllModels(document);
-		UndoEdit redo= fUndo.apply(document, TextEdit.CREATE_UNDO);
+		UndoEdit redo= undo.apply(document, TextEdit.CREATE_UNDO);
 
 		// try to restore the document content stamp
 		setContentStampSuccess[0]= ContentStamps.set(document, fContentStampToRestore);
 		return redo;
 	}
 
+	private synchronized TextEdit getUndoEdit() throws CoreException {
+		if (fUndo != null)
+			return fUndo;
+		return UndoEditStore.load(fStoredUndo);
+	}
+
+	/**
+	 * Returns an estimate of the memory retained by the undo edit of this
+	 * change.
+	 *
+	 * @return the estimated size in bytes, or <code>0</code> if the undo edit
+	 *  has been stored on disk
+	 *
+	 * @since 3.13
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized long getUndoMemorySize() {
+		if (fUndo == null)
+			return 0;
+		return UndoEditStore.estimateSize(fUndo);
+	}
+
+	/**
+	 * Stores the undo edit of this change on disk and releases it from
+	 * memory. The undo edit is read back when the change is performed.
+	 *
+	 * @return <code>true</code> if the undo edit has been stored on disk,
+	 *  <code>false</code> if it is kept in memory
+	 *
+	 * @since 3.13
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized boolean storeUndo() {
+		if (fUndo == null)
+			return true;
+		File file= UndoEditStore.store(fUndo);
+		if (file == null)
+			return false;
+		fStoredUndo= file;
+		fUndo= null;
+		return true;
+	}
+
 	@Override
 	public void dispose() {
 		if (fValidationState != null) {
 			fValidationState.dispose();
 		}
+		synchronized (this) {
+			if (fStoredUndo != null) {
+				fStoredUndo.delete();
+				fStoredUndo= null;
+			}
+		}
 	}
 
 	private boolean needsSaving() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,13 @@
 package org.eclipse.ltk.core.refactoring.participants;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -26,6 +29,8 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 
 import org.eclipse.core.resources.IFile;
 
@@ -47,6 +52,11 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
  * participants.
  * </p>
  * <p>
+ * Processors whose work can be split into independent partitions, for example
+ * the elements of different projects, can check these partitions concurrently
+ * using {@link #checkPartitions(Collection, IPartitionChecker, IProgressMonitor)}.
+ * </p>
+ * <p>
  * Note: this class is not intended to be extended by clients.
  * </p>
  *
@@ -56,6 +66,69 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
  */
 public class CheckConditionsContext {
 
+	/**
+	 * A progress monitor handed to partition checkers. It forwards cancellation
+	 * of the monitor of the whole check, and reports cancellation as well once
+	 * the check of another partition has failed.
+	 */
+	private static final class PartitionMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor fParent;
+
+		private volatile boolean fAborted;
+
+		PartitionMonitor(IProgressMonitor parent) {
+			fParent= parent;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fAborted || super.isCanceled() || fParent.isCanceled();
+		}
+
+		void abort() {
+			fAborted= true;
+		}
+	}
+
+	/**
+	 * The job checking a single partition. The result is read by the thread
+	 * waiting for the job once the job has signaled that it is done.
+	 */
+	private static final class PartitionJob<P> extends Job {
+
+		private final P fPartition;
+		private final IPartitionChecker<P> fChecker;
+		private final PartitionMonitor fMonitor;
+		private final CountDownLatch fDone= new CountDownLatch(1);
+
+		private RefactoringStatus fStatus;
+		private Throwable fException;
+
+		PartitionJob(P partition, IPartitionChecker<P> checker, PartitionMonitor monitor) {
+			super(RefactoringCoreMessages.CheckConditionContext_partition_job);
+			fPartition= partition;
+			fChecker= checker;
+			fMonitor= monitor;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor pm) {
+			try {
+				// checkers stop early when the monitor has been aborted
+				fStatus= fChecker.check(fPartition, fMonitor);
+			} catch (CoreException | RuntimeException | Error e) {
+				fException= e;
+				// stop the checks of the other partitions early
+				fMonitor.abort();
+			} finally {
+				fDone.countDown();
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
 	private Map<Class<? extends IConditionChecker>, IConditionChecker> fCheckers= new HashMap<>();
 
 	/**
@@ -126,6 +199,110 @@ public class CheckConditionsContext {
 		return result;
 	}
 
+	/**
+	 * Checks the given partitions concurrently and returns the merged status.
+	 * <p>
+	 * The statuses of the partitions are merged in the iteration order of the
+	 * given collection, so the result does not depend on the order in which
+	 * the partitions finish. If checking a partition fails, the checks of the
+	 * remaining partitions are canceled and the exception of the first failing
+	 * partition in iteration order is rethrown.
+	 * </p>
+	 * <p>
+	 * The partitions are checked by system jobs which do not own any
+	 * scheduling rule. Partition checkers must therefore not modify the
+	 * workspace.
+	 * </p>
+	 *
+	 * @param partitions the partitions to check
+	 * @param checker the checker performing the check of a single partition
+	 * @param pm a progress monitor or <code>null</code> if no progress
+	 *  reporting is desired
+	 * @return the statuses of all partitions, merged in iteration order
+	 *
+	 * @throws CoreException if an error occurs during condition checking
+	 * @throws OperationCanceledException if the condition checking got
+	 *  canceled
+	 *
+	 * @since 3.13
+	 */
+	public static <P> RefactoringStatus checkPartitions(Collection<P> partitions, IPartitionChecker<P> checker, IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		if (pm == null)
+			pm= new NullProgressMonitor();
+		List<P> list= new ArrayList<>(partitions);
+		RefactoringStatus result= new RefactoringStatus();
+		int threads= Math.min(list.size(), Runtime.getRuntime().availableProcessors());
+		pm.beginTask("", list.size()); //$NON-NLS-1$
+		try {
+			if (threads <= 1) {
+				for (P partition : list) {
+					result.merge(checker.check(partition, new SubProgressMonitor(pm, 1)));
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+				}
+				return result;
+			}
+			PartitionMonitor monitor= new PartitionMonitor(pm);
+			// the job group limits the number of worker threads of the job manager checking partitions
+			JobGroup group= new JobGroup(RefactoringCoreMessages.CheckConditionContext_partition_job, threads, list.size());
+			List<PartitionJob<P>> jobs= new ArrayList<>(list.size());
+			for (P partition : list) {
+				PartitionJob<P> job= new PartitionJob<>(partition, checker, monitor);
+				job.setJobGroup(group);
+				jobs.add(job);
+			}
+			try {
+				for (PartitionJob<P> job : jobs)
+					job.schedule();
+				for (int i= 0; i < jobs.size(); i++) {
+					try {
+						result.merge(getPartitionStatus(jobs.get(i), pm));
+					} catch (OperationCanceledException e) {
+						if (pm.isCanceled())
+							throw e;
+						// canceled because a later partition failed, rethrow its exception
+						for (PartitionJob<P> job : jobs.subList(i + 1, jobs.size())) {
+							try {
+								getPartitionStatus(job, pm);
+							} catch (OperationCanceledException canceled) {
+								if (pm.isCanceled())
+									throw canceled;
+							}
+						}
+						throw e;
+					}
+					pm.worked(1);
+				}
+			} finally {
+				// lets the jobs which have not completed return early
+				monitor.abort();
+			}
+			return result;
+		} finally {
+			pm.done();
+		}
+	}
+
+	private static RefactoringStatus getPartitionStatus(PartitionJob<?> job, IProgressMonitor pm) throws CoreException {
+		try {
+			while (!job.fDone.await(100, TimeUnit.MILLISECONDS)) {
+				if (pm.isCanceled())
+					throw new OperationCanceledException();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		Throwable exception= job.fException;
+		if (exception instanceof CoreException)
+			throw (CoreException) exception;
+		if (exception instanceof RuntimeException)
+			throw (RuntimeException) exception;
+		if (exception instanceof Error)
+			throw (Error) exception;
+		return job.fStatus;
+	}
+
 	private void mergeResourceOperationAndValidateEdit() throws CoreException {
 		ValidateEditChecker validateEditChecker= getChecker(ValidateEditChecker.class);
 		if (validateEditChecker == null)
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.participants;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+/**
+ * A partition checker performs the part of a condition check which concerns
+ * a single partition of the elements to be refactored, for example the
+ * elements of a single project.
+ * <p>
+ * Partitions are checked concurrently by
+ * {@link CheckConditionsContext#checkPartitions(java.util.Collection, IPartitionChecker, IProgressMonitor)}.
+ * Implementations must therefore only share thread safe state between
+ * partitions, and must not modify the workspace. Results which are not
+ * expressed as a status, like text changes, should be collected per partition
+ * and merged by the caller after all partitions have been checked.
+ * </p>
+ * <p>
+ * This interface is intended to be implemented by clients.
+ * </p>
+ *
+ * @param <P> the type of the partitions
+ *
+ * @see CheckConditionsContext#checkPartitions(java.util.Collection, IPartitionChecker, IProgressMonitor)
+ *
+ * @since 3.13
+ */
+public interface IPartitionChecker<P> {
+
+	/**
+	 * Checks the conditions of the given partition.
+	 *
+	 * @param partition the partition to check
+	 * @param monitor a progress monitor which reports cancellation of the
+	 *  whole check
+	 * @return the outcome of the condition check of this partition
+	 *
+	 * @throws CoreException if an error occurred during condition checking.
+	 *  The check is interpreted as failed if this happens
+	 * @throws OperationCanceledException if the condition checking got
+	 *  canceled
+	 */
+	RefactoringStatus check(P partition, IProgressMonitor monitor) throws CoreException, OperationCanceledException;
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,8 +23,12 @@ import org.eclipse.core.expressions.EvaluationContext;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryEventListener;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -46,8 +50,11 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
  */
 public class ParticipantExtensionPoint {
 
+	private static final String PERF_LOAD_PARTICIPANTS= "org.eclipse.ltk.core.refactoring/perf/participants/loadParticipants"; //$NON-NLS-1$
+
 	private String fParticipantID;
-	private List<ParticipantDescriptor> fParticipants;
+	private volatile List<ParticipantDescriptor> fParticipants;
+	private IRegistryEventListener fRegistryListener;
 	private Class<?> fParticipantClass;
 	private String fPluginId;
 
@@ -81,53 +88,61 @@ public class ParticipantExtensionPoint {
 	 * @return an array of participants
 	 */
 	public RefactoringParticipant[] getParticipants(RefactoringStatus status, RefactoringProcessor processor, Object element, RefactoringArguments arguments, IParticipantDescriptorFilter filter, String[] affectedNatures, SharableParticipants shared) {
-		if (fParticipants == null)
-			init();
-
-		EvaluationContext evalContext= createEvaluationContext(processor, element, affectedNatures);
-		List<RefactoringParticipant> result= new ArrayList<>();
-		for (Iterator<ParticipantDescriptor> iter= fParticipants.iterator(); iter.hasNext();) {
-			ParticipantDescriptor descriptor= iter.next();
-			if (!descriptor.isEnabled()) {
-				iter.remove();
-			} else {
-				try {
-					RefactoringStatus filterStatus= new RefactoringStatus();
-					if (descriptor.matches(evalContext, filter, filterStatus)) {
-						RefactoringParticipant participant= shared.get(descriptor);
-						if (participant != null) {
-							((ISharableParticipant)participant).addElement(element, arguments);
-						} else {
-							participant= descriptor.createParticipant();
-							if (fParticipantClass.isInstance(participant)) {
-								if (participant.initialize(processor, element, arguments)) {
-									participant.setDescriptor(descriptor);
-									result.add(participant);
-									if (participant instanceof ISharableParticipant)
-										shared.put(descriptor, participant);
-								}
+		List<ParticipantDescriptor> participants= fParticipants;
+		if (participants == null)
+			participants= init();
+
+		final PerformanceStats stats= PerformanceStats.getStats(PERF_LOAD_PARTICIPANTS, fParticipantID);
+		stats.startRun();
+		try {
+			EvaluationContext evalContext= createEvaluationContext(processor, element, affectedNatures);
+			ParticipantDescriptor.EnablementKey enablementKey= new ParticipantDescriptor.EnablementKey(element, affectedNatures, processor.getIdentifier());
+			List<RefactoringParticipant> result= new ArrayList<>();
+			for (Iterator<ParticipantDescriptor> iter= participants.iterator(); iter.hasNext();) {
+				ParticipantDescriptor descriptor= iter.next();
+				if (!descriptor.isEnabled()) {
+					iter.remove();
+				} else {
+					try {
+						RefactoringStatus filterStatus= new RefactoringStatus();
+						if (descriptor.matches(evalContext, enablementKey, filter, filterStatus)) {
+							RefactoringParticipant participant= shared.get(descriptor);
+							if (participant != null) {
+								((ISharableParticipant)participant).addElement(element, arguments);
 							} else {
-								status.addError(Messages.format(
-									RefactoringCoreMessages.ParticipantExtensionPoint_participant_removed,
-									descriptor.getName()));
-								RefactoringCorePlugin.logErrorMessage(
-									Messages.format(
-										RefactoringCoreMessages.ParticipantExtensionPoint_wrong_type,
-										new String[] {descriptor.getName(), fParticipantClass.getName()}));
-								iter.remove();
+								participant= descriptor.createParticipant();
+								if (fParticipantClass.isInstance(participant)) {
+									if (participant.initialize(processor, element, arguments)) {
+										participant.setDescriptor(descriptor);
+										result.add(participant);
+										if (participant instanceof ISharableParticipant)
+											shared.put(descriptor, participant);
+									}
+								} else {
+									status.addError(Messages.format(
+										RefactoringCoreMessages.ParticipantExtensionPoint_participant_removed,
+										descriptor.getName()));
+									RefactoringCorePlugin.logErrorMessage(
+										Messages.format(
+											RefactoringCoreMessages.ParticipantExtensionPoint_wrong_type,
+											new String[] {descriptor.getName(), fParticipantClass.getName()}));
+									iter.remove();
+								}
 							}
+						} else {
+							status.merge(filterStatus);
 						}
-					} else {
-						status.merge(filterStatus);
+					} catch (CoreException | RuntimeException e) {
+						logMalfunctioningParticipant(status, descriptor, e);
+						iter.remove();
 					}
-				} catch (CoreException | RuntimeException e) {
-					logMalfunctioningParticipant(status, descriptor, e);
-					iter.remove();
 				}
 			}
-		}
 
-		return result.toArray(new RefactoringParticipant[result.size()]);
+			return result.toArray(new RefactoringParticipant[result.size()]);
+		} finally {
+			stats.endRun();
+		}
 	}
 
 	private void logMalfunctioningParticipant(RefactoringStatus status, ParticipantDescriptor descriptor, Throwable e) {
@@ -137,10 +152,35 @@ public class ParticipantExtensionPoint {
 		RefactoringCorePlugin.logRemovedParticipant(descriptor, e);
 	}
 
-	private void init() {
+	private synchronized List<ParticipantDescriptor> init() {
 		IExtensionRegistry registry= Platform.getExtensionRegistry();
+		if (fRegistryListener == null) {
+			// the descriptors cache their enablement, they are recreated when participants are (un)installed
+			fRegistryListener= new IRegistryEventListener() {
+				@Override
+				public void added(IExtension[] extensions) {
+					fParticipants= null;
+				}
+
+				@Override
+				public void removed(IExtension[] extensions) {
+					fParticipants= null;
+				}
+
+				@Override
+				public void added(IExtensionPoint[] extensionPoints) {
+					fParticipants= null;
+				}
+
+				@Override
+				public void removed(IExtensionPoint[] extensionPoints) {
+					fParticipants= null;
+				}
+			};
+			registry.addListener(fRegistryListener, fPluginId + '.' + fParticipantID);
+		}
 		IConfigurationElement[] ces= registry.getConfigurationElementsFor(fPluginId, fParticipantID);
-		fParticipants= new ArrayList<>(ces.length);
+		List<ParticipantDescriptor> participants= new ArrayList<>(ces.length);
 		for (IConfigurationElement ce : ces) {
 			ParticipantDescriptor descriptor= new ParticipantDescriptor(ce);
 			IStatus status= descriptor.checkSyntax();
@@ -151,12 +191,14 @@ public class ParticipantExtensionPoint {
 				case IStatus.WARNING:
 				case IStatus.INFO:
 					RefactoringCorePlugin.log(status);
-					fParticipants.add(descriptor);
+					participants.add(descriptor);
 					break;
 				default:
-					fParticipants.add(descriptor);
+					participants.add(descriptor);
 			}
 		}
+		fParticipants= participants;
+		return participants;
 	}
 
 	//---- Helper methods ------------------------------------------------------------------
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,11 @@
  *******************************************************************************/
 package org.eclipse.ltk.internal.core.refactoring;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.core.expressions.EvaluationResult;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionConverter;
@@ -31,13 +36,63 @@ import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
 
 public class ParticipantDescriptor {
 
+	/**
+	 * Key of a cached enablement result. Only valid for enablement expressions
+	 * whose result is fully determined by the type of the element, the
+	 * affected natures and the processor identifier.
+	 */
+	public static final class EnablementKey {
+
+		private final Class<?> fElementType;
+		private final List<String> fAffectedNatures;
+		private final String fProcessorIdentifier;
+		private final int fHashCode;
+
+		public EnablementKey(Object element, String[] affectedNatures, String processorIdentifier) {
+			fElementType= element != null ? element.getClass() : null;
+			fAffectedNatures= Arrays.asList(affectedNatures);
+			fProcessorIdentifier= processorIdentifier;
+			int hashCode= fElementType != null ? fElementType.hashCode() : 0;
+			hashCode= 31 * hashCode + fAffectedNatures.hashCode();
+			hashCode= 31 * hashCode + (fProcessorIdentifier != null ? fProcessorIdentifier.hashCode() : 0);
+			fHashCode= hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof EnablementKey))
+				return false;
+			EnablementKey other= (EnablementKey) obj;
+			return fHashCode == other.fHashCode
+					&& fElementType == other.fElementType
+					&& fAffectedNatures.equals(other.fAffectedNatures)
+					&& (fProcessorIdentifier == null ? other.fProcessorIdentifier == null : fProcessorIdentifier.equals(other.fProcessorIdentifier));
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+	}
+
 	private IConfigurationElement fConfigurationElement;
 	private boolean fEnabled;
 
+	private volatile Expression fEnablement;
+	private volatile boolean fCacheable;
+	private final Map<EnablementKey, Boolean> fEnablementResults= new ConcurrentHashMap<>();
+
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String NAME= "name";  //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
 	private static final String PROCESS_ON_CANCEL= "processOnCancel";  //$NON-NLS-1$
+	private static final String VARIABLE= "variable"; //$NON-NLS-1$
+
+	private static final String ELEMENT_VARIABLE= "element"; //$NON-NLS-1$
+	private static final String AFFECTED_NATURES_VARIABLE= "affectedNatures"; //$NON-NLS-1$
+	private static final String PROCESSOR_IDENTIFIER_VARIABLE= "processorIdentifier"; //$NON-NLS-1$
 
 	public ParticipantDescriptor(IConfigurationElement element) {
 		fConfigurationElement= element;
@@ -71,12 +126,43 @@ public class ParticipantDescriptor {
 	}
 
 	public boolean matches(IEvaluationContext context, IParticipantDescriptorFilter filter, RefactoringStatus status) throws CoreException {
-		IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
-		if (elements.length == 0)
+		return matches(context, null, filter, status);
+	}
+
+	/**
+	 * Evaluates the enablement of this participant.
+	 * <p>
+	 * The enablement expression is converted only once. If the expression only
+	 * consists of <code>instanceof</code> tests on the element and tests on the
+	 * affected natures and the processor identifier, its result is cached under
+	 * the given key. The filter is always consulted.
+	 * </p>
+	 *
+	 * @param context the evaluation context
+	 * @param key the key to cache the enablement result under, or <code>null</code>
+	 *  to always evaluate the expression
+	 * @param filter a participant filter, or <code>null</code>
+	 * @param status the status to report filter problems to
+	 * @return whether the participant is enabled
+	 * @throws CoreException if the expression cannot be converted or evaluated
+	 */
+	public boolean matches(IEvaluationContext context, EnablementKey key, IParticipantDescriptorFilter filter, RefactoringStatus status) throws CoreException {
+		Expression exp= getEnablement();
+		if (exp == null)
 			return false;
-		Assert.isTrue(elements.length == 1);
-		Expression exp= ExpressionConverter.getDefault().perform(elements[0]);
-		if (!convert(exp.evaluate(context)))
+		boolean enabled;
+		if (key != null && fCacheable) {
+			Boolean cached= fEnablementResults.get(key);
+			if (cached != null) {
+				enabled= cached.booleanValue();
+			} else {
+				enabled= convert(exp.evaluate(context));
+				fEnablementResults.put(key, Boolean.valueOf(enabled));
+			}
+		} else {
+			enabled= convert(exp.evaluate(context));
+		}
+		if (!enabled)
 			return false;
 		if (filter != null && !filter.select(fConfigurationElement, status))
 			return false;
@@ -84,6 +170,60 @@ public class ParticipantDescriptor {
 		return true;
 	}
 
+	private Expression getEnablement() throws CoreException {
+		Expression exp= fEnablement;
+		if (exp == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			if (elements.length == 0)
+				return null;
+			Assert.isTrue(elements.length == 1);
+			exp= ExpressionConverter.getDefault().perform(elements[0]);
+			fCacheable= isTypeDetermined(elements[0], true);
+			fEnablement= exp;
+		}
+		return exp;
+	}
+
+	/**
+	 * Checks whether the result of the given expression element only depends
+	 * on the type of the refactored element, the affected natures and the
+	 * processor identifier.
+	 *
+	 * @param element the expression element
+	 * @param elementScope <code>true</code> if the element is evaluated against
+	 *  the refactored element, <code>false</code> if it is evaluated against the
+	 *  affected natures or the processor identifier
+	 * @return <code>true</code> if the result can be cached
+	 */
+	private static boolean isTypeDetermined(IConfigurationElement element, boolean elementScope) {
+		String name= element.getName();
+		boolean scope= elementScope;
+		if (ExpressionTagNames.WITH.equals(name)) {
+			String variable= element.getAttribute(VARIABLE);
+			if (ELEMENT_VARIABLE.equals(variable))
+				scope= true;
+			else if (AFFECTED_NATURES_VARIABLE.equals(variable) || PROCESSOR_IDENTIFIER_VARIABLE.equals(variable))
+				scope= false;
+			else
+				return false;
+		} else if (ExpressionTagNames.INSTANCEOF.equals(name)) {
+			return true;
+		} else if (ExpressionTagNames.EQUALS.equals(name)) {
+			return !elementScope;
+		} else if (ExpressionTagNames.ITERATE.equals(name) || ExpressionTagNames.COUNT.equals(name)) {
+			if (elementScope)
+				return false;
+		} else if (!ExpressionTagNames.ENABLEMENT.equals(name) && !ExpressionTagNames.AND.equals(name)
+				&& !ExpressionTagNames.OR.equals(name) && !ExpressionTagNames.NOT.equals(name)) {
+			return false;
+		}
+		for (IConfigurationElement child : element.getChildren()) {
+			if (!isTypeDetermined(child, scope))
+				return false;
+		}
+		return true;
+	}
+
 	public RefactoringParticipant createParticipant() throws CoreException {
 		return (RefactoringParticipant)fConfigurationElement.createExecutableExtension(CLASS);
 	}
@@ -31,6 +31,8 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String CheckConditionContext_error_checker_exists;
 
+	public static String CheckConditionContext_partition_job;
+
 	public static String CompositeChange_performingChangesTask_name;
 
 	public static String CreateChangeOperation_unknown_Refactoring;
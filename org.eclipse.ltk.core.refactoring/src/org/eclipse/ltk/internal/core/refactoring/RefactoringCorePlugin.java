@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -116,6 +116,7 @@ public class RefactoringCorePlugin extends Plugin {
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		UndoEditStore.clear();
 		RefactoringContributionManager.getInstance().connect();
 		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
 		service.connect();
@@ -138,6 +139,7 @@ public class RefactoringCorePlugin extends Plugin {
 		if (fRefactoringHistoryListener != null)
 			service.removeHistoryListener(fRefactoringHistoryListener);
 		RefactoringContributionManager.getInstance().disconnect();
+		UndoEditStore.clear();
 		super.stop(context);
 	}
 
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+
+/**
+ * Stores undo edits of text changes on disk, so that the undo history does not
+ * have to keep the replaced text of older refactorings in memory.
+ * <p>
+ * An {@link UndoEdit} applies its replace edits one after the other. It is
+ * stored as the equivalent set of non-overlapping replace edits in the
+ * coordinates of the document it is applied to, which can be applied again as
+ * a single {@link MultiTextEdit}.
+ * </p>
+ *
+ * @since 3.13
+ */
+public final class UndoEditStore {
+
+	/** The preference key of the memory budget for undo edits, in bytes */
+	public static final String PREFERENCE_UNDO_MEMORY_BUDGET= "org.eclipse.ltk.core.refactoring.undo.memoryBudget"; //$NON-NLS-1$
+
+	/** The default memory budget for undo edits, in bytes */
+	public static final long DEFAULT_UNDO_MEMORY_BUDGET= 64L * 1024 * 1024;
+
+	private static final int MAGIC= 0x4C544B55;
+
+	private static final String STORE_FOLDER= "undo"; //$NON-NLS-1$
+
+	private UndoEditStore() {
+		// Not for instantiation
+	}
+
+	/**
+	 * Returns the memory budget for undo edits, in bytes. A negative value
+	 * disables storing undo edits on disk.
+	 *
+	 * @return the memory budget
+	 */
+	public static long getMemoryBudget() {
+		return Platform.getPreferencesService().getLong(RefactoringCorePlugin.getPluginId(), PREFERENCE_UNDO_MEMORY_BUDGET, DEFAULT_UNDO_MEMORY_BUDGET, null);
+	}
+
+	/**
+	 * Returns an estimate of the memory retained by the given edit tree.
+	 *
+	 * @param edit the edit tree
+	 * @return the estimated size in bytes
+	 */
+	public static long estimateSize(TextEdit edit) {
+		long size= 48;
+		if (edit instanceof ReplaceEdit)
+			size+= 40 + 2L * ((ReplaceEdit) edit).getText().length();
+		for (TextEdit child : edit.getChildren())
+			size+= estimateSize(child);
+		return size;
+	}
+
+	/**
+	 * Writes the given undo edit to disk.
+	 *
+	 * @param undo the undo edit to store
+	 * @return the file holding the undo edit, or <code>null</code> if the
+	 *  undo edit cannot be stored
+	 */
+	public static File store(UndoEdit undo) {
+		MultiTextEdit edit= toMultiTextEdit(undo);
+		if (edit == null)
+			return null;
+		RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+		if (plugin == null)
+			return null;
+		try {
+			File folder= plugin.getStateLocation().append(STORE_FOLDER).toFile();
+			if (!folder.isDirectory() && !folder.mkdirs())
+				return null;
+			File file= File.createTempFile("undo", ".edits", folder); //$NON-NLS-1$ //$NON-NLS-2$
+			try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				TextEdit[] children= edit.getChildren();
+				output.writeInt(MAGIC);
+				output.writeInt(children.length);
+				for (TextEdit child : children) {
+					// the text is written as UTF-16 chars, which keeps unpaired surrogates intact
+					String text= ((ReplaceEdit) child).getText();
+					output.writeInt(child.getOffset());
+					output.writeInt(child.getLength());
+					output.writeInt(text.length());
+					output.writeChars(text);
+				}
+			} catch (IOException e) {
+				file.delete();
+				throw e;
+			}
+			return file;
+		} catch (IOException | IllegalStateException e) {
+			RefactoringCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads an undo edit stored by {@link #store(UndoEdit)}.
+	 *
+	 * @param file the file holding the undo edit
+	 * @return an edit equivalent to the stored undo edit
+	 * @throws CoreException if the file cannot be read
+	 */
+	public static TextEdit load(File file) throws CoreException {
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC)
+				throw new IOException(file.getPath());
+			int count= input.readInt();
+			MultiTextEdit result= new MultiTextEdit();
+			for (int i= 0; i < count; i++) {
+				int offset= input.readInt();
+				int length= input.readInt();
+				char[] text= new char[input.readInt()];
+				for (int j= 0; j < text.length; j++)
+					text[j]= input.readChar();
+				result.addChild(new ReplaceEdit(offset, length, new String(text)));
+			}
+			return result;
+		} catch (IOException | MalformedTreeException e) {
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.INTERNAL_ERROR, RefactoringCoreMessages.RefactoringCorePlugin_internal_error, e));
+		}
+	}
+
+	/**
+	 * Deletes all stored undo edits. Called when the plug-in is stopped.
+	 */
+	static void clear() {
+		RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+		if (plugin == null)
+			return;
+		File[] files= plugin.getStateLocation().append(STORE_FOLDER).toFile().listFiles();
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+	}
+
+	/**
+	 * Converts the sequentially applied replace edits of the given undo edit
+	 * into a tree of non-overlapping replace edits.
+	 *
+	 * @param undo the undo edit
+	 * @return the equivalent edit, or <code>null</code> if the undo edit cannot
+	 *  be converted
+	 */
+	private static MultiTextEdit toMultiTextEdit(UndoEdit undo) {
+		TextEdit[] children= undo.getChildren();
+		if (children.length == 0)
+			return null;
+		MultiTextEdit result= new MultiTextEdit();
+		try {
+			int delta= 0;
+			int end= 0;
+			// the children of an undo edit are applied from the last to the first one
+			for (int i= children.length - 1; i >= 0; i--) {
+				if (!(children[i] instanceof ReplaceEdit) || children[i].hasChildren())
+					return null;
+				ReplaceEdit child= (ReplaceEdit) children[i];
+				int offset= child.getOffset() - delta;
+				if (offset < end)
+					return null;
+				result.addChild(new ReplaceEdit(offset, child.getLength(), child.getText()));
+				end= offset + child.getLength();
+				delta+= child.getText().length() - child.getLength();
+			}
+		} catch (MalformedTreeException e) {
+			return null;
+		}
+		return result;
+	}
+}
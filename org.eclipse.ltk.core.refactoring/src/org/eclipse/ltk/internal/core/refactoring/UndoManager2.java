@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,10 +31,12 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.IUndoManager;
 import org.eclipse.ltk.core.refactoring.IUndoManagerListener;
 import org.eclipse.ltk.core.refactoring.IValidationCheckResultQuery;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.UndoTextFileChange;
 
 public class UndoManager2 implements IUndoManager {
 
@@ -177,9 +179,48 @@ public class UndoManager2 implements IUndoManager {
 			operation.setLabel(name);
 			fOperationHistory.add(fActiveOperation);
 			fActiveOperation= null;
+			storeUndoEdits();
 		}
 	}
 
+	/**
+	 * Keeps the undo edits of the most recent undo and redo changes in memory
+	 * as long as they fit into the memory budget, and stores the undo edits of
+	 * older changes on disk.
+	 */
+	private void storeUndoEdits() {
+		long budget= UndoEditStore.getMemoryBudget();
+		if (budget < 0)
+			return;
+		long used= 0;
+		IUndoableOperation[] undos= fOperationHistory.getUndoHistory(RefactoringCorePlugin.getUndoContext());
+		for (int i= undos.length - 1; i >= 0; i--) {
+			UndoableOperation2ChangeAdapter operation= getUnwrappedOperation(undos[i]);
+			if (operation != null)
+				used= storeUndoEdits(operation.getChange(), used, budget);
+		}
+		IUndoableOperation[] redos= fOperationHistory.getRedoHistory(RefactoringCorePlugin.getUndoContext());
+		for (int i= redos.length - 1; i >= 0; i--) {
+			UndoableOperation2ChangeAdapter operation= getUnwrappedOperation(redos[i]);
+			if (operation != null)
+				used= storeUndoEdits(operation.getChange(), used, budget);
+		}
+	}
+
+	private long storeUndoEdits(Change change, long used, long budget) {
+		if (change instanceof CompositeChange) {
+			for (Change child : ((CompositeChange) change).getChildren())
+				used= storeUndoEdits(child, used, budget);
+		} else if (change instanceof UndoTextFileChange) {
+			UndoTextFileChange undoChange= (UndoTextFileChange) change;
+			long size= undoChange.getUndoMemorySize();
+			if (used + size > budget && undoChange.storeUndo())
+				return used;
+			used+= size;
+		}
+		return used;
+	}
+
 	@Override
 	public boolean anythingToUndo() {
 		return fOperationHistory.canUndo(RefactoringCorePlugin.getUndoContext());
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+
+/**
+ * Compact in-memory time stamp index over a refactoring history tree.
+ * <p>
+ * The index is derived from the <code>refactorings.index</code> files of the
+ * history tree, which remains the persistent format. For every history folder
+ * it keeps the time stamps in a sorted primitive array, together with the
+ * modification stamp and length of the index file they were read from. Range
+ * queries only descend into year and month folders which may contain time
+ * stamps of the requested range, and only re-read index files which have
+ * changed since they were last read.
+ * </p>
+ *
+ * @since 3.13
+ */
+final class RefactoringHistoryIndex {
+
+	/** The indexed content of a single history folder */
+	private static final class FolderEntry {
+
+		/** The descriptions, in the order of the time stamps */
+		private final String[] fDescriptions;
+
+		/** The length of the index file */
+		private final long fLength;
+
+		/** The modification stamp of the index file */
+		private final long fModified;
+
+		/** The time stamps, sorted in ascending order */
+		private final long[] fStamps;
+
+		private FolderEntry(final long modified, final long length, final long[] stamps, final String[] descriptions) {
+			fModified= modified;
+			fLength= length;
+			fStamps= stamps;
+			fDescriptions= descriptions;
+		}
+
+		private boolean isUpToDate(final IFileInfo info) {
+			return fModified == info.getLastModified() && fLength == info.getLength();
+		}
+	}
+
+	/**
+	 * The shared indexes, keyed by the root of the history tree. The indexes
+	 * of closed or deleted projects are removed.
+	 */
+	private static final Map<IFileStore, RefactoringHistoryIndex> fgIndexes= new HashMap<>();
+
+	/**
+	 * Returns the index for the history tree rooted at the specified file
+	 * store.
+	 *
+	 * @param store
+	 *            the root of the history tree
+	 * @return the index
+	 */
+	static RefactoringHistoryIndex getIndex(final IFileStore store) {
+		Assert.isNotNull(store);
+		synchronized (fgIndexes) {
+			RefactoringHistoryIndex index= fgIndexes.get(store);
+			if (index == null) {
+				index= new RefactoringHistoryIndex(store);
+				fgIndexes.put(store, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Removes the index for the history tree rooted at the specified file
+	 * store, if there is one.
+	 *
+	 * @param store
+	 *            the root of the history tree
+	 */
+	static void removeIndex(final IFileStore store) {
+		Assert.isNotNull(store);
+		synchronized (fgIndexes) {
+			fgIndexes.remove(store);
+		}
+	}
+
+	/**
+	 * Returns the range of time stamps which may be stored below the specified
+	 * history folder.
+	 * <p>
+	 * History folders are laid out as <code>year/month/week</code> (see
+	 * {@link RefactoringHistoryManager#stampToPath(long)}). Folders which do
+	 * not follow this layout cover the whole time range.
+	 * </p>
+	 *
+	 * @param path
+	 *            the path of the folder, relative to the history root
+	 * @return an array with the start time stamp (inclusive) and the end time
+	 *         stamp (exclusive)
+	 */
+	static long[] getFolderRange(final IPath path) {
+		final int count= Math.min(path.segmentCount(), 2);
+		final int[] values= new int[count];
+		for (int index= 0; index < count; index++) {
+			final String segment= path.segment(index);
+			if (segment.isEmpty() || segment.length() > 9)
+				return new long[] { Long.MIN_VALUE, Long.MAX_VALUE };
+			for (int offset= 0; offset < segment.length(); offset++) {
+				if (!Character.isDigit(segment.charAt(offset)))
+					return new long[] { Long.MIN_VALUE, Long.MAX_VALUE };
+			}
+			values[index]= Integer.parseInt(segment);
+		}
+		if (count == 0 || count == 2 && (values[1] < 1 || values[1] > 12))
+			return new long[] { Long.MIN_VALUE, Long.MAX_VALUE };
+		final Calendar calendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
+		calendar.clear();
+		if (count == 1) {
+			calendar.set(values[0], Calendar.JANUARY, 1);
+			final long start= calendar.getTimeInMillis();
+			calendar.add(Calendar.YEAR, 1);
+			return new long[] { start, calendar.getTimeInMillis() };
+		}
+		calendar.set(values[0], values[1] - 1, 1);
+		final long start= calendar.getTimeInMillis();
+		calendar.add(Calendar.MONTH, 1);
+		return new long[] { start, calendar.getTimeInMillis() };
+	}
+
+	/** The indexed history folders, keyed by their path relative to the root */
+	private final Map<IPath, FolderEntry> fEntries= new HashMap<>();
+
+	/** The root of the history tree */
+	private final IFileStore fStore;
+
+	/**
+	 * Creates a new refactoring history index.
+	 *
+	 * @param store
+	 *            the root of the history tree
+	 */
+	private RefactoringHistoryIndex(final IFileStore store) {
+		fStore= store;
+	}
+
+	/**
+	 * Discards the indexed content of the specified history folder.
+	 *
+	 * @param path
+	 *            the path of the history folder, relative to the history root
+	 */
+	synchronized void invalidate(final IPath path) {
+		fEntries.remove(path);
+	}
+
+	/**
+	 * Reads the refactoring descriptor proxies within the specified time range.
+	 *
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs
+	 */
+	synchronized void readRefactoringDescriptorProxies(final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor) throws CoreException {
+		final SubMonitor subMonitor= SubMonitor.convert(monitor, RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 1);
+		try {
+			readRefactoringDescriptorProxies(fStore, Path.EMPTY, project, collection, start, end, subMonitor.split(1));
+		} finally {
+			subMonitor.done();
+		}
+	}
+
+	private void readRefactoringDescriptorProxies(final IFileStore store, final IPath path, final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor) throws CoreException {
+		final IFileInfo[] infos= store.childInfos(EFS.NONE, null);
+		final SubMonitor subMonitor= SubMonitor.convert(monitor, infos.length);
+		for (IFileInfo info : infos) {
+			if (subMonitor.isCanceled())
+				throw new OperationCanceledException();
+			final String name= info.getName();
+			if (info.isDirectory()) {
+				final IPath child= path.append(name);
+				final long[] range= getFolderRange(child);
+				if (range[0] <= end && range[1] > start)
+					readRefactoringDescriptorProxies(store.getChild(name), child, project, collection, start, end, subMonitor.split(1));
+				else
+					subMonitor.worked(1);
+			} else if (info.exists() && RefactoringHistoryService.NAME_INDEX_FILE.equalsIgnoreCase(name)) {
+				FolderEntry entry= fEntries.get(path);
+				if (entry == null || !entry.isUpToDate(info)) {
+					entry= readFolderEntry(store.getChild(name), info);
+					fEntries.put(path, entry);
+				}
+				int index= Arrays.binarySearch(entry.fStamps, start);
+				if (index < 0)
+					index= -(index + 1);
+				else {
+					while (index > 0 && entry.fStamps[index - 1] == start)
+						index--;
+				}
+				for (; index < entry.fStamps.length && entry.fStamps[index] <= end; index++)
+					collection.add(new DefaultRefactoringDescriptorProxy(entry.fDescriptions[index], project, entry.fStamps[index]));
+				subMonitor.worked(1);
+			} else
+				subMonitor.worked(1);
+		}
+	}
+
+	private static FolderEntry readFolderEntry(final IFileStore file, final IFileInfo info) throws CoreException {
+		final RefactoringDescriptorProxy[] proxies;
+		try (InputStream stream= file.openInputStream(EFS.NONE, null)) {
+			proxies= RefactoringHistoryManager.readRefactoringDescriptorProxies(stream, null, 0, Long.MAX_VALUE);
+		} catch (IOException exception) {
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCore.ID_PLUGIN, IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
+		}
+		RefactoringHistoryManager.sortRefactoringDescriptorsAscending(proxies);
+		final long[] stamps= new long[proxies.length];
+		final String[] descriptions= new String[proxies.length];
+		for (int index= 0; index < proxies.length; index++) {
+			stamps[index]= proxies[index].getTimeStamp();
+			descriptions[index]= proxies[index].getDescription();
+		}
+		return new FolderEntry(info.getLastModified(), info.getLength(), stamps, descriptions);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,14 +16,18 @@ package org.eclipse.ltk.internal.core.refactoring.history;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -780,7 +784,16 @@ public final class RefactoringHistoryManager {
 				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
 				final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
 				final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[] { new DefaultRefactoringDescriptorProxy(descriptor.getDescription(), descriptor.getProject(), descriptor.getTimeStamp())};
+				RefactoringHistoryIndex.getIndex(fHistoryStore).invalidate(path);
 				if (history.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
+					if (!sort && appendHistoryEntry(history, transformDescriptor(descriptor, false), new SubProgressMonitor(monitor, 12, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL))) {
+						try {
+							writeIndexEntry(index, proxies, EFS.APPEND, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+						} catch (IOException exception) {
+							throw createCoreException(exception);
+						}
+						return;
+					}
 					InputStream input= null;
 					try {
 						input= new BufferedInputStream(history.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
@@ -848,6 +861,75 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Appends the refactoring contained in the specified document to the
+	 * refactoring history file, without parsing and rewriting the existing
+	 * history entries.
+	 * <p>
+	 * The refactoring is inserted in front of the closing session tag. This is
+	 * only possible for history files on the local file system which end with
+	 * a closing session tag.
+	 * </p>
+	 *
+	 * @param file
+	 *            the refactoring history file
+	 * @param document
+	 *            the document representing the refactoring to append
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return <code>true</code> if the refactoring has been appended,
+	 *         <code>false</code> if the history file has to be rewritten
+	 * @throws CoreException
+	 *             if an error occurs while appending the history entry
+	 */
+	private boolean appendHistoryEntry(final IFileStore file, final Document document, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 1);
+			final File local= file.toLocalFile(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (local == null)
+				return false;
+			final NodeList list= document.getElementsByTagName(IRefactoringSerializationConstants.ELEMENT_REFACTORING);
+			if (list.getLength() != 1)
+				return false;
+			final byte[] tag= ("</" + IRefactoringSerializationConstants.ELEMENT_SESSION + '>').getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+			try (RandomAccessFile access= new RandomAccessFile(local, "rw")) { //$NON-NLS-1$
+				final long length= access.length();
+				final int size= (int) Math.min(length, 256);
+				final byte[] tail= new byte[size];
+				access.seek(length - size);
+				access.readFully(tail);
+				int offset= size - 1;
+				while (offset >= 0 && Character.isWhitespace(tail[offset]))
+					offset--;
+				offset-= tag.length - 1;
+				if (offset < 0)
+					return false;
+				for (int index= 0; index < tag.length; index++) {
+					if (tail[offset + index] != tag[index])
+						return false;
+				}
+				final StringWriter buffer= new StringWriter(256);
+				try (DOMWriter writer= new DOMWriter(buffer)) {
+					writer.printElement((Element) list.item(0));
+					writer.println();
+					writer.print(new String(tag, StandardCharsets.UTF_8));
+				}
+				access.setLength(length - size + offset);
+				access.seek(length - size + offset);
+				access.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
+				return true;
+			} catch (IOException exception) {
+				throw createCoreException(exception);
+			}
+		} finally {
+			fCachedDocument= null;
+			fCachedPath= null;
+			fCachedDescriptor= null;
+			fCachedStore= null;
+			monitor.done();
+		}
+	}
+
 	/**
 	 * Returns the cached refactoring history document.
 	 *
@@ -922,11 +1004,11 @@ public final class RefactoringHistoryManager {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 200);
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
-				if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).isDirectory())
+					RefactoringHistoryIndex.getIndex(fHistoryStore).readRefactoringDescriptorProxies(fProjectName, set, start, end, new SubProgressMonitor(monitor, 80));
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
-				if (store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				if (!store.equals(fHistoryStore) && store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).isDirectory())
+					RefactoringHistoryIndex.getIndex(store).readRefactoringDescriptorProxies(null, set, start, end, new SubProgressMonitor(monitor, 80));
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
@@ -959,6 +1041,7 @@ public final class RefactoringHistoryManager {
 	private void removeRefactoringDescriptors(final RefactoringDescriptorProxy[] proxies, final IPath path, final IProgressMonitor monitor, final String task) throws CoreException {
 		try {
 			monitor.beginTask(task, 5);
+			RefactoringHistoryIndex.getIndex(fHistoryStore).invalidate(path);
 			final IFileStore folder= fHistoryStore.getFileStore(path);
 			final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
 			if (index.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
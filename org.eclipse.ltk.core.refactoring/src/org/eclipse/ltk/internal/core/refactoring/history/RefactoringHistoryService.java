@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -367,7 +367,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 			OperationHistoryFactory.getOperationHistory().addOperationHistoryListener(fOperationListener);
 
 			fResourceListener= event -> peformResourceChanged(event);
-			ResourcesPlugin.getWorkspace().addResourceChangeListener(fResourceListener, IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.POST_CHANGE);
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fResourceListener, IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.POST_CHANGE);
 		}
 	}
 
@@ -854,6 +854,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 				if (newStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
 					newStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 				oldStore.move(newStore, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				RefactoringHistoryIndex.removeIndex(oldStore);
+				RefactoringHistoryIndex.removeIndex(newStore);
 			}
 		} catch (CoreException exception) {
 			RefactoringCorePlugin.log(exception);
@@ -864,6 +866,11 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 
 	private void peformResourceChanged(final IResourceChangeEvent event) {
 		final int type= event.getType();
+		if ((type & (IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE)) != 0) {
+			final IResource resource= event.getResource();
+			if (resource instanceof IProject)
+				removeHistoryIndexes((IProject) resource);
+		}
 		if ((type & IResourceChangeEvent.POST_CHANGE) != 0) {
 			final IResourceDelta delta= event.getDelta();
 			if (delta != null) {
@@ -945,6 +952,26 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		}
 	}
 
+	/**
+	 * Removes the time stamp indexes of the history of the specified project,
+	 * which is about to be closed or deleted.
+	 *
+	 * @param project
+	 *            the project
+	 */
+	private void removeHistoryIndexes(final IProject project) {
+		final IFileStore historyStore= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(NAME_HISTORY_FOLDER);
+		RefactoringHistoryIndex.removeIndex(historyStore.getChild(project.getName()));
+		final URI uri= project.getLocationURI();
+		if (uri != null) {
+			try {
+				RefactoringHistoryIndex.removeIndex(EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER));
+			} catch (CoreException exception) {
+				// Do nothing
+			}
+		}
+	}
+
 	/**
 	 * Returns the refactoring history manager corresponding to the project
 	 * with the specified name.